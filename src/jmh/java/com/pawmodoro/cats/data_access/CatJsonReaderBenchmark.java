@@ -0,0 +1,80 @@
+package com.pawmodoro.cats.data_access;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.constants.Constants;
+
+/**
+ * Measures reading the cat rows of a PostgREST response, which every cat request does, streamed and the way it was
+ * read before: the whole body as a String and then an org.json tree. Run with {@code -prof gc} to compare the
+ * bytes allocated per read ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatJsonReaderBenchmark {
+    @Param({"1", "10", "100"})
+    private int cats;
+
+    private final CatFactory catFactory = new CatFactory();
+    private final CatJsonReader reader = new CatJsonReader(catFactory);
+    private byte[] body;
+
+    @Setup
+    public void createBody() {
+        final JSONArray rows = new JSONArray();
+        for (int i = 0; i < cats; i++) {
+            final String name = "Whiskers" + (char) ('a' + i % 26) + i;
+            rows.put(new JSONObject()
+                .put(Constants.JsonFields.CAT_NAME, name)
+                .put(Constants.JsonFields.OWNER_USERNAME, "testuser")
+                .put(Constants.JsonFields.HAPPINESS_LEVEL, i % 101)
+                .put(Constants.JsonFields.HUNGER_LEVEL, 100 - i % 101)
+                .put(Constants.JsonFields.IMAGE_FILE_NAME, "cat-" + (i % 5 + 1) + ".png")
+                .put(Constants.JsonFields.CAT_NAME_LOWER, name.toLowerCase())
+                .put(Constants.JsonFields.OWNER_USERNAME_LOWER, "testuser"));
+        }
+        body = rows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Cat> readCats() throws IOException {
+        return reader.readCats(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public List<Cat> readCatsFromJsonArray() {
+        // What Response.body().string() and new JSONArray(...) did for every cat response
+        final String responseBody = new String(body, StandardCharsets.UTF_8);
+        final List<Cat> result = new ArrayList<>();
+        final JSONArray jsonArray = new JSONArray(responseBody);
+        for (int i = 0; i < jsonArray.length(); i++) {
+            final JSONObject catJson = jsonArray.getJSONObject(i);
+            result.add(catFactory.create(
+                catJson.getString(Constants.JsonFields.CAT_NAME),
+                catJson.getString(Constants.JsonFields.OWNER_USERNAME),
+                catJson.getInt(Constants.JsonFields.HAPPINESS_LEVEL),
+                catJson.getInt(Constants.JsonFields.HUNGER_LEVEL),
+                catJson.getString(Constants.JsonFields.IMAGE_FILE_NAME)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.pawmodoro.cats.data_access;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Measures building the URL that selects a single cat, which deleting a cat does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatQueryUrlBenchmark {
+    private final AbstractCatDataAccess dataAccess =
+        new AbstractCatDataAccess(new OkHttpClient(), "https://project.supabase.co", "anon-key") {
+        };
+    private String catName = "Whiskers";
+    private String ownerUsername = "testuser";
+
+    @Benchmark
+    public String buildCatQueryUrl() {
+        return dataAccess.buildCatQueryUrl(catName, ownerUsername);
+    }
+}
@@ -0,0 +1,46 @@
+package com.pawmodoro.cats.service.update_cats_after_study;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatFactory;
+
+/**
+ * Measures working out the happiness of a user's cats after a study session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UpdateCatsAfterStudyBenchmark {
+    @Param({"1", "10", "100"})
+    private int cats;
+
+    private final UpdateCatsAfterStudyInteractor interactor = new UpdateCatsAfterStudyInteractor(null, null);
+    private List<Cat> ownedCats;
+
+    @Setup
+    public void createCats() {
+        final CatFactory catFactory = new CatFactory();
+        ownedCats = new ArrayList<>();
+        for (int i = 0; i < cats; i++) {
+            ownedCats.add(catFactory.create("Whiskers" + i, "testuser", i % 101, 50, "cat-1.png"));
+        }
+    }
+
+    @Benchmark
+    public Map<Cat, Integer> calculateHappinessUpdates() {
+        return interactor.calculateHappinessUpdates(ownedCats);
+    }
+}
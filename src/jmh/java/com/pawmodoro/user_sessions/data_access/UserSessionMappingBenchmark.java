@@ -0,0 +1,67 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import okhttp3.OkHttpClient;
+
+/**
+ * Measures reading the session rows of a PostgREST response with the snake case mapper of
+ * {@link UserSessionDataAccess}, which every session request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSessionMappingBenchmark {
+    @Param({"1", "10", "100"})
+    private int sessions;
+
+    private final UserSessionDataAccess dataAccess =
+        new UserSessionDataAccess(null, new OkHttpClient(), "https://project.supabase.co", "anon-key");
+    private byte[] body;
+
+    @Setup
+    public void createBody() {
+        final UUID userId = UUID.randomUUID();
+        final OffsetDateTime start = OffsetDateTime.of(2026, 10, 18, 9, 0, 0, 123_456_000, ZoneOffset.UTC);
+        final JSONArray rows = new JSONArray();
+        for (int i = 0; i < sessions; i++) {
+            final OffsetDateTime sessionStart = start.plus(Duration.ofMinutes(30L * i));
+            rows.put(new JSONObject()
+                .put(Constants.JsonFields.ID_FIELD, UUID.randomUUID().toString())
+                .put(Constants.JsonFields.USER_ID, userId.toString())
+                .put(Constants.JsonFields.SESSION_TYPE, "focus")
+                .put(Constants.JsonFields.DURATION_MINUTES, 25)
+                .put(Constants.JsonFields.SESSION_START_TIME, sessionStart.toString())
+                .put(Constants.JsonFields.SESSION_END_TIME, sessionStart.plusMinutes(25).toString())
+                .put(Constants.JsonFields.WAS_COMPLETED, i % 2 == 0)
+                .put(Constants.JsonFields.INTERRUPTION_COUNT, i % 3)
+                .put("created_at", sessionStart.toString()));
+        }
+        body = rows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public UserSession[] readSessions() throws IOException {
+        return dataAccess.readSessions(new ByteArrayInputStream(body));
+    }
+}
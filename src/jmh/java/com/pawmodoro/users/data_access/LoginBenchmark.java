@@ -0,0 +1,108 @@
+package com.pawmodoro.users.data_access;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.TokenIdentityCache;
+import com.pawmodoro.users.entity.AuthenticatedUser;
+import com.pawmodoro.users.entity.CommonUserFactory;
+import com.pawmodoro.users.entity.UserNotFoundException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Measures logging in with and without the cached email, against a local auth server that answers every call
+ * after the given latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoginBenchmark {
+    private static final String USERNAME = "testuser";
+    private static final String EMAIL = "test@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Param({"0", "20"})
+    private int latencyMillis;
+
+    private MockWebServer server;
+    private LoginEmailCache emailCache;
+    private DbUserDataAccessObject dataAccess;
+
+    @Setup
+    public void startAuthServer() throws IOException, DatabaseAccessException, UserNotFoundException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final MockResponse response;
+                if (request.getPath().startsWith(Constants.Endpoints.LOGIN_LOOKUP_ENDPOINT)) {
+                    response = new MockResponse().setBody(new JSONArray()
+                        .put(new JSONObject().put(Constants.JsonFields.EMAIL_FIELD, EMAIL)).toString());
+                }
+                else if (Constants.Endpoints.AUTH_SIGNIN_ENDPOINT.equals(request.getPath())) {
+                    response = new MockResponse().setBody(tokens().toString());
+                }
+                else {
+                    response = new MockResponse().setResponseCode(404);
+                }
+                return response.setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        final String apiUrl = server.url("").toString().replaceAll("/$", "");
+        final OkHttpClient client = new OkHttpClient();
+        emailCache = new LoginEmailCache(100, Duration.ofMinutes(10));
+        dataAccess = new DbUserDataAccessObject(new CommonUserFactory(),
+            new TokenIdentityCache(100, Duration.ofMinutes(5)), emailCache,
+            new SignupAvailabilityFilter(false, Duration.ofHours(1), 100, 0.01, 2, client, apiUrl, "test-key"),
+            client, apiUrl, "test-key");
+        dataAccess.authenticate(USERNAME, PASSWORD);
+    }
+
+    @TearDown
+    public void stopAuthServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public AuthenticatedUser loginWithCachedEmail() throws DatabaseAccessException, UserNotFoundException {
+        return dataAccess.authenticate(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    public AuthenticatedUser loginWithEmailLookup() throws DatabaseAccessException, UserNotFoundException {
+        emailCache.invalidate(USERNAME);
+        return dataAccess.authenticate(USERNAME, PASSWORD);
+    }
+
+    private static JSONObject tokens() {
+        return new JSONObject()
+            .put(Constants.JsonFields.ACCESS_TOKEN_FIELD, "access-token")
+            .put(Constants.JsonFields.REFRESH_TOKEN_FIELD, "refresh-token")
+            .put(Constants.JsonFields.EXPIRES_IN_FIELD, 3600)
+            .put(Constants.JsonFields.EXPIRES_AT_FIELD, 1_000_000L)
+            .put(Constants.JsonFields.USER_FIELD, new JSONObject()
+                .put(Constants.JsonFields.ID_FIELD, "user-id")
+                .put(Constants.JsonFields.EMAIL_FIELD, EMAIL));
+    }
+}
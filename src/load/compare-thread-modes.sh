@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Runs the same load test once on Tomcat's platform thread pool and once with the virtual-threads profile, and
+# prints the latency percentiles of both runs side by side. The reports are kept in target/load-test-comparison.
+# The defaults put more users than server.tomcat.threads.max behind a slow Supabase, where the modes differ.
+# Any extra arguments are passed to Maven, e.g. -Dload-test.duration=60s
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+MVN="${MVN:-./mvnw}"
+USERS="${USERS:-250}"
+SUPABASE_LATENCY="${SUPABASE_LATENCY:-50ms}"
+OUT="$PWD/target/load-test-comparison"
+mkdir -p "$OUT"
+
+run() {
+    echo "Running the $1 load test, log in $OUT/$1.log"
+    # The objectives are tuned for the default settings, so a missed one must not stop the comparison
+    "$MVN" -B -Pload-test test -Dmaven.test.failure.ignore=true \
+        -Dload-test.users="$USERS" -Dload-test.supabase-latency="$SUPABASE_LATENCY" \
+        -Dload-test.profiles="$2" -Dload-test.report-file="$OUT/$1.json" "${@:3}" > "$OUT/$1.log" 2>&1
+}
+
+run platform "" "$@"
+run virtual-threads virtual-threads "$@"
+
+python3 - "$OUT/platform.json" "$OUT/virtual-threads.json" <<'PY'
+import json, sys
+platform, virtual = (json.load(open(path))["endpoints"] for path in sys.argv[1:])
+print(f"{'endpoint':<22} {'platform p50/p95/p99 ms':>26} {'virtual p50/p95/p99 ms':>26} {'requests':>17}")
+for endpoint in sorted(platform.keys() | virtual.keys()):
+    cells = []
+    for stats in (platform.get(endpoint), virtual.get(endpoint)):
+        cells.append("-" if stats is None else f"{stats['p50']:.0f}/{stats['p95']:.0f}/{stats['p99']:.0f}")
+    counts = "/".join(str(stats.get(endpoint, {}).get("requests", 0)) for stats in (platform, virtual))
+    print(f"{endpoint:<22} {cells[0]:>26} {cells[1]:>26} {counts:>17}")
+PY
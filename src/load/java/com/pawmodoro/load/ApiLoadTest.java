@@ -0,0 +1,145 @@
+package com.pawmodoro.load;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.pawmodoro.core.SupabaseStandIn;
+
+/**
+ * Drives the running application over HTTP with concurrent users against the Supabase stand-in, reports the
+ * latency percentiles of every endpoint and fails when they miss the objectives in
+ * {@code load-test-slo.properties}. Runs with the {@code load-test} profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+    private static final SupabaseStandIn SUPABASE = new SupabaseStandIn();
+
+    private final int users = Integer.getInteger("load-test.users", 20);
+    private final Duration warmup = duration("load-test.warmup", "10s");
+    private final Duration duration = duration("load-test.duration", "30s");
+    private final Path reportFile = Path.of(System.getProperty("load-test.report-file",
+        "target/load-test-report.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void supabaseProperties(DynamicPropertyRegistry registry) throws IOException {
+        SUPABASE.latency(duration("load-test.supabase-latency", "0ms"),
+            duration("load-test.supabase-jitter", "0ms")).start();
+        registry.add("supabase.url", SUPABASE::url);
+        registry.add("supabase.key", () -> SupabaseStandIn.ANON_KEY);
+        registry.add("supabase.jwt.secret", () -> SupabaseStandIn.JWT_SECRET);
+    }
+
+    @AfterAll
+    static void stopSupabase() throws IOException {
+        SUPABASE.shutdown();
+    }
+
+    @Test
+    void endpointsMeetTheirLatencyObjectives() throws Exception {
+        // Arrange
+        final ServiceLevelObjectives objectives = ServiceLevelObjectives.load();
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        final List<VirtualUser> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            virtualUsers.add(new VirtualUser(client, "http://localhost:" + port, "loaduser" + i));
+        }
+        final LatencyRecorder recorder = new LatencyRecorder();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            awaitAll(virtualUsers.stream().map(user -> executor.submit(() -> {
+                user.signUp();
+                return null;
+            })).toList());
+            runAll(executor, virtualUsers, warmup, new LatencyRecorder());
+
+            // Act
+            runAll(executor, virtualUsers, duration, recorder);
+        }
+
+        // Assert
+        final Map<String, EndpointStats> stats = recorder.stats();
+        report(stats);
+        assertFalse(stats.isEmpty(), "No requests were made");
+        final List<String> violations = objectives.violations(stats);
+        assertTrue(violations.isEmpty(), "Missed objectives: " + violations);
+    }
+
+    private static void runAll(ExecutorService executor, List<VirtualUser> virtualUsers, Duration length,
+        LatencyRecorder recorder) throws Exception {
+        final Instant deadline = Instant.now().plus(length);
+        awaitAll(virtualUsers.stream().map(user -> executor.submit(() -> {
+            user.run(deadline, recorder);
+            return null;
+        })).toList());
+    }
+
+    private static void awaitAll(List<Future<Object>> futures) throws Exception {
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+    }
+
+    private void report(Map<String, EndpointStats> stats) throws IOException {
+        final StringBuilder table = new StringBuilder(String.format("%n%-22s %8s %7s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        final JSONObject endpoints = new JSONObject();
+        stats.forEach((endpoint, endpointStats) -> {
+            table.append(String.format("%-22s %8d %7d %9.1f %9.1f %9.1f %9.1f%n", endpoint,
+                endpointStats.requests(), endpointStats.errors(), endpointStats.p50(), endpointStats.p95(),
+                endpointStats.p99(), endpointStats.max()));
+            endpoints.put(endpoint, new JSONObject()
+                .put("requests", endpointStats.requests())
+                .put("errors", endpointStats.errors())
+                .put("p50", endpointStats.p50())
+                .put("p95", endpointStats.p95())
+                .put("p99", endpointStats.p99())
+                .put("max", endpointStats.max()));
+        });
+        final String profiles = String.join(",", environment.getActiveProfiles());
+        logger.info("Load test with {} users for {}, profiles [{}]:{}", users, duration, profiles, table);
+        final JSONObject report = new JSONObject()
+            .put("profiles", profiles)
+            .put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false))
+            .put("users", users)
+            .put("durationSeconds", duration.toSeconds())
+            .put("endpoints", endpoints);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, report.toString(2));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
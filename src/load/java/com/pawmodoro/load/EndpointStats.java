@@ -0,0 +1,51 @@
+package com.pawmodoro.load;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of one endpoint during a load test, in milliseconds.
+ * @param requests the number of requests made
+ * @param errors the number of requests that failed or got an error status
+ * @param p50 the median latency
+ * @param p95 the 95th percentile latency
+ * @param p99 the 99th percentile latency
+ * @param max the slowest request
+ */
+record EndpointStats(int requests, int errors, double p50, double p95, double p99, double max) {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Works out the percentiles of the latencies of an endpoint.
+     * @param latencyNanos the latency of every request, in nanoseconds
+     * @param errors the number of requests that failed
+     * @return the stats of the endpoint
+     */
+    static EndpointStats of(long[] latencyNanos, int errors) {
+        final long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        return new EndpointStats(sorted.length, errors, percentile(sorted, 50), percentile(sorted, 95),
+            percentile(sorted, 99), percentile(sorted, 100));
+    }
+
+    /**
+     * Gets the share of the requests that failed.
+     * @return the error rate, between 0 and 1
+     */
+    double errorRate() {
+        if (requests == 0) {
+            return 0;
+        }
+        return (double) errors / requests;
+    }
+
+    /**
+     * Gets a latency percentile by the nearest rank method.
+     */
+    private static double percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / NANOS_PER_MILLI;
+    }
+}
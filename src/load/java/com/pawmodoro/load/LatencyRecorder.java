@@ -0,0 +1,46 @@
+package com.pawmodoro.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the latency of every request of a load test by endpoint. Safe to share between virtual users.
+ */
+final class LatencyRecorder {
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    /**
+     * Records a request.
+     * @param endpoint the name of the endpoint
+     * @param latencyNanos how long the request took, in nanoseconds
+     * @param succeeded whether the request got a successful response
+     */
+    void record(String endpoint, long latencyNanos, boolean succeeded) {
+        final Samples endpointSamples = samples.computeIfAbsent(endpoint, name -> new Samples());
+        endpointSamples.latencies.add(latencyNanos);
+        if (!succeeded) {
+            endpointSamples.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Works out the stats of every endpoint recorded so far.
+     * @return the stats by endpoint name, sorted by name
+     */
+    Map<String, EndpointStats> stats() {
+        final Map<String, EndpointStats> stats = new TreeMap<>();
+        samples.forEach((endpoint, endpointSamples) -> {
+            final long[] latencies = endpointSamples.latencies.stream().mapToLong(Long::longValue).toArray();
+            stats.put(endpoint, EndpointStats.of(latencies, endpointSamples.errors.get()));
+        });
+        return stats;
+    }
+
+    private static final class Samples {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+    }
+}
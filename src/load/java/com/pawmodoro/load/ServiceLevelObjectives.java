@@ -0,0 +1,71 @@
+package com.pawmodoro.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The latency objectives a load test has to meet, read from {@code load-test-slo.properties}. Every objective
+ * can be overridden with a system property of the same name prefixed with {@code load-test.slo.}.
+ */
+final class ServiceLevelObjectives {
+    static final String RESOURCE = "/load-test-slo.properties";
+    static final String OVERRIDE_PREFIX = "load-test.slo.";
+    private static final String MAX_ERROR_RATE = "max-error-rate";
+    private static final String[] PERCENTILES = {"p50", "p95", "p99"};
+
+    private final Properties objectives;
+
+    ServiceLevelObjectives(Properties objectives) {
+        this.objectives = objectives;
+    }
+
+    /**
+     * Reads the objectives from the classpath and applies the system property overrides.
+     * @return the objectives
+     * @throws IOException if the objectives could not be read
+     */
+    static ServiceLevelObjectives load() throws IOException {
+        final Properties objectives = new Properties();
+        try (InputStream in = ServiceLevelObjectives.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing " + RESOURCE);
+            }
+            objectives.load(in);
+        }
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith(OVERRIDE_PREFIX))
+            .forEach(name -> objectives.setProperty(name.substring(OVERRIDE_PREFIX.length()),
+                System.getProperty(name)));
+        return new ServiceLevelObjectives(objectives);
+    }
+
+    /**
+     * Checks the stats of a load test against the objectives. Endpoints without an objective only have to meet
+     * the error rate.
+     * @param stats the stats by endpoint name
+     * @return a description of every objective that was missed, empty if all were met
+     */
+    List<String> violations(Map<String, EndpointStats> stats) {
+        final List<String> violations = new ArrayList<>();
+        final double maxErrorRate = Double.parseDouble(objectives.getProperty(MAX_ERROR_RATE, "0"));
+        stats.forEach((endpoint, endpointStats) -> {
+            if (endpointStats.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%", endpoint,
+                    endpointStats.errorRate() * 100, maxErrorRate * 100));
+            }
+            final double[] actual = {endpointStats.p50(), endpointStats.p95(), endpointStats.p99()};
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                final String objective = objectives.getProperty(endpoint + "." + PERCENTILES[i]);
+                if (objective != null && actual[i] > Double.parseDouble(objective)) {
+                    violations.add(String.format("%s %s %.1f ms > %s ms", endpoint, PERCENTILES[i], actual[i],
+                        objective));
+                }
+            }
+        });
+        return violations;
+    }
+}
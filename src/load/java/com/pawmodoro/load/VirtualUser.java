@@ -0,0 +1,165 @@
+package com.pawmodoro.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.json.JSONObject;
+
+/**
+ * A user of the load test, who signs up with a cat and then repeats the mix of requests the app makes until the
+ * time is up.
+ */
+final class VirtualUser {
+    static final String LOGIN = "login";
+    static final String DASHBOARD = "dashboard";
+    static final String SESSION_CREATE = "session-create";
+    static final String SESSION_INTERRUPTION = "session-interruption";
+    static final String SESSION_COMPLETE = "session-complete";
+    static final String CAT_FEED = "cat-feed";
+    static final String UPDATE_AFTER_STUDY = "update-after-study";
+
+    private static final String PASSWORD = "password123";
+    private static final String CAT_NAME = "Whiskers";
+    private static final String JSON = "application/json";
+    private static final int HTTP_BAD_REQUEST = 400;
+
+    /**
+     * The share of every action in the mix, out of {@link #TOTAL_WEIGHT}: dashboard reads dominate, as they do
+     * for the app.
+     */
+    private static final int LOGIN_WEIGHT = 1;
+    private static final int DASHBOARD_WEIGHT = 4;
+    private static final int SESSION_WEIGHT = 2;
+    private static final int FEED_WEIGHT = 2;
+    private static final int STUDY_WEIGHT = 1;
+    private static final int TOTAL_WEIGHT = LOGIN_WEIGHT + DASHBOARD_WEIGHT + SESSION_WEIGHT + FEED_WEIGHT
+        + STUDY_WEIGHT;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String username;
+    private String authorization;
+
+    VirtualUser(HttpClient client, String baseUrl, String username) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.username = username;
+    }
+
+    /**
+     * Signs the user up and gives them a cat. Not measured.
+     * @throws IOException if the user could not be set up
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    void signUp() throws IOException, InterruptedException {
+        final JSONObject signup = new JSONObject()
+            .put("username", username)
+            .put("email", username + "@example.com")
+            .put("password", PASSWORD)
+            .put("confirmPassword", PASSWORD);
+        final HttpResponse<String> response = client.send(post("/api/users/signup", signup.toString()).build(),
+            HttpResponse.BodyHandlers.ofString());
+        requireSuccess(response, "sign up " + username);
+        authorization = "Bearer " + new JSONObject(response.body()).getString("accessToken");
+        final JSONObject cat = new JSONObject().put("name", CAT_NAME).put("imageFileName", "cat-1.png");
+        requireSuccess(client.send(post("/api/cats/" + username, cat.toString())
+            .header("Authorization", authorization).build(),
+            HttpResponse.BodyHandlers.ofString()), "create a cat for " + username);
+    }
+
+    /**
+     * Makes requests from the mix until the deadline.
+     * @param deadline when to stop
+     * @param recorder where the latency of every request goes
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    void run(Instant deadline, LatencyRecorder recorder) throws InterruptedException {
+        while (Instant.now().isBefore(deadline)) {
+            final int pick = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+            if (pick < LOGIN_WEIGHT) {
+                logIn(recorder);
+            }
+            else if (pick < LOGIN_WEIGHT + DASHBOARD_WEIGHT) {
+                send(DASHBOARD, authorized("/api/dashboard").GET(), recorder);
+            }
+            else if (pick < LOGIN_WEIGHT + DASHBOARD_WEIGHT + SESSION_WEIGHT) {
+                studySession(recorder);
+            }
+            else if (pick < TOTAL_WEIGHT - STUDY_WEIGHT) {
+                send(CAT_FEED, authorized("/api/cats/" + username + "/" + CAT_NAME + "/hunger")
+                    .header("Content-Type", JSON)
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"changeAmount\": 10}")), recorder);
+            }
+            else {
+                send(UPDATE_AFTER_STUDY, authorized("/api/cats/update-after-study")
+                    .POST(HttpRequest.BodyPublishers.noBody()), recorder);
+            }
+        }
+    }
+
+    private void logIn(LatencyRecorder recorder) throws InterruptedException {
+        final JSONObject login = new JSONObject().put("username", username).put("password", PASSWORD);
+        final HttpResponse<String> response = send(LOGIN, post("/api/users/login", login.toString()), recorder);
+        if (response != null) {
+            authorization = "Bearer " + new JSONObject(response.body()).getString("accessToken");
+        }
+    }
+
+    private void studySession(LatencyRecorder recorder) throws InterruptedException {
+        final HttpResponse<String> created = send(SESSION_CREATE, authorized("/api/sessions")
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofString("{\"sessionType\": \"focus\", \"durationMinutes\": 25}")),
+            recorder);
+        if (created == null) {
+            return;
+        }
+        final String session = "/api/sessions/" + new JSONObject(created.body()).getString("id");
+        send(SESSION_INTERRUPTION, authorized(session + "/interruption")
+            .method("PATCH", HttpRequest.BodyPublishers.noBody()), recorder);
+        send(SESSION_COMPLETE, authorized(session + "/complete")
+            .method("PATCH", HttpRequest.BodyPublishers.noBody()), recorder);
+    }
+
+    /**
+     * Sends a request and records how long it took.
+     * @return the response, or null if the request failed
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request, LatencyRecorder recorder)
+        throws InterruptedException {
+        final long start = System.nanoTime();
+        try {
+            final HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            final boolean succeeded = response.statusCode() < HTTP_BAD_REQUEST;
+            recorder.record(endpoint, System.nanoTime() - start, succeeded);
+            if (succeeded) {
+                return response;
+            }
+            return null;
+        }
+        catch (IOException ex) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", authorization);
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static void requireSuccess(HttpResponse<String> response, String action) throws IOException {
+        if (response.statusCode() >= HTTP_BAD_REQUEST) {
+            throw new IOException("Could not " + action + ": " + response.statusCode() + " " + response.body());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Value;
 
 import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AbstractDataAccess;
+import okhttp3.OkHttpClient;
 
 /**
  * Abstract base class for cat-related data access operations.
@@ -11,8 +12,11 @@ import com.pawmodoro.core.AbstractDataAccess;
  */
 public abstract class AbstractCatDataAccess extends AbstractDataAccess {
 
-    protected AbstractCatDataAccess(@Value("${supabase.url}") String apiUrl, @Value("${supabase.key}") String apiKey) {
-        super(apiUrl, apiKey);
+    protected AbstractCatDataAccess(
+        OkHttpClient client,
+        @Value("${supabase.url}") String apiUrl,
+        @Value("${supabase.key}") String apiKey) {
+        super(client, apiUrl, apiKey);
     }
 
     protected String buildCatQueryUrl(String catName, String ownerUsername) {
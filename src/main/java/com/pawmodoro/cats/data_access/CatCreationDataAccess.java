@@ -1,21 +1,24 @@
 package com.pawmodoro.cats.data_access;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
 import com.pawmodoro.cats.entity.Cat;
 import com.pawmodoro.cats.entity.CatAlreadyExistsException;
-import com.pawmodoro.cats.entity.CatFactory;
 import com.pawmodoro.cats.service.create_cat.CreateCatDataAccessInterface;
 import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -25,15 +28,20 @@ import okhttp3.Response;
  * @see CreateCatDataAccessInterface
  */
 @Repository
+@Profile("!jdbc")
 public class CatCreationDataAccess extends AbstractCatDataAccess implements CreateCatDataAccessInterface {
-    private final CatFactory catFactory;
+    private final CatJsonReader catJsonReader;
+    private final OwnerCatCache catCache;
 
     public CatCreationDataAccess(
-        CatFactory catFactory,
+        CatJsonReader catJsonReader,
+        OwnerCatCache catCache,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        super(apiUrl, apiKey);
-        this.catFactory = catFactory;
+        super(client, apiUrl, apiKey);
+        this.catJsonReader = catJsonReader;
+        this.catCache = catCache;
     }
 
     @Override
@@ -50,6 +58,7 @@ public class CatCreationDataAccess extends AbstractCatDataAccess implements Crea
             + Constants.Http.AND_OPERATOR + Constants.Http.LIMIT_PARAM + "1";
 
         final Request supabaseRequest = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_EXISTS))
             .url(queryUrl)
             .get()
             .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
@@ -93,6 +102,7 @@ public class CatCreationDataAccess extends AbstractCatDataAccess implements Crea
 
         // Create the request with proper headers
         final Request supabaseRequest = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_CREATE))
             .url(getApiUrl() + Constants.Endpoints.CATS_ENDPOINT)
             .post(RequestBody.create(requestBody.toString(), JSON))
             .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
@@ -101,28 +111,19 @@ public class CatCreationDataAccess extends AbstractCatDataAccess implements Crea
             .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
             .build();
 
-        try {
-            final Response response = getClient().newCall(supabaseRequest).execute();
-            final String responseBody = response.body().string();
-
+        try (Response response = getClient().newCall(supabaseRequest).execute()) {
             if (!response.isSuccessful()) {
-                handleCreateError(response, responseBody, cat);
+                handleCreateError(response, response.body().string(), cat);
             }
+            catCache.invalidate(cat.getOwnerUsername());
 
             // Parse the response and create a new Cat entity
-            final JSONArray jsonArray = new JSONArray(responseBody);
-            if (jsonArray.length() == 0) {
+            final List<Cat> cats = catJsonReader.readCats(response.body().byteStream());
+            if (cats.isEmpty()) {
                 throw new DatabaseAccessException(
                     String.format(Constants.ErrorMessages.CAT_CREATE_FAILED, "No data returned"));
             }
-
-            final JSONObject catJson = jsonArray.getJSONObject(0);
-            return catFactory.create(
-                catJson.getString(Constants.JsonFields.CAT_NAME),
-                catJson.getString(Constants.JsonFields.OWNER_USERNAME),
-                catJson.getInt(Constants.JsonFields.HAPPINESS_LEVEL),
-                catJson.getInt(Constants.JsonFields.HUNGER_LEVEL),
-                catJson.getString(Constants.JsonFields.IMAGE_FILE_NAME));
+            return cats.get(0);
         }
         catch (final IOException exception) {
             throw new DatabaseAccessException(
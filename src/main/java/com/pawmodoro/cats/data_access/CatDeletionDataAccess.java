@@ -3,6 +3,7 @@ package com.pawmodoro.cats.data_access;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +13,8 @@ import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
@@ -20,12 +23,17 @@ import okhttp3.Response;
  * @see DeleteCatDataAccessInterface
  */
 @Repository
+@Profile("!jdbc")
 public class CatDeletionDataAccess extends AbstractCatDataAccess implements DeleteCatDataAccessInterface {
+    private final OwnerCatCache catCache;
 
     public CatDeletionDataAccess(
+        OwnerCatCache catCache,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        super(apiUrl, apiKey);
+        super(client, apiUrl, apiKey);
+        this.catCache = catCache;
     }
 
     @Override
@@ -37,6 +45,7 @@ public class CatDeletionDataAccess extends AbstractCatDataAccess implements Dele
 
         // Create the request with proper headers
         final Request supabaseRequest = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_DELETE))
             .url(queryUrl)
             .delete()
             .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
@@ -44,9 +53,7 @@ public class CatDeletionDataAccess extends AbstractCatDataAccess implements Dele
             .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_MINIMAL)
             .build();
 
-        try {
-            final Response response = getClient().newCall(supabaseRequest).execute();
-
+        try (Response response = getClient().newCall(supabaseRequest).execute()) {
             if (!response.isSuccessful()) {
                 final String responseBody = response.body().string();
 
@@ -64,6 +71,7 @@ public class CatDeletionDataAccess extends AbstractCatDataAccess implements Dele
                 throw new DatabaseAccessException(
                     String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED, responseBody));
             }
+            catCache.invalidate(ownerUsername);
         }
         catch (final IOException exception) {
             throw new DatabaseAccessException(
@@ -0,0 +1,86 @@
+package com.pawmodoro.cats.data_access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.constants.Constants;
+
+/**
+ * Reads cat rows returned by PostgREST with a streaming parser.
+ * Rows are mapped straight from the response bytes to cats, without first reading the
+ * whole body into a String and building a JSON tree from it. Columns the cat does not
+ * need are skipped.
+ */
+@Component
+public class CatJsonReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final CatFactory catFactory;
+
+    public CatJsonReader(CatFactory catFactory) {
+        this.catFactory = catFactory;
+    }
+
+    /**
+     * Reads a JSON array of cat rows.
+     * @param body the response body
+     * @return the cats, in the order of the rows
+     * @throws IOException if the body cannot be read or a row is not a valid cat
+     */
+    public List<Cat> readCats(InputStream body) throws IOException {
+        final List<Cat> cats = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of cats");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                cats.add(readCat(parser));
+            }
+        }
+        return cats;
+    }
+
+    /**
+     * Reads one cat row. The parser must be positioned on the row's START_OBJECT token.
+     */
+    private Cat readCat(JsonParser parser) throws IOException {
+        String name = null;
+        String ownerUsername = null;
+        String imageFileName = null;
+        Integer happinessLevel = null;
+        Integer hungerLevel = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case Constants.JsonFields.CAT_NAME -> name = parser.getText();
+                case Constants.JsonFields.OWNER_USERNAME -> ownerUsername = parser.getText();
+                case Constants.JsonFields.IMAGE_FILE_NAME -> imageFileName = parser.getText();
+                case Constants.JsonFields.HAPPINESS_LEVEL -> happinessLevel = parser.getIntValue();
+                case Constants.JsonFields.HUNGER_LEVEL -> hungerLevel = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (name == null || ownerUsername == null || imageFileName == null
+            || happinessLevel == null || hungerLevel == null) {
+            throw new JsonParseException(parser, "Cat row is missing required columns");
+        }
+        return catFactory.create(name, ownerUsername, happinessLevel, hungerLevel, imageFileName);
+    }
+}
@@ -1,21 +1,23 @@
 package com.pawmodoro.cats.data_access;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
 import com.pawmodoro.cats.entity.Cat;
-import com.pawmodoro.cats.entity.CatFactory;
 import com.pawmodoro.cats.service.get_all_cats.GetAllCatsDataAccessInterface;
 import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
@@ -24,60 +26,92 @@ import okhttp3.Response;
  * @see GetAllCatsDataAccessInterface
  */
 @Repository
+@Profile("!jdbc")
 public class CatRetrievalDataAccess extends AbstractCatDataAccess implements GetAllCatsDataAccessInterface {
-    private final CatFactory catFactory;
+    private final CatJsonReader catJsonReader;
+    private final OwnerCatCache catCache;
+    private final SupabaseTokenVerifier tokenVerifier;
 
     public CatRetrievalDataAccess(
-        CatFactory catFactory,
+        CatJsonReader catJsonReader,
+        OwnerCatCache catCache,
+        SupabaseTokenVerifier tokenVerifier,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        super(apiUrl, apiKey);
-        this.catFactory = catFactory;
+        super(client, apiUrl, apiKey);
+        this.catJsonReader = catJsonReader;
+        this.catCache = catCache;
+        this.tokenVerifier = tokenVerifier;
     }
 
+    /**
+     * Gets all cats owned by a user, from the cache if they were read recently.
+     * The caller's token is verified first, so an expired token is rejected even on a cache hit.
+     */
     @Override
     public List<Cat> getCatsByOwner(String ownerUsername) throws DatabaseAccessException {
         final String authToken = getAndValidateAuthToken();
-        final List<Cat> cats = new ArrayList<>();
+        return await(getCachedCats(ownerUsername, authToken));
+    }
+
+    /**
+     * Gets all cats owned by a user without blocking the calling thread.
+     * @param ownerUsername the username of the owner
+     * @param token the access token of the caller, without the "Bearer " prefix
+     * @return a future completed with the cats owned by the user
+     */
+    public CompletableFuture<List<Cat>> getCatsByOwnerAsync(String ownerUsername, String token) {
+        try {
+            return getCachedCats(ownerUsername, Constants.Http.BEARER_PREFIX + token);
+        }
+        catch (DatabaseAccessException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * Gets all cats owned by a user on behalf of a caller whose token was already verified.
+     * @param ownerUsername the username of the owner
+     * @param viewerId the ID of the user the token belongs to
+     * @param token the access token of the caller, without the "Bearer " prefix
+     * @return the cats owned by the user
+     * @throws DatabaseAccessException if the database access fails
+     */
+    public List<Cat> getCatsByOwner(String ownerUsername, UUID viewerId, String token)
+        throws DatabaseAccessException {
+        return await(getCachedCats(ownerUsername, viewerId, Constants.Http.BEARER_PREFIX + token));
+    }
+
+    private CompletableFuture<List<Cat>> getCachedCats(String ownerUsername, String authToken)
+        throws DatabaseAccessException {
+        return getCachedCats(ownerUsername, tokenVerifier.getUserId(authToken), authToken);
+    }
+
+    private CompletableFuture<List<Cat>> getCachedCats(String ownerUsername, UUID viewerId, String authToken) {
+        return catCache.get(ownerUsername, viewerId,
+            () -> executeAsync(buildCatsRequest(ownerUsername, authToken), this::readCats));
+    }
 
-        final Request supabaseRequest = new Request.Builder()
+    private Request buildCatsRequest(String ownerUsername, String authToken) {
+        return new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_GET_BY_OWNER))
             .url(getApiUrl() + Constants.Endpoints.CATS_ENDPOINT + Constants.Http.QUERY_START
                 + Constants.JsonFields.OWNER_USERNAME + Constants.Http.QUERY_EQUALS + ownerUsername)
             .get()
             .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
             .addHeader(Constants.Http.AUTH_HEADER, authToken)
             .build();
+    }
 
-        try {
-            final Response response = getClient().newCall(supabaseRequest).execute();
-            final String responseBody = response.body().string();
-
-            if (!response.isSuccessful()) {
-                if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
-                    throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
-                }
-                throw new DatabaseAccessException(
-                    String.format(Constants.ErrorMessages.DB_FAILED_RETRIEVE_CATS, response.message()));
-            }
-
-            if (!responseBody.equals(Constants.JsonFields.EMPTY_ARRAY)) {
-                final JSONArray jsonArray = new JSONArray(responseBody);
-                for (int i = 0; i < jsonArray.length(); i++) {
-                    final JSONObject catJson = jsonArray.getJSONObject(i);
-                    final Cat cat = catFactory.create(
-                        catJson.getString(Constants.JsonFields.CAT_NAME),
-                        catJson.getString(Constants.JsonFields.OWNER_USERNAME),
-                        catJson.getInt(Constants.JsonFields.HAPPINESS_LEVEL),
-                        catJson.getInt(Constants.JsonFields.HUNGER_LEVEL),
-                        catJson.getString(Constants.JsonFields.IMAGE_FILE_NAME));
-                    cats.add(cat);
-                }
+    private List<Cat> readCats(Response response) throws IOException, DatabaseAccessException {
+        if (!response.isSuccessful()) {
+            if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
+                throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
             }
-        }
-        catch (final IOException exception) {
             throw new DatabaseAccessException(
-                String.format(Constants.ErrorMessages.DB_FAILED_RETRIEVE_CATS, exception.getMessage()));
+                String.format(Constants.ErrorMessages.DB_FAILED_RETRIEVE_CATS, response.message()));
         }
-        return cats;
+        return catJsonReader.readCats(response.body().byteStream());
     }
 }
@@ -2,18 +2,23 @@ package com.pawmodoro.cats.data_access;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.ToIntFunction;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.pawmodoro.cats.entity.Cat;
-import com.pawmodoro.cats.entity.CatFactory;
 import com.pawmodoro.cats.entity.NoCatsFoundException;
 import com.pawmodoro.cats.service.decrease_cat_stats_on_skip.DecreaseCatStatsOnSkipDataAccessInterface;
 import com.pawmodoro.cats.service.update_cat_happiness.UpdateCatHappinessDataAccessInterface;
@@ -22,8 +27,15 @@ import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyDa
 import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.FanOutExecutor;
 import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.core.TokenIdentityCache;
+import com.pawmodoro.core.VerifiedToken;
 import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -35,6 +47,7 @@ import okhttp3.Response;
  * @see DecreaseCatStatsOnSkipDataAccessInterface
  */
 @Repository
+@Profile("!jdbc")
 public class CatUpdateDataAccess extends AbstractCatDataAccess implements
     UpdateCatHungerDataAccessInterface,
     UpdateCatHappinessDataAccessInterface,
@@ -42,55 +55,61 @@ public class CatUpdateDataAccess extends AbstractCatDataAccess implements
     UpdateCatsAfterStudyDataAccessInterface {
 
     private static final MediaType JSON = MediaType.parse(Constants.Http.CONTENT_TYPE_JSON);
-    private final CatFactory catFactory;
+    private static final int MIN_LEVEL = 0;
+    private static final int MAX_LEVEL = 100;
+    private static final int MAX_ADJUST_ATTEMPTS = 16;
+    private final CatJsonReader catJsonReader;
+    private final OwnerCatCache catCache;
     private final CatRetrievalDataAccess catRetrieval;
     private final CatDeletionDataAccess catDeletion;
+    private final SupabaseTokenVerifier tokenVerifier;
+    private final TokenIdentityCache identityCache;
+    private final FanOutExecutor fanOutExecutor;
 
     public CatUpdateDataAccess(
-        CatFactory catFactory,
+        CatJsonReader catJsonReader,
+        OwnerCatCache catCache,
         CatRetrievalDataAccess catRetrieval,
         CatDeletionDataAccess catDeletion,
+        SupabaseTokenVerifier tokenVerifier,
+        TokenIdentityCache identityCache,
+        FanOutExecutor fanOutExecutor,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        super(apiUrl, apiKey);
-        this.catFactory = catFactory;
+        super(client, apiUrl, apiKey);
+        this.catJsonReader = catJsonReader;
+        this.catCache = catCache;
         this.catRetrieval = catRetrieval;
         this.catDeletion = catDeletion;
+        this.tokenVerifier = tokenVerifier;
+        this.identityCache = identityCache;
+        this.fanOutExecutor = fanOutExecutor;
     }
 
     @Override
     public String getUsernameFromToken(String token) throws DatabaseAccessException {
-        // The token contains the user's ID, we need to filter by it
-        final Request request = new Request.Builder()
-            .url(getApiUrl() + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
-                + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + getAuthUserId(token)
-                + Constants.Http.AND_OPERATOR
-                + Constants.Http.SELECT_PARAM + Constants.JsonFields.USERNAME_FIELD)
-            .get()
-            .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
-            .addHeader(Constants.Http.AUTH_HEADER, Constants.Http.BEARER_PREFIX + token)
-            .build();
-
-        try {
-            final Response response = getClient().newCall(request).execute();
-            final String responseBody = response.body().string();
+        return getIdentityFromToken(token).username();
+    }
 
-            if (!response.isSuccessful()) {
-                if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
-                    throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
-                }
-                else {
-                    throw new DatabaseAccessException(
-                        String.format(Constants.ErrorMessages.DB_FAILED_ACCESS, responseBody));
-                }
-            }
+    /**
+     * Verifies a token and resolves both the ID and the username of its user, reading the username
+     * from the user's profile unless the token's identity is cached.
+     * @param token the access token, without the "Bearer " prefix
+     * @return the identity of the token's user
+     * @throws AuthenticationException if the token is invalid or expired
+     * @throws DatabaseAccessException if the username could not be read
+     */
+    public TokenIdentity getIdentityFromToken(String token) throws DatabaseAccessException {
+        final TokenIdentity cached = identityCache.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
 
-            // Response should contain exactly one row since we're filtering by ID
-            final JSONArray profiles = new JSONArray(responseBody);
-            if (profiles.length() != 1) {
-                throw new DatabaseAccessException("Expected exactly one user profile when filtering by ID");
-            }
-            return profiles.getJSONObject(0).getString(Constants.JsonFields.USERNAME_FIELD);
+        final VerifiedToken verifiedToken = tokenVerifier.verify(token);
+        try (Response response = getClient().newCall(buildUsernameRequest(token, verifiedToken.userId())).execute()) {
+            final String username = cacheUsername(token, verifiedToken, readUsername(response));
+            return new TokenIdentity(verifiedToken.userId(), username, verifiedToken.expiresAt());
         }
         catch (IOException exception) {
             throw new DatabaseAccessException(
@@ -98,30 +117,62 @@ public class CatUpdateDataAccess extends AbstractCatDataAccess implements
         }
     }
 
-    private String getAuthUserId(String token) throws DatabaseAccessException {
-        final Request request = new Request.Builder()
-            .url(getApiUrl() + Constants.Endpoints.AUTH_USERS_ENDPOINT)
+    @Override
+    public CompletableFuture<String> getUsernameFromTokenAsync(String token) {
+        final TokenIdentity cached = identityCache.getIfPresent(token);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.username());
+        }
+
+        final VerifiedToken verifiedToken;
+        try {
+            verifiedToken = tokenVerifier.verify(token);
+        }
+        catch (DatabaseAccessException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        return executeAsync(buildUsernameRequest(token, verifiedToken.userId()),
+            response -> cacheUsername(token, verifiedToken, readUsername(response)));
+    }
+
+    private String cacheUsername(String token, VerifiedToken verifiedToken, String username) {
+        identityCache.put(token, new TokenIdentity(verifiedToken.userId(), username, verifiedToken.expiresAt()));
+        return username;
+    }
+
+    private Request buildUsernameRequest(String token, UUID userId) {
+        // The token contains the user's ID, we need to filter by it
+        return new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_GET_USERNAME))
+            .url(getApiUrl() + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
+                + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + userId
+                + Constants.Http.AND_OPERATOR
+                + Constants.Http.SELECT_PARAM + Constants.JsonFields.USERNAME_FIELD)
             .get()
             .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
             .addHeader(Constants.Http.AUTH_HEADER, Constants.Http.BEARER_PREFIX + token)
             .build();
+    }
 
-        try {
-            final Response response = getClient().newCall(request).execute();
-            final String responseBody = response.body().string();
+    private String readUsername(Response response) throws IOException, DatabaseAccessException {
+        final String responseBody = response.body().string();
 
-            if (!response.isSuccessful()) {
+        if (!response.isSuccessful()) {
+            if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
+                throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+            }
+            else {
                 throw new DatabaseAccessException(
                     String.format(Constants.ErrorMessages.DB_FAILED_ACCESS, responseBody));
             }
-
-            final JSONObject user = new JSONObject(responseBody);
-            return user.getString(Constants.JsonFields.ID_FIELD);
         }
-        catch (IOException exception) {
-            throw new DatabaseAccessException(
-                String.format(Constants.ErrorMessages.DB_FAILED_ACCESS, exception.getMessage()));
+
+        // Response should contain exactly one row since we're filtering by ID
+        final JSONArray profiles = new JSONArray(responseBody);
+        if (profiles.length() != 1) {
+            throw new DatabaseAccessException("Expected exactly one user profile when filtering by ID");
         }
+        return profiles.getJSONObject(0).getString(Constants.JsonFields.USERNAME_FIELD);
     }
 
     @Override
@@ -129,6 +180,11 @@ public class CatUpdateDataAccess extends AbstractCatDataAccess implements
         return catRetrieval.getCatsByOwner(ownerUsername);
     }
 
+    @Override
+    public CompletableFuture<List<Cat>> getCatsByOwnerAsync(String ownerUsername, String token) {
+        return catRetrieval.getCatsByOwnerAsync(ownerUsername, token);
+    }
+
     @Override
     public void deleteCat(String catName, String ownerUsername) throws DatabaseAccessException {
         catDeletion.deleteCat(catName, ownerUsername);
@@ -142,7 +198,7 @@ public class CatUpdateDataAccess extends AbstractCatDataAccess implements
             ownerUsername,
             Constants.JsonFields.HUNGER_LEVEL,
             changeAmount,
-            Cat::getHungerLevel);
+            Constants.Operations.CATS_UPDATE_HUNGER);
     }
 
     @Override
@@ -153,168 +209,408 @@ public class CatUpdateDataAccess extends AbstractCatDataAccess implements
             ownerUsername,
             Constants.JsonFields.HAPPINESS_LEVEL,
             changeAmount,
-            Cat::getHappinessLevel);
+            Constants.Operations.CATS_UPDATE_HAPPINESS);
     }
 
+    /**
+     * Adds a delta to one of a cat's stats in a single round trip.
+     * The adjust_cat_stat function clamps the new value to 0..100 and returns the updated row
+     * from the same UPDATE statement, so concurrent changes to the same cat cannot be lost.
+     * If the function does not exist yet, the stat is updated with a conditional PATCH instead.
+     */
     private Cat updateCatAttribute(
         String catName,
         String ownerUsername,
         String attributeName,
         int changeAmount,
-        ToIntFunction<Cat> getCurrentValue) throws DatabaseAccessException, NoCatsFoundException {
+        String operation) throws DatabaseAccessException, NoCatsFoundException {
 
         final String authToken = getAndValidateAuthToken();
 
-        // Get current cat
-        final Cat currentCat = catRetrieval.getCatsByOwner(ownerUsername).stream()
-            .filter(cat -> cat.getName().equals(catName))
-            .findFirst()
-            .orElseThrow(() -> {
-                throw new NoCatsFoundException(
-                    String.format(Constants.ErrorMessages.CAT_NOT_FOUND, catName, ownerUsername));
-            });
-
-        // Calculate new value
-        final int newValue = Math.clamp((long) getCurrentValue.applyAsInt(currentCat) + changeAmount, 0, 100);
-
-        // Create request body
-        final JSONObject requestBody = new JSONObject();
-        requestBody.put(attributeName, newValue);
-
-        // Build the request URL with query parameters to update the specific cat
-        final String queryUrl = buildCatQueryUrl(catName, ownerUsername);
+        final JSONObject requestBody = new JSONObject()
+            .put(Constants.JsonFields.CAT_NAME_PARAM, catName)
+            .put(Constants.JsonFields.OWNER_USERNAME_PARAM, ownerUsername)
+            .put(Constants.JsonFields.STAT_PARAM, attributeName)
+            .put(Constants.JsonFields.DELTA_PARAM, changeAmount);
 
-        // Create the request with proper headers and body
         final Request supabaseRequest = new Request.Builder()
-            .url(queryUrl)
-            .patch(RequestBody.create(requestBody.toString(), JSON))
+            .tag(SupabaseOperation.class, SupabaseOperation.of(operation))
+            .url(getApiUrl() + Constants.Endpoints.ADJUST_CAT_STAT_RPC)
+            .post(RequestBody.create(requestBody.toString(), JSON))
             .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
             .addHeader(Constants.Http.AUTH_HEADER, authToken)
-            .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
             .build();
 
-        try {
-            final Response response = getClient().newCall(supabaseRequest).execute();
-            final String responseBody = response.body().string();
+        try (Response response = getClient().newCall(supabaseRequest).execute()) {
+            if (response.code() != HttpStatus.NOT_FOUND.value()) {
+                checkUpdateResponse(response);
+                catCache.invalidate(ownerUsername);
 
-            if (!response.isSuccessful()) {
-                if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
-                    throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
-                }
-                else if (response.code() == HttpStatus.FORBIDDEN.value()) {
-                    throw new ForbiddenAccessException(Constants.ErrorMessages.CAT_UPDATE_UNAUTHORIZED);
-                }
-                else if (response.code() == HttpStatus.NOT_FOUND.value()) {
+                // No row is returned when the cat does not exist or is not visible to the caller
+                final List<Cat> cats = catJsonReader.readCats(response.body().byteStream());
+                if (cats.isEmpty()) {
                     throw new NoCatsFoundException(
                         String.format(Constants.ErrorMessages.CAT_NOT_FOUND, catName, ownerUsername));
                 }
-
-                throw new DatabaseAccessException(
-                    String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED, responseBody));
+                return cats.get(0);
             }
-
-            // Parse the response and create a new cat entity
-            final JSONArray responseArray = new JSONArray(responseBody);
-            final JSONObject catJson = responseArray.getJSONObject(0);
-            return catFactory.create(
-                catJson.getString(Constants.JsonFields.CAT_NAME),
-                catJson.getString(Constants.JsonFields.OWNER_USERNAME),
-                catJson.getInt(Constants.JsonFields.HAPPINESS_LEVEL),
-                catJson.getInt(Constants.JsonFields.HUNGER_LEVEL),
-                catJson.getString(Constants.JsonFields.IMAGE_FILE_NAME));
         }
         catch (final IOException exception) {
             throw new DatabaseAccessException(
                 String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED, exception.getMessage()));
         }
+        return adjustWithConditionalPatch(catName, ownerUsername, attributeName, changeAmount, authToken);
     }
 
-    private void updateSingleCat(Cat cat, int newHappiness, String authToken,
-        List<Cat> updatedCats, List<String> failures) throws AuthenticationException, ForbiddenAccessException {
-        try {
-            final String filterQuery = String.format(
-                "%s?%s=eq.%s&%s=eq.%s",
-                Constants.Endpoints.CATS_ENDPOINT,
-                Constants.JsonFields.CAT_NAME_LOWER,
-                cat.getName().toLowerCase(),
-                Constants.JsonFields.OWNER_USERNAME_LOWER,
-                cat.getOwnerUsername().toLowerCase());
-
-            final String queryUrl = getApiUrl() + filterQuery;
+    /**
+     * Adds a delta to one of a cat's stats when the adjust_cat_stat function is not deployed.
+     * The new value is written with a PATCH that only matches while the stat still has the value that was
+     * read, retrying when another update got there first, so concurrent changes are not lost either.
+     */
+    private Cat adjustWithConditionalPatch(
+        String catName,
+        String ownerUsername,
+        String attributeName,
+        int changeAmount,
+        String authToken) throws DatabaseAccessException, NoCatsFoundException {
+
+        for (int attempt = 0; attempt < MAX_ADJUST_ATTEMPTS; attempt++) {
+            final int currentLevel = readStat(catName, ownerUsername, attributeName, authToken);
             final JSONObject catUpdate = new JSONObject()
-                .put(Constants.JsonFields.HAPPINESS_LEVEL, newHappiness);
+                .put(attributeName, Math.clamp((long) currentLevel + changeAmount, MIN_LEVEL, MAX_LEVEL));
 
+            // Only matches while the stat is still the one that was read
             final Request request = new Request.Builder()
-                .url(queryUrl)
+                .tag(SupabaseOperation.class, attempt == 0
+                    ? SupabaseOperation.of(Constants.Operations.CATS_PATCH_STAT)
+                    : SupabaseOperation.retryOf(Constants.Operations.CATS_PATCH_STAT))
+                .url(getApiUrl() + catFilter(catName, ownerUsername) + Constants.Http.AND_OPERATOR
+                    + attributeName + Constants.Http.QUERY_EQUALS + currentLevel)
                 .patch(RequestBody.create(catUpdate.toString(), JSON))
                 .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
                 .addHeader(Constants.Http.AUTH_HEADER, authToken)
                 .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
                 .build();
 
-            final Response response = getClient().newCall(request).execute();
-            final String responseBody = response.body().string();
+            try (Response response = getClient().newCall(request).execute()) {
+                checkUpdateResponse(response);
 
-            if (!response.isSuccessful()) {
-                handleUpdateError(response.code(), responseBody, cat, failures);
+                final List<Cat> cats = catJsonReader.readCats(response.body().byteStream());
+                if (!cats.isEmpty()) {
+                    catCache.invalidate(ownerUsername);
+                    return cats.get(0);
+                }
+                // The cat changed in between, read the new value and try again
             }
-            else {
-                handleSuccessResponse(responseBody, cat, updatedCats, failures);
+            catch (final IOException exception) {
+                throw new DatabaseAccessException(
+                    String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED, exception.getMessage()));
             }
         }
-        catch (IOException exception) {
-            failures.add(String.format("Failed to update cat %s: %s",
-                cat.getName(), exception.getMessage()));
+        throw new DatabaseAccessException(
+            String.format(Constants.ErrorMessages.CAT_UPDATE_CONFLICT, catName, ownerUsername));
+    }
+
+    private int readStat(String catName, String ownerUsername, String attributeName, String authToken)
+        throws DatabaseAccessException, NoCatsFoundException {
+        final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_GET_CAT))
+            .url(getApiUrl() + catFilter(catName, ownerUsername))
+            .get()
+            .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
+            .addHeader(Constants.Http.AUTH_HEADER, authToken)
+            .build();
+
+        try (Response response = getClient().newCall(request).execute()) {
+            checkUpdateResponse(response);
+
+            final List<Cat> cats = catJsonReader.readCats(response.body().byteStream());
+            if (cats.isEmpty()) {
+                throw new NoCatsFoundException(
+                    String.format(Constants.ErrorMessages.CAT_NOT_FOUND, catName, ownerUsername));
+            }
+            return Constants.JsonFields.HUNGER_LEVEL.equals(attributeName)
+                ? cats.get(0).getHungerLevel()
+                : cats.get(0).getHappinessLevel();
+        }
+        catch (final IOException exception) {
+            throw new DatabaseAccessException(
+                String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED, exception.getMessage()));
         }
     }
 
-    private void handleUpdateError(int statusCode, String responseBody, Cat cat,
-        List<String> failures) throws AuthenticationException, ForbiddenAccessException {
-        if (statusCode == HttpStatus.UNAUTHORIZED.value()) {
+    private static void checkUpdateResponse(Response response) throws IOException, DatabaseAccessException {
+        if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
             throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
         }
-        else if (statusCode == HttpStatus.FORBIDDEN.value()) {
+        else if (response.code() == HttpStatus.FORBIDDEN.value()) {
             throw new ForbiddenAccessException(Constants.ErrorMessages.CAT_UPDATE_UNAUTHORIZED);
         }
-        failures.add(String.format("Failed to update cat %s: %s", cat.getName(), responseBody));
+        else if (!response.isSuccessful()) {
+            throw new DatabaseAccessException(
+                String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED, response.body().string()));
+        }
     }
 
-    private void handleSuccessResponse(String responseBody, Cat cat,
-        List<Cat> updatedCats, List<String> failures) {
-        try {
-            final JSONArray responseArray = new JSONArray(responseBody);
-            final JSONObject catJson = responseArray.getJSONObject(0);
-            updatedCats.add(catFactory.create(
-                catJson.getString(Constants.JsonFields.CAT_NAME),
-                catJson.getString(Constants.JsonFields.OWNER_USERNAME),
-                catJson.getInt(Constants.JsonFields.HAPPINESS_LEVEL),
-                catJson.getInt(Constants.JsonFields.HUNGER_LEVEL),
-                catJson.getString(Constants.JsonFields.IMAGE_FILE_NAME)));
-        }
-        catch (org.json.JSONException exception) {
-            failures.add(String.format(Constants.ErrorMessages.CAT_UPDATE_PARSE_ERROR,
-                cat.getName(), exception.getMessage()));
-        }
+    private static String catFilter(String catName, String ownerUsername) {
+        return String.format(
+            "%s?%s=eq.%s&%s=eq.%s",
+            Constants.Endpoints.CATS_ENDPOINT,
+            Constants.JsonFields.CAT_NAME_LOWER,
+            catName.toLowerCase(),
+            Constants.JsonFields.OWNER_USERNAME_LOWER,
+            ownerUsername.toLowerCase());
     }
 
+    /**
+     * Sets the happiness of all given cats with a single call to the set_cats_happiness function.
+     * Cats that are not part of the returned rows are reported as failures.
+     * If the function does not exist yet, each cat is updated with its own request instead.
+     */
     @Override
     public CatUpdateResult updateCatsHappiness(Map<Cat, Integer> catUpdates) throws DatabaseAccessException {
         final String authToken = getAndValidateAuthToken();
+        if (catUpdates.isEmpty()) {
+            return new CatUpdateResult(new ArrayList<>(), new ArrayList<>());
+        }
+
+        try {
+            return updateCatsHappinessInBulk(catUpdates, authToken);
+        }
+        finally {
+            invalidateOwners(catUpdates);
+        }
+    }
+
+    private CatUpdateResult updateCatsHappinessInBulk(Map<Cat, Integer> catUpdates, String authToken)
+        throws DatabaseAccessException {
+        Optional<CatUpdateResult> bulkResult;
+        try (Response response = getClient().newCall(buildBulkHappinessRequest(catUpdates, authToken)).execute()) {
+            bulkResult = readBulkHappinessUpdate(response, catUpdates);
+        }
+        catch (IOException exception) {
+            bulkResult = Optional.of(failAll(catUpdates, exception.getMessage()));
+        }
+
+        if (bulkResult.isPresent()) {
+            return bulkResult.get();
+        }
+        return updateCatsHappinessIndividually(catUpdates, authToken);
+    }
+
+    @Override
+    public CompletableFuture<CatUpdateResult> updateCatsHappinessAsync(Map<Cat, Integer> catUpdates, String token) {
+        final String authToken = Constants.Http.BEARER_PREFIX + token;
+        if (catUpdates.isEmpty()) {
+            return CompletableFuture.completedFuture(new CatUpdateResult(new ArrayList<>(), new ArrayList<>()));
+        }
+
+        return executeAsync(buildBulkHappinessRequest(catUpdates, authToken),
+            response -> readBulkHappinessUpdate(response, catUpdates))
+            .exceptionally(exception -> {
+                final Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+                if (cause instanceof DatabaseAccessException && cause.getCause() instanceof IOException ioException) {
+                    return Optional.of(failAll(catUpdates, ioException.getMessage()));
+                }
+                throw new CompletionException(cause);
+            })
+            .thenCompose(bulkResult -> bulkResult
+                .map(CompletableFuture::completedFuture)
+                // The fallback waits on its fan-out, so it must not run on OkHttp's dispatcher threads
+                .orElseGet(() -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return updateCatsHappinessIndividually(catUpdates, authToken);
+                    }
+                    catch (DatabaseAccessException exception) {
+                        throw new CompletionException(exception);
+                    }
+                }, runnable -> Thread.ofVirtual().start(runnable))))
+            .whenComplete((result, exception) -> invalidateOwners(catUpdates));
+    }
+
+    private void invalidateOwners(Map<Cat, Integer> catUpdates) {
+        catUpdates.keySet().stream()
+            .map(Cat::getOwnerUsername)
+            .distinct()
+            .forEach(catCache::invalidate);
+    }
+
+    private Request buildBulkHappinessRequest(Map<Cat, Integer> catUpdates, String authToken) {
+        final JSONArray updates = new JSONArray();
+        for (Map.Entry<Cat, Integer> entry : catUpdates.entrySet()) {
+            updates.put(new JSONObject()
+                .put(Constants.JsonFields.CAT_NAME, entry.getKey().getName())
+                .put(Constants.JsonFields.OWNER_USERNAME, entry.getKey().getOwnerUsername())
+                .put(Constants.JsonFields.HAPPINESS_LEVEL, entry.getValue()));
+        }
+
+        return new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_SET_HAPPINESS))
+            .url(getApiUrl() + Constants.Endpoints.SET_CATS_HAPPINESS_RPC)
+            .post(RequestBody.create(
+                new JSONObject().put(Constants.JsonFields.UPDATES_PARAM, updates).toString(), JSON))
+            .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
+            .addHeader(Constants.Http.AUTH_HEADER, authToken)
+            .build();
+    }
+
+    /**
+     * Reads the response of the set_cats_happiness function.
+     * @return the result, or empty if the function is not deployed
+     */
+    private Optional<CatUpdateResult> readBulkHappinessUpdate(Response response, Map<Cat, Integer> catUpdates)
+        throws IOException, DatabaseAccessException {
+        final Optional<CatUpdateResult> result;
+        if (response.code() == HttpStatus.NOT_FOUND.value()) {
+            result = Optional.empty();
+        }
+        else if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        }
+        else if (response.code() == HttpStatus.FORBIDDEN.value()) {
+            throw new ForbiddenAccessException(Constants.ErrorMessages.CAT_UPDATE_UNAUTHORIZED);
+        }
+        else if (!response.isSuccessful()) {
+            result = Optional.of(failAll(catUpdates, response.body().string()));
+        }
+        else {
+            result = Optional.of(collectUpdatedCats(response, catUpdates));
+        }
+        return result;
+    }
+
+    private static CatUpdateResult failAll(Map<Cat, Integer> catUpdates, String reason) {
+        final List<String> failures = new ArrayList<>();
+        catUpdates.keySet().forEach(cat -> failures.add(
+            String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR, cat.getName(), reason)));
+        return new CatUpdateResult(new ArrayList<>(), failures);
+    }
+
+    /**
+     * Falls back to one PATCH per cat when the set_cats_happiness function is not deployed.
+     * The requests run concurrently, an authentication or authorization error stops all of them.
+     */
+    private CatUpdateResult updateCatsHappinessIndividually(Map<Cat, Integer> catUpdates, String authToken)
+        throws DatabaseAccessException {
+        final List<Map.Entry<Cat, Integer>> entries = List.copyOf(catUpdates.entrySet());
+        final List<SingleCatUpdate> outcomes = fanOutExecutor.invokeAll(
+            entries,
+            entry -> updateSingleCat(entry.getKey(), entry.getValue(), authToken),
+            entry -> SingleCatUpdate.failed(
+                String.format(Constants.ErrorMessages.CAT_UPDATE_TIMED_OUT, entry.getKey().getName())));
+
         final List<Cat> updatedCats = new ArrayList<>();
         final List<String> failures = new ArrayList<>();
+        for (SingleCatUpdate outcome : outcomes) {
+            if (outcome.cat() != null) {
+                updatedCats.add(outcome.cat());
+            }
+            else {
+                failures.add(outcome.failure());
+            }
+        }
+        return new CatUpdateResult(updatedCats, failures);
+    }
 
-        for (Map.Entry<Cat, Integer> entry : catUpdates.entrySet()) {
-            try {
-                updateSingleCat(entry.getKey(), entry.getValue(), authToken, updatedCats, failures);
+    private SingleCatUpdate updateSingleCat(Cat cat, int newHappiness, String authToken)
+        throws AuthenticationException, ForbiddenAccessException {
+        final String filterQuery = catFilter(cat.getName(), cat.getOwnerUsername());
+
+        final JSONObject catUpdate = new JSONObject()
+            .put(Constants.JsonFields.HAPPINESS_LEVEL, newHappiness);
+
+        final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.CATS_PATCH_HAPPINESS))
+            .url(getApiUrl() + filterQuery)
+            .patch(RequestBody.create(catUpdate.toString(), JSON))
+            .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
+            .addHeader(Constants.Http.AUTH_HEADER, authToken)
+            .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
+            .build();
+
+        SingleCatUpdate outcome;
+        try (Response response = getClient().newCall(request).execute()) {
+            if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
+                throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+            }
+            else if (response.code() == HttpStatus.FORBIDDEN.value()) {
+                throw new ForbiddenAccessException(Constants.ErrorMessages.CAT_UPDATE_UNAUTHORIZED);
+            }
+            else if (!response.isSuccessful()) {
+                outcome = SingleCatUpdate.failed(String.format(
+                    Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR, cat.getName(), response.body().string()));
             }
-            catch (AuthenticationException | ForbiddenAccessException exception) {
-                throw new DatabaseAccessException(exception.getMessage());
+            else {
+                final List<Cat> cats = catJsonReader.readCats(response.body().byteStream());
+                if (cats.isEmpty()) {
+                    outcome = SingleCatUpdate.failed(String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR,
+                        cat.getName(),
+                        String.format(Constants.ErrorMessages.CAT_NOT_FOUND, cat.getName(), cat.getOwnerUsername())));
+                }
+                else {
+                    outcome = SingleCatUpdate.updated(cats.get(0));
+                }
             }
         }
+        catch (JsonProcessingException exception) {
+            outcome = SingleCatUpdate.failed(String.format(Constants.ErrorMessages.CAT_UPDATE_PARSE_ERROR,
+                cat.getName(), exception.getOriginalMessage()));
+        }
+        catch (IOException exception) {
+            outcome = SingleCatUpdate.failed(String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR,
+                cat.getName(), exception.getMessage()));
+        }
+        return outcome;
+    }
+
+    /**
+     * Outcome of updating a single cat, either the updated cat or the reason it failed.
+     */
+    private record SingleCatUpdate(Cat cat, String failure) {
+        static SingleCatUpdate updated(Cat cat) {
+            return new SingleCatUpdate(cat, null);
+        }
+
+        static SingleCatUpdate failed(String failure) {
+            return new SingleCatUpdate(null, failure);
+        }
+    }
 
+    private CatUpdateResult collectUpdatedCats(Response response, Map<Cat, Integer> catUpdates)
+        throws IOException {
+        final Map<String, Cat> returnedCats = new HashMap<>();
+        try {
+            for (Cat cat : catJsonReader.readCats(response.body().byteStream())) {
+                returnedCats.put(catKey(cat), cat);
+            }
+        }
+        catch (JsonProcessingException exception) {
+            final List<String> failures = new ArrayList<>();
+            catUpdates.keySet().forEach(cat -> failures.add(String.format(
+                Constants.ErrorMessages.CAT_UPDATE_PARSE_ERROR, cat.getName(), exception.getOriginalMessage())));
+            return new CatUpdateResult(new ArrayList<>(), failures);
+        }
+
+        // Report results in the order the updates were requested
+        final List<Cat> updatedCats = new ArrayList<>();
+        final List<String> failures = new ArrayList<>();
+        for (Cat cat : catUpdates.keySet()) {
+            final Cat updatedCat = returnedCats.get(catKey(cat));
+            if (updatedCat != null) {
+                updatedCats.add(updatedCat);
+            }
+            else {
+                failures.add(String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR, cat.getName(),
+                    String.format(Constants.ErrorMessages.CAT_NOT_FOUND, cat.getName(), cat.getOwnerUsername())));
+            }
+        }
         return new CatUpdateResult(updatedCats, failures);
     }
 
+    private static String catKey(Cat cat) {
+        return cat.getOwnerUsername().toLowerCase() + "/" + cat.getName().toLowerCase();
+    }
+
     /**
      * Result class for cat update operations.
      * Contains lists of successfully updated cats and any failure messages.
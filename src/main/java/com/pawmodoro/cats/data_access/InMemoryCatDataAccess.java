@@ -0,0 +1,252 @@
+package com.pawmodoro.cats.data_access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.cats.data_access.CatUpdateDataAccess.CatUpdateResult;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatAlreadyExistsException;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.cats.entity.NoCatsFoundException;
+import com.pawmodoro.cats.service.create_cat.CreateCatDataAccessInterface;
+import com.pawmodoro.cats.service.decrease_cat_stats_on_skip.DecreaseCatStatsOnSkipDataAccessInterface;
+import com.pawmodoro.cats.service.delete_cat.DeleteCatDataAccessInterface;
+import com.pawmodoro.cats.service.get_all_cats.GetAllCatsDataAccessInterface;
+import com.pawmodoro.cats.service.update_cat_happiness.UpdateCatHappinessDataAccessInterface;
+import com.pawmodoro.cats.service.update_cat_hunger.UpdateCatHungerDataAccessInterface;
+import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyDataAccessInterface;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthorizationHeaders;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SimulatedLatency;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.users.data_access.InMemoryUserDataAccess;
+
+/**
+ * Cats kept in memory, used with the {@code in-memory} profile. Each owner has a map of cats by lower-case
+ * name, and every change replaces a cat atomically within it, so concurrent stat changes cannot be lost.
+ * Like the row level security policies in Supabase, callers only see and change their own cats.
+ */
+@Repository
+@Primary
+@Profile("in-memory")
+public class InMemoryCatDataAccess implements CreateCatDataAccessInterface, DeleteCatDataAccessInterface,
+    GetAllCatsDataAccessInterface, UpdateCatHungerDataAccessInterface, UpdateCatHappinessDataAccessInterface,
+    DecreaseCatStatsOnSkipDataAccessInterface, UpdateCatsAfterStudyDataAccessInterface {
+    private static final int MIN_LEVEL = 0;
+    private static final int MAX_LEVEL = 100;
+    // Stands in for the cats of an owner the caller may not see; only ever read, removed from or updated in place
+    private static final Map<String, StoredCat> NO_CATS = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, StoredCat>> catsByOwner = new ConcurrentHashMap<>();
+    private final InMemoryUserDataAccess users;
+    private final CatFactory catFactory;
+    private final SimulatedLatency latency;
+
+    public InMemoryCatDataAccess(InMemoryUserDataAccess users, CatFactory catFactory, SimulatedLatency latency) {
+        this.users = users;
+        this.catFactory = catFactory;
+        this.latency = latency;
+    }
+
+    @Override
+    public boolean catExistsByNameAndOwnerUsername(String catName, String ownerUsername)
+        throws DatabaseAccessException {
+        return visibleCats(ownerUsername, currentUser()).containsKey(key(catName));
+    }
+
+    @Override
+    public Cat saveCat(Cat cat) throws DatabaseAccessException, CatAlreadyExistsException {
+        final TokenIdentity caller = currentUser();
+        latency.pause();
+        if (!isOwner(cat.getOwnerUsername(), caller)) {
+            throw new ForbiddenAccessException(
+                String.format(Constants.ErrorMessages.CAT_CREATE_UNAUTHORIZED, cat.getOwnerUsername()));
+        }
+
+        final StoredCat storedCat = new StoredCat(cat.getName(), cat.getOwnerUsername(), cat.getHappinessLevel(),
+            cat.getHungerLevel(), cat.getImageFileName());
+        final Map<String, StoredCat> cats =
+            catsByOwner.computeIfAbsent(key(cat.getOwnerUsername()), owner -> new ConcurrentHashMap<>());
+        if (cats.putIfAbsent(key(cat.getName()), storedCat) != null) {
+            throw new CatAlreadyExistsException(Constants.ErrorMessages.DB_DUPLICATE_CAT_NAME);
+        }
+        return toCat(storedCat);
+    }
+
+    @Override
+    public void deleteCat(String catName, String ownerUsername) throws DatabaseAccessException {
+        visibleCats(ownerUsername, currentUser()).remove(key(catName));
+    }
+
+    @Override
+    public List<Cat> getCatsByOwner(String ownerUsername) throws DatabaseAccessException {
+        return getCatsByOwner(ownerUsername, currentUser());
+    }
+
+    /**
+     * Gets all cats owned by a user on behalf of a caller whose token was already resolved.
+     * @param ownerUsername the username of the owner
+     * @param caller the identity of the caller
+     * @return the cats owned by the user that the caller may see
+     */
+    public List<Cat> getCatsByOwner(String ownerUsername, TokenIdentity caller) {
+        final List<Cat> cats = new ArrayList<>();
+        for (StoredCat storedCat : visibleCats(ownerUsername, caller).values()) {
+            cats.add(toCat(storedCat));
+        }
+        return cats;
+    }
+
+    @Override
+    public CompletableFuture<List<Cat>> getCatsByOwnerAsync(String ownerUsername, String token) {
+        return supplyAsync(() -> getCatsByOwner(ownerUsername, users.getIdentityFromToken(token)));
+    }
+
+    @Override
+    public String getUsernameFromToken(String token) throws DatabaseAccessException {
+        return users.getIdentityFromToken(token).username();
+    }
+
+    @Override
+    public CompletableFuture<String> getUsernameFromTokenAsync(String token) {
+        return supplyAsync(() -> getUsernameFromToken(token));
+    }
+
+    @Override
+    public Cat updateHunger(String catName, String ownerUsername, int changeAmount)
+        throws DatabaseAccessException {
+        final StoredCat updated = visibleCats(ownerUsername, currentUser()).computeIfPresent(key(catName),
+            (name, cat) -> cat.withHunger(clamp((long) cat.hungerLevel() + changeAmount)));
+        return toUpdatedCat(updated, catName, ownerUsername);
+    }
+
+    @Override
+    public Cat updateHappiness(String catName, String ownerUsername, int changeAmount)
+        throws DatabaseAccessException {
+        final StoredCat updated = visibleCats(ownerUsername, currentUser()).computeIfPresent(key(catName),
+            (name, cat) -> cat.withHappiness(clamp((long) cat.happinessLevel() + changeAmount)));
+        return toUpdatedCat(updated, catName, ownerUsername);
+    }
+
+    @Override
+    public CatUpdateResult updateCatsHappiness(Map<Cat, Integer> catUpdates) throws DatabaseAccessException {
+        return updateCatsHappiness(catUpdates, currentUser());
+    }
+
+    @Override
+    public CompletableFuture<CatUpdateResult> updateCatsHappinessAsync(Map<Cat, Integer> catUpdates, String token) {
+        return supplyAsync(() -> updateCatsHappiness(catUpdates, users.getIdentityFromToken(token)));
+    }
+
+    /**
+     * Sets the happiness of all given cats as one call. Cats that do not exist or belong to someone else
+     * are reported as failures.
+     */
+    private CatUpdateResult updateCatsHappiness(Map<Cat, Integer> catUpdates, TokenIdentity caller) {
+        latency.pause();
+        final List<Cat> updated = new ArrayList<>();
+        final List<String> failures = new ArrayList<>();
+        for (Map.Entry<Cat, Integer> update : catUpdates.entrySet()) {
+            final Cat cat = update.getKey();
+            final Map<String, StoredCat> cats = isOwner(cat.getOwnerUsername(), caller)
+                ? catsByOwner.getOrDefault(key(cat.getOwnerUsername()), NO_CATS) : NO_CATS;
+            final StoredCat updatedCat = cats.computeIfPresent(key(cat.getName()),
+                (name, storedCat) -> storedCat.withHappiness(clamp(update.getValue())));
+            if (updatedCat != null) {
+                updated.add(toCat(updatedCat));
+            }
+            else {
+                failures.add(String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR, cat.getName(),
+                    String.format(Constants.ErrorMessages.CAT_NOT_FOUND, cat.getName(), cat.getOwnerUsername())));
+            }
+        }
+        return new CatUpdateResult(updated, failures);
+    }
+
+    /**
+     * Waits for the simulated latency and gets the cats of an owner, or an empty map if the caller is not
+     * the owner. The returned map is the live one, so changes to it are stored.
+     */
+    private Map<String, StoredCat> visibleCats(String ownerUsername, TokenIdentity caller) {
+        latency.pause();
+        if (!isOwner(ownerUsername, caller)) {
+            return NO_CATS;
+        }
+        return catsByOwner.getOrDefault(key(ownerUsername), NO_CATS);
+    }
+
+    private TokenIdentity currentUser() throws DatabaseAccessException {
+        return users.getIdentityFromToken(AuthorizationHeaders.current());
+    }
+
+    private Cat toUpdatedCat(StoredCat updated, String catName, String ownerUsername) {
+        if (updated == null) {
+            throw new NoCatsFoundException(
+                String.format(Constants.ErrorMessages.CAT_NOT_FOUND, catName, ownerUsername));
+        }
+        return toCat(updated);
+    }
+
+    private Cat toCat(StoredCat storedCat) {
+        return catFactory.create(storedCat.name(), storedCat.ownerUsername(), storedCat.happinessLevel(),
+            storedCat.hungerLevel(), storedCat.imageFileName());
+    }
+
+    private static boolean isOwner(String ownerUsername, TokenIdentity caller) {
+        return ownerUsername.equalsIgnoreCase(caller.username());
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int clamp(long level) {
+        return Math.clamp(level, MIN_LEVEL, MAX_LEVEL);
+    }
+
+    /**
+     * Runs a call on a virtual thread.
+     */
+    private static <T> CompletableFuture<T> supplyAsync(StorageCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.get();
+            }
+            catch (DatabaseAccessException exception) {
+                throw new CompletionException(exception);
+            }
+        }, runnable -> Thread.ofVirtual().start(runnable));
+    }
+
+    /**
+     * A call to the in-memory storage.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    private interface StorageCall<T> {
+        T get() throws DatabaseAccessException;
+    }
+
+    private record StoredCat(String name, String ownerUsername, int happinessLevel, int hungerLevel,
+        String imageFileName) {
+
+        StoredCat withHunger(int level) {
+            return new StoredCat(name, ownerUsername, happinessLevel, level, imageFileName);
+        }
+
+        StoredCat withHappiness(int level) {
+            return new StoredCat(name, ownerUsername, level, hungerLevel, imageFileName);
+        }
+    }
+}
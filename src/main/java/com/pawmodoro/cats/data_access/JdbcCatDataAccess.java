@@ -0,0 +1,362 @@
+package com.pawmodoro.cats.data_access;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.cats.data_access.CatUpdateDataAccess.CatUpdateResult;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatAlreadyExistsException;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.cats.entity.NoCatsFoundException;
+import com.pawmodoro.cats.service.create_cat.CreateCatDataAccessInterface;
+import com.pawmodoro.cats.service.decrease_cat_stats_on_skip.DecreaseCatStatsOnSkipDataAccessInterface;
+import com.pawmodoro.cats.service.delete_cat.DeleteCatDataAccessInterface;
+import com.pawmodoro.cats.service.get_all_cats.GetAllCatsDataAccessInterface;
+import com.pawmodoro.cats.service.update_cat_happiness.UpdateCatHappinessDataAccessInterface;
+import com.pawmodoro.cats.service.update_cat_hunger.UpdateCatHungerDataAccessInterface;
+import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyDataAccessInterface;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthorizationHeaders;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.RlsTransactions;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.core.TokenIdentityCache;
+import com.pawmodoro.core.VerifiedToken;
+
+/**
+ * Cat data access over a direct connection to the Supabase database, used with the {@code jdbc} profile.
+ * Implements the same contracts as the PostgREST data access objects, with every operation in one
+ * transaction that row level security applies to as the caller. A stat change updates and reads back the
+ * cat in the same transaction, so concurrent changes to the same cat cannot be lost.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcCatDataAccess implements CreateCatDataAccessInterface, DeleteCatDataAccessInterface,
+    GetAllCatsDataAccessInterface, UpdateCatHungerDataAccessInterface, UpdateCatHappinessDataAccessInterface,
+    DecreaseCatStatsOnSkipDataAccessInterface, UpdateCatsAfterStudyDataAccessInterface {
+
+    private static final String CAT_COLUMNS =
+        "cat_name, owner_username, happiness_level, hunger_level, image_file_name";
+    private static final String SELECT_BY_OWNER = "select " + CAT_COLUMNS + " from cats where owner_username = ?";
+    private static final String SELECT_BY_LOWER_NAME =
+        "select " + CAT_COLUMNS + " from cats where cat_name_lower = ? and owner_username_lower = ?";
+    private static final String SELECT_BY_LOWER_OWNER =
+        "select " + CAT_COLUMNS + " from cats where owner_username_lower = ?";
+    private static final String EXISTS = "select 1 from cats where cat_name = ? and owner_username = ? limit 1";
+    private static final String INSERT = "insert into cats (" + CAT_COLUMNS + ") values (?, ?, ?, ?, ?)";
+    private static final String DELETE = "delete from cats where cat_name = ? and owner_username = ?";
+    private static final String ADJUST_HUNGER = "update cats"
+        + " set hunger_level = least(greatest(cast(hunger_level as bigint) + ?, 0), 100)"
+        + " where cat_name_lower = ? and owner_username_lower = ?";
+    private static final String ADJUST_HAPPINESS = "update cats"
+        + " set happiness_level = least(greatest(cast(happiness_level as bigint) + ?, 0), 100)"
+        + " where cat_name_lower = ? and owner_username_lower = ?";
+    private static final String SET_HAPPINESS =
+        "update cats set happiness_level = ? where cat_name_lower = ? and owner_username_lower = ?";
+    private static final String SELECT_USERNAME = "select username from user_profiles where id = ?";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final RlsTransactions transactions;
+    private final SupabaseTokenVerifier tokenVerifier;
+    private final TokenIdentityCache identityCache;
+    private final CatFactory catFactory;
+
+    public JdbcCatDataAccess(
+        RlsTransactions transactions,
+        SupabaseTokenVerifier tokenVerifier,
+        TokenIdentityCache identityCache,
+        CatFactory catFactory) {
+        this.transactions = transactions;
+        this.tokenVerifier = tokenVerifier;
+        this.identityCache = identityCache;
+        this.catFactory = catFactory;
+    }
+
+    @Override
+    public boolean catExistsByNameAndOwnerUsername(String catName, String ownerUsername)
+        throws DatabaseAccessException {
+        return transactions.execute(currentUserId(), connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(EXISTS)) {
+                statement.setString(1, catName);
+                statement.setString(2, ownerUsername);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        });
+    }
+
+    @Override
+    public Cat saveCat(Cat cat) throws DatabaseAccessException, CatAlreadyExistsException {
+        try {
+            transactions.execute(currentUserId(), connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                    statement.setString(1, cat.getName());
+                    statement.setString(2, cat.getOwnerUsername());
+                    statement.setInt(3, cat.getHappinessLevel());
+                    statement.setInt(4, cat.getHungerLevel());
+                    statement.setString(5, cat.getImageFileName());
+                    return statement.executeUpdate();
+                }
+            });
+        }
+        catch (ForbiddenAccessException exception) {
+            throw new ForbiddenAccessException(
+                String.format(Constants.ErrorMessages.CAT_CREATE_UNAUTHORIZED, cat.getOwnerUsername()));
+        }
+        catch (DatabaseAccessException exception) {
+            if (exception.getCause() instanceof SQLException sqlException
+                && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                throw new CatAlreadyExistsException(Constants.ErrorMessages.DB_DUPLICATE_CAT_NAME);
+            }
+            throw exception;
+        }
+        return catFactory.create(cat.getName(), cat.getOwnerUsername(), cat.getHappinessLevel(),
+            cat.getHungerLevel(), cat.getImageFileName());
+    }
+
+    @Override
+    public void deleteCat(String catName, String ownerUsername) throws DatabaseAccessException {
+        transactions.execute(currentUserId(), connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+                statement.setString(1, catName);
+                statement.setString(2, ownerUsername);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public List<Cat> getCatsByOwner(String ownerUsername) throws DatabaseAccessException {
+        return getCatsByOwner(ownerUsername, currentUserId());
+    }
+
+    /**
+     * Gets all cats owned by a user on behalf of a caller whose token was already verified.
+     * @param ownerUsername the username of the owner
+     * @param viewerId the ID of the user the token belongs to
+     * @return the cats owned by the user
+     * @throws DatabaseAccessException if the database access fails
+     */
+    public List<Cat> getCatsByOwner(String ownerUsername, UUID viewerId) throws DatabaseAccessException {
+        return transactions.execute(viewerId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_OWNER)) {
+                statement.setString(1, ownerUsername);
+                return readCats(statement);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Cat>> getCatsByOwnerAsync(String ownerUsername, String token) {
+        return supplyAsync(() -> getCatsByOwner(ownerUsername, tokenVerifier.getUserId(token)));
+    }
+
+    @Override
+    public String getUsernameFromToken(String token) throws DatabaseAccessException {
+        return getIdentityFromToken(token).username();
+    }
+
+    @Override
+    public CompletableFuture<String> getUsernameFromTokenAsync(String token) {
+        return supplyAsync(() -> getUsernameFromToken(token));
+    }
+
+    /**
+     * Verifies a token and resolves both the ID and the username of its user, reading the username
+     * from the user's profile unless the token's identity is cached.
+     * @param token the access token, without the "Bearer " prefix
+     * @return the identity of the token's user
+     * @throws DatabaseAccessException if the token is invalid or the username could not be read
+     */
+    public TokenIdentity getIdentityFromToken(String token) throws DatabaseAccessException {
+        final TokenIdentity cached = identityCache.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        final VerifiedToken verifiedToken = tokenVerifier.verify(token);
+        final String username = transactions.execute(verifiedToken.userId(), connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_USERNAME)) {
+                statement.setObject(1, verifiedToken.userId());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new DatabaseAccessException("Expected exactly one user profile when filtering by ID");
+                    }
+                    return resultSet.getString(1);
+                }
+            }
+        });
+        final TokenIdentity identity = new TokenIdentity(verifiedToken.userId(), username, verifiedToken.expiresAt());
+        identityCache.put(token, identity);
+        return identity;
+    }
+
+    @Override
+    public Cat updateHunger(String catName, String ownerUsername, int changeAmount)
+        throws DatabaseAccessException {
+        return adjustStat(ADJUST_HUNGER, catName, ownerUsername, changeAmount);
+    }
+
+    @Override
+    public Cat updateHappiness(String catName, String ownerUsername, int changeAmount)
+        throws DatabaseAccessException {
+        return adjustStat(ADJUST_HAPPINESS, catName, ownerUsername, changeAmount);
+    }
+
+    private Cat adjustStat(String sql, String catName, String ownerUsername, int changeAmount)
+        throws DatabaseAccessException {
+        return transactions.execute(currentUserId(), connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, changeAmount);
+                statement.setString(2, catName.toLowerCase());
+                statement.setString(3, ownerUsername.toLowerCase());
+                // No row is updated when the cat does not exist or is not visible to the caller
+                if (statement.executeUpdate() == 0) {
+                    throw new NoCatsFoundException(
+                        String.format(Constants.ErrorMessages.CAT_NOT_FOUND, catName, ownerUsername));
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_LOWER_NAME)) {
+                statement.setString(1, catName.toLowerCase());
+                statement.setString(2, ownerUsername.toLowerCase());
+                return readCats(statement).get(0);
+            }
+        });
+    }
+
+    @Override
+    public CatUpdateResult updateCatsHappiness(Map<Cat, Integer> catUpdates) throws DatabaseAccessException {
+        return updateCatsHappiness(catUpdates, currentUserId());
+    }
+
+    @Override
+    public CompletableFuture<CatUpdateResult> updateCatsHappinessAsync(Map<Cat, Integer> catUpdates, String token) {
+        return supplyAsync(() -> updateCatsHappiness(catUpdates, tokenVerifier.getUserId(token)));
+    }
+
+    /**
+     * Sets the happiness of all given cats with one batch of updates, then reads the cats back in the same
+     * transaction. Cats that no update matched are reported as failures.
+     */
+    private CatUpdateResult updateCatsHappiness(Map<Cat, Integer> catUpdates, UUID userId)
+        throws DatabaseAccessException {
+        if (catUpdates.isEmpty()) {
+            return new CatUpdateResult(new ArrayList<>(), new ArrayList<>());
+        }
+
+        final List<Cat> cats = List.copyOf(catUpdates.keySet());
+        final Map<String, Cat> updatedCats = transactions.execute(userId, connection -> {
+            final int[] updateCounts;
+            try (PreparedStatement statement = connection.prepareStatement(SET_HAPPINESS)) {
+                for (Cat cat : cats) {
+                    statement.setInt(1, Math.clamp(catUpdates.get(cat), 0, 100));
+                    statement.setString(2, cat.getName().toLowerCase());
+                    statement.setString(3, cat.getOwnerUsername().toLowerCase());
+                    statement.addBatch();
+                }
+                updateCounts = statement.executeBatch();
+            }
+            return readUpdatedCats(connection, cats, updateCounts);
+        });
+
+        // Report results in the order the updates were requested
+        final List<Cat> updated = new ArrayList<>();
+        final List<String> failures = new ArrayList<>();
+        for (Cat cat : cats) {
+            final Cat updatedCat = updatedCats.get(catKey(cat));
+            if (updatedCat != null) {
+                updated.add(updatedCat);
+            }
+            else {
+                failures.add(String.format(Constants.ErrorMessages.CAT_UPDATE_FAILED_FOR, cat.getName(),
+                    String.format(Constants.ErrorMessages.CAT_NOT_FOUND, cat.getName(), cat.getOwnerUsername())));
+            }
+        }
+        return new CatUpdateResult(updated, failures);
+    }
+
+    private Map<String, Cat> readUpdatedCats(Connection connection, List<Cat> cats, int[] updateCounts)
+        throws SQLException {
+        final Map<String, Cat> updatedCats = new HashMap<>();
+        final List<String> owners = cats.stream().map(cat -> cat.getOwnerUsername().toLowerCase()).distinct().toList();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_LOWER_OWNER)) {
+            for (String owner : owners) {
+                statement.setString(1, owner);
+                for (Cat cat : readCats(statement)) {
+                    updatedCats.put(catKey(cat), cat);
+                }
+            }
+        }
+
+        // Keep only the cats an update matched, the owners may have others
+        final Map<String, Cat> matched = new HashMap<>();
+        for (int i = 0; i < cats.size(); i++) {
+            final String key = catKey(cats.get(i));
+            if (updateCounts[i] != 0 && updatedCats.containsKey(key)) {
+                matched.put(key, updatedCats.get(key));
+            }
+        }
+        return matched;
+    }
+
+    private List<Cat> readCats(PreparedStatement statement) throws SQLException {
+        final List<Cat> cats = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                cats.add(catFactory.create(
+                    resultSet.getString(Constants.JsonFields.CAT_NAME),
+                    resultSet.getString(Constants.JsonFields.OWNER_USERNAME),
+                    resultSet.getInt(Constants.JsonFields.HAPPINESS_LEVEL),
+                    resultSet.getInt(Constants.JsonFields.HUNGER_LEVEL),
+                    resultSet.getString(Constants.JsonFields.IMAGE_FILE_NAME)));
+            }
+        }
+        return cats;
+    }
+
+    private UUID currentUserId() throws DatabaseAccessException {
+        return tokenVerifier.getUserId(AuthorizationHeaders.current());
+    }
+
+    private static String catKey(Cat cat) {
+        return cat.getOwnerUsername().toLowerCase() + "/" + cat.getName().toLowerCase();
+    }
+
+    /**
+     * Runs a blocking database call on a virtual thread.
+     */
+    private static <T> CompletableFuture<T> supplyAsync(DatabaseCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.get();
+            }
+            catch (DatabaseAccessException exception) {
+                throw new CompletionException(exception);
+            }
+        }, runnable -> Thread.ofVirtual().start(runnable));
+    }
+
+    /**
+     * A blocking call to the database.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    private interface DatabaseCall<T> {
+        T get() throws DatabaseAccessException;
+    }
+}
@@ -0,0 +1,83 @@
+package com.pawmodoro.cats.data_access;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pawmodoro.cats.entity.Cat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded read-through cache of the cats of an owner.
+ * Entries are keyed by the owner and by the user who read them, because row level security
+ * decides which cats a caller can see. Concurrent reads of the same entry share one call to
+ * Supabase, and every write to an owner's cats drops all entries of that owner.
+ * Hit and miss counts are published as the {@value #CACHE_NAME} cache metrics.
+ */
+@Component
+public class OwnerCatCache implements MeterBinder {
+    static final String CACHE_NAME = "supabase.cats.by-owner";
+
+    private final AsyncCache<Key, List<Cat>> cache;
+
+    /**
+     * Creates a new OwnerCatCache.
+     * @param maxSize the maximum number of cat lists kept in the cache
+     * @param ttl the longest time a cat list is kept, bounding how stale writes made outside this
+     *     application can be
+     */
+    public OwnerCatCache(
+        @Value("${supabase.cats.cache.max-size}") long maxSize,
+        @Value("${supabase.cats.cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * Gets the cats of an owner as seen by a user, loading them if they are not cached.
+     * Only one load per entry runs at a time, callers arriving while it runs wait for its result.
+     * A failed load is not cached.
+     * @param ownerUsername the username of the owner
+     * @param viewerId the ID of the user reading the cats
+     * @param loader loads the cats from the database
+     * @return a future completed with the cats, which must not be modified
+     */
+    public CompletableFuture<List<Cat>> get(String ownerUsername, UUID viewerId,
+        Supplier<CompletableFuture<List<Cat>>> loader) {
+        return cache.get(new Key(ownerUsername, viewerId), (key, executor) -> loader.get().thenApply(List::copyOf));
+    }
+
+    /**
+     * Drops all cached cat lists of an owner, including loads that are still running.
+     * Called after every write to the owner's cats.
+     * @param ownerUsername the username of the owner, matched case-insensitively
+     */
+    public void invalidate(String ownerUsername) {
+        cache.asMap().keySet().removeIf(key -> key.ownerUsername().equalsIgnoreCase(ownerUsername));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, monitored -> monitored.synchronous().stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .description("The ratio of cache requests which were hits")
+            .register(registry);
+    }
+
+    private record Key(String ownerUsername, UUID viewerId) {
+    }
+}
@@ -1,15 +1,15 @@
 package com.pawmodoro.cats.service.get_all_cats.interface_adapter;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pawmodoro.cats.service.get_all_cats.GetAllCatsInputBoundary;
 import com.pawmodoro.cats.service.get_all_cats.GetAllCatsInputData;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.EntityTags;
 
 /**
  * Controller for handling HTTP requests related to retrieving all cats for a user.
@@ -26,16 +26,20 @@ public class GetAllCatsController {
 
     /**
      * Handles GET requests to retrieve all cats for a specific user.
+     * The response carries a strong ETag of the cats, and a request whose If-None-Match header matches it
+     * is answered with 304 Not Modified and no body.
      * @param username the username of the cats' owner
      * @return GetAllCatsResponseDTO containing the cats data
      * @throws DatabaseAccessException if there is an error accessing the database
      * @throws CatAuthenticationException if the authentication fails
      */
     @GetMapping("/{username}")
-    @ResponseStatus(HttpStatus.OK)
-    public GetAllCatsResponseDto getAllCats(
+    public ResponseEntity<GetAllCatsResponseDto> getAllCats(
         @PathVariable String username) throws DatabaseAccessException {
         final GetAllCatsInputData inputData = new GetAllCatsInputData(username);
-        return getAllCatsInteractor.execute(inputData);
+        final GetAllCatsResponseDto responseDto = getAllCatsInteractor.execute(inputData);
+        return ResponseEntity.ok()
+            .eTag(EntityTags.of(responseDto))
+            .body(responseDto);
     }
 }
@@ -2,6 +2,7 @@ package com.pawmodoro.cats.service.update_cats_after_study;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.pawmodoro.cats.data_access.CatUpdateDataAccess.CatUpdateResult;
 import com.pawmodoro.cats.entity.Cat;
@@ -35,4 +36,27 @@ public interface UpdateCatsAfterStudyDataAccessInterface {
      * @throws DatabaseAccessException if there is an error accessing the database
      */
     CatUpdateResult updateCatsHappiness(Map<Cat, Integer> catUpdates) throws DatabaseAccessException;
+
+    /**
+     * Gets the username associated with the given authentication token without blocking.
+     * @param token the authentication token
+     * @return a future completed with the username, or exceptionally with a DatabaseAccessException
+     */
+    CompletableFuture<String> getUsernameFromTokenAsync(String token);
+
+    /**
+     * Gets all cats owned by a user without blocking.
+     * @param ownerUsername the username of the owner
+     * @param token the authentication token of the caller
+     * @return a future completed with the cats, or exceptionally with a DatabaseAccessException
+     */
+    CompletableFuture<List<Cat>> getCatsByOwnerAsync(String ownerUsername, String token);
+
+    /**
+     * Updates happiness levels for multiple cats without blocking.
+     * @param catUpdates mapping of cats to new happiness levels
+     * @param token the authentication token of the caller
+     * @return a future completed with the updated cats and any failures
+     */
+    CompletableFuture<CatUpdateResult> updateCatsHappinessAsync(Map<Cat, Integer> catUpdates, String token);
 }
@@ -1,5 +1,8 @@
 package com.pawmodoro.cats.service.update_cats_after_study;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import com.pawmodoro.cats.service.update_cats_after_study.interface_adapter.UpdateCatsAfterStudyResponseDto;
 import com.pawmodoro.core.DatabaseAccessException;
 
@@ -14,4 +17,21 @@ public interface UpdateCatsAfterStudyInputBoundary {
      * @throws DatabaseAccessException if there is an error accessing the database
      */
     UpdateCatsAfterStudyResponseDto execute(UpdateCatsAfterStudyInputData input) throws DatabaseAccessException;
+
+    /**
+     * Updates happiness levels for all cats belonging to a user without blocking the calling thread.
+     * @param input The input data containing the user's token
+     * @return A future completed with the response data, or exceptionally with a DatabaseAccessException
+     */
+    CompletableFuture<UpdateCatsAfterStudyResponseDto> executeAsync(UpdateCatsAfterStudyInputData input);
+
+    /**
+     * Updates happiness levels for all cats belonging to a user once a condition is known.
+     * The cats are read right away, only their update waits for the condition.
+     * @param input The input data containing the user's token
+     * @param reward Completed with whether the cats should be updated at all
+     * @return A future completed with the response data, which has no updated cats if the condition is false
+     */
+    CompletableFuture<UpdateCatsAfterStudyResponseDto> executeAsync(UpdateCatsAfterStudyInputData input,
+        CompletionStage<Boolean> reward);
 }
@@ -3,6 +3,8 @@ package com.pawmodoro.cats.service.update_cats_after_study;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -40,7 +42,37 @@ public class UpdateCatsAfterStudyInteractor implements UpdateCatsAfterStudyInput
             updateResult.getFailures()));
     }
 
-    private Map<Cat, Integer> calculateHappinessUpdates(List<Cat> cats) {
+    @Override
+    public CompletableFuture<UpdateCatsAfterStudyResponseDto> executeAsync(UpdateCatsAfterStudyInputData input) {
+        return executeAsync(input, CompletableFuture.completedFuture(true));
+    }
+
+    @Override
+    public CompletableFuture<UpdateCatsAfterStudyResponseDto> executeAsync(UpdateCatsAfterStudyInputData input,
+        CompletionStage<Boolean> reward) {
+        // Each step needs the result of the previous one, they are chained without blocking a thread
+        return catDataAccess.getUsernameFromTokenAsync(input.getToken())
+            .thenCompose(username -> catDataAccess.getCatsByOwnerAsync(username, input.getToken()))
+            .thenCombine(reward, (cats, rewarded) -> {
+                final Map<Cat, Integer> updates;
+                if (rewarded) {
+                    updates = calculateHappinessUpdates(cats);
+                }
+                else {
+                    updates = Map.of();
+                }
+                return updates;
+            })
+            .thenCompose(updates -> catDataAccess.updateCatsHappinessAsync(updates, input.getToken()))
+            .thenApply(updateResult -> outputBoundary.prepareResponse(new UpdateCatsAfterStudyOutputData(
+                updateResult.getUpdatedCats(),
+                updateResult.getFailures())));
+    }
+
+    /**
+     * Works out the new happiness of every cat, in the order of the cats.
+     */
+    Map<Cat, Integer> calculateHappinessUpdates(List<Cat> cats) {
         return cats.stream()
             .collect(Collectors.toMap(
                 cat -> cat,
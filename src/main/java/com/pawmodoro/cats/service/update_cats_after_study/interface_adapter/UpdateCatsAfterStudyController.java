@@ -1,5 +1,7 @@
 package com.pawmodoro.cats.service.update_cats_after_study.interface_adapter;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -9,7 +11,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyInputBoundary;
 import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyInputData;
-import com.pawmodoro.core.DatabaseAccessException;
 
 /**
  * Controller for handling requests to update cats after study completion.
@@ -25,18 +26,19 @@ public class UpdateCatsAfterStudyController {
 
     /**
      * Updates cats' status after a study session is completed.
+     * The servlet thread is released while Supabase is called; the response is written once
+     * the returned future completes.
      * @param authHeader The Authorization header containing the JWT token
-     * @return UpdateCatsAfterStudyResponseDto containing the updated cats' status
-     * @throws DatabaseAccessException if there's an error accessing the database
+     * @return future of the UpdateCatsAfterStudyResponseDto containing the updated cats' status
      */
     @PostMapping("/update-after-study")
     @ResponseStatus(HttpStatus.OK)
-    public UpdateCatsAfterStudyResponseDto updateCatsAfterStudy(
-        @RequestHeader("Authorization") String authHeader) throws DatabaseAccessException {
+    public CompletableFuture<UpdateCatsAfterStudyResponseDto> updateCatsAfterStudy(
+        @RequestHeader("Authorization") String authHeader) {
 
         // Extract token from Authorization header
         final String token = authHeader.replace("Bearer ", "");
 
-        return updateCatsInteractor.execute(new UpdateCatsAfterStudyInputData(token));
+        return updateCatsInteractor.executeAsync(new UpdateCatsAfterStudyInputData(token));
     }
 }
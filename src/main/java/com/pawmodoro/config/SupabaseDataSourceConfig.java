@@ -0,0 +1,58 @@
+package com.pawmodoro.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration for the direct connection to the Supabase Postgres database, used instead of PostgREST
+ * when the {@code jdbc} profile is active.
+ * Connections are pooled, and the driver turns statements that run repeatedly on a connection into
+ * server-side prepared statements.
+ */
+@Configuration
+@Profile("jdbc")
+public class SupabaseDataSourceConfig {
+
+    /**
+     * Creates the pool of connections to the Supabase database.
+     * @param url the JDBC URL of the database
+     * @param username the database user, which must be allowed to switch to the role of the callers
+     * @param password the password of the database user
+     * @param maxPoolSize the maximum number of connections in the pool
+     * @param connectionTimeout how long a caller waits for a free connection
+     * @param prepareThreshold executions of a statement after which the driver prepares it on the server,
+     *     0 when connecting through a pooler in transaction mode
+     * @param registry publishes the pool metrics
+     * @return the connection pool
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource supabaseDataSource(
+        @Value("${supabase.db.url}") String url,
+        @Value("${supabase.db.username}") String username,
+        @Value("${supabase.db.password}") String password,
+        @Value("${supabase.db.pool.max-size}") int maxPoolSize,
+        @Value("${supabase.db.pool.connection-timeout}") Duration connectionTimeout,
+        @Value("${supabase.db.prepare-threshold}") int prepareThreshold,
+        MeterRegistry registry) {
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("supabase-db");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maxPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        // Every unit of work runs in its own transaction, see RlsTransactions
+        dataSource.setAutoCommit(false);
+        dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,104 @@
+package com.pawmodoro.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.pawmodoro.core.SupabaseCallMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Configuration for the HTTP client used to talk to Supabase.
+ * A single client is shared by every data access object so that all of them reuse the
+ * same connection pool, dispatcher and TLS sessions instead of opening their own.
+ */
+@Configuration
+public class SupabaseHttpClientConfig {
+
+    /**
+     * Creates the shared Supabase HTTP client.
+     * @param maxIdleConnections the maximum number of idle connections kept in the pool
+     * @param keepAlive how long an idle connection is kept before being evicted
+     * @param connectTimeout the timeout for establishing a connection
+     * @param readTimeout the timeout for reading from an open connection
+     * @param writeTimeout the timeout for writing to an open connection
+     * @param callTimeout the timeout for a complete call, including redirects and retries
+     * @param maxRequests the maximum number of concurrently executing asynchronous calls
+     * @param maxRequestsPerHost the maximum number of concurrently executing asynchronous calls per host
+     * @param http2Enabled whether HTTP/2 should be negotiated when the server supports it
+     * @param callMetrics records latency, status, size and retries of every call
+     * @return the configured OkHttpClient
+     */
+    @Bean
+    public OkHttpClient supabaseHttpClient(
+        @Value("${supabase.http.max-idle-connections}") int maxIdleConnections,
+        @Value("${supabase.http.keep-alive}") Duration keepAlive,
+        @Value("${supabase.http.connect-timeout}") Duration connectTimeout,
+        @Value("${supabase.http.read-timeout}") Duration readTimeout,
+        @Value("${supabase.http.write-timeout}") Duration writeTimeout,
+        @Value("${supabase.http.call-timeout}") Duration callTimeout,
+        @Value("${supabase.http.max-requests}") int maxRequests,
+        @Value("${supabase.http.max-requests-per-host}") int maxRequestsPerHost,
+        @Value("${supabase.http.http2-enabled}") boolean http2Enabled,
+        SupabaseCallMetrics callMetrics) {
+
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        final List<Protocol> protocols;
+        if (http2Enabled) {
+            protocols = List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        }
+        else {
+            protocols = List.of(Protocol.HTTP_1_1);
+        }
+
+        return new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+            .dispatcher(dispatcher)
+            .protocols(protocols)
+            .connectTimeout(connectTimeout)
+            .readTimeout(readTimeout)
+            .writeTimeout(writeTimeout)
+            .callTimeout(callTimeout)
+            .addInterceptor(callMetrics)
+            .addNetworkInterceptor(callMetrics.networkInterceptor())
+            .build();
+    }
+
+    /**
+     * Publishes connection pool and dispatcher statistics of the shared client.
+     * The values are available through the actuator metrics endpoint.
+     * @param supabaseHttpClient the shared Supabase HTTP client
+     * @return the binder registering the gauges
+     */
+    @Bean
+    public MeterBinder supabaseHttpClientMetrics(OkHttpClient supabaseHttpClient) {
+        final ConnectionPool pool = supabaseHttpClient.connectionPool();
+        final Dispatcher dispatcher = supabaseHttpClient.dispatcher();
+        return registry -> {
+            Gauge.builder("supabase.http.pool.connections", pool, ConnectionPool::connectionCount)
+                .description("Open connections in the Supabase connection pool")
+                .register(registry);
+            Gauge.builder("supabase.http.pool.idle", pool, ConnectionPool::idleConnectionCount)
+                .description("Idle connections in the Supabase connection pool")
+                .register(registry);
+            Gauge.builder("supabase.http.dispatcher.running", dispatcher, Dispatcher::runningCallsCount)
+                .description("Asynchronous Supabase calls currently executing")
+                .register(registry);
+            Gauge.builder("supabase.http.dispatcher.queued", dispatcher, Dispatcher::queuedCallsCount)
+                .description("Asynchronous Supabase calls waiting for a free slot")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.pawmodoro.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, for example while
+ * OkHttp holds a monitor in its connection pool or HTTP/2 writer during blocking I/O.
+ * Pinning events longer than the threshold are logged with the frames that caused them
+ * and recorded in the {@value #PINNED_TIMER} timer.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    static final String PINNED_TIMER = "jvm.threads.virtual.pinned";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private volatile RecordingStream recordingStream;
+
+    /**
+     * Creates a new VirtualThreadPinningMonitor.
+     * @param threshold the shortest pinning that is reported
+     * @param registry the registry the pinning timer is published to
+     */
+    public VirtualThreadPinningMonitor(
+        @Value("${diagnostics.virtual-threads.pinning.threshold}") Duration threshold,
+        MeterRegistry registry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder(PINNED_TIMER)
+            .description("Time virtual threads spent pinned to their carrier thread")
+            .register(registry);
+    }
+
+    /**
+     * Starts listening for pinning events.
+     */
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::report);
+        recordingStream.startAsync();
+    }
+
+    /**
+     * Stops listening for pinning events.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * Tells whether pinning events are being listened for.
+     * @return true between {@link #start()} and {@link #stop()}
+     */
+    boolean isRecording() {
+        return recordingStream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        if (event.getStackTrace() != null) {
+            final List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            LOGGER.warn("Virtual thread pinned for {} ms at\n\t{}", event.getDuration().toMillis(),
+                frames.stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                    .collect(Collectors.joining("\n\t")));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.pawmodoro.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -18,6 +19,8 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins("http://localhost:3000", "https://focuswithpawmodoro.netlify.app")
             .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
             .allowedHeaders("*")
+            // Lets polling clients send the ETag of the last response back as If-None-Match
+            .exposedHeaders(HttpHeaders.ETAG)
             .allowCredentials(true);
     }
 }
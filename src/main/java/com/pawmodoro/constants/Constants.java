@@ -23,8 +23,13 @@ public final class Constants {
         public static final String PREFER_MINIMAL = "return=minimal";
         public static final String QUERY_START = "?";
         public static final String QUERY_EQUALS = "=eq.";
+        public static final String QUERY_IS = "=is.";
+        public static final String QUERY_GREATER_THAN = "=gt.";
+        public static final String ORDER_DESCENDING = ".desc";
         public static final String SELECT_PARAM = "select=";
         public static final String LIMIT_PARAM = "limit=";
+        public static final String OFFSET_PARAM = "offset=";
+        public static final String ORDER_PARAM = "order=";
         public static final String AND_OPERATOR = "&";
         public static final String USER_ID_ATTRIBUTE = "userId";
 
@@ -46,6 +51,9 @@ public final class Constants {
         public static final String REFRESH_TOKEN_FIELD = "refresh_token";
         public static final String USER_FIELD = "user";
         public static final String MSG_FIELD = "msg";
+        public static final String ERROR_CODE_FIELD = "error_code";
+        public static final String USER_ALREADY_EXISTS_CODE = "user_already_exists";
+        public static final String EMAIL_EXISTS_CODE = "email_exists";
         public static final String EMPTY_ARRAY = "[]";
         public static final String EXPIRES_IN_FIELD = "expires_in";
         public static final String EXPIRES_AT_FIELD = "expires_at";
@@ -59,6 +67,17 @@ public final class Constants {
         public static final String CAT_NAME_LOWER = "cat_name_lower";
         public static final String OWNER_USERNAME_LOWER = "owner_username_lower";
 
+        // Cat RPC parameters
+        public static final String CAT_NAME_PARAM = "p_cat_name";
+        public static final String OWNER_USERNAME_PARAM = "p_owner_username";
+        public static final String STAT_PARAM = "p_stat";
+        public static final String DELTA_PARAM = "p_delta";
+        public static final String UPDATES_PARAM = "p_updates";
+
+        // Session RPC parameters
+        public static final String SESSION_ID_PARAM = "p_session_id";
+        public static final String WRITE_ID_PARAM = "p_write_id";
+
         // Settings-related fields
         public static final String FOCUS_DURATION = "focus_duration";
         public static final String SHORT_BREAK_DURATION = "short_break_duration";
@@ -80,6 +99,45 @@ public final class Constants {
         }
     }
 
+    /**
+     * Names of the logical operations calls to Supabase are measured by.
+     */
+    public static final class Operations {
+        public static final String AUTH_GET_USER = "auth.getUser";
+        public static final String CATS_CREATE = "cats.create";
+        public static final String CATS_DELETE = "cats.delete";
+        public static final String CATS_EXISTS = "cats.exists";
+        public static final String CATS_GET_BY_OWNER = "cats.getByOwner";
+        public static final String CATS_GET_CAT = "cats.getCat";
+        public static final String CATS_GET_USERNAME = "cats.getUsername";
+        public static final String CATS_SET_HAPPINESS = "cats.setHappiness";
+        public static final String CATS_PATCH_HAPPINESS = "cats.patchHappiness";
+        public static final String CATS_PATCH_STAT = "cats.patchStat";
+        public static final String CATS_UPDATE_HAPPINESS = "cats.updateHappiness";
+        public static final String CATS_UPDATE_HUNGER = "cats.updateHunger";
+        public static final String SESSIONS_CANCEL = "sessions.cancel";
+        public static final String SESSIONS_COMPLETE = "sessions.complete";
+        public static final String SESSIONS_CREATE = "sessions.create";
+        public static final String SESSIONS_GET_OPEN_SESSION = "sessions.getOpenSession";
+        public static final String SESSIONS_GET_SESSION = "sessions.getSession";
+        public static final String SESSIONS_INCREMENT_INTERRUPTIONS = "sessions.incrementInterruptions";
+        public static final String SESSIONS_PATCH_INTERRUPTIONS = "sessions.patchInterruptions";
+        public static final String SETTINGS_GET = "settings.get";
+        public static final String SETTINGS_GET_USER_ID = "settings.getUserId";
+        public static final String SETTINGS_UPDATE = "settings.update";
+        public static final String USERS_LOGIN_LOOKUP = "users.loginLookup";
+        public static final String USERS_LOGOUT = "users.logout";
+        public static final String USERS_PROFILE_EXISTS = "users.profileExists";
+        public static final String USERS_READ_PROFILES = "users.readProfiles";
+        public static final String USERS_REFRESH_TOKENS = "users.refreshTokens";
+        public static final String USERS_SIGN_IN = "users.signIn";
+        public static final String USERS_SIGNUP = "users.signup";
+
+        private Operations() {
+            // Prevent instantiation
+        }
+    }
+
     /**
      * Supabase API endpoints for authentication and data access operations.
      */
@@ -93,6 +151,10 @@ public final class Constants {
         public static final String USER_SETTINGS_ENDPOINT = "/rest/v1/user_settings";
         public static final String AUTH_USERS_ENDPOINT = "/auth/v1/user";
         public static final String CATS_ENDPOINT = "/rest/v1/cats";
+        public static final String ADJUST_CAT_STAT_RPC = "/rest/v1/rpc/adjust_cat_stat";
+        public static final String SET_CATS_HAPPINESS_RPC = "/rest/v1/rpc/set_cats_happiness";
+        public static final String INCREMENT_SESSION_INTERRUPTIONS_RPC =
+            "/rest/v1/rpc/increment_session_interruptions";
         public static final String LOGIN_LOOKUP_ENDPOINT = "/rest/v1/login_lookup";
         public static final String USER_SESSIONS_ENDPOINT = "/rest/v1/user_sessions";
 
@@ -118,6 +180,11 @@ public final class Constants {
         // User Not Found errors
         public static final String AUTH_USER_NOT_FOUND = "User not found: %s";
         public static final String AUTH_PROFILE_NOT_FOUND = "User profile not found";
+        public static final String AUTH_WRONG_PASSWORD = "Wrong password";
+
+        // Signup errors
+        public static final String SIGNUP_USERNAME_TAKEN = "Username is already taken";
+        public static final String SIGNUP_EMAIL_REGISTERED = "Email is already registered";
 
         // Authentication errors
         public static final String AUTH_USER_NOT_AUTHENTICATED = "User not authenticated";
@@ -133,6 +200,8 @@ public final class Constants {
         public static final String DB_FAILED_SAVE_CAT = "Failed to save cat: %s";
         public static final String DB_FAILED_CHECK_CAT_EXISTS = "Failed to check cat existence: %s";
         public static final String DB_DUPLICATE_CAT_NAME = "A cat with this name already exists for this user";
+        public static final String FAN_OUT_TIMEOUT = "Timed out waiting for the database";
+        public static final String FAN_OUT_INTERRUPTED = "Interrupted while waiting for the database";
 
         // Cat update errors
         public static final String CAT_UPDATE_UNAUTHORIZED = "You are not authorized to update this cat";
@@ -140,6 +209,9 @@ public final class Constants {
         public static final String CAT_UPDATE_NO_DATA = "No data returned after updating cat %s for user %s";
         public static final String CAT_UPDATE_PARSE_ERROR = "Failed to parse update response for cat %s: %s";
         public static final String CAT_UPDATE_FAILED = "Failed to update cat: %s";
+        public static final String CAT_UPDATE_FAILED_FOR = "Failed to update cat %s: %s";
+        public static final String CAT_UPDATE_TIMED_OUT = "Failed to update cat %s: timed out";
+        public static final String CAT_UPDATE_CONFLICT = "Cat %s of user %s kept changing while updating it";
         public static final String CAT_CREATE_FAILED = "Failed to create cat: %s";
         public static final String CAT_CREATE_UNAUTHORIZED = "You are not authorized to create a cat for user: %s";
 
@@ -148,6 +220,9 @@ public final class Constants {
 
         // No session found message
         public static final String NO_SESSION_FOUND = "No session found with id: %s";
+        public static final String SESSION_ALREADY_COMPLETED = "Session %s is already completed";
+        public static final String INTERRUPTION_UPDATE_CONFLICT =
+            "Session %s kept changing while recording an interruption";
 
         private ErrorMessages() {
             // Prevent instantiation
@@ -1,17 +1,15 @@
 package com.pawmodoro.core;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pawmodoro.constants.Constants;
-import jakarta.servlet.http.HttpServletRequest;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -30,26 +28,30 @@ public abstract class AbstractDataAccess {
 
     /**
      * Creates a new instance with a default ObjectMapper.
+     * @param client The shared Supabase HTTP client
      * @param apiUrl The Supabase API URL
      * @param apiKey The Supabase API key
      */
     protected AbstractDataAccess(
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        this(apiUrl, apiKey, new ObjectMapper());
+        this(client, apiUrl, apiKey, new ObjectMapper());
     }
 
     /**
      * Creates a new instance with a custom ObjectMapper.
+     * @param client The shared Supabase HTTP client
      * @param apiUrl The Supabase API URL
      * @param apiKey The Supabase API key
      * @param objectMapper The ObjectMapper to use
      */
     protected AbstractDataAccess(
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey,
         ObjectMapper objectMapper) {
-        this.client = new OkHttpClient().newBuilder().build();
+        this.client = client;
         this.apiUrl = apiUrl;
         this.apiKey = apiKey;
         this.objectMapper = objectMapper;
@@ -71,6 +73,76 @@ public abstract class AbstractDataAccess {
         return objectMapper;
     }
 
+    /**
+     * Executes a request on OkHttp's dispatcher without blocking the calling thread.
+     * The handler runs once the response arrives and the response is closed afterwards.
+     * Cancelling the returned future cancels the call.
+     * @param request the request to execute
+     * @param handler converts the response into the result
+     * @param <T> the result type
+     * @return a future completed with the handler's result, or exceptionally with a
+     *     {@link DatabaseAccessException}
+     */
+    protected <T> CompletableFuture<T> executeAsync(Request request, ResponseHandler<T> handler) {
+        final Call call = client.newCall(request);
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, exception) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException exception) {
+                future.completeExceptionally(
+                    new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception));
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                }
+                catch (DatabaseAccessException | RuntimeException exception) {
+                    future.completeExceptionally(exception);
+                }
+                catch (IOException exception) {
+                    future.completeExceptionally(
+                        new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception));
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Waits for a future created by {@link #executeAsync} and rethrows its failure.
+     * @param future the future to wait for
+     * @param <T> the result type
+     * @return the result of the future
+     * @throws DatabaseAccessException the exception the future failed with, or if the wait was interrupted
+     */
+    protected static <T> T await(CompletableFuture<T> future) throws DatabaseAccessException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
+        }
+        catch (ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof DatabaseAccessException databaseAccessException) {
+                throw databaseAccessException;
+            }
+            else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, cause);
+        }
+    }
+
     /**
      * Gets and validates the authorization token from the request header.
      * This token will be used by Supabase to enforce Row Level Security policies.
@@ -78,49 +150,22 @@ public abstract class AbstractDataAccess {
      * @throws AuthenticationException if the token is missing or invalid
      */
     protected String getAndValidateAuthToken() throws AuthenticationException {
-        final HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
-            .getRequest();
-        final String authToken = request.getHeader(Constants.Http.AUTH_HEADER);
-        if (authToken == null || !authToken.startsWith(Constants.Http.BEARER_PREFIX)) {
-            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED);
-        }
-        return authToken;
+        return AuthorizationHeaders.current();
     }
 
     /**
-     * Gets the user ID from a Supabase JWT token by calling the auth API.
-     * @param authToken The JWT token to get the user ID from
-     * @return The user ID from the token
-     * @throws DatabaseAccessException if there's an error getting the user ID
+     * Converts the response of an asynchronous call into its result.
+     * @param <T> the result type
      */
-    protected UUID getUserIdFromToken(String authToken) throws DatabaseAccessException {
-        try {
-            final Request request = new Request.Builder()
-                .url(apiUrl + Constants.Endpoints.AUTH_USERS_ENDPOINT)
-                .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
-                .addHeader(Constants.Http.AUTH_HEADER, authToken)
-                .get()
-                .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                if (response.body() == null) {
-                    throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
-                }
-                else if (!response.isSuccessful()) {
-                    if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
-                        throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
-                    }
-                    else {
-                        throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
-                    }
-                }
-
-                final JsonNode userInfo = objectMapper.readTree(response.body().string());
-                return UUID.fromString(userInfo.get("id").asText());
-            }
-        }
-        catch (IOException | IllegalArgumentException exception) {
-            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
-        }
+    @FunctionalInterface
+    protected interface ResponseHandler<T> {
+        /**
+         * Reads the result from a response.
+         * @param response the response, closed by the caller
+         * @return the result
+         * @throws IOException if the response body cannot be read
+         * @throws DatabaseAccessException if the response reports an error
+         */
+        T handle(Response response) throws IOException, DatabaseAccessException;
     }
 }
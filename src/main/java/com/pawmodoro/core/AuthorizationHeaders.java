@@ -0,0 +1,31 @@
+package com.pawmodoro.core;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.constants.Constants;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Reads the bearer token of the request being handled, for data access code that is not given the
+ * token explicitly.
+ */
+public final class AuthorizationHeaders {
+    private AuthorizationHeaders() {
+    }
+
+    /**
+     * Gets and validates the authorization header of the current request.
+     * @return the header value, including the "Bearer " prefix
+     * @throws AuthenticationException if the header is missing or is not a bearer token
+     */
+    public static String current() throws AuthenticationException {
+        final HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+            .getRequest();
+        final String authToken = request.getHeader(Constants.Http.AUTH_HEADER);
+        if (authToken == null || !authToken.startsWith(Constants.Http.BEARER_PREFIX)) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED);
+        }
+        return authToken;
+    }
+}
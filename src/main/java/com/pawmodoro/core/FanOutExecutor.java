@@ -0,0 +1,246 @@
+package com.pawmodoro.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.pawmodoro.constants.Constants;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs independent data access calls of one request concurrently.
+ * At most {@code maxConcurrency} calls of a fan-out run at the same time and all of them have to
+ * finish before a shared deadline. Results are returned in the order of the inputs no matter in
+ * which order the calls complete. The request attributes of the caller are visible to every call,
+ * so data access objects can still read the caller's access token.
+ */
+@Component
+public class FanOutExecutor {
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final boolean virtualThreads;
+    private final ExecutorService platformExecutor;
+
+    /**
+     * Creates a new FanOutExecutor.
+     * @param maxConcurrency the maximum number of calls of one fan-out running at the same time
+     * @param timeout the time all calls of one fan-out have to complete
+     * @param virtualThreads whether each call runs on its own virtual thread
+     * @param platformPoolSize the size of the shared thread pool used when virtual threads are disabled
+     */
+    public FanOutExecutor(
+        @Value("${supabase.fan-out.max-concurrency}") int maxConcurrency,
+        @Value("${supabase.fan-out.timeout}") Duration timeout,
+        @Value("${supabase.fan-out.virtual-threads}") boolean virtualThreads,
+        @Value("${supabase.fan-out.platform-pool-size}") int platformPoolSize) {
+        this.maxConcurrency = maxConcurrency;
+        this.timeout = timeout;
+        this.virtualThreads = virtualThreads;
+        if (virtualThreads) {
+            this.platformExecutor = null;
+        }
+        else {
+            this.platformExecutor = Executors.newFixedThreadPool(platformPoolSize);
+        }
+    }
+
+    /**
+     * Runs a task for every input and waits for all of them.
+     * @param inputs the inputs to run the task for
+     * @param task the task to run
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return the results, in the order of the inputs
+     * @throws DatabaseAccessException the first exception thrown by a task, or if the deadline passed
+     */
+    public <T, R> List<R> invokeAll(List<T> inputs, FanOutTask<T, R> task) throws DatabaseAccessException {
+        return invokeAll(inputs, task, null);
+    }
+
+    /**
+     * Runs a task for every input and waits for all of them until the deadline.
+     * The first task that throws cancels the remaining ones and its exception is rethrown, so an
+     * {@link AuthenticationException} or {@link ForbiddenAccessException} ends the fan-out right away.
+     * Tasks that are still running at the deadline are cancelled and their result is taken from
+     * {@code onTimeout}; without it the whole fan-out fails.
+     * @param inputs the inputs to run the task for
+     * @param task the task to run
+     * @param onTimeout creates the result of an input whose task did not finish in time, may be null
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return the results, in the order of the inputs
+     * @throws DatabaseAccessException the first exception thrown by a task, or if the deadline passed
+     *     and no {@code onTimeout} was given
+     */
+    public <T, R> List<R> invokeAll(List<T> inputs, FanOutTask<T, R> task, Function<T, R> onTimeout)
+        throws DatabaseAccessException {
+        return invokeAll(inputs, task, onTimeout, timeout);
+    }
+
+    /**
+     * Runs a task for every input like {@link #invokeAll(List, FanOutTask, Function)}, with a deadline
+     * of its own instead of the configured one.
+     * @param inputs the inputs to run the task for
+     * @param task the task to run
+     * @param onTimeout creates the result of an input whose task did not finish in time, may be null
+     * @param timeout the time all calls of this fan-out have to complete
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return the results, in the order of the inputs
+     * @throws DatabaseAccessException the first exception thrown by a task, or if the deadline passed
+     *     and no {@code onTimeout} was given
+     */
+    public <T, R> List<R> invokeAll(List<T> inputs, FanOutTask<T, R> task, Function<T, R> onTimeout,
+        Duration timeout) throws DatabaseAccessException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        // Inputs whose task was never submitted keep a null future and are reported as timed out
+        final List<Future<R>> futures = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+
+        final ExecutorService executor = executorForFanOut();
+        try {
+            final ExecutorCompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+            // Only maxConcurrency tasks are handed to the executor at a time, so a large fan-out never
+            // holds shared pool threads that would just wait for their turn
+            int submitted = 0;
+            while (submitted < Math.min(maxConcurrency, inputs.size())) {
+                futures.set(submitted, submit(completionService, inputs.get(submitted), task, requestAttributes));
+                submitted++;
+            }
+
+            for (int completed = 0; completed < inputs.size(); completed++) {
+                final Future<R> future = pollUntil(completionService, deadline);
+                if (future == null) {
+                    // The deadline passed, the unfinished tasks are handled by collectResults
+                    break;
+                }
+                rethrowFailure(future);
+                if (submitted < inputs.size()) {
+                    futures.set(submitted, submit(completionService, inputs.get(submitted), task, requestAttributes));
+                    submitted++;
+                }
+            }
+            return collectResults(inputs, futures, onTimeout);
+        }
+        finally {
+            futures.stream().filter(Objects::nonNull).forEach(future -> future.cancel(true));
+            if (executor != platformExecutor) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static <T, R> Future<R> submit(ExecutorCompletionService<R> completionService, T input,
+        FanOutTask<T, R> task, RequestAttributes requestAttributes) {
+        return completionService.submit(() -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return task.apply(input);
+            }
+            finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private static <R> Future<R> pollUntil(ExecutorCompletionService<R> completionService, long deadline)
+        throws DatabaseAccessException {
+        try {
+            return completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseAccessException(Constants.ErrorMessages.FAN_OUT_INTERRUPTED, exception);
+        }
+    }
+
+    private static <R> void rethrowFailure(Future<R> future) throws DatabaseAccessException {
+        try {
+            future.get();
+        }
+        catch (ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof DatabaseAccessException databaseAccessException) {
+                throw databaseAccessException;
+            }
+            else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            else {
+                throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, cause);
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T, R> List<R> collectResults(List<T> inputs, List<Future<R>> futures,
+        Function<T, R> onTimeout) throws DatabaseAccessException {
+        final List<R> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final Future<R> future = futures.get(i);
+            if (future != null && future.state() == Future.State.SUCCESS) {
+                results.add(future.resultNow());
+            }
+            else if (onTimeout != null) {
+                results.add(onTimeout.apply(inputs.get(i)));
+            }
+            else {
+                throw new DatabaseAccessException(Constants.ErrorMessages.FAN_OUT_TIMEOUT);
+            }
+        }
+        return results;
+    }
+
+    private ExecutorService executorForFanOut() {
+        final ExecutorService executor;
+        if (virtualThreads) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        else {
+            executor = platformExecutor;
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the shared thread pool when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * A data access call run for one input of a fan-out.
+     * @param <T> the input type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface FanOutTask<T, R> {
+        /**
+         * Runs the call for one input.
+         * @param input the input
+         * @return the result
+         * @throws DatabaseAccessException if the call fails
+         */
+        R apply(T input) throws DatabaseAccessException;
+    }
+}
@@ -15,6 +15,7 @@ import com.pawmodoro.cats.entity.CatAlreadyExistsException;
 import com.pawmodoro.cats.entity.InvalidGetAllCatsException;
 import com.pawmodoro.cats.entity.NoCatsFoundException;
 import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
 import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
 import com.pawmodoro.users.entity.InvalidLoginException;
 import com.pawmodoro.users.entity.InvalidLogoutException;
@@ -156,6 +157,17 @@ public class GlobalExceptionHandler {
         return createErrorResponse(exception.getMessage());
     }
 
+    /**
+     * Handles attempts to complete or cancel a session that is already completed.
+     * @param exception Session already completed exception
+     * @return Map containing error details
+     */
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(SessionAlreadyCompletedException.class)
+    public Map<String, String> handleSessionAlreadyCompletedException(SessionAlreadyCompletedException exception) {
+        return createErrorResponse(exception.getMessage());
+    }
+
     /**
      * Handles invalid get all cats inputs.
      * @param exception InvalidGetAllCatsException
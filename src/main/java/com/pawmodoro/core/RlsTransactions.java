@@ -0,0 +1,124 @@
+package com.pawmodoro.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.pawmodoro.constants.Constants;
+
+/**
+ * Runs JDBC work against the Supabase Postgres database on behalf of a user.
+ * Each unit of work gets its own transaction on a pooled connection. Before the work runs, the transaction
+ * takes on the user's identity the way PostgREST does: the JWT claims and the role are set with
+ * {@code set_config(..., true)} in a single statement, so {@code auth.uid()} and the row level security
+ * policies see the same user as over HTTP. Both only last until the transaction ends, before the connection
+ * goes back to the pool.
+ */
+@Component
+@Profile("jdbc")
+public class RlsTransactions {
+    private static final String SET_CLAIMS = "select set_config('request.jwt.claims', ?, true)";
+    private static final String SET_CLAIMS_AND_ROLE =
+        "select set_config('request.jwt.claims', ?, true), set_config('role', ?, true)";
+    private static final String AUTHENTICATED_ROLE = "authenticated";
+    private static final String INSUFFICIENT_PRIVILEGE = "42501";
+
+    private final DataSource dataSource;
+    private final String role;
+
+    /**
+     * Creates a new RlsTransactions.
+     * @param dataSource the pool of connections to the Supabase database
+     * @param role the role every transaction switches to, or blank to keep the role of the connection
+     */
+    public RlsTransactions(DataSource dataSource, @Value("${supabase.db.role}") String role) {
+        this.dataSource = dataSource;
+        this.role = role;
+    }
+
+    /**
+     * Runs work in a transaction on behalf of a user, committing it if the work succeeds.
+     * @param userId the ID of the user the row level security policies apply to
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     * @throws ForbiddenAccessException if a row level security policy rejected a write
+     * @throws DatabaseAccessException if the work failed, with the {@link SQLException} as its cause
+     */
+    public <T> T execute(UUID userId, TransactionWork<T> work) throws DatabaseAccessException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                actAs(connection, userId);
+                final T result = work.execute(connection);
+                connection.commit();
+                return result;
+            }
+            catch (SQLException | DatabaseAccessException | RuntimeException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        }
+        catch (SQLException exception) {
+            throw translate(exception);
+        }
+    }
+
+    private void actAs(Connection connection, UUID userId) throws SQLException {
+        if (role.isBlank()) {
+            try (PreparedStatement statement = connection.prepareStatement(SET_CLAIMS)) {
+                statement.setString(1, claims(userId, AUTHENTICATED_ROLE));
+                statement.execute();
+            }
+        }
+        else {
+            try (PreparedStatement statement = connection.prepareStatement(SET_CLAIMS_AND_ROLE)) {
+                statement.setString(1, claims(userId, role));
+                statement.setString(2, role);
+                statement.execute();
+            }
+        }
+    }
+
+    private static String claims(UUID userId, String role) {
+        return new JSONObject()
+            .put("sub", userId.toString())
+            .put("role", role)
+            .toString();
+    }
+
+    private static DatabaseAccessException translate(SQLException exception) {
+        if (INSUFFICIENT_PRIVILEGE.equals(exception.getSQLState())) {
+            return new ForbiddenAccessException(Constants.ErrorMessages.UNAUTHORIZED_ACCESS);
+        }
+        return new DatabaseAccessException(String.format(
+            Constants.ErrorMessages.DB_FAILED_ACCESS + Constants.ErrorMessages.ERROR_MESSAGE_FORMAT,
+            exception.getMessage()), exception);
+    }
+
+    /**
+     * Work that runs inside a transaction.
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface TransactionWork<T> {
+        /**
+         * Runs the work.
+         * @param connection the connection of the transaction, which must not be committed or closed
+         * @return the result
+         * @throws SQLException if a statement fails
+         * @throws DatabaseAccessException if the result cannot be produced
+         */
+        T execute(Connection connection) throws SQLException, DatabaseAccessException;
+    }
+}
@@ -0,0 +1,53 @@
+package com.pawmodoro.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * The time the in-memory data access objects wait on every call, standing in for the round trip to Supabase.
+ * With no latency the controllers and interactors can be measured on their own; with a latency close to the
+ * production round trip the whole API can be load tested on one machine.
+ */
+@Component
+@Profile("in-memory")
+public class SimulatedLatency {
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    /**
+     * Creates a new SimulatedLatency.
+     * @param latency the time every call waits at least
+     * @param jitter the most a call waits on top of the latency, chosen at random for each call
+     */
+    public SimulatedLatency(
+        @Value("${in-memory.latency}") Duration latency,
+        @Value("${in-memory.latency-jitter}") Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+    }
+
+    /**
+     * Waits for the latency of one call. Returns early, with the interrupt flag set, if the thread is
+     * interrupted.
+     */
+    public void pause() {
+        long nanos = latencyNanos;
+        if (jitterNanos > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+        }
+        if (nanos == 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
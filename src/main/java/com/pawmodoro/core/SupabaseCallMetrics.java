@@ -0,0 +1,203 @@
+package com.pawmodoro.core;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Records metrics of every call made with the shared Supabase HTTP client, grouped by the logical
+ * operation the call belongs to (see {@link SupabaseOperation}).
+ * <ul>
+ * <li>{@value #CALLS}: latency histogram, tagged with the operation, method, status and outcome</li>
+ * <li>{@value #REQUEST_BYTES} and {@value #RESPONSE_BYTES}: body sizes sent and received</li>
+ * <li>{@value #RETRIES}: calls repeated by the data access code, plus requests OkHttp sent again</li>
+ * </ul>
+ * Calls without an operation tag are grouped by method and path. Installed as an application
+ * interceptor, with {@link #networkInterceptor()} counting the network attempts of each call.
+ */
+@Component
+public class SupabaseCallMetrics implements Interceptor {
+    static final String CALLS = "supabase.calls";
+    static final String REQUEST_BYTES = "supabase.calls.request.bytes";
+    static final String RESPONSE_BYTES = "supabase.calls.response.bytes";
+    static final String RETRIES = "supabase.calls.retries";
+
+    private static final String OPERATION_TAG = "operation";
+    private static final String IO_ERROR_STATUS = "IO_ERROR";
+
+    private final MeterRegistry registry;
+    private final Interceptor networkInterceptor = SupabaseCallMetrics::countAttempt;
+
+    public SupabaseCallMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the interceptor that counts the network attempts of a call, which has to be installed as a
+     * network interceptor of the same client.
+     * @return the network interceptor
+     */
+    public Interceptor networkInterceptor() {
+        return networkInterceptor;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String operation = operationName(request);
+        final AtomicInteger attempts = new AtomicInteger();
+        recordRequestBytes(operation, request.body());
+
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request.newBuilder().tag(AtomicInteger.class, attempts).build());
+        }
+        catch (IOException exception) {
+            recordCall(request, operation, IO_ERROR_STATUS, "IO_ERROR", start, attempts.get());
+            throw exception;
+        }
+
+        recordCall(request, operation, String.valueOf(response.code()), outcome(response.code()), start,
+            attempts.get());
+        return countResponseBytes(operation, response);
+    }
+
+    private static Response countAttempt(Chain chain) throws IOException {
+        final AtomicInteger attempts = chain.request().tag(AtomicInteger.class);
+        if (attempts != null) {
+            attempts.incrementAndGet();
+        }
+        return chain.proceed(chain.request());
+    }
+
+    private static String operationName(Request request) {
+        final SupabaseOperation operation = request.tag(SupabaseOperation.class);
+        if (operation != null) {
+            return operation.name();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    private void recordCall(Request request, String operation, String status, String outcome, long start,
+        int attempts) {
+        Timer.builder(CALLS)
+            .description("Calls to Supabase by logical operation")
+            .tag(OPERATION_TAG, operation)
+            .tag("method", request.method())
+            .tag("status", status)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        final SupabaseOperation tag = request.tag(SupabaseOperation.class);
+        int retries = Math.max(attempts - 1, 0);
+        if (tag != null && tag.retry()) {
+            retries++;
+        }
+        Counter.builder(RETRIES)
+            .description("Calls to Supabase that repeated an earlier call")
+            .tag(OPERATION_TAG, operation)
+            .register(registry)
+            .increment(retries);
+    }
+
+    private void recordRequestBytes(String operation, RequestBody body) throws IOException {
+        if (body == null) {
+            return;
+        }
+        final long length = body.contentLength();
+        if (length >= 0) {
+            bytesSummary(REQUEST_BYTES, "Bytes sent to Supabase", operation).record(length);
+        }
+    }
+
+    /**
+     * Wraps the response body so the bytes are counted as the caller reads them, including bodies
+     * that are streamed and have no Content-Length.
+     */
+    private Response countResponseBytes(String operation, Response response) {
+        final ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+
+        final DistributionSummary summary = bytesSummary(RESPONSE_BYTES, "Bytes received from Supabase", operation);
+        final ForwardingSource counting = new ForwardingSource(body.source()) {
+            private long bytes;
+            private boolean recorded;
+
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                final long read = super.read(sink, byteCount);
+                if (read == -1) {
+                    record();
+                }
+                else {
+                    bytes += read;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                record();
+                super.close();
+            }
+
+            private void record() {
+                if (!recorded) {
+                    recorded = true;
+                    summary.record(bytes);
+                }
+            }
+        };
+        return response.newBuilder()
+            .body(ResponseBody.create(Okio.buffer(counting), body.contentType(), body.contentLength()))
+            .build();
+    }
+
+    private DistributionSummary bytesSummary(String name, String description, String operation) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .baseUnit("bytes")
+            .tag(OPERATION_TAG, operation)
+            .register(registry);
+    }
+
+    private static String outcome(int status) {
+        final String outcome;
+        if (status >= 500) {
+            outcome = "SERVER_ERROR";
+        }
+        else if (status >= 400) {
+            outcome = "CLIENT_ERROR";
+        }
+        else if (status >= 300) {
+            outcome = "REDIRECTION";
+        }
+        else {
+            outcome = "SUCCESS";
+        }
+        return outcome;
+    }
+}
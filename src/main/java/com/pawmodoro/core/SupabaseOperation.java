@@ -0,0 +1,31 @@
+package com.pawmodoro.core;
+
+/**
+ * Names the logical operation a call to Supabase belongs to, so its metrics are grouped by what the
+ * call does rather than by URL. Attached to a request with
+ * {@code Request.Builder.tag(SupabaseOperation.class, ...)}.
+ * @param name the operation, such as {@code cats.updateHunger}
+ * @param retry whether the call repeats an earlier call of the same operation
+ */
+public record SupabaseOperation(
+    String name,
+    boolean retry) {
+
+    /**
+     * Names the first call of an operation.
+     * @param name the operation
+     * @return the operation tag
+     */
+    public static SupabaseOperation of(String name) {
+        return new SupabaseOperation(name, false);
+    }
+
+    /**
+     * Names a call that repeats an earlier call of an operation, for example after a conflict.
+     * @param name the operation
+     * @return the operation tag
+     */
+    public static SupabaseOperation retryOf(String name) {
+        return new SupabaseOperation(name, true);
+    }
+}
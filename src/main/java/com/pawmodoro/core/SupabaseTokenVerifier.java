@@ -0,0 +1,236 @@
+package com.pawmodoro.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.nimbusds.jwt.JWTParser;
+import com.pawmodoro.constants.Constants;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Verifies Supabase access tokens and resolves the user they belong to.
+ * In local mode the signature, expiry and audience are checked in-process, either with the
+ * project's HS256 secret or with the signing keys published at the project's JWKS endpoint
+ * (which are cached between requests). Remote mode asks the Supabase auth API instead and
+ * is only meant as a fallback for deployments that cannot verify tokens locally.
+ */
+@Component
+public class SupabaseTokenVerifier extends AbstractDataAccess {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SupabaseTokenVerifier.class);
+
+    private final VerificationMode mode;
+    private final NimbusJwtDecoder jwtDecoder;
+
+    /**
+     * Creates a new SupabaseTokenVerifier.
+     * @param client the shared Supabase HTTP client
+     * @param apiUrl the Supabase API URL
+     * @param apiKey the Supabase API key
+     * @param mode whether tokens are verified locally or by the Supabase auth API
+     * @param jwtSecret the HS256 secret of the project; when blank the JWKS endpoint is used
+     * @param jwksUri the URI of the project's JSON Web Key Set
+     * @param audience the audience every access token must be issued for
+     */
+    public SupabaseTokenVerifier(
+        OkHttpClient client,
+        @Value("${supabase.url}") String apiUrl,
+        @Value("${supabase.key}") String apiKey,
+        @Value("${supabase.auth.verification}") VerificationMode mode,
+        @Value("${supabase.jwt.secret}") String jwtSecret,
+        @Value("${supabase.jwt.jwks-uri}") String jwksUri,
+        @Value("${supabase.jwt.audience}") String audience) {
+        super(client, apiUrl, apiKey);
+        this.mode = mode;
+        this.jwtDecoder = createDecoder(jwtSecret, jwksUri, audience);
+        if (mode == VerificationMode.LOCAL && (jwtSecret == null || jwtSecret.isBlank())) {
+            // Legacy projects sign with HS256 only, and every one of their tokens would be rejected
+            LOGGER.warn("supabase.jwt.secret is not set, so only ES256 and RS256 access tokens signed with the "
+                + "keys at {} are accepted. Set SUPABASE_JWT_SECRET if the project signs with HS256.", jwksUri);
+        }
+    }
+
+    private static NimbusJwtDecoder createDecoder(String jwtSecret, String jwksUri, String audience) {
+        final NimbusJwtDecoder decoder;
+        if (jwtSecret != null && !jwtSecret.isBlank()) {
+            final SecretKey key = new SecretKeySpec(
+                jwtSecret.getBytes(StandardCharsets.UTF_8), MacAlgorithm.HS256.getName());
+            decoder = NimbusJwtDecoder.withSecretKey(key)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        }
+        else {
+            decoder = NimbusJwtDecoder.withJwkSetUri(jwksUri)
+                .jwsAlgorithm(SignatureAlgorithm.ES256)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .build();
+        }
+
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+            JwtValidators.createDefault(),
+            new JwtClaimValidator<List<String>>(JwtClaimNames.AUD,
+                aud -> aud != null && aud.contains(audience))));
+        return decoder;
+    }
+
+    /**
+     * Gets the ID of the user a token was issued to.
+     * @param authToken the access token, with or without the "Bearer " prefix
+     * @return the user ID from the token
+     * @throws AuthenticationException if the token is invalid or expired
+     * @throws DatabaseAccessException if the token could not be verified
+     */
+    public UUID getUserId(String authToken) throws DatabaseAccessException {
+        return verify(authToken).userId();
+    }
+
+    /**
+     * Verifies a token and returns its subject and expiry.
+     * @param authToken the access token, with or without the "Bearer " prefix
+     * @return the verified token
+     * @throws AuthenticationException if the token is invalid or expired
+     * @throws DatabaseAccessException if the token could not be verified
+     */
+    public VerifiedToken verify(String authToken) throws DatabaseAccessException {
+        if (authToken == null || authToken.isBlank()) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED);
+        }
+
+        final String token = stripBearerPrefix(authToken);
+        final VerifiedToken result;
+        if (mode == VerificationMode.REMOTE) {
+            result = new VerifiedToken(fetchUserId(token), readExpiry(token));
+        }
+        else {
+            result = decodeLocally(token);
+        }
+        return result;
+    }
+
+    private VerifiedToken decodeLocally(String token) throws DatabaseAccessException {
+        final Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(token);
+        }
+        catch (BadJwtException exception) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        }
+        catch (JwtException exception) {
+            // The signing keys could not be retrieved, so the token is neither valid nor invalid yet
+            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
+        }
+
+        if (jwt.getSubject() == null) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        }
+
+        try {
+            return new VerifiedToken(UUID.fromString(jwt.getSubject()), jwt.getExpiresAt());
+        }
+        catch (IllegalArgumentException exception) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        }
+    }
+
+    /**
+     * Gets the user ID by calling the Supabase auth API.
+     * @param token the access token without the "Bearer " prefix
+     * @return the user ID
+     * @throws DatabaseAccessException if there's an error getting the user ID
+     */
+    private UUID fetchUserId(String token) throws DatabaseAccessException {
+        try {
+            final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.AUTH_GET_USER))
+                .url(getApiUrl() + Constants.Endpoints.AUTH_USERS_ENDPOINT)
+                .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
+                .addHeader(Constants.Http.AUTH_HEADER, Constants.Http.BEARER_PREFIX + token)
+                .get()
+                .build();
+
+            try (Response response = getClient().newCall(request).execute()) {
+                if (response.body() == null) {
+                    throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
+                }
+                else if (!response.isSuccessful()) {
+                    if (response.code() == HttpStatus.UNAUTHORIZED.value()
+                        || response.code() == HttpStatus.FORBIDDEN.value()) {
+                        throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+                    }
+                    else {
+                        throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
+                    }
+                }
+
+                final JsonNode userInfo = getObjectMapper().readTree(response.body().string());
+                return UUID.fromString(userInfo.get(Constants.JsonFields.ID_FIELD).asText());
+            }
+        }
+        catch (IOException | IllegalArgumentException exception) {
+            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
+        }
+    }
+
+    /**
+     * Reads the expiry of a token that has already been accepted by the Supabase auth API.
+     * @param token the access token
+     * @return the expiry, or null if the token does not carry one
+     */
+    private static Instant readExpiry(String token) {
+        Instant expiresAt = null;
+        try {
+            final Date expirationTime = JWTParser.parse(token).getJWTClaimsSet().getExpirationTime();
+            if (expirationTime != null) {
+                expiresAt = expirationTime.toInstant();
+            }
+        }
+        catch (ParseException exception) {
+            expiresAt = null;
+        }
+        return expiresAt;
+    }
+
+    private static String stripBearerPrefix(String authToken) {
+        String token = authToken.trim();
+        if (token.startsWith(Constants.Http.BEARER_PREFIX)) {
+            token = token.substring(Constants.Http.BEARER_PREFIX.length()).trim();
+        }
+        return token;
+    }
+
+    /**
+     * How access tokens are verified.
+     */
+    public enum VerificationMode {
+        /** Verify the signature, expiry and audience in-process. */
+        LOCAL,
+        /** Ask the Supabase auth API for the user behind the token. */
+        REMOTE
+    }
+}
@@ -0,0 +1,17 @@
+package com.pawmodoro.core;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Value object describing the user behind a verified access token.
+ * @param userId the ID of the user the token was issued to
+ * @param username the username of that user
+ * @param expiresAt when the token expires, or null if the expiry is unknown
+ */
+public record TokenIdentity(
+    UUID userId,
+    String username,
+    Instant expiresAt) {
+
+}
@@ -0,0 +1,152 @@
+package com.pawmodoro.core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.pawmodoro.constants.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache from an access token to the user it belongs to.
+ * Tokens are keyed by their SHA-256 fingerprint so raw tokens are never kept in memory, and
+ * an entry never outlives the token it was created for.
+ * Hit and miss counts are published as the {@value #CACHE_NAME} cache metrics.
+ */
+@Component
+public class TokenIdentityCache implements MeterBinder {
+    static final String CACHE_NAME = "supabase.token.identity";
+
+    private final Cache<String, TokenIdentity> cache;
+    private final Clock clock;
+
+    /**
+     * Creates a new TokenIdentityCache.
+     * @param maxSize the maximum number of tokens kept in the cache
+     * @param ttl the longest time an entry is kept, even if the token is valid for longer
+     */
+    @Autowired
+    public TokenIdentityCache(
+        @Value("${supabase.auth.identity-cache.max-size}") long maxSize,
+        @Value("${supabase.auth.identity-cache.ttl}") Duration ttl) {
+        this(maxSize, ttl, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new TokenIdentityCache with its own time sources.
+     * @param maxSize the maximum number of tokens kept in the cache
+     * @param ttl the longest time an entry is kept, even if the token is valid for longer
+     * @param ticker the time source entries expire by
+     * @param clock the time source token expiry is compared with
+     */
+    TokenIdentityCache(long maxSize, Duration ttl, Ticker ticker, Clock clock) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(ttl, clock))
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Gets the cached identity of a token.
+     * @param authToken the access token, with or without the "Bearer " prefix
+     * @return the identity, or null if the token is not cached
+     */
+    public TokenIdentity getIfPresent(String authToken) {
+        return cache.getIfPresent(fingerprint(authToken));
+    }
+
+    /**
+     * Caches the identity of a token. Tokens that have already expired are not cached.
+     * @param authToken the access token, with or without the "Bearer " prefix
+     * @param identity the user the token belongs to
+     */
+    public void put(String authToken, TokenIdentity identity) {
+        if (identity.expiresAt() == null || identity.expiresAt().isAfter(clock.instant())) {
+            cache.put(fingerprint(authToken), identity);
+        }
+    }
+
+    /**
+     * Removes a token from the cache, for example when the user logs out.
+     * @param authToken the access token, with or without the "Bearer " prefix
+     */
+    public void evict(String authToken) {
+        if (authToken != null) {
+            cache.invalidate(fingerprint(authToken));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private static String fingerprint(String authToken) {
+        String token = authToken.trim();
+        if (token.startsWith(Constants.Http.BEARER_PREFIX)) {
+            token = token.substring(Constants.Http.BEARER_PREFIX.length()).trim();
+        }
+
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Expires an entry after the configured TTL or when its token expires, whichever comes first.
+     */
+    private static final class TokenExpiry implements Expiry<String, TokenIdentity> {
+        private final Duration ttl;
+        private final Clock clock;
+
+        private TokenExpiry(Duration ttl, Clock clock) {
+            this.ttl = ttl;
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, TokenIdentity value, long currentTime) {
+            Duration lifetime = ttl;
+            if (value.expiresAt() != null) {
+                final Duration untilExpiry = Duration.between(clock.instant(), value.expiresAt());
+                if (untilExpiry.compareTo(lifetime) < 0) {
+                    lifetime = untilExpiry;
+                }
+            }
+            return Math.max(0, lifetime.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenIdentity value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenIdentity value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
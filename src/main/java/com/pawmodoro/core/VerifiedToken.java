@@ -0,0 +1,15 @@
+package com.pawmodoro.core;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Value object describing a Supabase access token whose authenticity has been checked.
+ * @param userId the ID of the user the token was issued to (the {@code sub} claim)
+ * @param expiresAt when the token expires, or null if the expiry is unknown
+ */
+public record VerifiedToken(
+    UUID userId,
+    Instant expiresAt) {
+
+}
@@ -0,0 +1,64 @@
+package com.pawmodoro.dashboard.data_access;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.cats.data_access.CatRetrievalDataAccess;
+import com.pawmodoro.cats.data_access.CatUpdateDataAccess;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.dashboard.service.get_dashboard.GetDashboardDataAccessInterface;
+import com.pawmodoro.settings.data_access.DbUserSettingsDataAccessObject;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.user_sessions.data_access.OpenSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.entity.UserSession;
+
+/**
+ * Data access for the dashboard, built on the data access objects of the settings, cats and sessions.
+ * Every section is read by the ID and username resolved from the token once, so no section verifies the
+ * token or looks up the user again. The open session is read through the interruption write-behind buffer
+ * when it is enabled, so its interruption count includes the taps that are not written yet.
+ */
+@Repository
+@Profile("!jdbc")
+public class DashboardDataAccess implements GetDashboardDataAccessInterface {
+    private final CatUpdateDataAccess identityDataAccess;
+    private final CatRetrievalDataAccess catRetrieval;
+    private final DbUserSettingsDataAccessObject settingsDataAccess;
+    private final OpenSessionDataAccessInterface sessionDataAccess;
+
+    public DashboardDataAccess(
+        CatUpdateDataAccess identityDataAccess,
+        CatRetrievalDataAccess catRetrieval,
+        DbUserSettingsDataAccessObject settingsDataAccess,
+        OpenSessionDataAccessInterface sessionDataAccess) {
+        this.identityDataAccess = identityDataAccess;
+        this.catRetrieval = catRetrieval;
+        this.settingsDataAccess = settingsDataAccess;
+        this.sessionDataAccess = sessionDataAccess;
+    }
+
+    @Override
+    public TokenIdentity authenticate(String token) throws DatabaseAccessException {
+        return identityDataAccess.getIdentityFromToken(token);
+    }
+
+    @Override
+    public UserSettings getUserSettings(TokenIdentity identity, String token) throws DatabaseAccessException {
+        return settingsDataAccess.getOwnUserSettings(identity.userId(), identity.username(), token);
+    }
+
+    @Override
+    public List<Cat> getCats(TokenIdentity identity, String token) throws DatabaseAccessException {
+        return catRetrieval.getCatsByOwner(identity.username(), identity.userId(), token);
+    }
+
+    @Override
+    public UserSession getOpenSession(TokenIdentity identity, String token) throws DatabaseAccessException {
+        return sessionDataAccess.getOpenSession(identity.userId(), Constants.Http.BEARER_PREFIX + token);
+    }
+}
@@ -0,0 +1,63 @@
+package com.pawmodoro.dashboard.data_access;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.cats.data_access.InMemoryCatDataAccess;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.dashboard.service.get_dashboard.GetDashboardDataAccessInterface;
+import com.pawmodoro.settings.data_access.InMemoryUserSettingsDataAccess;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.user_sessions.data_access.InMemoryUserSessionDataAccess;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import com.pawmodoro.users.data_access.InMemoryUserDataAccess;
+
+/**
+ * Data access for the dashboard over the in-memory storage, used with the {@code in-memory} profile.
+ * Like {@link DashboardDataAccess}, every section is read by the identity resolved from the token once.
+ */
+@Repository
+@Primary
+@Profile("in-memory")
+public class InMemoryDashboardDataAccess implements GetDashboardDataAccessInterface {
+    private final InMemoryUserDataAccess users;
+    private final InMemoryCatDataAccess cats;
+    private final InMemoryUserSettingsDataAccess settings;
+    private final InMemoryUserSessionDataAccess sessions;
+
+    public InMemoryDashboardDataAccess(
+        InMemoryUserDataAccess users,
+        InMemoryCatDataAccess cats,
+        InMemoryUserSettingsDataAccess settings,
+        InMemoryUserSessionDataAccess sessions) {
+        this.users = users;
+        this.cats = cats;
+        this.settings = settings;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public TokenIdentity authenticate(String token) throws DatabaseAccessException {
+        return users.getIdentityFromToken(token);
+    }
+
+    @Override
+    public UserSettings getUserSettings(TokenIdentity identity, String token) {
+        return settings.getOwnUserSettings(identity);
+    }
+
+    @Override
+    public List<Cat> getCats(TokenIdentity identity, String token) {
+        return cats.getCatsByOwner(identity.username(), identity);
+    }
+
+    @Override
+    public UserSession getOpenSession(TokenIdentity identity, String token) {
+        return sessions.getOpenSession(identity);
+    }
+}
@@ -0,0 +1,58 @@
+package com.pawmodoro.dashboard.data_access;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.cats.data_access.JdbcCatDataAccess;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.dashboard.service.get_dashboard.GetDashboardDataAccessInterface;
+import com.pawmodoro.settings.data_access.JdbcUserSettingsDataAccess;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.user_sessions.data_access.JdbcUserSessionDataAccess;
+import com.pawmodoro.user_sessions.entity.UserSession;
+
+/**
+ * Data access for the dashboard over a direct connection to the Supabase database, used with the
+ * {@code jdbc} profile. Like {@link DashboardDataAccess}, every section is read by the identity resolved
+ * from the token once.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcDashboardDataAccess implements GetDashboardDataAccessInterface {
+    private final JdbcCatDataAccess catDataAccess;
+    private final JdbcUserSettingsDataAccess settingsDataAccess;
+    private final JdbcUserSessionDataAccess sessionDataAccess;
+
+    public JdbcDashboardDataAccess(
+        JdbcCatDataAccess catDataAccess,
+        JdbcUserSettingsDataAccess settingsDataAccess,
+        JdbcUserSessionDataAccess sessionDataAccess) {
+        this.catDataAccess = catDataAccess;
+        this.settingsDataAccess = settingsDataAccess;
+        this.sessionDataAccess = sessionDataAccess;
+    }
+
+    @Override
+    public TokenIdentity authenticate(String token) throws DatabaseAccessException {
+        return catDataAccess.getIdentityFromToken(token);
+    }
+
+    @Override
+    public UserSettings getUserSettings(TokenIdentity identity, String token) throws DatabaseAccessException {
+        return settingsDataAccess.getOwnUserSettings(identity.userId(), identity.username());
+    }
+
+    @Override
+    public List<Cat> getCats(TokenIdentity identity, String token) throws DatabaseAccessException {
+        return catDataAccess.getCatsByOwner(identity.username(), identity.userId());
+    }
+
+    @Override
+    public UserSession getOpenSession(TokenIdentity identity, String token) throws DatabaseAccessException {
+        return sessionDataAccess.getOpenSession(identity.userId());
+    }
+}
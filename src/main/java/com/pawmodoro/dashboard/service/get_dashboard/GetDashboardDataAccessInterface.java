@@ -0,0 +1,50 @@
+package com.pawmodoro.dashboard.service.get_dashboard;
+
+import java.util.List;
+
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.user_sessions.entity.UserSession;
+
+/**
+ * Data access interface for the dashboard use case.
+ * The token is verified once by {@link #authenticate}, every other call reuses the identity it returns.
+ */
+public interface GetDashboardDataAccessInterface {
+    /**
+     * Verifies a token and resolves the ID and username of its user.
+     * @param token the access token, without the "Bearer " prefix
+     * @return the identity of the token's user
+     * @throws DatabaseAccessException if the token is invalid or the user could not be resolved
+     */
+    TokenIdentity authenticate(String token) throws DatabaseAccessException;
+
+    /**
+     * Gets the settings of a user.
+     * @param identity the identity returned by {@link #authenticate}
+     * @param token the access token, without the "Bearer " prefix
+     * @return the user's settings
+     * @throws DatabaseAccessException if the settings could not be read
+     */
+    UserSettings getUserSettings(TokenIdentity identity, String token) throws DatabaseAccessException;
+
+    /**
+     * Gets the cats of a user.
+     * @param identity the identity returned by {@link #authenticate}
+     * @param token the access token, without the "Bearer " prefix
+     * @return the user's cats
+     * @throws DatabaseAccessException if the cats could not be read
+     */
+    List<Cat> getCats(TokenIdentity identity, String token) throws DatabaseAccessException;
+
+    /**
+     * Gets the session a user is currently in.
+     * @param identity the identity returned by {@link #authenticate}
+     * @param token the access token, without the "Bearer " prefix
+     * @return the open session, or null if the user has none
+     * @throws DatabaseAccessException if the sessions could not be read
+     */
+    UserSession getOpenSession(TokenIdentity identity, String token) throws DatabaseAccessException;
+}
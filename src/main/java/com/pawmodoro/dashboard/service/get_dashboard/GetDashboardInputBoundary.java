@@ -0,0 +1,17 @@
+package com.pawmodoro.dashboard.service.get_dashboard;
+
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.dashboard.service.get_dashboard.interface_adapter.GetDashboardResponseDto;
+
+/**
+ * Input boundary for loading everything the app shows on start in one request.
+ */
+public interface GetDashboardInputBoundary {
+    /**
+     * Loads the settings, the cats and the open session of the user a token belongs to.
+     * @param input The input data containing the user's token
+     * @return The sections of the dashboard, each with its own status and timing
+     * @throws DatabaseAccessException if the token is invalid or could not be verified
+     */
+    GetDashboardResponseDto execute(GetDashboardInputData input) throws DatabaseAccessException;
+}
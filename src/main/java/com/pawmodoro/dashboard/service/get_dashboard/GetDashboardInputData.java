@@ -0,0 +1,10 @@
+package com.pawmodoro.dashboard.service.get_dashboard;
+
+/**
+ * Input data for loading the dashboard of a user.
+ * @param token The authentication token of the user, without the Bearer prefix
+ */
+public record GetDashboardInputData(
+    String token) {
+
+}
@@ -0,0 +1,152 @@
+package com.pawmodoro.dashboard.service.get_dashboard;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.interface_adapter.CatDto;
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.FanOutExecutor;
+import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.dashboard.service.get_dashboard.interface_adapter.DashboardSectionDto;
+import com.pawmodoro.dashboard.service.get_dashboard.interface_adapter.GetDashboardResponseDto;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.settings.service.get_user_settings.interface_adapter.GetUserSettingsResponseDto;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import com.pawmodoro.user_sessions.service.create_session.interface_adapter.CreateSessionResponseDto;
+
+/**
+ * Interactor that loads the dashboard of a user in one request.
+ * The token is verified once, then the settings, the cats and the open session are read concurrently.
+ * The whole request shares one deadline: a section that is not loaded in time is reported as timed out
+ * and a section that fails is reported as failed, while the other sections are still returned. Only an
+ * invalid token fails the whole request.
+ */
+@Service
+public class GetDashboardInteractor implements GetDashboardInputBoundary {
+    private static final List<Section> SECTIONS = List.of(Section.values());
+
+    private final GetDashboardDataAccessInterface dataAccess;
+    private final FanOutExecutor fanOutExecutor;
+    private final Duration timeout;
+
+    /**
+     * Creates a new GetDashboardInteractor.
+     * @param dataAccess reads the sections of the dashboard
+     * @param fanOutExecutor reads the sections concurrently
+     * @param timeout the deadline of the whole request, including verifying the token
+     */
+    public GetDashboardInteractor(
+        GetDashboardDataAccessInterface dataAccess,
+        FanOutExecutor fanOutExecutor,
+        @Value("${dashboard.timeout}") Duration timeout) {
+        this.dataAccess = dataAccess;
+        this.fanOutExecutor = fanOutExecutor;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public GetDashboardResponseDto execute(GetDashboardInputData input) throws DatabaseAccessException {
+        final long start = System.nanoTime();
+        final TokenIdentity identity = dataAccess.authenticate(input.token());
+
+        final Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+        final long fanOutStart = System.nanoTime();
+        final List<DashboardSectionDto<?>> sections = fanOutExecutor.invokeAll(SECTIONS,
+            section -> load(section, identity, input.token()),
+            section -> DashboardSectionDto.timedOut(millisSince(fanOutStart)),
+            max(remaining, Duration.ZERO));
+
+        return new GetDashboardResponseDto(
+            identity.username(),
+            section(sections, Section.SETTINGS),
+            section(sections, Section.CATS),
+            section(sections, Section.SESSION),
+            millisSince(start));
+    }
+
+    private DashboardSectionDto<?> load(Section section, TokenIdentity identity, String token)
+        throws DatabaseAccessException {
+        final long start = System.nanoTime();
+        try {
+            final Object data = switch (section) {
+                case SETTINGS -> toDto(dataAccess.getUserSettings(identity, token));
+                case CATS -> dataAccess.getCats(identity, token).stream().map(GetDashboardInteractor::toDto).toList();
+                case SESSION -> toDto(dataAccess.getOpenSession(identity, token));
+            };
+            return DashboardSectionDto.ok(data, millisSince(start));
+        }
+        catch (AuthenticationException | ForbiddenAccessException exception) {
+            // The token stopped being accepted, which no section can recover from
+            throw exception;
+        }
+        catch (DatabaseAccessException | RuntimeException exception) {
+            return DashboardSectionDto.failed(exception.getMessage(), millisSince(start));
+        }
+    }
+
+    // Each section's content has the type the response declares for it, see load
+    @SuppressWarnings("unchecked")
+    private static <T> DashboardSectionDto<T> section(List<DashboardSectionDto<?>> sections, Section section) {
+        return (DashboardSectionDto<T>) sections.get(section.ordinal());
+    }
+
+    private static GetUserSettingsResponseDto toDto(UserSettings settings) {
+        return new GetUserSettingsResponseDto(
+            settings.getUsername(),
+            settings.getFocusDuration(),
+            settings.getShortBreakDuration(),
+            settings.getLongBreakDuration(),
+            settings.isAutoStartBreaks(),
+            settings.isAutoStartFocus());
+    }
+
+    private static CatDto toDto(Cat cat) {
+        return new CatDto(
+            cat.getName(),
+            cat.getOwnerUsername(),
+            cat.getHappinessLevel(),
+            cat.getHungerLevel(),
+            cat.getImageFileName());
+    }
+
+    private static CreateSessionResponseDto toDto(UserSession session) {
+        if (session == null) {
+            return null;
+        }
+        return CreateSessionResponseDto.builder()
+            .id(session.getId())
+            .userId(session.getUserId())
+            .sessionType(session.getSessionType().getValue())
+            .sessionStartTime(session.getSessionStartTime())
+            .sessionEndTime(session.getSessionEndTime())
+            .durationMinutes(session.getDurationMinutes())
+            .completed(session.isCompleted())
+            .interruptionCount(session.getInterruptionCount())
+            .build();
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        if (first.compareTo(second) >= 0) {
+            return first;
+        }
+        return second;
+    }
+
+    private static long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * The sections of the dashboard, in the order they are returned by the fan-out.
+     */
+    private enum Section {
+        SETTINGS, CATS, SESSION
+    }
+}
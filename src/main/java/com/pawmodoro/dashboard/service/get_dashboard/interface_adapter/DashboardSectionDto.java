@@ -0,0 +1,48 @@
+package com.pawmodoro.dashboard.service.get_dashboard.interface_adapter;
+
+/**
+ * One section of the dashboard response.
+ * @param status Whether the section was loaded, timed out or failed
+ * @param data The content of the section, null unless it was loaded
+ * @param error Why the section failed, null unless it failed
+ * @param durationMillis How long loading the section took, or ran until the deadline
+ * @param <T> The type of the content
+ */
+public record DashboardSectionDto<T>(
+    DashboardSectionStatus status,
+    T data,
+    String error,
+    long durationMillis) {
+
+    /**
+     * Creates a loaded section.
+     * @param data the content, may be null when there is nothing to show
+     * @param durationMillis how long loading took
+     * @param <T> the type of the content
+     * @return the section
+     */
+    public static <T> DashboardSectionDto<T> ok(T data, long durationMillis) {
+        return new DashboardSectionDto<>(DashboardSectionStatus.OK, data, null, durationMillis);
+    }
+
+    /**
+     * Creates a section that did not load before the deadline.
+     * @param durationMillis how long the section ran
+     * @param <T> the type of the content
+     * @return the section
+     */
+    public static <T> DashboardSectionDto<T> timedOut(long durationMillis) {
+        return new DashboardSectionDto<>(DashboardSectionStatus.TIMEOUT, null, null, durationMillis);
+    }
+
+    /**
+     * Creates a section that could not be loaded.
+     * @param error why loading failed
+     * @param durationMillis how long loading took
+     * @param <T> the type of the content
+     * @return the section
+     */
+    public static <T> DashboardSectionDto<T> failed(String error, long durationMillis) {
+        return new DashboardSectionDto<>(DashboardSectionStatus.FAILED, null, error, durationMillis);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pawmodoro.dashboard.service.get_dashboard.interface_adapter;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Outcome of loading one section of the dashboard.
+ */
+public enum DashboardSectionStatus {
+    OK("ok"), TIMEOUT("timeout"), FAILED("failed");
+
+    private final String value;
+
+    DashboardSectionStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.pawmodoro.dashboard.service.get_dashboard.interface_adapter;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.dashboard.service.get_dashboard.GetDashboardInputBoundary;
+import com.pawmodoro.dashboard.service.get_dashboard.GetDashboardInputData;
+
+/**
+ * Controller for loading the dashboard of the current user.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class GetDashboardController {
+    private final GetDashboardInputBoundary interactor;
+
+    public GetDashboardController(GetDashboardInputBoundary interactor) {
+        this.interactor = interactor;
+    }
+
+    /**
+     * Loads the settings, the cats and the open session of the current user.
+     * Replaces calling the settings, cats and session endpoints one after the other on app start.
+     * @param authHeader The Authorization header containing the JWT token
+     * @return the sections of the dashboard
+     * @throws DatabaseAccessException if the token is invalid or could not be verified
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public GetDashboardResponseDto getDashboard(
+        @RequestHeader("Authorization") String authHeader) throws DatabaseAccessException {
+
+        // Extract token from Authorization header
+        final String token = authHeader.replace("Bearer ", "");
+
+        return interactor.execute(new GetDashboardInputData(token));
+    }
+}
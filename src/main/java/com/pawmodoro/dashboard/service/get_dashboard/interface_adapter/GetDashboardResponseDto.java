@@ -0,0 +1,24 @@
+package com.pawmodoro.dashboard.service.get_dashboard.interface_adapter;
+
+import java.util.List;
+
+import com.pawmodoro.cats.interface_adapter.CatDto;
+import com.pawmodoro.settings.service.get_user_settings.interface_adapter.GetUserSettingsResponseDto;
+import com.pawmodoro.user_sessions.service.create_session.interface_adapter.CreateSessionResponseDto;
+
+/**
+ * Response DTO for the dashboard of a user.
+ * @param username The username the token belongs to
+ * @param settings The user's settings
+ * @param cats The user's cats
+ * @param session The session the user is currently in, with null data if there is none
+ * @param durationMillis How long the whole request took
+ */
+public record GetDashboardResponseDto(
+    String username,
+    DashboardSectionDto<GetUserSettingsResponseDto> settings,
+    DashboardSectionDto<List<CatDto>> cats,
+    DashboardSectionDto<CreateSessionResponseDto> session,
+    long durationMillis) {
+
+}
@@ -1,16 +1,24 @@
 package com.pawmodoro.settings.data_access;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import com.pawmodoro.core.SupabaseTokenVerifier;
 import com.pawmodoro.settings.entity.UserSettings;
 import com.pawmodoro.settings.service.get_user_settings.GetUserSettingsDataAccessInterface;
 import com.pawmodoro.settings.service.update_user_settings.UpdateUserSettingsDataAccessInterface;
@@ -25,44 +33,70 @@ import okhttp3.Response;
  * Data access object for user settings in Supabase database.
  * This class handles the persistence of user settings while respecting
  * Row Level Security (RLS) policies configured in Supabase.
+ * Usernames are resolved to user IDs through the settings user ID cache, and the settings of the caller
+ * are served from the settings cache once read. Updates refresh the cache with the row Supabase returns.
  */
 @Repository
+@Profile("!jdbc")
 public class DbUserSettingsDataAccessObject
     implements GetUserSettingsDataAccessInterface, UpdateUserSettingsDataAccessInterface {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
+    private final SettingsUserIdCache userIdCache;
+    private final UserSettingsCache settingsCache;
+    private final SupabaseTokenVerifier tokenVerifier;
     private final OkHttpClient client;
     private final String apiUrl;
     private final String apiKey;
 
     /**
      * Constructs a new DbUserSettingsDataAccessObject with the necessary Supabase configuration.
+     * @param userIdCache the cache of user IDs by username
+     * @param settingsCache the cache of settings by user ID
+     * @param tokenVerifier resolves the user an access token belongs to
+     * @param client the shared Supabase HTTP client
      * @param apiUrl the Supabase API URL
      * @param apiKey the Supabase API key
      */
     public DbUserSettingsDataAccessObject(
+        SettingsUserIdCache userIdCache,
+        UserSettingsCache settingsCache,
+        SupabaseTokenVerifier tokenVerifier,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        this.client = new OkHttpClient().newBuilder().build();
+        this.userIdCache = userIdCache;
+        this.settingsCache = settingsCache;
+        this.tokenVerifier = tokenVerifier;
+        this.client = client;
         this.apiUrl = apiUrl;
         this.apiKey = apiKey;
     }
 
     /**
-     * Gets the user ID from the public.user_profiles table.
+     * Gets the user ID of a username, reading it from the public.user_profiles table if it is not cached.
      * @param username the username to look up
      * @param accessToken the Supabase access token
      * @return the user's ID
      * @throws UserNotFoundException if the user is not found
      * @throws DatabaseAccessException if there's an error accessing the database
      */
-    private String getUserId(String username,
+    private UUID getUserId(String username,
         String accessToken) throws UserNotFoundException, DatabaseAccessException {
+        final UUID cachedUserId = userIdCache.getIfPresent(username);
+        if (cachedUserId != null) {
+            return cachedUserId;
+        }
+
         final Request request = buildUserProfileRequest(username, accessToken);
-        return executeUserProfileRequest(request, username);
+        final UUID userId = executeUserProfileRequest(request, username);
+        userIdCache.put(username, userId);
+        return userId;
     }
 
     private Request buildUserProfileRequest(String username, String accessToken) {
         return new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SETTINGS_GET_USER_ID))
             .url(apiUrl + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
                 + Constants.JsonFields.USERNAME_FIELD + Constants.Http.QUERY_EQUALS + username)
             .get()
@@ -72,7 +106,7 @@ public class DbUserSettingsDataAccessObject
             .build();
     }
 
-    private String executeUserProfileRequest(Request request,
+    private UUID executeUserProfileRequest(Request request,
         String username) throws UserNotFoundException, DatabaseAccessException {
         try (Response response = client.newCall(request).execute()) {
             if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
@@ -85,16 +119,14 @@ public class DbUserSettingsDataAccessObject
                         response.body().string()));
             }
 
-            final String responseBody = response.body().string();
-            if (responseBody.equals(Constants.JsonFields.EMPTY_ARRAY)) {
+            final String userId = readUserId(response.body().byteStream());
+            if (userId == null) {
                 throw new UserNotFoundException(
                     String.format(Constants.ErrorMessages.AUTH_USER_NOT_FOUND, username));
             }
-
-            final JSONArray profiles = new JSONArray(responseBody);
-            return profiles.getJSONObject(0).getString(Constants.JsonFields.ID_FIELD);
+            return UUID.fromString(userId);
         }
-        catch (IOException exception) {
+        catch (IOException | IllegalArgumentException exception) {
             throw new DatabaseAccessException(
                 String.format(
                     Constants.ErrorMessages.DB_FAILED_ACCESS + Constants.ErrorMessages.ERROR_MESSAGE_FORMAT,
@@ -102,16 +134,73 @@ public class DbUserSettingsDataAccessObject
         }
     }
 
+    /**
+     * Reads the id of the first profile row of a PostgREST response.
+     * @param body the response body
+     * @return the id, or null if the response has no rows
+     * @throws IOException if the body cannot be read
+     */
+    static String readUserId(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of profiles");
+            }
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    parser.nextToken();
+                    if (Constants.JsonFields.ID_FIELD.equals(field)) {
+                        return parser.getValueAsString();
+                    }
+                    parser.skipChildren();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Gets the settings of a user. Only the user's own settings are served from the cache, reads of other
+     * users' settings always go to Supabase so that row level security decides what they may see.
+     */
     @Override
     public UserSettings getUserSettings(String username,
         String accessToken) throws UserNotFoundException, DatabaseAccessException {
-        final String userId = getUserId(username, accessToken);
+        final UUID callerId = tokenVerifier.getUserId(accessToken);
+        final UUID userId = getUserId(username, accessToken);
+        if (userId.equals(callerId)) {
+            return getOwnUserSettings(userId, username, accessToken);
+        }
+
         final Request request = buildUserSettingsRequest(userId, accessToken);
         return executeUserSettingsRequest(request, username);
     }
 
-    private Request buildUserSettingsRequest(String userId, String accessToken) {
+    /**
+     * Gets the settings of the user an already verified access token belongs to, straight by the user's ID.
+     * @param userId the ID of the user the token belongs to
+     * @param username the username of that user
+     * @param accessToken the Supabase access token
+     * @return the user's settings
+     * @throws DatabaseAccessException if there's an error accessing the database
+     */
+    public UserSettings getOwnUserSettings(UUID userId, String username,
+        String accessToken) throws DatabaseAccessException {
+        final UserSettings cachedSettings = settingsCache.getIfPresent(userId, username);
+        if (cachedSettings != null) {
+            return cachedSettings;
+        }
+
+        final long readVersion = settingsCache.currentVersion();
+        final Request request = buildUserSettingsRequest(userId, accessToken);
+        final UserSettings settings = executeUserSettingsRequest(request, username);
+        settingsCache.putRead(userId, settings, readVersion);
+        return settings;
+    }
+
+    private Request buildUserSettingsRequest(UUID userId, String accessToken) {
         return new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SETTINGS_GET))
             .url(apiUrl + Constants.Endpoints.USER_SETTINGS_ENDPOINT + Constants.Http.QUERY_START
                 + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + userId)
             .get()
@@ -135,35 +224,88 @@ public class DbUserSettingsDataAccessObject
                         response.body().string()));
             }
 
-            final String responseBody = response.body().string();
-            if (responseBody.equals(Constants.JsonFields.EMPTY_ARRAY)) {
+            final UserSettings settings = readSettings(response.body().byteStream(), username);
+            if (settings == null) {
                 throw new DatabaseAccessException("Settings not found for user: " + username);
             }
-
-            final JSONArray settingsArray = new JSONArray(responseBody);
-            final JSONObject settings = settingsArray.getJSONObject(0);
-            return new UserSettings(
-                username,
-                settings.getInt(Constants.JsonFields.FOCUS_DURATION),
-                settings.getInt(Constants.JsonFields.SHORT_BREAK_DURATION),
-                settings.getInt(Constants.JsonFields.LONG_BREAK_DURATION),
-                settings.getBoolean(Constants.JsonFields.AUTO_START_BREAKS),
-                settings.getBoolean(Constants.JsonFields.AUTO_START_FOCUS));
+            return settings;
         }
         catch (IOException exception) {
             throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS + ": " + exception.getMessage());
         }
     }
 
+    /**
+     * Reads the first settings row of a PostgREST response straight from the body's bytes.
+     * @param body the response body
+     * @param username the user the settings belong to
+     * @return the settings, or null if the response has no rows
+     * @throws IOException if the body cannot be read or the row is missing a setting
+     */
+    static UserSettings readSettings(InputStream body, String username) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of settings");
+            }
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            Integer focusDuration = null;
+            Integer shortBreakDuration = null;
+            Integer longBreakDuration = null;
+            Boolean autoStartBreaks = null;
+            Boolean autoStartFocus = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+
+                switch (field) {
+                    case Constants.JsonFields.FOCUS_DURATION -> focusDuration = parser.getIntValue();
+                    case Constants.JsonFields.SHORT_BREAK_DURATION -> shortBreakDuration = parser.getIntValue();
+                    case Constants.JsonFields.LONG_BREAK_DURATION -> longBreakDuration = parser.getIntValue();
+                    case Constants.JsonFields.AUTO_START_BREAKS -> autoStartBreaks = parser.getBooleanValue();
+                    case Constants.JsonFields.AUTO_START_FOCUS -> autoStartFocus = parser.getBooleanValue();
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (focusDuration == null || shortBreakDuration == null || longBreakDuration == null
+                || autoStartBreaks == null || autoStartFocus == null) {
+                throw new JsonParseException(parser, "Settings row is missing required columns");
+            }
+            return new UserSettings(username, focusDuration, shortBreakDuration, longBreakDuration,
+                autoStartBreaks, autoStartFocus);
+        }
+    }
+
     @Override
     public void updateUserSettings(String username, String accessToken,
         UserSettings userSettings) throws UserNotFoundException, DatabaseAccessException {
-        final String userId = getUserId(username, accessToken);
+        final UUID userId = getUserId(username, accessToken);
         final Request request = buildUpdateSettingsRequest(userId, accessToken, userSettings);
-        executeUpdateSettingsRequest(request);
+        final UserSettings updatedSettings;
+        try {
+            updatedSettings = executeUpdateSettingsRequest(request, username);
+        }
+        catch (DatabaseAccessException exception) {
+            // The update may have been applied even though its response was lost
+            settingsCache.invalidate(userId);
+            throw exception;
+        }
+
+        if (updatedSettings != null) {
+            settingsCache.putWritten(userId, updatedSettings);
+        }
+        else {
+            settingsCache.invalidate(userId);
+        }
     }
 
-    private Request buildUpdateSettingsRequest(String id, String accessToken, UserSettings userSettings) {
+    private Request buildUpdateSettingsRequest(UUID id, String accessToken, UserSettings userSettings) {
         final JSONObject requestBody = new JSONObject()
             .put(Constants.JsonFields.FOCUS_DURATION, userSettings.getFocusDuration())
             .put(Constants.JsonFields.SHORT_BREAK_DURATION, userSettings.getShortBreakDuration())
@@ -176,6 +318,7 @@ public class DbUserSettingsDataAccessObject
             MediaType.parse(Constants.Http.CONTENT_TYPE_JSON));
 
         return new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SETTINGS_UPDATE))
             .url(apiUrl + Constants.Endpoints.USER_SETTINGS_ENDPOINT + Constants.Http.QUERY_START
                 + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + id)
             .patch(body)
@@ -186,7 +329,12 @@ public class DbUserSettingsDataAccessObject
             .build();
     }
 
-    private void executeUpdateSettingsRequest(Request request) throws DatabaseAccessException {
+    /**
+     * Sends an update and reads the updated row from the response.
+     * @return the updated settings, or null if no row was updated
+     */
+    private UserSettings executeUpdateSettingsRequest(Request request,
+        String username) throws DatabaseAccessException {
         try (Response response = client.newCall(request).execute()) {
             if (response.code() == HttpStatus.UNAUTHORIZED.value()) {
                 throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
@@ -197,6 +345,7 @@ public class DbUserSettingsDataAccessObject
                         Constants.ErrorMessages.DB_FAILED_ACCESS + Constants.ErrorMessages.ERROR_MESSAGE_FORMAT,
                         response.body().string()));
             }
+            return readSettings(response.body().byteStream(), username);
         }
         catch (IOException exception) {
             throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS + ": " + exception.getMessage());
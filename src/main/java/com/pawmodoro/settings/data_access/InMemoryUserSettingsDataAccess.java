@@ -0,0 +1,86 @@
+package com.pawmodoro.settings.data_access;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SimulatedLatency;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.settings.service.get_user_settings.GetUserSettingsDataAccessInterface;
+import com.pawmodoro.settings.service.update_user_settings.UpdateUserSettingsDataAccessInterface;
+import com.pawmodoro.users.data_access.InMemoryUserDataAccess;
+import com.pawmodoro.users.entity.UserNotFoundException;
+
+/**
+ * Settings kept in memory by user ID, used with the {@code in-memory} profile. Every user starts with the
+ * default settings, as the signup trigger in Supabase creates them. Like the row level security policies,
+ * callers only see and change their own settings.
+ */
+@Repository
+@Primary
+@Profile("in-memory")
+public class InMemoryUserSettingsDataAccess
+    implements GetUserSettingsDataAccessInterface, UpdateUserSettingsDataAccessInterface {
+    private static final StoredSettings DEFAULT_SETTINGS = new StoredSettings(UserSettings.DEFAULT_FOCUS_DURATION,
+        UserSettings.DEFAULT_SHORT_BREAK_DURATION, UserSettings.DEFAULT_LONG_BREAK_DURATION, false, false);
+
+    private final Map<UUID, StoredSettings> settingsByUserId = new ConcurrentHashMap<>();
+    private final InMemoryUserDataAccess users;
+    private final SimulatedLatency latency;
+
+    public InMemoryUserSettingsDataAccess(InMemoryUserDataAccess users, SimulatedLatency latency) {
+        this.users = users;
+        this.latency = latency;
+    }
+
+    @Override
+    public UserSettings getUserSettings(String username, String accessToken)
+        throws UserNotFoundException, DatabaseAccessException {
+        final TokenIdentity caller = users.getIdentityFromToken(accessToken);
+        final UUID userId = users.getUserId(username);
+        if (!userId.equals(caller.userId())) {
+            latency.pause();
+            throw new DatabaseAccessException("Settings not found for user: " + username);
+        }
+        return getOwnUserSettings(caller);
+    }
+
+    /**
+     * Gets the settings of the user a token was already resolved to.
+     * @param caller the identity of the user
+     * @return the user's settings
+     */
+    public UserSettings getOwnUserSettings(TokenIdentity caller) {
+        latency.pause();
+        return settingsByUserId.getOrDefault(caller.userId(), DEFAULT_SETTINGS).toUserSettings(caller.username());
+    }
+
+    @Override
+    public void updateUserSettings(String username, String accessToken, UserSettings userSettings)
+        throws UserNotFoundException, DatabaseAccessException {
+        final TokenIdentity caller = users.getIdentityFromToken(accessToken);
+        final UUID userId = users.getUserId(username);
+        latency.pause();
+        // Like an update filtered out by row level security, changing someone else's settings does nothing
+        if (userId.equals(caller.userId())) {
+            settingsByUserId.put(userId, new StoredSettings(userSettings.getFocusDuration(),
+                userSettings.getShortBreakDuration(), userSettings.getLongBreakDuration(),
+                userSettings.isAutoStartBreaks(), userSettings.isAutoStartFocus()));
+        }
+    }
+
+    private record StoredSettings(int focusDuration, int shortBreakDuration, int longBreakDuration,
+        boolean autoStartBreaks, boolean autoStartFocus) {
+
+        UserSettings toUserSettings(String username) {
+            return new UserSettings(username, focusDuration, shortBreakDuration, longBreakDuration,
+                autoStartBreaks, autoStartFocus);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.pawmodoro.settings.data_access;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.RlsTransactions;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.settings.entity.UserSettings;
+import com.pawmodoro.settings.service.get_user_settings.GetUserSettingsDataAccessInterface;
+import com.pawmodoro.settings.service.update_user_settings.UpdateUserSettingsDataAccessInterface;
+import com.pawmodoro.users.entity.UserNotFoundException;
+
+/**
+ * Settings data access over a direct connection to the Supabase database, used with the {@code jdbc} profile.
+ * The username is resolved to the user's ID in the same statement that reads the settings, so a read is a
+ * single query. Row level security decides whose settings the caller may see or change.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcUserSettingsDataAccess
+    implements GetUserSettingsDataAccessInterface, UpdateUserSettingsDataAccessInterface {
+
+    private static final String SETTINGS_COLUMNS =
+        "s.focus_duration, s.short_break_duration, s.long_break_duration, s.auto_start_breaks, s.auto_start_focus";
+    private static final String SELECT_BY_USERNAME = "select p.id, " + SETTINGS_COLUMNS
+        + " from user_profiles p left join user_settings s on s.id = p.id where p.username = ?";
+    private static final String SELECT_BY_ID =
+        "select s.id, " + SETTINGS_COLUMNS + " from user_settings s where s.id = ?";
+    private static final String SELECT_USER_ID = "select id from user_profiles where username = ?";
+    private static final String UPDATE = "update user_settings set focus_duration = ?, short_break_duration = ?,"
+        + " long_break_duration = ?, auto_start_breaks = ?, auto_start_focus = ? where id = ?";
+
+    private final RlsTransactions transactions;
+    private final SupabaseTokenVerifier tokenVerifier;
+
+    public JdbcUserSettingsDataAccess(RlsTransactions transactions, SupabaseTokenVerifier tokenVerifier) {
+        this.transactions = transactions;
+        this.tokenVerifier = tokenVerifier;
+    }
+
+    @Override
+    public UserSettings getUserSettings(String username, String accessToken)
+        throws UserNotFoundException, DatabaseAccessException {
+        final UUID callerId = tokenVerifier.getUserId(accessToken);
+        final UserSettings settings = transactions.execute(callerId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_USERNAME)) {
+                statement.setString(1, username);
+                return readSettings(statement, username);
+            }
+        });
+        if (settings == null) {
+            throw new UserNotFoundException(String.format(Constants.ErrorMessages.AUTH_USER_NOT_FOUND, username));
+        }
+        return settings;
+    }
+
+    /**
+     * Gets the settings of the user an already verified access token belongs to, straight by the user's ID.
+     * @param userId the ID of the user the token belongs to
+     * @param username the username of that user
+     * @return the user's settings
+     * @throws DatabaseAccessException if there's an error accessing the database
+     */
+    public UserSettings getOwnUserSettings(UUID userId, String username) throws DatabaseAccessException {
+        final UserSettings settings = transactions.execute(userId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+                statement.setObject(1, userId);
+                return readSettings(statement, username);
+            }
+        });
+        if (settings == null) {
+            throw new DatabaseAccessException("Settings not found for user: " + username);
+        }
+        return settings;
+    }
+
+    /**
+     * Reads the settings row of a query selecting the user's ID followed by the settings columns.
+     * @return the settings, or null if the query returned no row
+     * @throws DatabaseAccessException if the user has no settings row
+     */
+    private static UserSettings readSettings(PreparedStatement statement, String username)
+        throws SQLException, DatabaseAccessException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            final int focusDuration = resultSet.getInt(Constants.JsonFields.FOCUS_DURATION);
+            if (resultSet.wasNull()) {
+                throw new DatabaseAccessException("Settings not found for user: " + username);
+            }
+            return new UserSettings(username,
+                focusDuration,
+                resultSet.getInt(Constants.JsonFields.SHORT_BREAK_DURATION),
+                resultSet.getInt(Constants.JsonFields.LONG_BREAK_DURATION),
+                resultSet.getBoolean(Constants.JsonFields.AUTO_START_BREAKS),
+                resultSet.getBoolean(Constants.JsonFields.AUTO_START_FOCUS));
+        }
+    }
+
+    @Override
+    public void updateUserSettings(String username, String accessToken, UserSettings userSettings)
+        throws UserNotFoundException, DatabaseAccessException {
+        final UUID callerId = tokenVerifier.getUserId(accessToken);
+        final boolean userFound = transactions.execute(callerId, connection -> {
+            final UUID userId;
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_USER_ID)) {
+                statement.setString(1, username);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    userId = resultSet.getObject(1, UUID.class);
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setInt(1, userSettings.getFocusDuration());
+                statement.setInt(2, userSettings.getShortBreakDuration());
+                statement.setInt(3, userSettings.getLongBreakDuration());
+                statement.setBoolean(4, userSettings.isAutoStartBreaks());
+                statement.setBoolean(5, userSettings.isAutoStartFocus());
+                statement.setObject(6, userId);
+                statement.executeUpdate();
+            }
+            return true;
+        });
+        if (!userFound) {
+            throw new UserNotFoundException(String.format(Constants.ErrorMessages.AUTH_USER_NOT_FOUND, username));
+        }
+    }
+}
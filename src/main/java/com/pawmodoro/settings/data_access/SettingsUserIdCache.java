@@ -0,0 +1,65 @@
+package com.pawmodoro.settings.data_access;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache from a username to the ID of its profile in user_profiles, used by the settings data
+ * access to find the row in {@link UserSettingsCache}, which is keyed by user ID. Logins and tokens
+ * never need it: login_lookup returns the email, and a token already carries the user's ID.
+ * Only found users are cached.
+ * Hit and miss counts are published as the {@value #CACHE_NAME} cache metrics.
+ */
+@Component
+public class SettingsUserIdCache implements MeterBinder {
+    static final String CACHE_NAME = "supabase.settings.user-ids";
+
+    private final Cache<String, UUID> cache;
+
+    /**
+     * Creates a new SettingsUserIdCache.
+     * @param maxSize the maximum number of usernames kept in the cache
+     * @param ttl the longest time a user ID is kept
+     */
+    public SettingsUserIdCache(
+        @Value("${supabase.settings.user-ids.cache.max-size}") long maxSize,
+        @Value("${supabase.settings.user-ids.cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Gets the cached user ID of a username.
+     * @param username the username
+     * @return the user ID, or null if the username is not cached
+     */
+    public UUID getIfPresent(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    /**
+     * Caches the user ID of a username.
+     * @param username the username
+     * @param userId the ID of the user's profile
+     */
+    public void put(String username, UUID userId) {
+        cache.put(username, userId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,116 @@
+package com.pawmodoro.settings.data_access;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pawmodoro.settings.entity.UserSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, versioned cache of the settings of a user, keyed by the user's ID.
+ * Every entry carries the version at which it was read or written. A read only stores its result if
+ * nothing newer was written since the read began, so a slow read cannot bring back settings that an
+ * update already replaced. Dropping an entry leaves a newer empty entry behind for the same reason.
+ * Hit and miss counts are published as the {@value #CACHE_NAME} cache metrics.
+ */
+@Component
+public class UserSettingsCache implements MeterBinder {
+    static final String CACHE_NAME = "supabase.settings";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<UUID, Entry> cache;
+
+    /**
+     * Creates a new UserSettingsCache.
+     * @param maxSize the maximum number of users whose settings are kept in the cache
+     * @param ttl the longest time settings are kept, bounding how stale changes made outside this
+     *     application can be
+     */
+    public UserSettingsCache(
+        @Value("${supabase.settings.cache.max-size}") long maxSize,
+        @Value("${supabase.settings.cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Gets a copy of the cached settings of a user.
+     * @param userId the ID of the user
+     * @param username the username the copy is made for
+     * @return the settings, or null if they are not cached
+     */
+    public UserSettings getIfPresent(UUID userId, String username) {
+        final Entry entry = cache.getIfPresent(userId);
+        if (entry == null || entry.settings() == null) {
+            return null;
+        }
+        return copyOf(entry.settings(), username);
+    }
+
+    /**
+     * Gets the version a read has to pass to {@link #putRead} once it completes.
+     * @return the current version
+     */
+    public long currentVersion() {
+        return clock.get();
+    }
+
+    /**
+     * Caches settings read from the database, unless newer settings were written since the read began.
+     * @param userId the ID of the user
+     * @param settings the settings that were read
+     * @param readVersion the {@link #currentVersion()} taken before the read
+     */
+    public void putRead(UUID userId, UserSettings settings, long readVersion) {
+        final Entry read = new Entry(copyOf(settings, settings.getUsername()), readVersion);
+        cache.asMap().merge(userId, read, (existing, candidate) -> {
+            if (existing.version() > readVersion) {
+                return existing;
+            }
+            return candidate;
+        });
+    }
+
+    /**
+     * Caches settings that were just written to the database.
+     * @param userId the ID of the user
+     * @param settings the settings as returned by the database
+     */
+    public void putWritten(UUID userId, UserSettings settings) {
+        cache.put(userId, new Entry(copyOf(settings, settings.getUsername()), clock.incrementAndGet()));
+    }
+
+    /**
+     * Drops the settings of a user, for example when it is unknown whether an update was applied.
+     * Reads that began before this call do not cache their result.
+     * @param userId the ID of the user
+     */
+    public void invalidate(UUID userId) {
+        cache.put(userId, new Entry(null, clock.incrementAndGet()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    // UserSettings is mutable, so the cache never hands out the instance it keeps
+    private static UserSettings copyOf(UserSettings settings, String username) {
+        return new UserSettings(username, settings.getFocusDuration(), settings.getShortBreakDuration(),
+            settings.getLongBreakDuration(), settings.isAutoStartBreaks(), settings.isAutoStartFocus());
+    }
+
+    private record Entry(UserSettings settings, long version) {
+    }
+}
@@ -1,6 +1,5 @@
 package com.pawmodoro.settings.service.get_user_settings.interface_adapter;
 
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,6 +8,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.EntityTags;
 import com.pawmodoro.settings.service.get_user_settings.GetUserSettingsInputBoundary;
 import com.pawmodoro.settings.service.get_user_settings.GetUserSettingsInputData;
 import com.pawmodoro.users.entity.UserNotFoundException;
@@ -35,6 +35,8 @@ public class GetUserSettingsController {
      * Handles GET requests for user settings.
      * Validates the request, converts it into a domain-specific input data object,
      * and processes it through the use case interactor.
+     * The response carries a strong ETag of the settings, and a request whose If-None-Match header
+     * matches it is answered with 304 Not Modified and no body.
      * @param username the username of the user
      * @param authHeader the Authorization header containing the access token
      * @return GetUserSettingsResponseDto containing the user settings
@@ -54,6 +56,8 @@ public class GetUserSettingsController {
             username,
             token);
         final GetUserSettingsResponseDto responseDto = getUserSettingsInteractor.execute(inputData);
-        return new ResponseEntity<>(responseDto, HttpStatus.OK);
+        return ResponseEntity.ok()
+            .eTag(EntityTags.of(responseDto))
+            .body(responseDto);
     }
 }
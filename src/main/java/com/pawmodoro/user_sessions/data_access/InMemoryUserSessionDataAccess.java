@@ -0,0 +1,163 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.core.AuthorizationHeaders;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SimulatedLatency;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import com.pawmodoro.user_sessions.service.cancel_session.CancelSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.create_session.CreateSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.update_interruption.UpdateInterruptionDataAccessInterface;
+import com.pawmodoro.users.data_access.InMemoryUserDataAccess;
+
+/**
+ * Sessions kept in memory, used with the {@code in-memory} profile. Sessions are indexed by ID and by user,
+ * and every change replaces a session atomically, so concurrent interruptions are all counted and a session
+ * can only be finished once. Like the row level security policies, callers only see their own sessions.
+ */
+@Repository
+@Primary
+@Profile("in-memory")
+public class InMemoryUserSessionDataAccess implements CreateSessionDataAccessInterface,
+    UpdateInterruptionDataAccessInterface, CompleteSessionDataAccessInterface, CancelSessionDataAccessInterface {
+
+    private final Map<UUID, StoredSession> sessionsById = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> sessionIdsByUser = new ConcurrentHashMap<>();
+    private final InMemoryUserDataAccess users;
+    private final SimulatedLatency latency;
+
+    public InMemoryUserSessionDataAccess(InMemoryUserDataAccess users, SimulatedLatency latency) {
+        this.users = users;
+        this.latency = latency;
+    }
+
+    @Override
+    public UserSession create(UserSession userSession) throws DatabaseAccessException {
+        final TokenIdentity caller = users.getIdentityFromToken(AuthorizationHeaders.current());
+        latency.pause();
+        final StoredSession session = new StoredSession(UUID.randomUUID(), caller.userId(),
+            userSession.getSessionType(), userSession.getSessionStartTime(), userSession.getSessionEndTime(),
+            userSession.getDurationMinutes(), false, 0, ZonedDateTime.now());
+        sessionsById.put(session.id(), session);
+        sessionIdsByUser.computeIfAbsent(caller.userId(), userId -> ConcurrentHashMap.newKeySet()).add(session.id());
+        return session.toUserSession();
+    }
+
+    @Override
+    public UserSession incrementInterruptionCount(UUID sessionId, int delta) throws DatabaseAccessException {
+        final TokenIdentity caller = users.getIdentityFromToken(AuthorizationHeaders.current());
+        latency.pause();
+        final StoredSession updated = sessionsById.computeIfPresent(sessionId, (id, session) -> {
+            if (!session.userId().equals(caller.userId())) {
+                return session;
+            }
+            return session.withInterruptionCount(session.interruptionCount() + delta);
+        });
+        if (updated == null || !updated.userId().equals(caller.userId())) {
+            throw new NoSessionFoundException(sessionId.toString());
+        }
+        return updated.toUserSession();
+    }
+
+    @Override
+    public UserSession completeSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        return finishSession(sessionId, true, sessionEndTime, token);
+    }
+
+    @Override
+    public UserSession cancelSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        return finishSession(sessionId, false, sessionEndTime, token);
+    }
+
+    /**
+     * Ends a session unless it is already completed, deciding both in one atomic step.
+     */
+    private UserSession finishSession(UUID sessionId, boolean completed, ZonedDateTime sessionEndTime,
+        String token) throws DatabaseAccessException {
+        final TokenIdentity caller = users.getIdentityFromToken(token);
+        latency.pause();
+        final boolean[] finished = new boolean[1];
+        final StoredSession session = sessionsById.computeIfPresent(sessionId, (id, stored) -> {
+            if (!stored.userId().equals(caller.userId()) || stored.completed()) {
+                return stored;
+            }
+            finished[0] = true;
+            return stored.finish(completed, sessionEndTime);
+        });
+
+        if (session == null || !session.userId().equals(caller.userId())) {
+            throw new NoSessionFoundException(sessionId.toString());
+        }
+        if (!finished[0]) {
+            throw new SessionAlreadyCompletedException(sessionId.toString());
+        }
+        return session.toUserSession();
+    }
+
+    /**
+     * Gets the open session of a user: the latest one that is neither completed nor past its end time.
+     * @param caller the identity of the user, whose token was already resolved
+     * @return the open session, or null if the user has none
+     */
+    public UserSession getOpenSession(TokenIdentity caller) {
+        latency.pause();
+        final ZonedDateTime now = ZonedDateTime.now();
+        StoredSession open = null;
+        for (UUID sessionId : sessionIdsByUser.getOrDefault(caller.userId(), Set.of())) {
+            final StoredSession session = sessionsById.get(sessionId);
+            if (session != null && !session.completed() && session.sessionEndTime().isAfter(now)
+                && (open == null || session.sessionStartTime().isAfter(open.sessionStartTime()))) {
+                open = session;
+            }
+        }
+        if (open == null) {
+            return null;
+        }
+        return open.toUserSession();
+    }
+
+    private record StoredSession(UUID id, UUID userId, SessionType sessionType, ZonedDateTime sessionStartTime,
+        ZonedDateTime sessionEndTime, int durationMinutes, boolean completed, int interruptionCount,
+        ZonedDateTime createdAt) {
+
+        StoredSession withInterruptionCount(int count) {
+            return new StoredSession(id, userId, sessionType, sessionStartTime, sessionEndTime, durationMinutes,
+                completed, count, createdAt);
+        }
+
+        StoredSession finish(boolean wasCompleted, ZonedDateTime endTime) {
+            return new StoredSession(id, userId, sessionType, sessionStartTime, endTime, durationMinutes,
+                wasCompleted, interruptionCount, createdAt);
+        }
+
+        UserSession toUserSession() {
+            return UserSession.restore()
+                .id(id)
+                .userId(userId)
+                .sessionType(sessionType)
+                .sessionStartTime(sessionStartTime)
+                .sessionEndTime(sessionEndTime)
+                .durationMinutes(durationMinutes)
+                .completed(completed)
+                .interruptionCount(interruptionCount)
+                .createdAt(createdAt)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthorizationHeaders;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.RlsTransactions;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import com.pawmodoro.user_sessions.service.cancel_session.CancelSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.create_session.CreateSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.update_interruption.UpdateInterruptionDataAccessInterface;
+
+/**
+ * Session data access over a direct connection to the Supabase database, used with the {@code jdbc} profile.
+ * Every write updates the row and reads it back in one transaction. Interruptions are added inside the
+ * UPDATE, so concurrent taps cannot overwrite each other.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcUserSessionDataAccess implements CreateSessionDataAccessInterface,
+    UpdateInterruptionDataAccessInterface, CompleteSessionDataAccessInterface, CancelSessionDataAccessInterface {
+
+    private static final String SESSION_COLUMNS = "id, user_id, session_type, session_start_time, session_end_time,"
+        + " duration_minutes, was_completed, interruption_count, created_at";
+    private static final String SELECT_BY_ID = "select " + SESSION_COLUMNS + " from user_sessions where id = ?";
+    private static final String SELECT_OPEN = "select " + SESSION_COLUMNS + " from user_sessions"
+        + " where user_id = ? and was_completed = false and session_end_time > ?"
+        + " order by session_start_time desc limit 1";
+    private static final String INSERT = "insert into user_sessions (id, user_id, session_type, duration_minutes,"
+        + " session_start_time, session_end_time) values (?, ?, ?, ?, ?, ?)";
+    private static final String INCREMENT_INTERRUPTIONS =
+        "update user_sessions set interruption_count = interruption_count + ? where id = ?";
+    private static final String FINISH = "update user_sessions set was_completed = ?, session_end_time = ?"
+        + " where id = ? and was_completed = false";
+
+    private final RlsTransactions transactions;
+    private final SupabaseTokenVerifier tokenVerifier;
+
+    public JdbcUserSessionDataAccess(RlsTransactions transactions, SupabaseTokenVerifier tokenVerifier) {
+        this.transactions = transactions;
+        this.tokenVerifier = tokenVerifier;
+    }
+
+    @Override
+    public UserSession create(UserSession userSession) throws DatabaseAccessException {
+        final UUID userId = tokenVerifier.getUserId(AuthorizationHeaders.current());
+        final UUID sessionId = UUID.randomUUID();
+        return transactions.execute(userId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setObject(1, sessionId);
+                statement.setObject(2, userId);
+                statement.setString(3, userSession.getSessionType().getValue());
+                statement.setInt(4, userSession.getDurationMinutes());
+                statement.setObject(5, userSession.getSessionStartTime().toOffsetDateTime());
+                statement.setObject(6, userSession.getSessionEndTime().toOffsetDateTime());
+                statement.executeUpdate();
+            }
+            return selectSession(connection, sessionId);
+        });
+    }
+
+    @Override
+    public UserSession incrementInterruptionCount(UUID sessionId, int delta) throws DatabaseAccessException {
+        final UUID userId = tokenVerifier.getUserId(AuthorizationHeaders.current());
+        return transactions.execute(userId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INCREMENT_INTERRUPTIONS)) {
+                statement.setInt(1, delta);
+                statement.setObject(2, sessionId);
+                // No row is updated when the session does not exist or is not visible to the caller
+                if (statement.executeUpdate() == 0) {
+                    throw new NoSessionFoundException(sessionId.toString());
+                }
+            }
+            return selectSession(connection, sessionId);
+        });
+    }
+
+    @Override
+    public UserSession completeSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        return finishSession(sessionId, true, sessionEndTime, token);
+    }
+
+    @Override
+    public UserSession cancelSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        return finishSession(sessionId, false, sessionEndTime, token);
+    }
+
+    /**
+     * Ends a session with an UPDATE that only matches it while it is not completed. When no row is updated,
+     * the session is read to tell a missing session from a completed one.
+     */
+    private UserSession finishSession(UUID sessionId, boolean completed, ZonedDateTime sessionEndTime,
+        String authToken) throws DatabaseAccessException {
+        final UUID userId = tokenVerifier.getUserId(authToken);
+        return transactions.execute(userId, connection -> {
+            final int updated;
+            try (PreparedStatement statement = connection.prepareStatement(FINISH)) {
+                statement.setBoolean(1, completed);
+                statement.setObject(2, sessionEndTime.toOffsetDateTime());
+                statement.setObject(3, sessionId);
+                updated = statement.executeUpdate();
+            }
+
+            // Throws NoSessionFoundException when the session does not exist or is not visible to the caller
+            final UserSession session = selectSession(connection, sessionId);
+            if (updated == 0) {
+                throw new SessionAlreadyCompletedException(sessionId.toString());
+            }
+            return session;
+        });
+    }
+
+    /**
+     * Gets the open session of a user: the latest one that is neither completed nor past its end time.
+     * @param userId the ID of the user, whose token was already verified
+     * @return the open session, or null if the user has none
+     * @throws DatabaseAccessException if the sessions could not be read
+     */
+    public UserSession getOpenSession(UUID userId) throws DatabaseAccessException {
+        return transactions.execute(userId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_OPEN)) {
+                statement.setObject(1, userId);
+                statement.setObject(2, OffsetDateTime.now(ZoneOffset.UTC));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+                    return readSession(resultSet);
+                }
+            }
+        });
+    }
+
+    private static UserSession selectSession(Connection connection, UUID sessionId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+            statement.setObject(1, sessionId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new NoSessionFoundException(sessionId.toString());
+                }
+                return readSession(resultSet);
+            }
+        }
+    }
+
+    private static UserSession readSession(ResultSet resultSet) throws SQLException {
+        return UserSession.restore()
+            .id(resultSet.getObject(Constants.JsonFields.ID_FIELD, UUID.class))
+            .userId(resultSet.getObject(Constants.JsonFields.USER_ID, UUID.class))
+            .sessionType(SessionType.fromValue(resultSet.getString(Constants.JsonFields.SESSION_TYPE)))
+            .sessionStartTime(readTime(resultSet, Constants.JsonFields.SESSION_START_TIME))
+            .sessionEndTime(readTime(resultSet, Constants.JsonFields.SESSION_END_TIME))
+            .durationMinutes(resultSet.getInt(Constants.JsonFields.DURATION_MINUTES))
+            .completed(resultSet.getBoolean(Constants.JsonFields.WAS_COMPLETED))
+            .interruptionCount(resultSet.getInt(Constants.JsonFields.INTERRUPTION_COUNT))
+            .createdAt(readTime(resultSet, "created_at"))
+            .build();
+    }
+
+    private static ZonedDateTime readTime(ResultSet resultSet, String column) throws SQLException {
+        final OffsetDateTime time = resultSet.getObject(column, OffsetDateTime.class);
+        if (time == null) {
+            return null;
+        }
+        return time.toZonedDateTime();
+    }
+}
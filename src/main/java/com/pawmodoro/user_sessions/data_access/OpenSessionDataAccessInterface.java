@@ -0,0 +1,20 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import java.util.UUID;
+
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.UserSession;
+
+/**
+ * Reads the open session of a user for other data access objects, such as the dashboard's.
+ */
+public interface OpenSessionDataAccessInterface {
+    /**
+     * Gets the open session of a user: the latest one that is neither completed nor past its end time.
+     * @param userId the ID of the user
+     * @param token the authorization header of the caller
+     * @return the open session, or null if the user has none
+     * @throws DatabaseAccessException if the sessions could not be read
+     */
+    UserSession getOpenSession(UUID userId, String token) throws DatabaseAccessException;
+}
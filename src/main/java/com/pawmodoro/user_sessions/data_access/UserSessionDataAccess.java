@@ -1,10 +1,14 @@
 package com.pawmodoro.user_sessions.data_access;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 
@@ -17,12 +21,16 @@ import com.pawmodoro.core.AbstractDataAccess;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import com.pawmodoro.core.SupabaseTokenVerifier;
 import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
 import com.pawmodoro.user_sessions.entity.UserSession;
 import com.pawmodoro.user_sessions.service.cancel_session.CancelSessionDataAccessInterface;
 import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionDataAccessInterface;
 import com.pawmodoro.user_sessions.service.create_session.CreateSessionDataAccessInterface;
 import com.pawmodoro.user_sessions.service.update_interruption.UpdateInterruptionDataAccessInterface;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -32,33 +40,41 @@ import okhttp3.ResponseBody;
  * Implementation of data access operations for user sessions using Supabase.
  */
 @Repository
+@Profile("!jdbc")
 public class UserSessionDataAccess extends AbstractDataAccess
     implements CreateSessionDataAccessInterface, UpdateInterruptionDataAccessInterface,
-    CompleteSessionDataAccessInterface, CancelSessionDataAccessInterface {
+    CompleteSessionDataAccessInterface, CancelSessionDataAccessInterface, OpenSessionDataAccessInterface {
 
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final int MAX_INCREMENT_ATTEMPTS = 16;
     private final ObjectMapper objectMapper;
+    private final SupabaseTokenVerifier tokenVerifier;
 
     public UserSessionDataAccess(
+        SupabaseTokenVerifier tokenVerifier,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
-        super(apiUrl, apiKey);
+        super(client, apiUrl, apiKey);
+        this.tokenVerifier = tokenVerifier;
         this.objectMapper = new ObjectMapper()
             .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
             .registerModule(new JavaTimeModule());
     }
 
-    @Override
-    public UserSession getSession(UUID sessionId) throws DatabaseAccessException {
-        final String authToken = getAndValidateAuthToken();
-        return getSession(sessionId, authToken);
-    }
-
-    @Override
+    /**
+     * Gets a session on behalf of the given token.
+     * @param sessionId the ID of the session
+     * @param token the authorization header of the caller
+     * @return the session
+     * @throws NoSessionFoundException if the session does not exist or is not visible to the caller
+     * @throws DatabaseAccessException if the session could not be read
+     */
     public UserSession getSession(UUID sessionId, String token) throws DatabaseAccessException {
         try {
             // Build request
             final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SESSIONS_GET_SESSION))
                 .url(getApiUrl() + Constants.Endpoints.USER_SESSIONS_ENDPOINT + Constants.Http.QUERY_START
                     + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + sessionId)
                 .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
@@ -71,8 +87,7 @@ public class UserSessionDataAccess extends AbstractDataAccess
                 checkResponse(response);
 
                 // Parse response and return the session
-                final String responseBody = response.body().string();
-                final UserSession[] sessions = objectMapper.readValue(responseBody, UserSession[].class);
+                final UserSession[] sessions = readSessions(response.body().byteStream());
 
                 if (sessions.length == 0) {
                     throw new NoSessionFoundException(sessionId.toString());
@@ -86,81 +101,162 @@ public class UserSessionDataAccess extends AbstractDataAccess
         }
     }
 
+    /**
+     * Gets the open session of a user: the latest one that is neither completed nor past its end time.
+     * Cancelling a session ends it, so cancelled sessions are never open.
+     * @param userId the ID of the user
+     * @param token the authorization header of the caller
+     * @return the open session, or null if the user has none
+     * @throws DatabaseAccessException if the sessions could not be read
+     */
     @Override
-    public UserSession updateInterruptionCount(UserSession session) throws DatabaseAccessException {
+    public UserSession getOpenSession(UUID userId, String token) throws DatabaseAccessException {
         try {
-            // Get auth token
-            final String authToken = getAndValidateAuthToken();
-
-            // Create minimal JSON with only interruption count
-            final ObjectNode jsonNode = objectMapper.createObjectNode()
-                .put(Constants.JsonFields.INTERRUPTION_COUNT, session.getInterruptionCount());
-
-            final RequestBody body = RequestBody.create(jsonNode.toString(), JSON);
-
-            // Build request
             final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SESSIONS_GET_OPEN_SESSION))
                 .url(getApiUrl() + Constants.Endpoints.USER_SESSIONS_ENDPOINT + Constants.Http.QUERY_START
-                    + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + session.getId())
+                    + Constants.JsonFields.USER_ID + Constants.Http.QUERY_EQUALS + userId
+                    + Constants.Http.AND_OPERATOR
+                    + Constants.JsonFields.WAS_COMPLETED + Constants.Http.QUERY_IS + false
+                    + Constants.Http.AND_OPERATOR
+                    + Constants.JsonFields.SESSION_END_TIME + Constants.Http.QUERY_GREATER_THAN + Instant.now()
+                    + Constants.Http.AND_OPERATOR
+                    + Constants.Http.ORDER_PARAM + Constants.JsonFields.SESSION_START_TIME
+                    + Constants.Http.ORDER_DESCENDING
+                    + Constants.Http.AND_OPERATOR + Constants.Http.LIMIT_PARAM + 1)
                 .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
-                .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
-                .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
-                .addHeader(Constants.Http.AUTH_HEADER, authToken)
-                .patch(body)
+                .addHeader(Constants.Http.AUTH_HEADER, token)
+                .get()
                 .build();
 
-            // Execute request
             try (Response response = getClient().newCall(request).execute()) {
                 checkResponse(response);
 
-                // Parse response and return the updated session
-                final String responseBody = response.body().string();
-                final UserSession[] sessions = objectMapper.readValue(responseBody, UserSession[].class);
+                final UserSession[] sessions = readSessions(response.body().byteStream());
+                if (sessions.length == 0) {
+                    return null;
+                }
                 return sessions[0];
             }
         }
         catch (IOException exception) {
-            throw new DatabaseAccessException("Failed to update session interruption count: " + exception.getMessage());
+            throw new DatabaseAccessException("Failed to get open session: " + exception.getMessage());
         }
     }
 
+    /**
+     * Adds to a session's interruption count in one round trip with the increment_session_interruptions
+     * function. If the function is not deployed, the count is read and written back with a PATCH that only
+     * matches the value that was read, retrying when another writer got there first. Either way no
+     * increment is lost to concurrent taps.
+     */
     @Override
-    public UserSession updateCompletion(UserSession session) throws DatabaseAccessException {
-        try {
-            // Get auth token
-            final String authToken = getAndValidateAuthToken();
+    public UserSession incrementInterruptionCount(UUID sessionId, int delta) throws DatabaseAccessException {
+        return incrementInterruptionCount(sessionId, delta, getAndValidateAuthToken());
+    }
 
-            // Create minimal JSON with completion status and end time
-            final ObjectNode jsonNode = objectMapper.createObjectNode()
-                .put(Constants.JsonFields.WAS_COMPLETED, session.isCompleted())
-                .put(Constants.JsonFields.SESSION_END_TIME, session.getSessionEndTime().format(ISO_FORMATTER));
+    /**
+     * Adds to a session's interruption count on behalf of the given token instead of the current request.
+     * @param sessionId The ID of the session to update
+     * @param delta The number of interruptions to add
+     * @param authToken The authorization header value, including the "Bearer " prefix
+     * @return The updated session
+     * @throws DatabaseAccessException if there's an error accessing the database
+     */
+    public UserSession incrementInterruptionCount(UUID sessionId, int delta, String authToken)
+        throws DatabaseAccessException {
+        return incrementInterruptionCount(sessionId, delta, authToken, null);
+    }
 
-            final RequestBody body = RequestBody.create(jsonNode.toString(), JSON);
+    /**
+     * Adds to a session's interruption count as a write that can be retried safely.
+     * The function only applies a write ID once, so retrying a write whose response was lost returns the
+     * session instead of adding the delta again. The conditional PATCH used when the function is not
+     * deployed cannot tell a retry apart and applies it again.
+     * @param sessionId The ID of the session to update
+     * @param delta The number of interruptions to add
+     * @param authToken The authorization header value, including the "Bearer " prefix
+     * @param writeId The ID of the write, the same for every attempt of it, or null
+     * @return The updated session
+     * @throws DatabaseAccessException if there's an error accessing the database
+     */
+    public UserSession incrementInterruptionCount(UUID sessionId, int delta, String authToken, UUID writeId)
+        throws DatabaseAccessException {
+        final ObjectNode jsonNode = objectMapper.createObjectNode()
+            .put(Constants.JsonFields.SESSION_ID_PARAM, sessionId.toString())
+            .put(Constants.JsonFields.DELTA_PARAM, delta);
+        if (writeId != null) {
+            jsonNode.put(Constants.JsonFields.WRITE_ID_PARAM, writeId.toString());
+        }
 
-            // Build request
+        final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SESSIONS_INCREMENT_INTERRUPTIONS))
+            .url(getApiUrl() + Constants.Endpoints.INCREMENT_SESSION_INTERRUPTIONS_RPC)
+            .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
+            .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
+            .addHeader(Constants.Http.AUTH_HEADER, authToken)
+            .post(RequestBody.create(jsonNode.toString(), JSON))
+            .build();
+
+        try (Response response = getClient().newCall(request).execute()) {
+            if (response.code() != HttpStatus.NOT_FOUND.value()) {
+                checkResponse(response);
+
+                // No row is returned when the session does not exist or is not visible to the caller
+                final UserSession[] sessions = readSessions(response.body().byteStream());
+                if (sessions.length == 0) {
+                    throw new NoSessionFoundException(sessionId.toString());
+                }
+                return sessions[0];
+            }
+        }
+        catch (IOException exception) {
+            throw new DatabaseAccessException("Failed to update session interruption count: " + exception.getMessage());
+        }
+        return incrementWithConditionalPatch(sessionId, delta, authToken);
+    }
+
+    private UserSession incrementWithConditionalPatch(UUID sessionId, int delta, String authToken)
+        throws DatabaseAccessException {
+        for (int attempt = 0; attempt < MAX_INCREMENT_ATTEMPTS; attempt++) {
+            final UserSession current = getSession(sessionId, authToken);
+
+            final ObjectNode jsonNode = objectMapper.createObjectNode()
+                .put(Constants.JsonFields.INTERRUPTION_COUNT, current.getInterruptionCount() + delta);
+
+            // Only matches while the count is still the one that was read
             final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, attempt == 0
+                    ? SupabaseOperation.of(Constants.Operations.SESSIONS_PATCH_INTERRUPTIONS)
+                    : SupabaseOperation.retryOf(Constants.Operations.SESSIONS_PATCH_INTERRUPTIONS))
                 .url(getApiUrl() + Constants.Endpoints.USER_SESSIONS_ENDPOINT + Constants.Http.QUERY_START
-                    + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + session.getId())
+                    + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + sessionId
+                    + Constants.Http.AND_OPERATOR
+                    + Constants.JsonFields.INTERRUPTION_COUNT + Constants.Http.QUERY_EQUALS
+                    + current.getInterruptionCount())
                 .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
                 .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
                 .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
                 .addHeader(Constants.Http.AUTH_HEADER, authToken)
-                .patch(body)
+                .patch(RequestBody.create(jsonNode.toString(), JSON))
                 .build();
 
-            // Execute request
             try (Response response = getClient().newCall(request).execute()) {
                 checkResponse(response);
 
-                // Parse response and return the updated session
-                final String responseBody = response.body().string();
-                final UserSession[] sessions = objectMapper.readValue(responseBody, UserSession[].class);
-                return sessions[0];
+                final UserSession[] sessions = readSessions(response.body().byteStream());
+                if (sessions.length > 0) {
+                    return sessions[0];
+                }
+                // Another interruption was recorded in between, read the new count and try again
+            }
+            catch (IOException exception) {
+                throw new DatabaseAccessException(
+                    "Failed to update session interruption count: " + exception.getMessage());
             }
         }
-        catch (IOException exception) {
-            throw new DatabaseAccessException("Failed to update session completion: " + exception.getMessage());
-        }
+        throw new DatabaseAccessException(
+            String.format(Constants.ErrorMessages.INTERRUPTION_UPDATE_CONFLICT, sessionId));
     }
 
     @Override
@@ -168,7 +264,7 @@ public class UserSessionDataAccess extends AbstractDataAccess
         try {
             // Get auth token and user ID
             final String authToken = getAndValidateAuthToken();
-            final UUID userId = getUserIdFromToken(authToken);
+            final UUID userId = tokenVerifier.getUserId(authToken);
 
             // Create minimal JSON with only required fields
             final ObjectNode jsonNode = objectMapper.createObjectNode()
@@ -183,6 +279,7 @@ public class UserSessionDataAccess extends AbstractDataAccess
 
             // Build request
             final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.SESSIONS_CREATE))
                 .url(getApiUrl() + Constants.Endpoints.USER_SESSIONS_ENDPOINT)
                 .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
                 .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
@@ -196,8 +293,7 @@ public class UserSessionDataAccess extends AbstractDataAccess
                 checkResponse(response);
 
                 // Parse response and return the created session
-                final String responseBody = response.body().string();
-                final UserSession[] sessions = objectMapper.readValue(responseBody, UserSession[].class);
+                final UserSession[] sessions = readSessions(response.body().byteStream());
                 return sessions[0];
             }
         }
@@ -208,23 +304,44 @@ public class UserSessionDataAccess extends AbstractDataAccess
     }
 
     @Override
-    public UserSession updateCancellation(UserSession session, String token) throws DatabaseAccessException {
+    public UserSession completeSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        return finishSession(sessionId, true, sessionEndTime, token);
+    }
+
+    @Override
+    public UserSession cancelSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        return finishSession(sessionId, false, sessionEndTime, token);
+    }
+
+    /**
+     * Ends a session with a PATCH that only matches it while it is not completed, returning the updated row.
+     * When no row is returned, the session is read once to tell a missing session from a completed one.
+     */
+    private UserSession finishSession(UUID sessionId, boolean completed, ZonedDateTime sessionEndTime,
+        String authToken) throws DatabaseAccessException {
         try {
             // Create minimal JSON with completion status and end time
             final ObjectNode jsonNode = objectMapper.createObjectNode()
-                .put(Constants.JsonFields.WAS_COMPLETED, session.isCompleted())
-                .put(Constants.JsonFields.SESSION_END_TIME, session.getSessionEndTime().format(ISO_FORMATTER));
+                .put(Constants.JsonFields.WAS_COMPLETED, completed)
+                .put(Constants.JsonFields.SESSION_END_TIME, sessionEndTime.format(ISO_FORMATTER));
 
             final RequestBody body = RequestBody.create(jsonNode.toString(), JSON);
 
             // Build request
             final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, SupabaseOperation.of(completed
+                    ? Constants.Operations.SESSIONS_COMPLETE
+                    : Constants.Operations.SESSIONS_CANCEL))
                 .url(getApiUrl() + Constants.Endpoints.USER_SESSIONS_ENDPOINT + Constants.Http.QUERY_START
-                    + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + session.getId())
+                    + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + sessionId
+                    + Constants.Http.AND_OPERATOR
+                    + Constants.JsonFields.WAS_COMPLETED + Constants.Http.QUERY_IS + false)
                 .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
                 .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
                 .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
-                .addHeader(Constants.Http.AUTH_HEADER, token)
+                .addHeader(Constants.Http.AUTH_HEADER, authToken)
                 .patch(body)
                 .build();
 
@@ -233,14 +350,29 @@ public class UserSessionDataAccess extends AbstractDataAccess
                 checkResponse(response);
 
                 // Parse response and return the updated session
-                final String responseBody = response.body().string();
-                final UserSession[] sessions = objectMapper.readValue(responseBody, UserSession[].class);
-                return sessions[0];
+                final UserSession[] sessions = readSessions(response.body().byteStream());
+                if (sessions.length > 0) {
+                    return sessions[0];
+                }
             }
         }
         catch (IOException exception) {
-            throw new DatabaseAccessException("Failed to update session cancellation: " + exception.getMessage());
+            throw new DatabaseAccessException("Failed to end session: " + exception.getMessage());
         }
+
+        // Throws NoSessionFoundException when the session does not exist or is not visible to the caller
+        getSession(sessionId, authToken);
+        throw new SessionAlreadyCompletedException(sessionId.toString());
+    }
+
+    /**
+     * Reads the rows of a PostgREST response into sessions.
+     * @param body the response body, a JSON array of user_sessions rows
+     * @return the sessions, in the order of the rows
+     * @throws IOException if the body cannot be read or is not an array of sessions
+     */
+    UserSession[] readSessions(InputStream body) throws IOException {
+        return objectMapper.readValue(body, UserSession[].class);
     }
 
     /**
@@ -0,0 +1,347 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.core.AbstractDataAccess;
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import com.pawmodoro.user_sessions.service.cancel_session.CancelSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionDataAccessInterface;
+import com.pawmodoro.user_sessions.service.update_interruption.UpdateInterruptionDataAccessInterface;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.OkHttpClient;
+
+/**
+ * Write-behind buffer for interruption taps.
+ * The first tap of a session is written to Supabase right away, which also checks that the caller can
+ * see the session. Later taps only add to a pending delta kept per session and return the locally
+ * known count immediately. Pending deltas are written with one atomic increment per session on a short
+ * interval, before a session is completed or cancelled, and when the application shuts down.
+ * Every delta is written under a write ID of its own. A write that failed is retried with the same ID and
+ * delta before newer taps are written, so a write that reached Supabase but whose response was lost is
+ * never applied twice.
+ * Reading the open session adds the pending taps, so the dashboard never shows fewer than were counted.
+ * Each session is locked on its own, so taps on different sessions never wait for each other.
+ */
+@Repository
+@Primary
+@Profile("!jdbc & !in-memory")
+@ConditionalOnProperty(name = "sessions.interruptions.write-behind.enabled", havingValue = "true")
+public class WriteBehindSessionDataAccess extends AbstractDataAccess
+    implements UpdateInterruptionDataAccessInterface, CompleteSessionDataAccessInterface,
+    CancelSessionDataAccessInterface, OpenSessionDataAccessInterface {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindSessionDataAccess.class);
+
+    private final UserSessionDataAccess sessionDataAccess;
+    private final SupabaseTokenVerifier tokenVerifier;
+    private final int maxConcurrency;
+    private final Duration flushInterval;
+    private final Duration idleTimeout;
+    private final Map<UUID, PendingInterruptions> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler;
+
+    /**
+     * Creates a new WriteBehindSessionDataAccess.
+     * @param sessionDataAccess writes the sessions to Supabase
+     * @param tokenVerifier resolves the user of a tap
+     * @param maxConcurrency the maximum number of sessions written at the same time
+     * @param flushInterval how often pending deltas are written
+     * @param idleTimeout how long a session without taps is remembered
+     * @param client the shared Supabase HTTP client
+     * @param apiUrl the Supabase API URL
+     * @param apiKey the Supabase API key
+     */
+    public WriteBehindSessionDataAccess(
+        UserSessionDataAccess sessionDataAccess,
+        SupabaseTokenVerifier tokenVerifier,
+        @Value("${supabase.fan-out.max-concurrency}") int maxConcurrency,
+        @Value("${sessions.interruptions.write-behind.flush-interval}") Duration flushInterval,
+        @Value("${sessions.interruptions.write-behind.idle-timeout}") Duration idleTimeout,
+        OkHttpClient client,
+        @Value("${supabase.url}") String apiUrl,
+        @Value("${supabase.key}") String apiKey) {
+        super(client, apiUrl, apiKey);
+        this.sessionDataAccess = sessionDataAccess;
+        this.tokenVerifier = tokenVerifier;
+        this.maxConcurrency = maxConcurrency;
+        this.flushInterval = flushInterval;
+        this.idleTimeout = idleTimeout;
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("interruption-flush").daemon().factory());
+    }
+
+    /**
+     * Starts writing pending deltas every flush interval.
+     */
+    @PostConstruct
+    public void start() {
+        flushScheduler.scheduleWithFixedDelay(this::flushAll,
+            flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserSession incrementInterruptionCount(UUID sessionId, int delta) throws DatabaseAccessException {
+        final String authToken = getAndValidateAuthToken();
+        final UUID userId = tokenVerifier.getUserId(authToken);
+
+        final PendingInterruptions entry = pending.get(sessionId);
+        if (entry != null && entry.belongsTo(userId)) {
+            final UserSession session = entry.add(delta, authToken);
+            if (session != null) {
+                return session;
+            }
+        }
+
+        // Unknown session, or one of another user: write through so Supabase decides if the caller may see it
+        final UserSession session = sessionDataAccess.incrementInterruptionCount(sessionId, delta, authToken);
+        if (userId.equals(session.getUserId())) {
+            pending.putIfAbsent(sessionId, new PendingInterruptions(session, authToken));
+        }
+        return session;
+    }
+
+    @Override
+    public UserSession getOpenSession(UUID userId, String token) throws DatabaseAccessException {
+        final UserSession session = sessionDataAccess.getOpenSession(userId, token);
+        if (session == null) {
+            return null;
+        }
+
+        final PendingInterruptions entry = pending.get(session.getId());
+        if (entry != null && entry.belongsTo(userId)) {
+            return entry.addPendingTo(session);
+        }
+        return session;
+    }
+
+    @Override
+    public UserSession completeSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        flush(sessionId);
+        final UserSession completedSession = sessionDataAccess.completeSession(sessionId, sessionEndTime, token);
+        forget(sessionId);
+        return completedSession;
+    }
+
+    @Override
+    public UserSession cancelSession(UUID sessionId, ZonedDateTime sessionEndTime, String token)
+        throws DatabaseAccessException {
+        flush(sessionId);
+        final UserSession cancelledSession = sessionDataAccess.cancelSession(sessionId, sessionEndTime, token);
+        forget(sessionId);
+        return cancelledSession;
+    }
+
+    /**
+     * Writes the pending deltas of all sessions, one increment per session, and forgets idle sessions.
+     */
+    public void flushAll() {
+        // The writes run without a deadline that interrupts them, they end when the HTTP call returns or
+        // times out, so a write is only retried after its call actually failed
+        final Semaphore permits = new Semaphore(maxConcurrency);
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (UUID sessionId : List.copyOf(pending.keySet())) {
+            permits.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    flush(sessionId);
+                }
+                finally {
+                    permits.release();
+                }
+            });
+        }
+        executor.shutdown();
+        permits.acquireUninterruptibly(maxConcurrency);
+
+        final long idleSince = System.nanoTime() - idleTimeout.toNanos();
+        pending.values().removeIf(entry -> entry.retireIfIdleSince(idleSince));
+    }
+
+    /**
+     * Writes the pending delta of one session.
+     * @param sessionId the session to write
+     */
+    public void flush(UUID sessionId) {
+        final PendingInterruptions entry = pending.get(sessionId);
+        if (entry != null) {
+            entry.flush(sessionId);
+        }
+    }
+
+    /**
+     * Stops buffering a session and writes the taps that arrived since its last flush.
+     */
+    private void forget(UUID sessionId) {
+        final PendingInterruptions entry = pending.remove(sessionId);
+        if (entry != null) {
+            entry.retire();
+            entry.flush(sessionId);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes everything still pending.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdownNow();
+        flushAll();
+    }
+
+    /**
+     * The interruptions of one session that are not written yet.
+     */
+    private final class PendingInterruptions {
+        // Only one write per session runs at a time, taps never wait for it
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private final UUID userId;
+        private UserSession lastWritten;
+        private int inFlight;
+        private UUID inFlightWriteId;
+        private int unwritten;
+        private String authToken;
+        private long lastTap = System.nanoTime();
+        private boolean retired;
+
+        private PendingInterruptions(UserSession lastWritten, String authToken) {
+            this.userId = lastWritten.getUserId();
+            this.lastWritten = lastWritten;
+            this.authToken = authToken;
+        }
+
+        private boolean belongsTo(UUID caller) {
+            return userId.equals(caller);
+        }
+
+        /**
+         * Adds taps to the pending delta.
+         * @return the locally known session, or null if the session is no longer buffered
+         */
+        private synchronized UserSession add(int delta, String token) {
+            if (retired) {
+                return null;
+            }
+            unwritten += delta;
+            authToken = token;
+            lastTap = System.nanoTime();
+            return lastWritten.withInterruptionCount(lastWritten.getInterruptionCount() + inFlight + unwritten);
+        }
+
+        /**
+         * Adds the taps that are not written yet to a session read from Supabase.
+         * A write still in flight may or may not be in the stored count, so it is only added to the count
+         * this application wrote last.
+         */
+        private synchronized UserSession addPendingTo(UserSession stored) {
+            final int written = Math.max(stored.getInterruptionCount(),
+                lastWritten.getInterruptionCount() + inFlight);
+            return stored.withInterruptionCount(written + unwritten);
+        }
+
+        private synchronized void retire() {
+            retired = true;
+        }
+
+        private synchronized boolean retireIfIdleSince(long idleSince) {
+            if (unwritten == 0 && inFlight == 0 && lastTap - idleSince < 0) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        private void flush(UUID sessionId) {
+            flushLock.lock();
+            try {
+                // A failed write may have been applied, it is retried unchanged before newer taps are written
+                final boolean canContinue = !hasFailedWrite() || write(sessionId);
+                if (canContinue && startWrite()) {
+                    write(sessionId);
+                }
+            }
+            finally {
+                flushLock.unlock();
+            }
+        }
+
+        private synchronized boolean hasFailedWrite() {
+            return inFlight != 0;
+        }
+
+        /**
+         * Turns the taps since the last write into a new write with an ID of its own.
+         * @return false if there are no taps to write
+         */
+        private synchronized boolean startWrite() {
+            if (unwritten == 0) {
+                return false;
+            }
+            inFlight = unwritten;
+            inFlightWriteId = UUID.randomUUID();
+            unwritten = 0;
+            return true;
+        }
+
+        /**
+         * Writes the write in flight.
+         * @return true if it was written, false if the flush has to stop
+         */
+        private boolean write(UUID sessionId) {
+            final int delta;
+            final UUID writeId;
+            final String token;
+            synchronized (this) {
+                delta = inFlight;
+                writeId = inFlightWriteId;
+                token = authToken;
+            }
+            try {
+                final UserSession written =
+                    sessionDataAccess.incrementInterruptionCount(sessionId, delta, token, writeId);
+                synchronized (this) {
+                    lastWritten = written;
+                    inFlight = 0;
+                }
+                return true;
+            }
+            catch (AuthenticationException | ForbiddenAccessException | NoSessionFoundException exception) {
+                // The token expired or the session is gone, retrying cannot succeed
+                LOGGER.warn("Dropping {} interruptions of session {}: {}", delta, sessionId, exception.getMessage());
+                synchronized (this) {
+                    inFlight = 0;
+                }
+                return false;
+            }
+            catch (DatabaseAccessException | RuntimeException exception) {
+                LOGGER.warn("Failed to write interruptions of session {}, retrying on the next flush: {}",
+                    sessionId, exception.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pawmodoro.user_sessions.entity;
+
+import com.pawmodoro.constants.Constants;
+
+/**
+ * Exception thrown when a session that was already completed is completed or cancelled again.
+ */
+public class SessionAlreadyCompletedException extends RuntimeException {
+    public SessionAlreadyCompletedException(String sessionId) {
+        super(String.format(Constants.ErrorMessages.SESSION_ALREADY_COMPLETED, sessionId));
+    }
+}
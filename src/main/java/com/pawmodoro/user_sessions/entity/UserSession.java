@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -59,28 +60,38 @@ public class UserSession {
         this.sessionEndTime = this.sessionStartTime;
     }
 
-    // Business methods
-
     /**
-     * Records an interruption in the session.
+     * Recreates a session that was read from the database.
      */
-    public void recordInterruption() {
-        this.interruptionCount++;
-    }
-
-    /**
-     * Completes the session successfully.
-     */
-    public void complete() {
-        this.completed = true;
-        this.sessionEndTime = ZonedDateTime.now();
+    @Builder(builderMethodName = "restore")
+    private UserSession(UUID id, UUID userId, ZonedDateTime sessionStartTime, ZonedDateTime sessionEndTime,
+        SessionType sessionType, Integer durationMinutes, boolean completed, Integer interruptionCount,
+        ZonedDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.sessionStartTime = sessionStartTime;
+        this.sessionEndTime = sessionEndTime;
+        this.sessionType = sessionType;
+        this.durationMinutes = durationMinutes;
+        this.completed = completed;
+        this.interruptionCount = interruptionCount;
+        this.createdAt = createdAt;
     }
 
     /**
-     * Cancels the session, setting the end time to now and completed to false.
+     * Creates a copy of this session with a different interruption count.
+     * @param interruptionCount The interruption count of the copy
+     * @return The copy
      */
-    public void cancel() {
-        this.completed = false;
-        this.sessionEndTime = ZonedDateTime.now();
+    public UserSession withInterruptionCount(int interruptionCount) {
+        final UserSession copy = new UserSession(sessionType, durationMinutes);
+        copy.id = id;
+        copy.userId = userId;
+        copy.sessionStartTime = sessionStartTime;
+        copy.sessionEndTime = sessionEndTime;
+        copy.completed = completed;
+        copy.interruptionCount = interruptionCount;
+        copy.createdAt = createdAt;
+        return copy;
     }
 }
@@ -1,9 +1,12 @@
 package com.pawmodoro.user_sessions.service.cancel_session;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
 import com.pawmodoro.user_sessions.entity.UserSession;
 
 /**
@@ -11,23 +14,16 @@ import com.pawmodoro.user_sessions.entity.UserSession;
  */
 public interface CancelSessionDataAccessInterface {
     /**
-     * Gets a session by ID.
-     * @param sessionId The ID of the session to get
-     * @param token Optional authorization token for beacon requests
-     * @return The session
-     * @throws DatabaseAccessException if there's an error accessing the database
-     * @throws AuthenticationException if the token is invalid or user is not authorized
-     */
-    UserSession getSession(UUID sessionId, String token) throws DatabaseAccessException, AuthenticationException;
-
-    /**
-     * Updates the cancellation status and end time for a session.
-     * @param session The session to update
+     * Stamps the end time of a session that is not completed, in a single write.
+     * @param sessionId The ID of the session to cancel
+     * @param sessionEndTime The time the session ended
      * @param token Optional authorization token for beacon requests
      * @return The updated session
      * @throws DatabaseAccessException if there's an error accessing the database
      * @throws AuthenticationException if the token is invalid or user is not authorized
+     * @throws NoSessionFoundException if the session does not exist
+     * @throws SessionAlreadyCompletedException if the session was already completed
      */
-    UserSession updateCancellation(UserSession session,
+    UserSession cancelSession(UUID sessionId, ZonedDateTime sessionEndTime,
         String token) throws DatabaseAccessException, AuthenticationException;
 }
@@ -1,5 +1,7 @@
 package com.pawmodoro.user_sessions.service.cancel_session;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.stereotype.Service;
 
 import com.pawmodoro.core.AuthenticationException;
@@ -29,14 +31,9 @@ public class CancelSessionInteractor implements CancelSessionInputBoundary {
             throw new AuthenticationException("No authorization token provided");
         }
 
-        // Get current session
-        final UserSession session = dataAccess.getSession(input.sessionId(), input.token());
-
-        // Cancel session (business logic in entity)
-        session.cancel();
-
-        // Update in database
-        final UserSession updatedSession = dataAccess.updateCancellation(session, input.token());
+        // Cancel the session in a single write
+        final UserSession updatedSession =
+            dataAccess.cancelSession(input.sessionId(), ZonedDateTime.now(), input.token());
 
         // Prepare output data
         final CancelSessionOutputData outputData = CancelSessionOutputData.builder()
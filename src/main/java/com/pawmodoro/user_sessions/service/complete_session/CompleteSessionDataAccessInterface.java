@@ -1,8 +1,12 @@
 package com.pawmodoro.user_sessions.service.complete_session;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
+import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
 import com.pawmodoro.user_sessions.entity.UserSession;
 
 /**
@@ -10,18 +14,16 @@ import com.pawmodoro.user_sessions.entity.UserSession;
  */
 public interface CompleteSessionDataAccessInterface {
     /**
-     * Gets a session by ID.
-     * @param sessionId The ID of the session to get
-     * @return The session
-     * @throws DatabaseAccessException if there's an error accessing the database
-     */
-    UserSession getSession(UUID sessionId) throws DatabaseAccessException;
-
-    /**
-     * Updates the completion status and end time for a session.
-     * @param session The session to update
+     * Marks a session that is not completed yet as completed, in a single write.
+     * @param sessionId The ID of the session to complete
+     * @param sessionEndTime The time the session ended
+     * @param token The authorization header of the user, including the Bearer prefix
      * @return The updated session
      * @throws DatabaseAccessException if there's an error accessing the database
+     * @throws AuthenticationException if the token is invalid or user is not authorized
+     * @throws NoSessionFoundException if the session does not exist
+     * @throws SessionAlreadyCompletedException if the session was already completed
      */
-    UserSession updateCompletion(UserSession session) throws DatabaseAccessException;
+    UserSession completeSession(UUID sessionId, ZonedDateTime sessionEndTime,
+        String token) throws DatabaseAccessException, AuthenticationException;
 }
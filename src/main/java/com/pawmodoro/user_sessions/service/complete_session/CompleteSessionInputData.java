@@ -4,10 +4,11 @@ import java.util.UUID;
 
 /**
  * Input data for completing a session.
- * Contains only the session ID since it's the only required information.
  * @param sessionId The ID of the session to complete
+ * @param token The authorization header of the user, including the Bearer prefix
  */
 public record CompleteSessionInputData(
-    UUID sessionId) {
+    UUID sessionId,
+    String token) {
 
 }
@@ -1,7 +1,11 @@
 package com.pawmodoro.user_sessions.service.complete_session;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.stereotype.Service;
 
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.user_sessions.entity.UserSession;
 import com.pawmodoro.user_sessions.service.complete_session.interface_adapter.CompleteSessionOutputBoundary;
@@ -24,14 +28,13 @@ public class CompleteSessionInteractor implements CompleteSessionInputBoundary {
 
     @Override
     public CompleteSessionResponseDto execute(CompleteSessionInputData input) throws DatabaseAccessException {
-        // Get current session
-        final UserSession session = dataAccess.getSession(input.sessionId());
-
-        // Complete session (business logic in entity)
-        session.complete();
+        if (input.token() == null) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED);
+        }
 
-        // Update in database
-        final UserSession updatedSession = dataAccess.updateCompletion(session);
+        // Complete the session in a single write
+        final UserSession updatedSession =
+            dataAccess.completeSession(input.sessionId(), ZonedDateTime.now(), input.token());
 
         // Prepare output data
         final CompleteSessionOutputData outputData = CompleteSessionOutputData.builder()
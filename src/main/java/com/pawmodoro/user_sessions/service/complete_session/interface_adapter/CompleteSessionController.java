@@ -5,10 +5,12 @@ import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionInputBoundary;
 import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionInputData;
@@ -28,12 +30,16 @@ public class CompleteSessionController {
     /**
      * Completes a session.
      * @param id The session ID
+     * @param authHeader The Authorization header containing the JWT token
      * @return The updated session details
      * @throws DatabaseAccessException if there's an error accessing the database
+     * @throws AuthenticationException if no valid authorization is provided
      */
     @PatchMapping("/{id}/complete")
     @ResponseStatus(HttpStatus.OK)
-    public CompleteSessionResponseDto completeSession(@PathVariable UUID id) throws DatabaseAccessException {
-        return interactor.execute(new CompleteSessionInputData(id));
+    public CompleteSessionResponseDto completeSession(
+        @PathVariable UUID id,
+        @RequestHeader(value = "Authorization", required = false) String authHeader) throws DatabaseAccessException {
+        return interactor.execute(new CompleteSessionInputData(id, authHeader));
     }
 }
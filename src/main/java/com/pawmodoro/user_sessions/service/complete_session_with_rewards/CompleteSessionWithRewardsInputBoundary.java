@@ -0,0 +1,20 @@
+package com.pawmodoro.user_sessions.service.complete_session_with_rewards;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.service.complete_session_with_rewards.interface_adapter.CompleteSessionWithRewardsResponseDto;
+
+/**
+ * Input boundary for completing a session and rewarding the user's cats in one request.
+ */
+public interface CompleteSessionWithRewardsInputBoundary {
+    /**
+     * Completes a session and, if it was a focus session, updates the happiness of the user's cats.
+     * @param input The input data containing the session ID and the user's token
+     * @return A future completed with the completed session and the updated cats
+     * @throws DatabaseAccessException if the session could not be completed
+     */
+    CompletableFuture<CompleteSessionWithRewardsResponseDto> execute(CompleteSessionWithRewardsInputData input)
+        throws DatabaseAccessException;
+}
@@ -0,0 +1,14 @@
+package com.pawmodoro.user_sessions.service.complete_session_with_rewards;
+
+import java.util.UUID;
+
+/**
+ * Input data for completing a session and rewarding the user's cats.
+ * @param sessionId The ID of the session to complete
+ * @param token The authentication token of the user, without the Bearer prefix
+ */
+public record CompleteSessionWithRewardsInputData(
+    UUID sessionId,
+    String token) {
+
+}
@@ -0,0 +1,64 @@
+package com.pawmodoro.user_sessions.service.complete_session_with_rewards;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.stereotype.Service;
+
+import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyInputBoundary;
+import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyInputData;
+import com.pawmodoro.cats.service.update_cats_after_study.interface_adapter.UpdateCatsAfterStudyResponseDto;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionInputBoundary;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionInputData;
+import com.pawmodoro.user_sessions.service.complete_session.interface_adapter.CompleteSessionResponseDto;
+import com.pawmodoro.user_sessions.service.complete_session_with_rewards.interface_adapter.CompleteSessionWithRewardsResponseDto;
+
+/**
+ * Interactor that completes a session and rewards the user's cats in one request.
+ * The cats are read while the session is being completed. They are only updated once the session
+ * was completed and turned out to be a focus session, so a failed or repeated completion never
+ * rewards the cats.
+ */
+@Service
+public class CompleteSessionWithRewardsInteractor implements CompleteSessionWithRewardsInputBoundary {
+    private final CompleteSessionInputBoundary completeSessionInteractor;
+    private final UpdateCatsAfterStudyInputBoundary updateCatsInteractor;
+
+    public CompleteSessionWithRewardsInteractor(
+        CompleteSessionInputBoundary completeSessionInteractor,
+        UpdateCatsAfterStudyInputBoundary updateCatsInteractor) {
+        this.completeSessionInteractor = completeSessionInteractor;
+        this.updateCatsInteractor = updateCatsInteractor;
+    }
+
+    @Override
+    public CompletableFuture<CompleteSessionWithRewardsResponseDto> execute(CompleteSessionWithRewardsInputData input)
+        throws DatabaseAccessException {
+        final CompletableFuture<Boolean> reward = new CompletableFuture<>();
+        final CompletableFuture<UpdateCatsAfterStudyResponseDto> catUpdate =
+            updateCatsInteractor.executeAsync(new UpdateCatsAfterStudyInputData(input.token()), reward);
+
+        final CompleteSessionResponseDto session;
+        try {
+            session = completeSessionInteractor.execute(
+                new CompleteSessionInputData(input.sessionId(), Constants.Http.BEARER_PREFIX + input.token()));
+        }
+        catch (DatabaseAccessException | RuntimeException exception) {
+            reward.complete(false);
+            throw exception;
+        }
+        reward.complete(SessionType.FOCUS.getValue().equals(session.sessionType()));
+
+        // The session is completed at this point, a failed reward is reported instead of failing the request
+        return catUpdate
+            .exceptionally(exception -> {
+                final Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+                return new UpdateCatsAfterStudyResponseDto(List.of(), List.of(cause.getMessage()));
+            })
+            .thenApply(cats -> new CompleteSessionWithRewardsResponseDto(session, cats));
+    }
+}
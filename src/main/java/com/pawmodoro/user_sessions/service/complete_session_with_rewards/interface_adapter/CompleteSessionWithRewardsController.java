@@ -0,0 +1,49 @@
+package com.pawmodoro.user_sessions.service.complete_session_with_rewards.interface_adapter;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.service.complete_session_with_rewards.CompleteSessionWithRewardsInputBoundary;
+import com.pawmodoro.user_sessions.service.complete_session_with_rewards.CompleteSessionWithRewardsInputData;
+
+/**
+ * Controller for completing a session and rewarding the user's cats in one request.
+ */
+@RestController
+@RequestMapping("/api/sessions")
+public class CompleteSessionWithRewardsController {
+    private final CompleteSessionWithRewardsInputBoundary interactor;
+
+    public CompleteSessionWithRewardsController(CompleteSessionWithRewardsInputBoundary interactor) {
+        this.interactor = interactor;
+    }
+
+    /**
+     * Completes a session and updates the user's cats after a focus session.
+     * Replaces calling the complete session and update cats after study endpoints one after the other.
+     * @param id The session ID
+     * @param authHeader The Authorization header containing the JWT token
+     * @return future of the completed session and the updated cats
+     * @throws DatabaseAccessException if the session could not be completed
+     */
+    @PatchMapping("/{id}/complete-with-rewards")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<CompleteSessionWithRewardsResponseDto> completeSessionWithRewards(
+        @PathVariable UUID id,
+        @RequestHeader("Authorization") String authHeader) throws DatabaseAccessException {
+
+        // Extract token from Authorization header
+        final String token = authHeader.replace("Bearer ", "");
+
+        return interactor.execute(new CompleteSessionWithRewardsInputData(id, token));
+    }
+}
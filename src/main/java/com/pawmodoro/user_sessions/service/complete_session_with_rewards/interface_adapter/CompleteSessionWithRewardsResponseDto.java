@@ -0,0 +1,15 @@
+package com.pawmodoro.user_sessions.service.complete_session_with_rewards.interface_adapter;
+
+import com.pawmodoro.cats.service.update_cats_after_study.interface_adapter.UpdateCatsAfterStudyResponseDto;
+import com.pawmodoro.user_sessions.service.complete_session.interface_adapter.CompleteSessionResponseDto;
+
+/**
+ * Response DTO for completing a session and rewarding the user's cats.
+ * @param session The completed session
+ * @param cats The cats updated for the session, empty unless it was a focus session
+ */
+public record CompleteSessionWithRewardsResponseDto(
+    CompleteSessionResponseDto session,
+    UpdateCatsAfterStudyResponseDto cats) {
+
+}
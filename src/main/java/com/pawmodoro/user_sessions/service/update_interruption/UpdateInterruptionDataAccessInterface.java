@@ -3,6 +3,7 @@ package com.pawmodoro.user_sessions.service.update_interruption;
 import java.util.UUID;
 
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
 import com.pawmodoro.user_sessions.entity.UserSession;
 
 /**
@@ -10,18 +11,13 @@ import com.pawmodoro.user_sessions.entity.UserSession;
  */
 public interface UpdateInterruptionDataAccessInterface {
     /**
-     * Gets a session by its ID.
-     * @param sessionId The ID of the session to get
-     * @return The session
-     * @throws DatabaseAccessException if there's an error accessing the database
-     */
-    UserSession getSession(UUID sessionId) throws DatabaseAccessException;
-
-    /**
-     * Updates the interruption count for a session.
-     * @param session The session to update
+     * Atomically adds to the interruption count of a session.
+     * Concurrent increments of the same session are never lost.
+     * @param sessionId The ID of the session to update
+     * @param delta The number of interruptions to add
      * @return The updated session
      * @throws DatabaseAccessException if there's an error accessing the database
+     * @throws NoSessionFoundException if the session does not exist
      */
-    UserSession updateInterruptionCount(UserSession session) throws DatabaseAccessException;
+    UserSession incrementInterruptionCount(UUID sessionId, int delta) throws DatabaseAccessException;
 }
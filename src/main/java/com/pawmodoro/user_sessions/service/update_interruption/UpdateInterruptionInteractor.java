@@ -23,14 +23,8 @@ public class UpdateInterruptionInteractor implements UpdateInterruptionInputBoun
 
     @Override
     public UpdateInterruptionResponseDto execute(UpdateInterruptionInputData input) throws DatabaseAccessException {
-        // Get current session
-        final UserSession session = dataAccess.getSession(input.sessionId());
-
-        // Record interruption (business logic in entity)
-        session.recordInterruption();
-
-        // Update in database
-        final UserSession updatedSession = dataAccess.updateInterruptionCount(session);
+        // Record the interruption in a single atomic update
+        final UserSession updatedSession = dataAccess.incrementInterruptionCount(input.sessionId(), 1);
 
         // Prepare output data
         final UpdateInterruptionOutputData outputData = UpdateInterruptionOutputData.builder()
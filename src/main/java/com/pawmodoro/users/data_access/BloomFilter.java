@@ -0,0 +1,89 @@
+package com.pawmodoro.users.data_access;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of strings that can be added to and queried concurrently.
+ * A query never misses a string that was added, and wrongly reports a string that was not
+ * added with roughly the false positive rate it was sized for.
+ */
+final class BloomFilter {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates an empty BloomFilter.
+     * @param expectedInsertions the number of strings the filter is sized for
+     * @param falsePositiveRate the wanted false positive rate once that many strings were added
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        final int insertions = Math.max(1, expectedInsertions);
+        final double optimalBits = -insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.words = new AtomicLongArray((int) Math.max(1, Math.ceil(optimalBits / Long.SIZE)));
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a string to the filter.
+     * @param value the string to add
+     */
+    void put(String value) {
+        final long hash = hash(value);
+        for (int i = 1; i <= hashCount; i++) {
+            final long bit = bitIndex(hash, i);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a string may have been added to the filter.
+     * @param value the string to check
+     * @return false if the string was definitely never added
+     */
+    boolean mightContain(String value) {
+        final long hash = hash(value);
+        for (int i = 1; i <= hashCount; i++) {
+            final long bit = bitIndex(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derives the i-th bit of a string from two halves of its hash, as described by Kirsch and Mitzenmacher.
+     */
+    private long bitIndex(long hash, int i) {
+        final int first = (int) hash;
+        final int second = (int) (hash >>> 32);
+        return Math.floorMod(first + (long) i * second, bitCount);
+    }
+
+    /**
+     * FNV-1a over the characters of a string, followed by the MurmurHash3 finalizer to spread the bits.
+     */
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -12,8 +12,13 @@ import org.springframework.stereotype.Repository;
 import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import com.pawmodoro.core.TokenIdentityCache;
 import com.pawmodoro.users.entity.AuthenticatedUser;
 import com.pawmodoro.users.entity.AuthenticationToken;
+import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
+import com.pawmodoro.users.entity.InvalidLoginException;
+import com.pawmodoro.users.entity.InvalidSignupException;
 import com.pawmodoro.users.entity.User;
 import com.pawmodoro.users.entity.UserFactory;
 import com.pawmodoro.users.entity.UserNotFoundException;
@@ -38,19 +43,33 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
     private final String apiUrl;
     private final String apiKey;
     private final UserFactory userFactory;
+    private final TokenIdentityCache identityCache;
+    private final LoginEmailCache emailCache;
+    private final SignupAvailabilityFilter availabilityFilter;
 
     /**
      * Creates a new DbUserDataAccessObject.
      * @param userFactory factory for creating User objects
+     * @param identityCache the cache of users resolved from access tokens
+     * @param emailCache the cache of emails looked up by username for logins
+     * @param availabilityFilter the filter of usernames and emails that may be taken
+     * @param client the shared Supabase HTTP client
      * @param apiUrl the Supabase API URL
      * @param apiKey the Supabase API key
      */
     public DbUserDataAccessObject(
         UserFactory userFactory,
+        TokenIdentityCache identityCache,
+        LoginEmailCache emailCache,
+        SignupAvailabilityFilter availabilityFilter,
+        OkHttpClient client,
         @Value("${supabase.url}") String apiUrl,
         @Value("${supabase.key}") String apiKey) {
         this.userFactory = userFactory;
-        this.client = new OkHttpClient().newBuilder().build();
+        this.identityCache = identityCache;
+        this.emailCache = emailCache;
+        this.availabilityFilter = availabilityFilter;
+        this.client = client;
         this.apiUrl = apiUrl;
         this.apiKey = apiKey;
     }
@@ -83,6 +102,7 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
     @Override
     public AuthenticationToken save(User user, String password) throws DatabaseAccessException {
         final JSONObject authResponse = createAuthUser(user, password);
+        availabilityFilter.add(user.getName(), user.getEmail());
         final String accessToken = authResponse.getString(Constants.JsonFields.ACCESS_TOKEN_FIELD);
         final String refreshToken = authResponse.getString(Constants.JsonFields.REFRESH_TOKEN_FIELD);
         final int expiresIn = authResponse.getInt(Constants.JsonFields.EXPIRES_IN_FIELD);
@@ -97,6 +117,8 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
      * @param user the user to create
      * @param password the user's password
      * @return JSONObject containing the response from Supabase auth
+     * @throws EmailAlreadyRegisteredException if Supabase reports that the email is registered
+     * @throws InvalidSignupException if the user could not be created because the username is taken
      * @throws DatabaseAccessException if the user creation fails
      */
     private JSONObject createAuthUser(User user, String password) throws DatabaseAccessException {
@@ -113,6 +135,7 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
             MediaType.parse(Constants.Http.CONTENT_TYPE_JSON));
 
         final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.USERS_SIGNUP))
             .url(apiUrl + Constants.Endpoints.AUTH_SIGNUP_ENDPOINT)
             .post(body)
             .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
@@ -123,7 +146,7 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
             final Response response = client.newCall(request).execute();
             final String responseBody = response.body().string();
             if (!response.isSuccessful()) {
-                throw new DatabaseAccessException(parseErrorMessage(responseBody));
+                throw signupFailure(user, responseBody);
             }
             return new JSONObject(responseBody);
         }
@@ -133,17 +156,35 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
     }
 
     /**
-     * Authenticates a user with Supabase and returns their profile.
-     * @param email the user's email
+     * Signs a user in by username in at most two calls to Supabase: one to look up the email, which is
+     * skipped while it is cached, and one to sign in with it. A failed sign in drops the cached email instead
+     * of looking it up again, so if the email changed, the user's next login uses the new one.
+     * @param username the user's username
      * @param password the user's password
-     * @return JSONObject containing the auth response
-     * @throws DatabaseAccessException if authentication fails
-     * @throws UserNotFoundException if the user is not found
+     * @return the authenticated User
+     * @throws DatabaseAccessException if Supabase could not be reached
+     * @throws UserNotFoundException if no user has the username
      */
-    private JSONObject authenticateUser(String email,
+    @Override
+    public AuthenticatedUser authenticate(String username,
         String password) throws DatabaseAccessException, UserNotFoundException {
+        return signIn(get(username), password, SupabaseOperation.of(Constants.Operations.USERS_SIGN_IN));
+    }
+
+    /**
+     * Signs a user in with their email and password.
+     * The username is taken from the given user, so no profile has to be read.
+     * @param user the user to sign in, with the email from login_lookup
+     * @param password the user's password
+     * @param operation the operation the call is recorded as
+     * @return the authenticated User
+     * @throws InvalidLoginException if Supabase rejects the credentials
+     * @throws DatabaseAccessException if Supabase could not be reached
+     */
+    private AuthenticatedUser signIn(User user, String password, SupabaseOperation operation)
+        throws DatabaseAccessException {
         final JSONObject authBody = new JSONObject()
-            .put(Constants.JsonFields.EMAIL_FIELD, email)
+            .put(Constants.JsonFields.EMAIL_FIELD, user.getEmail())
             .put(Constants.JsonFields.PASSWORD_FIELD, password);
 
         final RequestBody body = RequestBody.create(
@@ -151,36 +192,29 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
             MediaType.parse(Constants.Http.CONTENT_TYPE_JSON));
 
         final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, operation)
             .url(apiUrl + Constants.Endpoints.AUTH_SIGNIN_ENDPOINT)
             .post(body)
             .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
             .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
             .build();
 
+        final JSONObject authResponse;
         try (Response response = client.newCall(request).execute()) {
             final String responseBody = response.body().string();
             if (!response.isSuccessful()) {
-                throw new UserNotFoundException(parseErrorMessage(responseBody));
+                // The email may be stale, the next login looks it up again
+                emailCache.invalidate(user.getName());
+                if (response.code() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                    throw new DatabaseAccessException(parseErrorMessage(responseBody));
+                }
+                throw new InvalidLoginException(Constants.ErrorMessages.AUTH_WRONG_PASSWORD);
             }
-            return new JSONObject(responseBody);
+            authResponse = new JSONObject(responseBody);
         }
         catch (IOException exception) {
             throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
         }
-    }
-
-    /**
-     * Authenticates and retrieves a user by their email and password.
-     * @param email the user's email
-     * @param password the user's password
-     * @return the authenticated User
-     * @throws DatabaseAccessException if authentication fails
-     * @throws UserNotFoundException if the user is not found
-     */
-    @Override
-    public AuthenticatedUser authenticate(String email,
-        String password) throws DatabaseAccessException, UserNotFoundException {
-        final JSONObject authResponse = authenticateUser(email, password);
 
         // Extract tokens and expiration info
         final String accessToken = authResponse.getString(Constants.JsonFields.ACCESS_TOKEN_FIELD);
@@ -190,73 +224,36 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
         final AuthenticationToken tokens = new AuthenticationToken(
             accessToken, refreshToken, expiresIn, expiresAt);
 
-        // Get user info
         final JSONObject userInfo = authResponse.getJSONObject(Constants.JsonFields.USER_FIELD);
-        final String userId = userInfo.getString(Constants.JsonFields.ID_FIELD);
         final String userEmail = userInfo.getString(Constants.JsonFields.EMAIL_FIELD);
-
-        // Get username from profile
-        final String username = getUsernameFromProfile(userId);
-        final User user = userFactory.create(username, userEmail);
-
-        return new AuthenticatedUser(user, tokens);
-    }
-
-    private String getUsernameFromProfile(String userId) throws DatabaseAccessException, UserNotFoundException {
-        final Request request = new Request.Builder()
-            .url(apiUrl + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
-                + Constants.JsonFields.ID_FIELD + Constants.Http.QUERY_EQUALS + userId)
-            .get()
-            .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
-            .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
-            .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
-            .build();
-
-        try {
-            final Response response = client.newCall(request).execute();
-            final String responseBody = response.body().string();
-
-            if (!response.isSuccessful() || responseBody.equals(Constants.JsonFields.EMPTY_ARRAY)) {
-                throw new UserNotFoundException(Constants.ErrorMessages.AUTH_PROFILE_NOT_FOUND);
-            }
-
-            final JSONArray profiles = new JSONArray(responseBody);
-            if (profiles.length() == 0) {
-                throw new UserNotFoundException(Constants.ErrorMessages.AUTH_PROFILE_NOT_FOUND);
-            }
-
-            final JSONObject userProfile = profiles.getJSONObject(0);
-            return userProfile.getString(Constants.JsonFields.USERNAME_FIELD);
-        }
-        catch (IOException exception) {
-            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
-        }
+        return new AuthenticatedUser(userFactory.create(user.getName(), userEmail), tokens);
     }
 
+    /**
+     * Checks if a username is taken, only asking Supabase if the availability filter cannot rule it out.
+     */
     @Override
     public boolean existsByName(String username) throws DatabaseAccessException {
-        final Request request = new Request.Builder()
-            .url(apiUrl + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
-                + Constants.JsonFields.USERNAME_FIELD + Constants.Http.QUERY_EQUALS + username)
-            .get()
-            .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
-            .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
-            .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION)
-            .build();
-
-        try {
-            final Response response = client.newCall(request).execute();
-            final String responseBody = response.body().string();
-            return response.isSuccessful() && !responseBody.equals(Constants.JsonFields.EMPTY_ARRAY);
-        }
-        catch (IOException exception) {
-            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
-        }
+        return availabilityFilter.mightBeTakenUsername(username)
+            && profileExists(Constants.JsonFields.USERNAME_FIELD, username);
     }
 
+    /**
+     * Gets a user by username with the email from login_lookup, which is cached after the first lookup.
+     * @param username the username
+     * @return the user
+     * @throws DatabaseAccessException if Supabase could not be reached
+     * @throws UserNotFoundException if no user has the username
+     */
     @Override
     public User get(String username) throws DatabaseAccessException, UserNotFoundException {
+        final String cachedEmail = emailCache.getIfPresent(username);
+        if (cachedEmail != null) {
+            return userFactory.create(username, cachedEmail);
+        }
+
         final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.USERS_LOGIN_LOOKUP))
             .url(apiUrl + Constants.Endpoints.LOGIN_LOOKUP_ENDPOINT + Constants.Http.QUERY_START
                 + Constants.JsonFields.USERNAME_FIELD + Constants.Http.QUERY_EQUALS + username)
             .get()
@@ -283,6 +280,7 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
 
             final JSONObject userProfile = profiles.getJSONObject(0);
             final String email = userProfile.getString(Constants.JsonFields.EMAIL_FIELD);
+            emailCache.put(username, email);
 
             return userFactory.create(username, email);
         }
@@ -296,7 +294,10 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
         boolean result = false;
 
         if (accessToken != null) {
+            // Forget the token before signing out so it cannot resolve to the user from the cache anymore
+            identityCache.evict(accessToken);
             final Request request = new Request.Builder()
+                .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.USERS_LOGOUT))
                 .url(apiUrl + Constants.Endpoints.AUTH_SIGNOUT_ENDPOINT)
                 .post(RequestBody.create("", MediaType.parse(Constants.Http.CONTENT_TYPE_JSON)))
                 .addHeader(Constants.Http.AUTH_HEADER, Constants.Http.BEARER_PREFIX + accessToken)
@@ -325,6 +326,7 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
             MediaType.parse(Constants.Http.CONTENT_TYPE_JSON));
 
         final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.USERS_REFRESH_TOKENS))
             .url(apiUrl + Constants.Endpoints.AUTH_REFRESH_ENDPOINT)
             .post(body)
             .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
@@ -356,11 +358,19 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
         }
     }
 
+    /**
+     * Checks if an email is registered, only asking Supabase if the availability filter cannot rule it out.
+     */
     @Override
     public boolean existsByEmail(String email) throws DatabaseAccessException {
+        return availabilityFilter.mightBeTakenEmail(email) && profileExists(Constants.JsonFields.EMAIL_FIELD, email);
+    }
+
+    private boolean profileExists(String field, String value) throws DatabaseAccessException {
         final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.USERS_PROFILE_EXISTS))
             .url(apiUrl + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
-                + Constants.JsonFields.EMAIL_FIELD + Constants.Http.QUERY_EQUALS + email)
+                + field + Constants.Http.QUERY_EQUALS + value)
             .get()
             .addHeader(Constants.Http.API_KEY_HEADER, apiKey)
             .addHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
@@ -376,4 +386,32 @@ public class DbUserDataAccessObject implements SignupUserDataAccessInterface,
             throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
         }
     }
+
+    /**
+     * Turns a failed signup into the conflict that caused it. The availability filter may have let a name
+     * through that was taken since its last rebuild, so Supabase decides whether the email or the username
+     * is already in use.
+     * @return the exception to throw if neither is
+     */
+    private DatabaseAccessException signupFailure(User user, String responseBody) throws DatabaseAccessException {
+        String errorCode = "";
+        try {
+            errorCode = new JSONObject(responseBody).optString(Constants.JsonFields.ERROR_CODE_FIELD);
+        }
+        catch (JSONException exception) {
+            // Not a GoTrue error body, handled like any other failure below
+        }
+
+        if (Constants.JsonFields.USER_ALREADY_EXISTS_CODE.equals(errorCode)
+            || Constants.JsonFields.EMAIL_EXISTS_CODE.equals(errorCode)) {
+            availabilityFilter.add(user.getName(), user.getEmail());
+            throw new EmailAlreadyRegisteredException(Constants.ErrorMessages.SIGNUP_EMAIL_REGISTERED);
+        }
+        // The profile trigger rejects a taken username, which fails the whole signup
+        if (profileExists(Constants.JsonFields.USERNAME_FIELD, user.getName())) {
+            availabilityFilter.add(user.getName(), user.getEmail());
+            throw new InvalidSignupException(Constants.ErrorMessages.SIGNUP_USERNAME_TAKEN);
+        }
+        return new DatabaseAccessException(parseErrorMessage(responseBody));
+    }
 }
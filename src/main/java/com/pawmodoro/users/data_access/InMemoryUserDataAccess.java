@@ -0,0 +1,184 @@
+package com.pawmodoro.users.data_access;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SimulatedLatency;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.users.entity.AuthenticatedUser;
+import com.pawmodoro.users.entity.AuthenticationToken;
+import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
+import com.pawmodoro.users.entity.InvalidLoginException;
+import com.pawmodoro.users.entity.InvalidSignupException;
+import com.pawmodoro.users.entity.User;
+import com.pawmodoro.users.entity.UserFactory;
+import com.pawmodoro.users.entity.UserNotFoundException;
+import com.pawmodoro.users.service.login.LoginUserDataAccessInterface;
+import com.pawmodoro.users.service.logout.LogoutUserDataAccessInterface;
+import com.pawmodoro.users.service.refresh.RefreshTokenDataAccessInterface;
+import com.pawmodoro.users.service.signup.SignupUserDataAccessInterface;
+
+/**
+ * Accounts and tokens kept in memory, used with the {@code in-memory} profile instead of the Supabase auth API.
+ * Access and refresh tokens are opaque random strings; the other in-memory data access objects resolve the
+ * caller of a request with {@link #getIdentityFromToken(String)}.
+ */
+@Repository
+@Primary
+@Profile("in-memory")
+public class InMemoryUserDataAccess implements SignupUserDataAccessInterface,
+    LoginUserDataAccessInterface, LogoutUserDataAccessInterface, RefreshTokenDataAccessInterface {
+    private static final Duration ACCESS_TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private final Map<String, Account> accountsByUsername = new ConcurrentHashMap<>();
+    private final Map<String, Account> accountsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, TokenIdentity> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, Account> refreshTokens = new ConcurrentHashMap<>();
+    private final UserFactory userFactory;
+    private final SimulatedLatency latency;
+
+    public InMemoryUserDataAccess(UserFactory userFactory, SimulatedLatency latency) {
+        this.userFactory = userFactory;
+        this.latency = latency;
+    }
+
+    @Override
+    public boolean existsByName(String username) {
+        latency.pause();
+        return accountsByUsername.containsKey(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        latency.pause();
+        return accountsByEmail.containsKey(email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Registers a user. The email is claimed before the username, so a signup that loses a race for either
+     * leaves no trace.
+     */
+    @Override
+    public AuthenticationToken save(User user, String password) {
+        latency.pause();
+        final Account account = new Account(UUID.randomUUID(), user.getName(), user.getEmail(), hash(password));
+        if (accountsByEmail.putIfAbsent(user.getEmail().toLowerCase(Locale.ROOT), account) != null) {
+            throw new EmailAlreadyRegisteredException(Constants.ErrorMessages.SIGNUP_EMAIL_REGISTERED);
+        }
+        if (accountsByUsername.putIfAbsent(user.getName(), account) != null) {
+            accountsByEmail.remove(user.getEmail().toLowerCase(Locale.ROOT), account);
+            throw new InvalidSignupException(Constants.ErrorMessages.SIGNUP_USERNAME_TAKEN);
+        }
+        return issueTokens(account);
+    }
+
+    @Override
+    public AuthenticatedUser authenticate(String username, String password) throws UserNotFoundException {
+        final User user = get(username);
+        final Account account = accountsByUsername.get(username);
+        if (!MessageDigest.isEqual(account.passwordHash(), hash(password))) {
+            throw new InvalidLoginException(Constants.ErrorMessages.AUTH_WRONG_PASSWORD);
+        }
+        return new AuthenticatedUser(user, issueTokens(account));
+    }
+
+    @Override
+    public User get(String username) throws UserNotFoundException {
+        latency.pause();
+        final Account account = accountsByUsername.get(username);
+        if (account == null) {
+            throw new UserNotFoundException(String.format(Constants.ErrorMessages.AUTH_USER_NOT_FOUND, username));
+        }
+        return userFactory.create(account.username(), account.email());
+    }
+
+    @Override
+    public boolean logout(String accessToken) {
+        latency.pause();
+        return accessToken != null && accessTokens.remove(accessToken) != null;
+    }
+
+    /**
+     * Exchanges a refresh token for new tokens. Like Supabase, a refresh token can only be used once.
+     */
+    @Override
+    public AuthenticationToken refreshTokens(String refreshToken) throws DatabaseAccessException {
+        latency.pause();
+        final Account account = refreshTokens.remove(refreshToken);
+        if (account == null) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        }
+        return issueTokens(account);
+    }
+
+    /**
+     * Resolves the user an access token was issued to. Tokens are checked in-process, like the local
+     * verification of Supabase tokens, so this does not wait for the simulated latency.
+     * @param token the access token, with or without the "Bearer " prefix
+     * @return the identity of the token's user
+     * @throws AuthenticationException if the token is missing, unknown, revoked or expired
+     */
+    public TokenIdentity getIdentityFromToken(String token) throws AuthenticationException {
+        if (token == null) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED);
+        }
+
+        final String bareToken = token.startsWith(Constants.Http.BEARER_PREFIX)
+            ? token.substring(Constants.Http.BEARER_PREFIX.length()) : token;
+        final TokenIdentity identity = accessTokens.get(bareToken);
+        if (identity == null || identity.expiresAt().isBefore(Instant.now())) {
+            throw new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        }
+        return identity;
+    }
+
+    /**
+     * Gets the ID of a user by username.
+     * @param username the username
+     * @return the ID of the user
+     * @throws UserNotFoundException if no user has the username
+     */
+    public UUID getUserId(String username) throws UserNotFoundException {
+        final Account account = accountsByUsername.get(username);
+        if (account == null) {
+            throw new UserNotFoundException(String.format(Constants.ErrorMessages.AUTH_USER_NOT_FOUND, username));
+        }
+        return account.id();
+    }
+
+    private AuthenticationToken issueTokens(Account account) {
+        final String accessToken = UUID.randomUUID().toString();
+        final String refreshToken = UUID.randomUUID().toString();
+        final Instant expiresAt = Instant.now().plus(ACCESS_TOKEN_LIFETIME);
+        accessTokens.put(accessToken, new TokenIdentity(account.id(), account.username(), expiresAt));
+        refreshTokens.put(refreshToken, account);
+        return new AuthenticationToken(accessToken, refreshToken, (int) ACCESS_TOKEN_LIFETIME.toSeconds(),
+            expiresAt.getEpochSecond());
+    }
+
+    private static byte[] hash(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private record Account(UUID id, String username, String email, byte[] passwordHash) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.pawmodoro.users.data_access;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache from a username to the email it signs in with, as returned by login_lookup.
+ * Only found users are cached. An entry is dropped when signing in with its email fails, so a
+ * changed email is looked up again instead of being retried until the entry expires.
+ * Hit and miss counts are published as the {@value #CACHE_NAME} cache metrics.
+ */
+@Component
+public class LoginEmailCache implements MeterBinder {
+    static final String CACHE_NAME = "supabase.login.email";
+
+    private final Cache<String, String> cache;
+
+    /**
+     * Creates a new LoginEmailCache.
+     * @param maxSize the maximum number of usernames kept in the cache
+     * @param ttl the longest time an email is kept, bounding how long an email changed outside this
+     *     application is used before it is looked up again
+     */
+    public LoginEmailCache(
+        @Value("${supabase.login.email-cache.max-size}") long maxSize,
+        @Value("${supabase.login.email-cache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Gets the cached email of a username.
+     * @param username the username
+     * @return the email, or null if the username is not cached
+     */
+    public String getIfPresent(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    /**
+     * Caches the email of a username.
+     * @param username the username
+     * @param email the email the user signs in with
+     */
+    public void put(String username, String email) {
+        cache.put(username, email);
+    }
+
+    /**
+     * Removes a username from the cache, for example when its email changed.
+     * @param username the username
+     */
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,243 @@
+package com.pawmodoro.users.data_access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AbstractDataAccess;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseOperation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * In-memory Bloom filter of the usernames and emails that are already taken.
+ * Signup only asks Supabase whether a username or email exists if the filter says it may be taken,
+ * so the checks for new names cost nothing. The filter is rebuilt from user_profiles on an interval
+ * and names signed up through this application are added right away. A name taken elsewhere since
+ * the last rebuild is missed, which is why the conflict reported by Supabase when the user is saved
+ * stays the final word. Until the first rebuild finished, every name may be taken.
+ * The profiles are read with the API key alone, so the filter only fills when the anon role may select
+ * the usernames and emails of all profiles.
+ */
+@Component
+public class SignupAvailabilityFilter extends AbstractDataAccess {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SignupAvailabilityFilter.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String USERNAME_PREFIX = "username:";
+    private static final String EMAIL_PREFIX = "email:";
+
+    private final int expectedAccounts;
+    private final double falsePositiveRate;
+    private final int pageSize;
+    private final Duration rebuildInterval;
+    private final Set<String> addedSinceRebuild = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService rebuildScheduler;
+    private volatile BloomFilter filter;
+
+    /**
+     * Creates a new SignupAvailabilityFilter.
+     * @param enabled whether the filter is built at all, if not every name may be taken
+     * @param rebuildInterval how often the filter is rebuilt from user_profiles
+     * @param expectedAccounts the number of accounts the filter is sized for at least
+     * @param falsePositiveRate the share of free names that are still checked with Supabase
+     * @param pageSize the number of profiles read per request while rebuilding
+     * @param client the shared Supabase HTTP client
+     * @param apiUrl the Supabase API URL
+     * @param apiKey the Supabase API key
+     */
+    public SignupAvailabilityFilter(
+        @Value("${signup.availability-filter.enabled}") boolean enabled,
+        @Value("${signup.availability-filter.rebuild-interval}") Duration rebuildInterval,
+        @Value("${signup.availability-filter.expected-accounts}") int expectedAccounts,
+        @Value("${signup.availability-filter.false-positive-rate}") double falsePositiveRate,
+        @Value("${signup.availability-filter.page-size}") int pageSize,
+        OkHttpClient client,
+        @Value("${supabase.url}") String apiUrl,
+        @Value("${supabase.key}") String apiKey) {
+        super(client, apiUrl, apiKey);
+        this.expectedAccounts = expectedAccounts;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pageSize = pageSize;
+        this.rebuildInterval = rebuildInterval;
+        if (enabled) {
+            this.rebuildScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("signup-filter-rebuild").daemon().factory());
+        }
+        else {
+            this.rebuildScheduler = null;
+        }
+    }
+
+    /**
+     * Checks whether a username may be taken.
+     * @param username the username
+     * @return false only if no account had the username at the last rebuild and none was signed up since
+     */
+    public boolean mightBeTakenUsername(String username) {
+        return mightContain(USERNAME_PREFIX + username);
+    }
+
+    /**
+     * Checks whether an email may be registered.
+     * @param email the email, compared case-insensitively
+     * @return false only if no account had the email at the last rebuild and none was signed up since
+     */
+    public boolean mightBeTakenEmail(String email) {
+        return mightContain(EMAIL_PREFIX + email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Marks the username and email of an account that was just signed up as taken.
+     * @param username the username
+     * @param email the email
+     */
+    public void add(String username, String email) {
+        final String usernameKey = USERNAME_PREFIX + username;
+        final String emailKey = EMAIL_PREFIX + email.toLowerCase(Locale.ROOT);
+        addedSinceRebuild.add(usernameKey);
+        addedSinceRebuild.add(emailKey);
+
+        final BloomFilter current = filter;
+        if (current != null) {
+            current.put(usernameKey);
+            current.put(emailKey);
+        }
+    }
+
+    /**
+     * Reads all usernames and emails from user_profiles and replaces the filter with one built from them.
+     * @throws DatabaseAccessException if the profiles could not be read, the previous filter is kept
+     */
+    public void rebuild() throws DatabaseAccessException {
+        addedSinceRebuild.clear();
+        final List<String> keys = new ArrayList<>();
+        int offset = 0;
+        int rows;
+        do {
+            rows = readPage(offset, keys);
+            offset += rows;
+        } while (rows == pageSize);
+
+        final BloomFilter rebuilt = new BloomFilter(Math.max(2 * expectedAccounts, keys.size()), falsePositiveRate);
+        keys.forEach(rebuilt::put);
+        filter = rebuilt;
+        // Accounts signed up while the profiles were read may be missing from them
+        addedSinceRebuild.forEach(rebuilt::put);
+        LOGGER.info("Rebuilt the signup availability filter from {} profiles", offset);
+    }
+
+    /**
+     * Starts rebuilding the filter right away and then every rebuild interval, if it is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (rebuildScheduler != null) {
+            rebuildScheduler.scheduleWithFixedDelay(this::rebuildQuietly,
+                0, rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic rebuild.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (rebuildScheduler != null) {
+            rebuildScheduler.shutdownNow();
+        }
+    }
+
+    private boolean mightContain(String key) {
+        final BloomFilter current = filter;
+        return current == null || current.mightContain(key);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        }
+        catch (DatabaseAccessException | RuntimeException exception) {
+            LOGGER.warn("Failed to rebuild the signup availability filter: {}", exception.getMessage());
+        }
+    }
+
+    private int readPage(int offset, List<String> keys) throws DatabaseAccessException {
+        final Request request = new Request.Builder()
+            .tag(SupabaseOperation.class, SupabaseOperation.of(Constants.Operations.USERS_READ_PROFILES))
+            .url(getApiUrl() + Constants.Endpoints.USER_PROFILES_ENDPOINT + Constants.Http.QUERY_START
+                + Constants.Http.SELECT_PARAM + Constants.JsonFields.USERNAME_FIELD + ","
+                + Constants.JsonFields.EMAIL_FIELD
+                + Constants.Http.AND_OPERATOR + Constants.Http.ORDER_PARAM + Constants.JsonFields.ID_FIELD
+                + Constants.Http.AND_OPERATOR + Constants.Http.LIMIT_PARAM + pageSize
+                + Constants.Http.AND_OPERATOR + Constants.Http.OFFSET_PARAM + offset)
+            .get()
+            .addHeader(Constants.Http.API_KEY_HEADER, getApiKey())
+            .build();
+
+        try (Response response = getClient().newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS);
+            }
+            return readProfiles(response.body().byteStream(), keys);
+        }
+        catch (IOException exception) {
+            throw new DatabaseAccessException(Constants.ErrorMessages.DB_FAILED_ACCESS, exception);
+        }
+    }
+
+    /**
+     * Reads the usernames and emails of a page of profile rows as filter keys.
+     * @param body the response body
+     * @param keys the keys to add to
+     * @return the number of rows read
+     * @throws IOException if the body cannot be read
+     */
+    private static int readProfiles(InputStream body, List<String> keys) throws IOException {
+        int rows = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of profiles");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rows++;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    parser.nextToken();
+                    final String value = parser.getValueAsString();
+                    if (value == null) {
+                        parser.skipChildren();
+                    }
+                    else if (Constants.JsonFields.USERNAME_FIELD.equals(field)) {
+                        keys.add(USERNAME_PREFIX + value);
+                    }
+                    else if (Constants.JsonFields.EMAIL_FIELD.equals(field)) {
+                        keys.add(EMAIL_PREFIX + value.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -4,8 +4,6 @@ import org.springframework.stereotype.Service;
 
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.users.entity.AuthenticatedUser;
-import com.pawmodoro.users.entity.InvalidLoginException;
-import com.pawmodoro.users.entity.User;
 import com.pawmodoro.users.entity.UserNotFoundException;
 import com.pawmodoro.users.service.login.interface_adapter.LoginResponseDto;
 
@@ -33,20 +31,12 @@ public class LoginInteractor implements LoginInputBoundary {
     @Override
     public LoginResponseDto execute(
         LoginInputData loginInputData) throws UserNotFoundException, DatabaseAccessException {
-        // Get user by username to get their email
-        final User user = userDataAccessObject.get(loginInputData.username());
+        // Look up the user's email by username and authenticate with Supabase using it
+        final AuthenticatedUser authenticatedUser = userDataAccessObject.authenticate(
+            loginInputData.username(),
+            loginInputData.password());
 
-        try {
-            // Authenticate with Supabase using email and password
-            final AuthenticatedUser authenticatedUser = userDataAccessObject.authenticate(
-                user.getEmail(),
-                loginInputData.password());
-
-            return loginPresenter.prepareResponse(
-                new LoginOutputData(authenticatedUser.user().getName(), authenticatedUser.tokens()));
-        }
-        catch (UserNotFoundException exception) {
-            throw new InvalidLoginException("Wrong password");
-        }
+        return loginPresenter.prepareResponse(
+            new LoginOutputData(authenticatedUser.user().getName(), authenticatedUser.tokens()));
     }
 }
@@ -2,6 +2,7 @@ package com.pawmodoro.users.service.login;
 
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.users.entity.AuthenticatedUser;
+import com.pawmodoro.users.entity.InvalidLoginException;
 import com.pawmodoro.users.entity.User;
 import com.pawmodoro.users.entity.UserNotFoundException;
 
@@ -10,14 +11,18 @@ import com.pawmodoro.users.entity.UserNotFoundException;
  */
 public interface LoginUserDataAccessInterface {
     /**
-     * Authenticates a user with their email and password.
-     * @param email the user's email
+     * Authenticates a user with their username and password.
+     * The email the user signs in with is looked up by username, and the username is reused for the
+     * authenticated user instead of being read back from the profile.
+     * @param username the user's username
      * @param password the user's password
      * @return AuthenticatedUser containing the user and their tokens
      * @throws DatabaseAccessException if authentication fails
-     * @throws UserNotFoundException if the user is not found
+     * @throws UserNotFoundException if no user has the username
+     * @throws InvalidLoginException if the password is wrong
      */
-    AuthenticatedUser authenticate(String email, String password) throws DatabaseAccessException, UserNotFoundException;
+    AuthenticatedUser authenticate(String username, String password)
+        throws DatabaseAccessException, UserNotFoundException;
 
     /**
      * Retrieves a user by their username.
@@ -1,8 +1,12 @@
 package com.pawmodoro.users.service.signup;
 
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
+import com.pawmodoro.constants.Constants;
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.FanOutExecutor;
 import com.pawmodoro.users.entity.AuthenticationToken;
 import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
 import com.pawmodoro.users.entity.InvalidSignupException;
@@ -19,40 +23,58 @@ public class SignupInteractor implements SignupInputBoundary {
     private final SignupUserDataAccessInterface userDataAccessObject;
     private final SignupOutputBoundary signupPresenter;
     private final UserFactory userFactory;
+    private final FanOutExecutor fanOutExecutor;
 
     /**
      * Constructs a SignupInteractor with required dependencies.
      * @param userDataAccessObject data access object for user operations
      * @param signupPresenter presenter for formatting responses
      * @param userFactory factory for creating User entities
+     * @param fanOutExecutor runs the username and email checks concurrently
      */
     public SignupInteractor(
         SignupUserDataAccessInterface userDataAccessObject,
         SignupOutputBoundary signupPresenter,
-        UserFactory userFactory) {
+        UserFactory userFactory,
+        FanOutExecutor fanOutExecutor) {
         this.userDataAccessObject = userDataAccessObject;
         this.signupPresenter = signupPresenter;
         this.userFactory = userFactory;
+        this.fanOutExecutor = fanOutExecutor;
     }
 
     @Override
     public SignupResponseDto execute(SignupInputData signupInputData) throws DatabaseAccessException {
-        if (userDataAccessObject.existsByName(signupInputData.getUsername())) {
-            throw new InvalidSignupException("Username is already taken");
+        // The checks do not depend on each other, so they run at the same time
+        final List<AvailabilityCheck> checks = List.of(
+            () -> userDataAccessObject.existsByName(signupInputData.getUsername()),
+            () -> userDataAccessObject.existsByEmail(signupInputData.getEmail()));
+        final List<Boolean> taken = fanOutExecutor.invokeAll(checks, AvailabilityCheck::isTaken);
+
+        if (taken.get(0)) {
+            throw new InvalidSignupException(Constants.ErrorMessages.SIGNUP_USERNAME_TAKEN);
         }
 
-        if (userDataAccessObject.existsByEmail(signupInputData.getEmail())) {
-            throw new EmailAlreadyRegisteredException("Email is already registered");
+        if (taken.get(1)) {
+            throw new EmailAlreadyRegisteredException(Constants.ErrorMessages.SIGNUP_EMAIL_REGISTERED);
         }
 
         final User user = userFactory.create(
             signupInputData.getUsername(),
             signupInputData.getEmail());
 
-        // Save the user and get authentication tokens
+        // Save the user and get authentication tokens, Supabase still rejects names taken in the meantime
         final AuthenticationToken tokens = userDataAccessObject.save(user, signupInputData.getPassword());
 
         return signupPresenter.prepareResponse(
             new SignupOutputData(user.getName(), signupInputData.getEmail(), tokens));
     }
+
+    /**
+     * Checks whether a username or email is already in use.
+     */
+    @FunctionalInterface
+    private interface AvailabilityCheck {
+        boolean isTaken() throws DatabaseAccessException;
+    }
 }
@@ -2,6 +2,8 @@ package com.pawmodoro.users.service.signup;
 
 import com.pawmodoro.core.DatabaseAccessException;
 import com.pawmodoro.users.entity.AuthenticationToken;
+import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
+import com.pawmodoro.users.entity.InvalidSignupException;
 import com.pawmodoro.users.entity.User;
 
 /**
@@ -30,6 +32,8 @@ public interface SignupUserDataAccessInterface {
      * @param user the user to save
      * @param password the user's password
      * @return authentication tokens for the new user
+     * @throws EmailAlreadyRegisteredException if the email was registered since it was checked
+     * @throws InvalidSignupException if the username was taken since it was checked
      * @throws DatabaseAccessException if there is a database error
      */
     AuthenticationToken save(User user, String password) throws DatabaseAccessException;
@@ -0,0 +1,86 @@
+package com.pawmodoro;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pawmodoro.constants.Constants;
+
+/**
+ * Runs a user's first requests through the whole application with the in-memory storage.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+class InMemoryApplicationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void signedUpUserSeesNewCatOnDashboard() throws Exception {
+        // Arrange
+        final String authorization = signUp("testuser", "test@example.com");
+
+        // Act
+        mockMvc.perform(post("/api/cats/testuser")
+            .header("Authorization", authorization)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\": \"Whiskers\", \"imageFileName\": \"cat-1.png\"}"))
+            .andExpect(status().isCreated());
+
+        // Assert
+        mockMvc.perform(get("/api/dashboard").header("Authorization", authorization))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("testuser"))
+            .andExpect(jsonPath("$.cats.data[0].name").value("Whiskers"))
+            .andExpect(jsonPath("$.settings.data.focusDuration").value(25));
+    }
+
+    @Test
+    void completingSessionTwiceReturnsConflict() throws Exception {
+        // Arrange
+        final String authorization = signUp("sessionuser", "session@example.com");
+        final String created = mockMvc.perform(post("/api/sessions")
+            .header("Authorization", authorization)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"sessionType\": \"focus\", \"durationMinutes\": 25}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        final String sessionId = new JSONObject(created).getString("id");
+        mockMvc.perform(patch("/api/sessions/" + sessionId + "/complete").header("Authorization", authorization))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.completed").value(true));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/sessions/" + sessionId + "/complete").header("Authorization", authorization))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(
+                String.format(Constants.ErrorMessages.SESSION_ALREADY_COMPLETED, sessionId)));
+    }
+
+    private String signUp(String username, String email) throws Exception {
+        final String signup = mockMvc.perform(post("/api/users/signup")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(new JSONObject()
+                .put("username", username)
+                .put("email", email)
+                .put("password", "password123")
+                .put("confirmPassword", "password123")
+                .toString()))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new JSONObject(signup).getString("accessToken");
+    }
+}
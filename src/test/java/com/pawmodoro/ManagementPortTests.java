@@ -0,0 +1,48 @@
+package com.pawmodoro;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Checks that the actuator endpoints are only served on the management port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ManagementPortTests {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void metricsAreNotServedOnTheApiPort() {
+        // Act
+        final ResponseEntity<String> prometheus = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        final ResponseEntity<String> metrics = restTemplate.getForEntity("/actuator/metrics", String.class);
+
+        // Assert
+        assertFalse(prometheus.getStatusCode().is2xxSuccessful());
+        assertFalse(metrics.getStatusCode().is2xxSuccessful());
+    }
+
+    @Test
+    void actuatorIsServedOnTheManagementPort() {
+        // Act
+        final ResponseEntity<String> health = restTemplate.getForEntity(
+            "http://127.0.0.1:" + managementPort + "/actuator/health", String.class);
+        final ResponseEntity<String> metrics = restTemplate.getForEntity(
+            "http://127.0.0.1:" + managementPort + "/actuator/metrics", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, health.getStatusCode());
+        assertEquals(HttpStatus.OK, metrics.getStatusCode());
+    }
+}
@@ -0,0 +1,104 @@
+package com.pawmodoro;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.pawmodoro.core.SupabaseStandIn;
+
+/**
+ * Runs a user's requests through the whole application and its HTTP data access objects, against the
+ * Supabase stand-in instead of a Supabase project.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SupabaseStandInApplicationTests {
+    private static final SupabaseStandIn SUPABASE = new SupabaseStandIn();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void supabaseProperties(DynamicPropertyRegistry registry) throws IOException {
+        SUPABASE.start();
+        registry.add("supabase.url", SUPABASE::url);
+        registry.add("supabase.key", () -> SupabaseStandIn.ANON_KEY);
+        registry.add("supabase.jwt.secret", () -> SupabaseStandIn.JWT_SECRET);
+    }
+
+    @AfterAll
+    static void stopSupabase() throws IOException {
+        SUPABASE.shutdown();
+    }
+
+    @Test
+    void signedUpUserStudiesWithTheirCat() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/users/signup")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"username": "testuser", "email": "test@example.com",
+                 "password": "password123", "confirmPassword": "password123"}
+                """))
+            .andExpect(status().isCreated());
+        final String login = mockMvc.perform(post("/api/users/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\": \"testuser\", \"password\": \"password123\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        final String authorization = "Bearer " + new JSONObject(login).getString("accessToken");
+        mockMvc.perform(post("/api/cats/testuser")
+            .header("Authorization", authorization)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\": \"Whiskers\", \"imageFileName\": \"cat-1.png\"}"))
+            .andExpect(status().isCreated());
+
+        // Act
+        mockMvc.perform(put("/api/cats/testuser/Whiskers/hunger")
+            .header("Authorization", authorization)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"changeAmount\": -30}"))
+            .andExpect(status().isOk());
+        final String session = mockMvc.perform(post("/api/sessions")
+            .header("Authorization", authorization)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"sessionType\": \"focus\", \"durationMinutes\": 25}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        final String sessionId = new JSONObject(session).getString("id");
+        mockMvc.perform(patch("/api/sessions/" + sessionId + "/interruption")
+            .header("Authorization", authorization))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.interruptionCount").value(1));
+
+        // Assert
+        mockMvc.perform(get("/api/dashboard").header("Authorization", authorization))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("testuser"))
+            .andExpect(jsonPath("$.cats.data[0].name").value("Whiskers"))
+            .andExpect(jsonPath("$.cats.data[0].hungerLevel").value(70))
+            .andExpect(jsonPath("$.settings.data.focusDuration").value(25))
+            .andExpect(jsonPath("$.session.status").value("ok"));
+        mockMvc.perform(patch("/api/sessions/" + sessionId + "/complete")
+            .header("Authorization", authorization))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/api/cats/update-after-study").header("Authorization", authorization))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,64 @@
+package com.pawmodoro.cats.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatFactory;
+
+/**
+ * Tests mapping cat rows with the streaming cat reader.
+ */
+class CatJsonReaderTest {
+    private final CatFactory catFactory = new CatFactory();
+    private final CatJsonReader reader = new CatJsonReader(catFactory);
+
+    @Test
+    void readCatsMapsRowsAndSkipsUnknownColumns() throws IOException {
+        // Arrange
+        final String body = "[{\"id\":7,\"cat_name\":\"Mochi\",\"owner_username\":\"alice\","
+            + "\"happiness_level\":80,\"hunger_level\":40,\"image_file_name\":\"cat-1.png\","
+            + "\"meta\":{\"tags\":[1,2]},\"nickname\":null}]";
+
+        // Act
+        final List<Cat> cats = reader.readCats(stream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, cats.size());
+        final Cat cat = cats.get(0);
+        assertEquals("Mochi", cat.getName());
+        assertEquals("alice", cat.getOwnerUsername());
+        assertEquals(80, cat.getHappinessLevel());
+        assertEquals(40, cat.getHungerLevel());
+        assertEquals("cat-1.png", cat.getImageFileName());
+    }
+
+    @Test
+    void readCatsReturnsEmptyListForEmptyArray() throws IOException {
+        assertTrue(reader.readCats(stream("[]".getBytes(StandardCharsets.UTF_8))).isEmpty());
+    }
+
+    @Test
+    void readCatsRejectsRowWithoutRequiredColumn() {
+        // Arrange
+        final byte[] body = "[{\"cat_name\":\"Mochi\",\"owner_username\":\"alice\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(JsonParseException.class, () -> reader.readCats(stream(body)));
+    }
+
+    private static InputStream stream(byte[] body) {
+        return new ByteArrayInputStream(body);
+    }
+}
@@ -0,0 +1,172 @@
+package com.pawmodoro.cats.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Tests that cat reads go through the owner cat cache and that writes invalidate it.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatRetrievalDataAccessTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final String OWNER = "testuser";
+    private static final String CATS = "[{\"cat_name\":\"Mochi\",\"owner_username\":\"testuser\","
+        + "\"happiness_level\":80,\"hunger_level\":40,\"image_file_name\":\"cat-1.png\"}]";
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    private MockWebServer server;
+    private OwnerCatCache catCache;
+    private CatRetrievalDataAccess dataAccess;
+    private CatDeletionDataAccess deletion;
+
+    @BeforeEach
+    void setUp() throws IOException, DatabaseAccessException {
+        server = new MockWebServer();
+        server.start();
+
+        final String apiUrl = server.url("").toString().replaceAll("/$", "");
+        final OkHttpClient client = new OkHttpClient();
+        catCache = new OwnerCatCache(100, Duration.ofMinutes(1));
+        dataAccess = new CatRetrievalDataAccess(new CatJsonReader(new CatFactory()), catCache, tokenVerifier,
+            client, apiUrl, "test-key");
+        deletion = new CatDeletionDataAccess(catCache, client, apiUrl, "test-key");
+        when(tokenVerifier.getUserId(anyString())).thenReturn(UUID.randomUUID());
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        server.shutdown();
+    }
+
+    @Test
+    void getCatsByOwnerServesRepeatedReadsFromCache() throws DatabaseAccessException {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(CATS));
+
+        // Act
+        final List<Cat> first = dataAccess.getCatsByOwner(OWNER);
+        final List<Cat> second = dataAccess.getCatsByOwner(OWNER);
+
+        // Assert
+        assertEquals("Mochi", first.get(0).getName());
+        assertEquals(first, second);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void getCatsByOwnerSharesOneCallBetweenConcurrentReads() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(CATS).setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> readers = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        final ServletRequestAttributes attributes =
+            (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            readers.add(Thread.ofVirtual().start(() -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    start.await();
+                    assertEquals(1, dataAccess.getCatsByOwner(OWNER).size());
+                }
+                catch (InterruptedException | DatabaseAccessException | AssertionError exception) {
+                    synchronized (failures) {
+                        failures.add(exception);
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // Assert
+        assertEquals(List.of(), failures);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void deleteCatInvalidatesOwnerCats() throws DatabaseAccessException {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(CATS));
+        server.enqueue(new MockResponse().setResponseCode(204));
+        server.enqueue(new MockResponse().setBody("[]"));
+        dataAccess.getCatsByOwner(OWNER);
+
+        // Act
+        deletion.deleteCat("Mochi", OWNER);
+        final List<Cat> afterDelete = dataAccess.getCatsByOwner(OWNER);
+
+        // Assert
+        assertEquals(List.of(), afterDelete);
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void getCatsByOwnerDoesNotCacheFailures() throws DatabaseAccessException {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody(CATS));
+
+        // Act & Assert
+        assertThrows(DatabaseAccessException.class, () -> dataAccess.getCatsByOwner(OWNER));
+        assertEquals(1, dataAccess.getCatsByOwner(OWNER).size());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void getCatsByOwnerKeepsEntriesPerReader() throws DatabaseAccessException {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(CATS));
+        server.enqueue(new MockResponse().setBody("[]"));
+        when(tokenVerifier.getUserId(anyString())).thenReturn(UUID.randomUUID(), UUID.randomUUID());
+
+        // Act
+        final List<Cat> ownerView = dataAccess.getCatsByOwner(OWNER);
+        final List<Cat> otherView = dataAccess.getCatsByOwner(OWNER);
+
+        // Assert
+        assertEquals(1, ownerView.size());
+        assertEquals(List.of(), otherView);
+        assertEquals(2, server.getRequestCount());
+    }
+}
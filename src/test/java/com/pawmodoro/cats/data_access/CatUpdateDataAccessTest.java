@@ -0,0 +1,519 @@
+package com.pawmodoro.cats.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.cats.data_access.CatUpdateDataAccess.CatUpdateResult;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.cats.entity.NoCatsFoundException;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.FanOutExecutor;
+import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.core.TokenIdentityCache;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Tests the cat stat updates against a local stand-in for the cat database functions.
+ */
+@ExtendWith(MockitoExtension.class)
+class CatUpdateDataAccessTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final String OWNER = "testuser";
+    private static final String CAT_NAME = "TestCat";
+    private static final String IMAGE_FILE = "cat-1.png";
+
+    @Mock
+    private CatRetrievalDataAccess catRetrieval;
+
+    @Mock
+    private CatDeletionDataAccess catDeletion;
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    @Mock
+    private TokenIdentityCache identityCache;
+
+    private MockWebServer server;
+    private CatRpcStandIn standIn;
+    private CatUpdateDataAccess dataAccess;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standIn = new CatRpcStandIn();
+        server = new MockWebServer();
+        server.setDispatcher(standIn);
+        server.start();
+
+        final String apiUrl = server.url("").toString().replaceAll("/$", "");
+        dataAccess = new CatUpdateDataAccess(new CatJsonReader(new CatFactory()),
+            new OwnerCatCache(100, Duration.ofMinutes(1)), catRetrieval, catDeletion,
+            tokenVerifier, identityCache, new FanOutExecutor(4, Duration.ofSeconds(5), true, 1),
+            new OkHttpClient(), apiUrl, "test-key");
+        bindAuthorizationHeader();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        server.shutdown();
+    }
+
+    @Test
+    void updateHungerUsesSingleRequestAndClampsResult() throws Exception {
+        // Arrange
+        standIn.addCat(CAT_NAME, OWNER, 50, 90);
+
+        // Act
+        final Cat cat = dataAccess.updateHunger(CAT_NAME, OWNER, 20);
+
+        // Assert
+        assertEquals(100, cat.getHungerLevel());
+        assertEquals(50, cat.getHappinessLevel());
+        assertEquals(1, server.getRequestCount());
+        final RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals(Constants.Endpoints.ADJUST_CAT_STAT_RPC, request.getPath());
+        assertEquals(TOKEN, request.getHeader(Constants.Http.AUTH_HEADER));
+    }
+
+    @Test
+    void updateHappinessClampsAtZero() throws Exception {
+        // Arrange
+        standIn.addCat(CAT_NAME, OWNER, 10, 50);
+
+        // Act
+        final Cat cat = dataAccess.updateHappiness(CAT_NAME, OWNER, -30);
+
+        // Assert
+        assertEquals(0, cat.getHappinessLevel());
+        assertEquals(50, cat.getHungerLevel());
+    }
+
+    @Test
+    void updateHungerWhenCatMissingThrowsNoCatsFoundException() {
+        assertThrows(NoCatsFoundException.class, () -> dataAccess.updateHunger(CAT_NAME, OWNER, 10));
+    }
+
+    @Test
+    void updateHungerWhenTokenRejectedThrowsAuthenticationException() {
+        // Arrange
+        respondToEveryRequestWith(401);
+
+        // Act & Assert
+        assertThrows(AuthenticationException.class, () -> dataAccess.updateHunger(CAT_NAME, OWNER, 10));
+    }
+
+    @Test
+    void updateHungerFallsBackToConditionalPatchWithoutAdjustFunction() throws Exception {
+        // Arrange
+        standIn.setAdjustFunctionDeployed(false);
+        standIn.addCat(CAT_NAME, OWNER, 50, 95);
+
+        // Act
+        final Cat cat = dataAccess.updateHunger(CAT_NAME, OWNER, 20);
+
+        // Assert
+        assertEquals(100, cat.getHungerLevel());
+        assertEquals(100, standIn.getStat(CAT_NAME, OWNER, Constants.JsonFields.HUNGER_LEVEL));
+        assertEquals(3, server.getRequestCount());
+        assertEquals(Constants.Endpoints.ADJUST_CAT_STAT_RPC, server.takeRequest().getPath());
+        assertEquals("GET", server.takeRequest().getMethod());
+        final RecordedRequest patch = server.takeRequest();
+        assertEquals("PATCH", patch.getMethod());
+        assertEquals("eq.95", patch.getRequestUrl().queryParameter(Constants.JsonFields.HUNGER_LEVEL));
+    }
+
+    @Test
+    void conditionalPatchRetriesWhenCatChangedInBetween() throws Exception {
+        // Arrange
+        standIn.setAdjustFunctionDeployed(false);
+        standIn.addCat(CAT_NAME, OWNER, 50, 40);
+        standIn.feedBeforeNextPatch(5);
+
+        // Act
+        final Cat cat = dataAccess.updateHunger(CAT_NAME, OWNER, 10);
+
+        // Assert
+        assertEquals(55, cat.getHungerLevel());
+        assertEquals(55, standIn.getStat(CAT_NAME, OWNER, Constants.JsonFields.HUNGER_LEVEL));
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    void updateHungerWithoutAdjustFunctionWhenCatMissingThrowsNoCatsFoundException() {
+        // Arrange
+        standIn.setAdjustFunctionDeployed(false);
+
+        // Act & Assert
+        assertThrows(NoCatsFoundException.class, () -> dataAccess.updateHunger(CAT_NAME, OWNER, 10));
+    }
+
+    @Test
+    void concurrentFeedsAreNotLost() throws Exception {
+        // Arrange
+        final int feeds = 40;
+        standIn.addCat(CAT_NAME, OWNER, 50, 0);
+        final List<Callable<Cat>> tasks = new ArrayList<>();
+        for (int i = 0; i < feeds; i++) {
+            tasks.add(() -> {
+                bindAuthorizationHeader();
+                try {
+                    return dataAccess.updateHunger(CAT_NAME, OWNER, 1);
+                }
+                finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            });
+        }
+
+        // Act
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Cat> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(feeds, standIn.getStat(CAT_NAME, OWNER, Constants.JsonFields.HUNGER_LEVEL));
+    }
+
+    @Test
+    void updateCatsHappinessSendsOneRequestAndReportsMissingCats() throws Exception {
+        // Arrange
+        standIn.addCat(CAT_NAME, OWNER, 40, 50);
+        standIn.addCat("OtherCat", OWNER, 10, 50);
+        final Map<Cat, Integer> updates = new LinkedHashMap<>();
+        updates.put(new Cat(CAT_NAME, OWNER, 40, 50, IMAGE_FILE), 60);
+        updates.put(new Cat("GoneCat", OWNER, 20, 50, IMAGE_FILE), 30);
+        updates.put(new Cat("OtherCat", OWNER, 10, 50, IMAGE_FILE), 25);
+
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappiness(updates);
+
+        // Assert
+        assertEquals(1, server.getRequestCount());
+        assertEquals(Constants.Endpoints.SET_CATS_HAPPINESS_RPC, server.takeRequest().getPath());
+        assertEquals(List.of(CAT_NAME, "OtherCat"),
+            result.getUpdatedCats().stream().map(Cat::getName).toList());
+        assertEquals(60, result.getUpdatedCats().get(0).getHappinessLevel());
+        assertEquals(25, result.getUpdatedCats().get(1).getHappinessLevel());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).contains("GoneCat"));
+    }
+
+    @Test
+    void updateCatsHappinessWithNoCatsSendsNoRequest() throws Exception {
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappiness(Map.of());
+
+        // Assert
+        assertTrue(result.getUpdatedCats().isEmpty());
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    void updateCatsHappinessFallsBackToConcurrentPatchesWithoutBulkFunction() throws Exception {
+        // Arrange
+        standIn.setBulkFunctionDeployed(false);
+        final Map<Cat, Integer> updates = new LinkedHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            standIn.addCat("Cat" + i, OWNER, 10, 50);
+            updates.put(new Cat("Cat" + i, OWNER, 10, 50, IMAGE_FILE), 20 + i);
+        }
+        updates.put(new Cat("GoneCat", OWNER, 20, 50, IMAGE_FILE), 30);
+
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappiness(updates);
+
+        // Assert
+        assertEquals(List.of("Cat0", "Cat1", "Cat2", "Cat3", "Cat4", "Cat5"),
+            result.getUpdatedCats().stream().map(Cat::getName).toList());
+        assertEquals(25, result.getUpdatedCats().get(5).getHappinessLevel());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).contains("GoneCat"));
+    }
+
+    @Test
+    void updateCatsHappinessFallbackStopsOnForbidden() {
+        // Arrange
+        standIn.setBulkFunctionDeployed(false);
+        standIn.setPatchStatus(403);
+        final Map<Cat, Integer> updates = Map.of(new Cat(CAT_NAME, OWNER, 10, 50, IMAGE_FILE), 20);
+
+        // Act & Assert
+        final DatabaseAccessException exception = assertThrows(ForbiddenAccessException.class,
+            () -> dataAccess.updateCatsHappiness(updates));
+        assertEquals(Constants.ErrorMessages.CAT_UPDATE_UNAUTHORIZED, exception.getMessage());
+    }
+
+    @Test
+    void updateCatsHappinessWhenTokenRejectedThrowsAuthenticationException() {
+        // Arrange
+        respondToEveryRequestWith(401);
+        final Map<Cat, Integer> updates = Map.of(new Cat(CAT_NAME, OWNER, 10, 50, IMAGE_FILE), 20);
+
+        // Act & Assert
+        assertThrows(AuthenticationException.class, () -> dataAccess.updateCatsHappiness(updates));
+    }
+
+    @Test
+    void updateCatsHappinessWhenForbiddenThrowsForbiddenAccessException() {
+        // Arrange
+        respondToEveryRequestWith(403);
+        final Map<Cat, Integer> updates = Map.of(new Cat(CAT_NAME, OWNER, 10, 50, IMAGE_FILE), 20);
+
+        // Act & Assert
+        assertThrows(ForbiddenAccessException.class, () -> dataAccess.updateCatsHappiness(updates));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void updateCatsHappinessAsyncWhenForbiddenFailsWithForbiddenAccessException() {
+        // Arrange
+        respondToEveryRequestWith(403);
+        final Map<Cat, Integer> updates = Map.of(new Cat(CAT_NAME, OWNER, 10, 50, IMAGE_FILE), 20);
+
+        // Act
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> dataAccess.updateCatsHappinessAsync(updates, "async-token").get());
+
+        // Assert
+        assertInstanceOf(ForbiddenAccessException.class, exception.getCause());
+    }
+
+    @Test
+    void updateCatsHappinessAsyncUsesGivenToken() throws Exception {
+        // Arrange
+        standIn.addCat(CAT_NAME, OWNER, 40, 50);
+        RequestContextHolder.resetRequestAttributes();
+
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappinessAsync(
+            Map.of(new Cat(CAT_NAME, OWNER, 40, 50, IMAGE_FILE), 55), "async-token").get();
+
+        // Assert
+        assertEquals(55, result.getUpdatedCats().get(0).getHappinessLevel());
+        assertEquals(Constants.Http.BEARER_PREFIX + "async-token",
+            server.takeRequest().getHeader(Constants.Http.AUTH_HEADER));
+    }
+
+    @Test
+    void updateCatsHappinessAsyncFallsBackWithoutBulkFunction() throws Exception {
+        // Arrange
+        standIn.setBulkFunctionDeployed(false);
+        standIn.addCat(CAT_NAME, OWNER, 40, 50);
+
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappinessAsync(
+            Map.of(new Cat(CAT_NAME, OWNER, 40, 50, IMAGE_FILE), 55), "async-token").get();
+
+        // Assert
+        assertEquals(55, result.getUpdatedCats().get(0).getHappinessLevel());
+        assertTrue(result.getFailures().isEmpty());
+    }
+
+    private void respondToEveryRequestWith(int status) {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(status).setBody("{}");
+            }
+        });
+    }
+
+    private static void bindAuthorizationHeader() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Emulates the adjust_cat_stat and set_cats_happiness database functions: one atomic
+     * clamped update per call that returns the updated rows. Single cats can also be
+     * read and patched through the cats table, where a stat filter only matches the cat
+     * while it has that value.
+     */
+    private static final class CatRpcStandIn extends Dispatcher {
+        private final Map<String, JSONObject> cats = new ConcurrentHashMap<>();
+        private final AtomicInteger hungerAddedBeforeNextPatch = new AtomicInteger();
+        private volatile boolean adjustFunctionDeployed = true;
+        private volatile boolean bulkFunctionDeployed = true;
+        private volatile int patchStatus = 200;
+
+        void setAdjustFunctionDeployed(boolean adjustFunctionDeployed) {
+            this.adjustFunctionDeployed = adjustFunctionDeployed;
+        }
+
+        void setBulkFunctionDeployed(boolean bulkFunctionDeployed) {
+            this.bulkFunctionDeployed = bulkFunctionDeployed;
+        }
+
+        /**
+         * Feeds every cat once more just before the next PATCH is applied, like a concurrent request would.
+         */
+        void feedBeforeNextPatch(int amount) {
+            hungerAddedBeforeNextPatch.set(amount);
+        }
+
+        void setPatchStatus(int patchStatus) {
+            this.patchStatus = patchStatus;
+        }
+
+        void addCat(String catName, String owner, int happiness, int hunger) {
+            cats.put(key(catName, owner), new JSONObject()
+                .put(Constants.JsonFields.CAT_NAME, catName)
+                .put(Constants.JsonFields.OWNER_USERNAME, owner)
+                .put(Constants.JsonFields.HAPPINESS_LEVEL, happiness)
+                .put(Constants.JsonFields.HUNGER_LEVEL, hunger)
+                .put(Constants.JsonFields.IMAGE_FILE_NAME, IMAGE_FILE));
+        }
+
+        int getStat(String catName, String owner, String stat) {
+            return cats.get(key(catName, owner)).getInt(stat);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final MockResponse response;
+            if (Constants.Endpoints.ADJUST_CAT_STAT_RPC.equals(request.getPath()) && adjustFunctionDeployed) {
+                response = adjustCatStat(request);
+            }
+            else if (Constants.Endpoints.SET_CATS_HAPPINESS_RPC.equals(request.getPath())
+                && bulkFunctionDeployed) {
+                response = setCatsHappiness(request);
+            }
+            else if ("PATCH".equals(request.getMethod())
+                && request.getPath().startsWith(Constants.Endpoints.CATS_ENDPOINT)) {
+                response = patchCat(request);
+            }
+            else if ("GET".equals(request.getMethod())
+                && request.getPath().startsWith(Constants.Endpoints.CATS_ENDPOINT)) {
+                final JSONObject cat = cats.get(filteredKey(request.getRequestUrl()));
+                final JSONArray rows = cat == null ? new JSONArray() : new JSONArray().put(cat);
+                response = new MockResponse().setResponseCode(200).setBody(rows.toString());
+            }
+            else {
+                response = new MockResponse().setResponseCode(404);
+            }
+            return response;
+        }
+
+        private MockResponse setCatsHappiness(RecordedRequest request) {
+            final JSONArray updates = new JSONObject(request.getBody().readUtf8())
+                .getJSONArray(Constants.JsonFields.UPDATES_PARAM);
+            final JSONArray rows = new JSONArray();
+            for (int i = 0; i < updates.length(); i++) {
+                final JSONObject update = updates.getJSONObject(i);
+                final int level = update.getInt(Constants.JsonFields.HAPPINESS_LEVEL);
+                cats.computeIfPresent(
+                    key(update.getString(Constants.JsonFields.CAT_NAME),
+                        update.getString(Constants.JsonFields.OWNER_USERNAME)),
+                    (key, cat) -> {
+                        cat.put(Constants.JsonFields.HAPPINESS_LEVEL, Math.clamp(level, 0, 100));
+                        rows.put(new JSONObject(cat.toString()));
+                        return cat;
+                    });
+            }
+            return new MockResponse().setResponseCode(200).setBody(rows.toString());
+        }
+
+        private MockResponse patchCat(RecordedRequest request) {
+            if (patchStatus != 200) {
+                return new MockResponse().setResponseCode(patchStatus).setBody("{}");
+            }
+
+            final HttpUrl url = request.getRequestUrl();
+            final JSONObject changes = new JSONObject(request.getBody().readUtf8());
+            final int concurrentFeed = hungerAddedBeforeNextPatch.getAndSet(0);
+            final JSONArray rows = new JSONArray();
+            cats.computeIfPresent(filteredKey(url), (key, cat) -> {
+                cat.put(Constants.JsonFields.HUNGER_LEVEL,
+                    cat.getInt(Constants.JsonFields.HUNGER_LEVEL) + concurrentFeed);
+                if (hasFilteredStats(url, cat)) {
+                    changes.keySet().forEach(column -> cat.put(column, changes.get(column)));
+                    rows.put(new JSONObject(cat.toString()));
+                }
+                return cat;
+            });
+            return new MockResponse().setResponseCode(200).setBody(rows.toString());
+        }
+
+        private static String filteredKey(HttpUrl url) {
+            return key(url.queryParameter(Constants.JsonFields.CAT_NAME_LOWER).substring("eq.".length()),
+                url.queryParameter(Constants.JsonFields.OWNER_USERNAME_LOWER).substring("eq.".length()));
+        }
+
+        private static boolean hasFilteredStats(HttpUrl url, JSONObject cat) {
+            for (String stat : List.of(Constants.JsonFields.HUNGER_LEVEL, Constants.JsonFields.HAPPINESS_LEVEL)) {
+                final String filter = url.queryParameter(stat);
+                if (filter != null && cat.getInt(stat) != Integer.parseInt(filter.substring("eq.".length()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private MockResponse adjustCatStat(RecordedRequest request) {
+            final JSONObject params = new JSONObject(request.getBody().readUtf8());
+            final String stat = params.getString(Constants.JsonFields.STAT_PARAM);
+            final int delta = params.getInt(Constants.JsonFields.DELTA_PARAM);
+            final JSONArray rows = new JSONArray();
+            cats.computeIfPresent(
+                key(params.getString(Constants.JsonFields.CAT_NAME_PARAM),
+                    params.getString(Constants.JsonFields.OWNER_USERNAME_PARAM)),
+                (key, cat) -> {
+                    cat.put(stat, Math.clamp((long) cat.getInt(stat) + delta, 0, 100));
+                    rows.put(new JSONObject(cat.toString()));
+                    return cat;
+                });
+            return new MockResponse().setResponseCode(200).setBody(rows.toString());
+        }
+
+        private static String key(String catName, String owner) {
+            return owner.toLowerCase() + "/" + catName.toLowerCase();
+        }
+    }
+}
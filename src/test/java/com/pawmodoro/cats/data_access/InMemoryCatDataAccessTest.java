@@ -0,0 +1,154 @@
+package com.pawmodoro.cats.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.cats.data_access.CatUpdateDataAccess.CatUpdateResult;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatAlreadyExistsException;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.cats.entity.NoCatsFoundException;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.ForbiddenAccessException;
+import com.pawmodoro.core.SimulatedLatency;
+import com.pawmodoro.users.data_access.InMemoryUserDataAccess;
+import com.pawmodoro.users.entity.CommonUserFactory;
+
+/**
+ * Tests the in-memory cat storage.
+ */
+class InMemoryCatDataAccessTest {
+    private static final String OWNER = "testuser";
+    private static final String OTHER_USER = "otheruser";
+    private static final String CAT_NAME = "TestCat";
+    private static final String IMAGE_FILE = "cat-1.png";
+
+    private final CatFactory catFactory = new CatFactory();
+    private InMemoryUserDataAccess users;
+    private InMemoryCatDataAccess dataAccess;
+    private String ownerToken;
+    private String otherToken;
+
+    @BeforeEach
+    void setUp() {
+        final SimulatedLatency latency = new SimulatedLatency(Duration.ZERO, Duration.ZERO);
+        final CommonUserFactory userFactory = new CommonUserFactory();
+        users = new InMemoryUserDataAccess(userFactory, latency);
+        dataAccess = new InMemoryCatDataAccess(users, catFactory, latency);
+        ownerToken = users.save(userFactory.create(OWNER, "owner@example.com"), "password").accessToken();
+        otherToken = users.save(userFactory.create(OTHER_USER, "other@example.com"), "password").accessToken();
+        bindAuthorizationHeader(ownerToken);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void saveCatWithTakenNameIgnoringCaseThrowsCatAlreadyExistsException() throws Exception {
+        // Arrange
+        dataAccess.saveCat(catFactory.create(CAT_NAME, OWNER, IMAGE_FILE));
+
+        // Act & Assert
+        assertThrows(CatAlreadyExistsException.class,
+            () -> dataAccess.saveCat(catFactory.create("testcat", OWNER, IMAGE_FILE)));
+    }
+
+    @Test
+    void saveCatForAnotherUserThrowsForbiddenAccessException() {
+        assertThrows(ForbiddenAccessException.class,
+            () -> dataAccess.saveCat(catFactory.create(CAT_NAME, OTHER_USER, IMAGE_FILE)));
+    }
+
+    @Test
+    void catsOfAnotherUserAreNotVisible() throws Exception {
+        // Arrange
+        dataAccess.saveCat(catFactory.create(CAT_NAME, OWNER, IMAGE_FILE));
+        bindAuthorizationHeader(otherToken);
+
+        // Act & Assert
+        assertTrue(dataAccess.getCatsByOwner(OWNER).isEmpty());
+        assertThrows(NoCatsFoundException.class, () -> dataAccess.updateHunger(CAT_NAME, OWNER, -10));
+    }
+
+    @Test
+    void updateHungerClampsResult() throws Exception {
+        // Arrange
+        dataAccess.saveCat(catFactory.create(CAT_NAME, OWNER, 50, 90, IMAGE_FILE));
+
+        // Act
+        final Cat cat = dataAccess.updateHunger(CAT_NAME, OWNER, 20);
+
+        // Assert
+        assertEquals(100, cat.getHungerLevel());
+        assertEquals(50, cat.getHappinessLevel());
+    }
+
+    @Test
+    void concurrentUpdatesAreAllApplied() throws Exception {
+        // Arrange
+        dataAccess.saveCat(catFactory.create(CAT_NAME, OWNER, 100, 100, IMAGE_FILE));
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        final List<Callable<Cat>> updates = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            updates.add(() -> {
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                return dataAccess.updateHappiness(CAT_NAME, OWNER, -1);
+            });
+        }
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Cat> future : executor.invokeAll(updates)) {
+                future.get();
+            }
+        }
+
+        // Assert
+        assertEquals(60, dataAccess.getCatsByOwner(OWNER).get(0).getHappinessLevel());
+    }
+
+    @Test
+    void updateCatsHappinessReportsCatsThatWereNotFound() throws Exception {
+        // Arrange
+        dataAccess.saveCat(catFactory.create(CAT_NAME, OWNER, 40, 40, IMAGE_FILE));
+        final Map<Cat, Integer> updates = new LinkedHashMap<>();
+        updates.put(catFactory.create(CAT_NAME, OWNER, 40, 40, IMAGE_FILE), 150);
+        updates.put(catFactory.create("MissingCat", OWNER, 40, 40, IMAGE_FILE), 60);
+
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappinessAsync(updates, ownerToken).get();
+
+        // Assert
+        assertEquals(1, result.getUpdatedCats().size());
+        assertEquals(100, result.getUpdatedCats().get(0).getHappinessLevel());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).contains("MissingCat"));
+    }
+
+    private static void bindAuthorizationHeader(String token) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, Constants.Http.BEARER_PREFIX + token);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
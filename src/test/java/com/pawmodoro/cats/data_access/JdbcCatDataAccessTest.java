@@ -0,0 +1,215 @@
+package com.pawmodoro.cats.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.cats.data_access.CatUpdateDataAccess.CatUpdateResult;
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.cats.entity.CatAlreadyExistsException;
+import com.pawmodoro.cats.entity.CatFactory;
+import com.pawmodoro.cats.entity.NoCatsFoundException;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.PostgresStandIn;
+import com.pawmodoro.core.RlsTransactions;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.core.TokenIdentityCache;
+import com.pawmodoro.core.VerifiedToken;
+
+/**
+ * Tests the JDBC cat data access against an in-memory database standing in for Postgres.
+ */
+@ExtendWith(MockitoExtension.class)
+class JdbcCatDataAccessTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final String OWNER = "testuser";
+    private static final String CAT_NAME = "TestCat";
+    private static final String IMAGE_FILE = "cat-1.png";
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    @Mock
+    private TokenIdentityCache identityCache;
+
+    private PostgresStandIn database;
+    private JdbcCatDataAccess dataAccess;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = PostgresStandIn.create();
+        dataAccess = new JdbcCatDataAccess(new RlsTransactions(database.dataSource(), "authenticated"),
+            tokenVerifier, identityCache, new CatFactory());
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        RequestContextHolder.resetRequestAttributes();
+        database.shutdown();
+    }
+
+    @Test
+    void saveCatActsAsCallerAndStoresCat() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+
+        // Act
+        dataAccess.saveCat(new CatFactory().create(CAT_NAME, OWNER, 100, 80, IMAGE_FILE));
+
+        // Assert
+        final List<Cat> cats = dataAccess.getCatsByOwner(OWNER);
+        assertEquals(1, cats.size());
+        assertEquals(CAT_NAME, cats.get(0).getName());
+        assertEquals(80, cats.get(0).getHungerLevel());
+        final JSONObject claims = new JSONObject(database.settings("request.jwt.claims").get(0));
+        assertEquals(USER_ID.toString(), claims.getString("sub"));
+        assertEquals("authenticated", claims.getString("role"));
+        assertEquals(List.of("authenticated", "authenticated"), database.settings("role"));
+    }
+
+    @Test
+    void saveCatWithTakenNameThrowsCatAlreadyExistsException() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        addCat(CAT_NAME, 100, 100);
+
+        // Act & Assert
+        assertThrows(CatAlreadyExistsException.class,
+            () -> dataAccess.saveCat(new CatFactory().create(CAT_NAME, OWNER, IMAGE_FILE)));
+    }
+
+    @Test
+    void deleteCatRemovesOnlyThatCat() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        addCat(CAT_NAME, 100, 100);
+        addCat("OtherCat", 100, 100);
+
+        // Act
+        dataAccess.deleteCat(CAT_NAME, OWNER);
+
+        // Assert
+        assertFalse(dataAccess.catExistsByNameAndOwnerUsername(CAT_NAME, OWNER));
+        assertTrue(dataAccess.catExistsByNameAndOwnerUsername("OtherCat", OWNER));
+    }
+
+    @Test
+    void updateHungerClampsResult() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        addCat(CAT_NAME, 50, 90);
+
+        // Act
+        final Cat cat = dataAccess.updateHunger(CAT_NAME, OWNER, 20);
+
+        // Assert
+        assertEquals(100, cat.getHungerLevel());
+        assertEquals(50, cat.getHappinessLevel());
+    }
+
+    @Test
+    void updateHungerMatchesCatIgnoringCase() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        addCat(CAT_NAME, 50, 40);
+
+        // Act
+        final Cat cat = dataAccess.updateHunger(CAT_NAME.toLowerCase(), OWNER.toUpperCase(), 10);
+
+        // Assert
+        assertEquals(CAT_NAME, cat.getName());
+        assertEquals(50, cat.getHungerLevel());
+    }
+
+    @Test
+    void updateHappinessClampsAtZero() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        addCat(CAT_NAME, 10, 50);
+
+        // Act
+        final Cat cat = dataAccess.updateHappiness(CAT_NAME, OWNER, -30);
+
+        // Assert
+        assertEquals(0, cat.getHappinessLevel());
+        assertEquals(50, cat.getHungerLevel());
+    }
+
+    @Test
+    void updateHungerWhenCatMissingThrowsNoCatsFoundException() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+
+        // Act & Assert
+        assertThrows(NoCatsFoundException.class, () -> dataAccess.updateHunger(CAT_NAME, OWNER, 10));
+    }
+
+    @Test
+    void updateCatsHappinessReportsCatsThatWereNotFound() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        addCat(CAT_NAME, 40, 40);
+        final CatFactory catFactory = new CatFactory();
+        final Map<Cat, Integer> updates = new LinkedHashMap<>();
+        updates.put(catFactory.create("testcat", "TestUser", 40, 40, IMAGE_FILE), 150);
+        updates.put(catFactory.create("MissingCat", OWNER, 40, 40, IMAGE_FILE), 60);
+
+        // Act
+        final CatUpdateResult result = dataAccess.updateCatsHappiness(updates);
+
+        // Assert
+        assertEquals(1, result.getUpdatedCats().size());
+        assertEquals(CAT_NAME, result.getUpdatedCats().get(0).getName());
+        assertEquals(100, result.getUpdatedCats().get(0).getHappinessLevel());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).contains("MissingCat"));
+    }
+
+    @Test
+    void getIdentityFromTokenReadsUsernameFromProfileAndCachesIt() throws Exception {
+        // Arrange
+        final VerifiedToken verifiedToken = new VerifiedToken(USER_ID, Instant.now().plusSeconds(3600));
+        when(tokenVerifier.verify("test-token")).thenReturn(verifiedToken);
+        database.execute("insert into user_profiles (id, username) values ('" + USER_ID + "', '" + OWNER + "')");
+
+        // Act
+        final TokenIdentity identity = dataAccess.getIdentityFromToken("test-token");
+
+        // Assert
+        assertEquals(OWNER, identity.username());
+        assertEquals(USER_ID, identity.userId());
+        verify(identityCache).put("test-token", identity);
+    }
+
+    private void addCat(String catName, int happinessLevel, int hungerLevel) throws SQLException {
+        database.execute(String.format("insert into cats (cat_name, owner_username, happiness_level, hunger_level,"
+            + " image_file_name) values ('%s', '%s', %d, %d, '%s')",
+            catName, OWNER, happinessLevel, hungerLevel, IMAGE_FILE));
+    }
+}
@@ -0,0 +1,93 @@
+package com.pawmodoro.cats.service.get_all_cats.interface_adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.pawmodoro.cats.interface_adapter.CatDto;
+import com.pawmodoro.cats.service.get_all_cats.GetAllCatsInputBoundary;
+
+/**
+ * Tests that cat lists are tagged with a strong ETag and that matching conditional requests get 304.
+ */
+@ExtendWith(MockitoExtension.class)
+class GetAllCatsControllerTest {
+    private static final String URL = "/api/cats/testuser";
+
+    @Mock
+    private GetAllCatsInputBoundary getAllCatsInteractor;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new GetAllCatsController(getAllCatsInteractor)).build();
+    }
+
+    @Test
+    void getAllCatsReturnsStrongETag() throws Exception {
+        // Arrange
+        when(getAllCatsInteractor.execute(any())).thenReturn(response(80));
+
+        // Act
+        final MockHttpServletResponse response = mockMvc.perform(get(URL)).andReturn().getResponse();
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        final String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals('"', etag.charAt(0));
+    }
+
+    @Test
+    void getAllCatsWithMatchingETagReturnsNotModified() throws Exception {
+        // Arrange
+        when(getAllCatsInteractor.execute(any())).thenReturn(response(80));
+        final String etag = mockMvc.perform(get(URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        final MockHttpServletResponse response = mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andReturn().getResponse();
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals("", response.getContentAsString());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getAllCatsAfterChangeReturnsNewBody() throws Exception {
+        // Arrange
+        when(getAllCatsInteractor.execute(any())).thenReturn(response(80), response(90));
+        final String etag = mockMvc.perform(get(URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        final MockHttpServletResponse response = mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andReturn().getResponse();
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static GetAllCatsResponseDto response(int happinessLevel) {
+        return new GetAllCatsResponseDto(true,
+            List.of(new CatDto("Mochi", "testuser", happinessLevel, 40, "cat-1.png")),
+            "Successfully retrieved cats");
+    }
+}
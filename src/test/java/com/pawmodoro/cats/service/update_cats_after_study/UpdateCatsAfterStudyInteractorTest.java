@@ -1,12 +1,18 @@
 package com.pawmodoro.cats.service.update_cats_after_study;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +27,7 @@ import com.pawmodoro.cats.entity.Cat;
 import com.pawmodoro.cats.interface_adapter.CatDto;
 import com.pawmodoro.cats.service.update_cats_after_study.interface_adapter.UpdateCatsAfterStudyResponseDto;
 import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthenticationException;
 import com.pawmodoro.core.DatabaseAccessException;
 
 @ExtendWith(MockitoExtension.class)
@@ -238,6 +245,77 @@ class UpdateCatsAfterStudyInteractorTest {
         assertEquals(failureMessage, actualOutputData.getFailures().get(0));
     }
 
+    @Test
+    void executeAsyncChainsDataAccessCalls() throws Exception {
+        // Arrange
+        final Cat initialCat = new Cat(CAT_NAME, USERNAME, 90, 100, IMAGE_FILE);
+        final int expectedIncrease = calculateExpectedHappiness(90);
+        final Cat updatedCat = new Cat(CAT_NAME, USERNAME, expectedIncrease, 100, IMAGE_FILE);
+
+        when(dataAccess.getUsernameFromTokenAsync(TOKEN)).thenReturn(CompletableFuture.completedFuture(USERNAME));
+        when(dataAccess.getCatsByOwnerAsync(USERNAME, TOKEN))
+            .thenReturn(CompletableFuture.completedFuture(List.of(initialCat)));
+        when(dataAccess.updateCatsHappinessAsync(any(), eq(TOKEN)))
+            .thenReturn(CompletableFuture.completedFuture(new CatUpdateResult(List.of(updatedCat), List.of())));
+        when(outputBoundary.prepareResponse(any(UpdateCatsAfterStudyOutputData.class)))
+            .thenReturn(new UpdateCatsAfterStudyResponseDto(
+                List.of(new CatDto(CAT_NAME, USERNAME, expectedIncrease, 100, IMAGE_FILE)),
+                List.of()));
+
+        // Act
+        final UpdateCatsAfterStudyResponseDto result = interactor.executeAsync(
+            new UpdateCatsAfterStudyInputData(TOKEN)).get();
+
+        // Assert
+        verifyResponseForSingleCat(result, expectedIncrease);
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Map<Cat, Integer>> updatesCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(dataAccess).updateCatsHappinessAsync(updatesCaptor.capture(), eq(TOKEN));
+        assertEquals(expectedIncrease, updatesCaptor.getValue().values().iterator().next());
+        verifyPresenterInteractions(expectedIncrease);
+    }
+
+    @Test
+    void executeAsyncWhenTokenInvalidCompletesExceptionally() {
+        // Arrange
+        final AuthenticationException failure = new AuthenticationException(Constants.ErrorMessages.AUTH_TOKEN_INVALID);
+        when(dataAccess.getUsernameFromTokenAsync(TOKEN)).thenReturn(CompletableFuture.failedFuture(failure));
+
+        // Act
+        final CompletableFuture<UpdateCatsAfterStudyResponseDto> result = interactor.executeAsync(
+            new UpdateCatsAfterStudyInputData(TOKEN));
+
+        // Assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertSame(failure, exception.getCause());
+        verify(dataAccess, never()).getCatsByOwnerAsync(any(), any());
+        verify(outputBoundary, never()).prepareResponse(any());
+    }
+
+    @Test
+    void executeAsyncWithoutRewardReadsCatsButDoesNotUpdateThem() throws Exception {
+        // Arrange
+        final Cat cat = new Cat(CAT_NAME, USERNAME, 90, 100, IMAGE_FILE);
+        final CompletableFuture<Boolean> reward = new CompletableFuture<>();
+        when(dataAccess.getUsernameFromTokenAsync(TOKEN)).thenReturn(CompletableFuture.completedFuture(USERNAME));
+        when(dataAccess.getCatsByOwnerAsync(USERNAME, TOKEN))
+            .thenReturn(CompletableFuture.completedFuture(List.of(cat)));
+        when(dataAccess.updateCatsHappinessAsync(Map.of(), TOKEN))
+            .thenReturn(CompletableFuture.completedFuture(new CatUpdateResult(List.of(), List.of())));
+        when(outputBoundary.prepareResponse(any(UpdateCatsAfterStudyOutputData.class)))
+            .thenReturn(new UpdateCatsAfterStudyResponseDto(List.of(), List.of()));
+
+        // Act
+        final CompletableFuture<UpdateCatsAfterStudyResponseDto> result = interactor.executeAsync(
+            new UpdateCatsAfterStudyInputData(TOKEN), reward);
+        verify(dataAccess).getCatsByOwnerAsync(USERNAME, TOKEN);
+        reward.complete(false);
+
+        // Assert
+        assertEquals(List.of(), result.get().updatedCats());
+        verify(dataAccess).updateCatsHappinessAsync(Map.of(), TOKEN);
+    }
+
     private int calculateExpectedHappiness(int currentHappiness) {
         double increasePercentage = Constants.CatStats.BASE_HAPPINESS_PERCENTAGE;
         if (currentHappiness < Constants.CatStats.LOW_HAPPINESS_THRESHOLD) {
@@ -0,0 +1,87 @@
+package com.pawmodoro.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests that the pinning monitor only runs when enabled and records pinned virtual threads while it runs.
+ */
+class VirtualThreadPinningMonitorTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.getBeanFactory()
+            .setConversionService(ApplicationConversionService.getSharedInstance()))
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+        .withUserConfiguration(VirtualThreadPinningMonitor.class)
+        .withPropertyValues("diagnostics.virtual-threads.pinning.threshold=20ms");
+
+    @Test
+    void monitorIsOnlyCreatedWhenEnabled() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+        contextRunner.withPropertyValues("diagnostics.virtual-threads.pinning.enabled=false")
+            .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+        contextRunner.withPropertyValues("diagnostics.virtual-threads.pinning.enabled=true")
+            .run(context -> assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class));
+    }
+
+    @Test
+    void monitorRecordsWhileStartedUntilContextCloses() {
+        contextRunner.withPropertyValues("diagnostics.virtual-threads.pinning.enabled=true").run(context -> {
+            final VirtualThreadPinningMonitor monitor = context.getBean(VirtualThreadPinningMonitor.class);
+            assertTrue(monitor.isRecording());
+
+            context.close();
+
+            assertFalse(monitor.isRecording());
+        });
+    }
+
+    @Test
+    void pinnedVirtualThreadIsRecorded() throws Exception {
+        // Arrange
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(20), registry);
+        monitor.start();
+
+        try {
+            // Act
+            final Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                // Sleeping while holding a monitor pins the virtual thread to its carrier
+                synchronized (lock) {
+                    sleep(100);
+                }
+            }).join();
+
+            // Assert
+            final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (registry.timer(VirtualThreadPinningMonitor.PINNED_TIMER).count() == 0
+                && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(registry.timer(VirtualThreadPinningMonitor.PINNED_TIMER).count() > 0);
+        }
+        finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRecording());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
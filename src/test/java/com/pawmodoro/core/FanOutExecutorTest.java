@@ -0,0 +1,186 @@
+package com.pawmodoro.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class FanOutExecutorTest {
+    private static final List<Integer> INPUTS = IntStream.range(0, 20).boxed().toList();
+
+    private final FanOutExecutor executor = new FanOutExecutor(4, Duration.ofSeconds(5), true, 1);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void invokeAllReturnsResultsInInputOrder() throws DatabaseAccessException {
+        // Act
+        final List<Integer> results = executor.invokeAll(INPUTS, input -> {
+            // Later inputs finish first
+            sleep(20 - input);
+            return input * 10;
+        });
+
+        // Assert
+        assertEquals(INPUTS.stream().map(input -> input * 10).toList(), results);
+    }
+
+    @Test
+    void invokeAllNeverExceedsConcurrencyCap() throws DatabaseAccessException {
+        // Arrange
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        // Act
+        executor.invokeAll(INPUTS, input -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(10);
+            running.decrementAndGet();
+            return input;
+        });
+
+        // Assert
+        assertTrue(maxRunning.get() <= 4);
+    }
+
+    @Test
+    void invokeAllShortCircuitsOnAuthenticationError() {
+        // Arrange
+        final AtomicInteger started = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(AuthenticationException.class, () -> executor.invokeAll(INPUTS, input -> {
+            started.incrementAndGet();
+            if (input == 0) {
+                throw new AuthenticationException("expired");
+            }
+            sleep(200);
+            return input;
+        }));
+        assertTrue(started.get() < INPUTS.size());
+    }
+
+    @Test
+    void invokeAllUsesTimeoutResultForUnfinishedTasks() throws DatabaseAccessException {
+        // Arrange
+        final FanOutExecutor shortDeadline = new FanOutExecutor(4, Duration.ofMillis(200), true, 1);
+
+        // Act
+        final List<String> results = shortDeadline.invokeAll(List.of(1, 2), input -> {
+            if (input == 2) {
+                sleep(5_000);
+            }
+            return "done " + input;
+        }, input -> "timed out " + input);
+
+        // Assert
+        assertEquals(List.of("done 1", "timed out 2"), results);
+    }
+
+    @Test
+    void invokeAllWithoutTimeoutResultFailsAfterDeadline() {
+        // Arrange
+        final FanOutExecutor shortDeadline = new FanOutExecutor(4, Duration.ofMillis(100), true, 1);
+
+        // Act & Assert
+        assertThrows(DatabaseAccessException.class, () -> shortDeadline.invokeAll(List.of(1), input -> {
+            sleep(5_000);
+            return input;
+        }));
+    }
+
+    @Test
+    void invokeAllPropagatesRequestAttributes() throws DatabaseAccessException {
+        // Arrange
+        final RequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        // Act
+        final List<RequestAttributes> seen = executor.invokeAll(List.of(1, 2),
+            input -> RequestContextHolder.getRequestAttributes());
+
+        // Assert
+        assertSame(attributes, seen.get(0));
+        assertSame(attributes, seen.get(1));
+    }
+
+    @Test
+    void invokeAllOnPlatformThreadsReturnsResultsInInputOrder() throws DatabaseAccessException {
+        // Arrange
+        final FanOutExecutor platform = new FanOutExecutor(4, Duration.ofSeconds(5), false, 4);
+
+        // Act
+        final List<Integer> results = platform.invokeAll(INPUTS, input -> input + 1);
+        platform.shutdown();
+
+        // Assert
+        assertEquals(INPUTS.stream().map(input -> input + 1).toList(), results);
+    }
+
+    @Test
+    void invokeAllOnPlatformThreadsLeavesPoolThreadsForOtherFanOuts() throws Exception {
+        // Arrange
+        final FanOutExecutor platform = new FanOutExecutor(1, Duration.ofSeconds(5), false, 2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<List<Integer>> large = CompletableFuture.supplyAsync(() -> {
+            try {
+                return platform.invokeAll(INPUTS, input -> {
+                    started.countDown();
+                    await(release);
+                    return input;
+                });
+            }
+            catch (DatabaseAccessException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        final List<Integer> small = platform.invokeAll(List.of(1), input -> input + 1, input -> -1,
+            Duration.ofSeconds(2));
+        release.countDown();
+
+        // Assert
+        assertEquals(List.of(2), small);
+        assertEquals(INPUTS, large.get(5, TimeUnit.SECONDS));
+        platform.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
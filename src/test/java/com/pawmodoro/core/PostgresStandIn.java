@@ -0,0 +1,92 @@
+package com.pawmodoro.core;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+/**
+ * An in-memory H2 database standing in for the Supabase database in tests of the JDBC
+ * data access objects. The settings {@link RlsTransactions} makes with {@code set_config} are recorded
+ * instead of applied, so tests can check whom each transaction acted as.
+ */
+public final class PostgresStandIn {
+    private static final List<Map.Entry<String, String>> SETTINGS = new CopyOnWriteArrayList<>();
+
+    private final JdbcDataSource dataSource;
+
+    private PostgresStandIn(JdbcDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Creates a new, empty database with the tables of the application.
+     * @return the stand-in
+     * @throws SQLException if the tables could not be created
+     */
+    public static PostgresStandIn create() throws SQLException {
+        SETTINGS.clear();
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        final PostgresStandIn standIn = new PostgresStandIn(dataSource);
+        standIn.execute("runscript from 'classpath:jdbc/schema.sql'");
+        return standIn;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Runs statements outside of any transaction of the code under test, for example to add rows.
+     * @param sql the statements
+     * @throws SQLException if a statement fails
+     */
+    public void execute(String... sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement()) {
+            for (String each : sql) {
+                statement.execute(each);
+            }
+        }
+    }
+
+    /**
+     * Drops the database.
+     * @throws SQLException if the database could not be dropped
+     */
+    public void shutdown() throws SQLException {
+        execute("shutdown");
+    }
+
+    /**
+     * Gets the values set for a setting, in the order they were set.
+     * @param name the name of the setting
+     * @return the values
+     */
+    public List<String> settings(String name) {
+        return SETTINGS.stream()
+            .filter(setting -> setting.getKey().equals(name))
+            .map(Map.Entry::getValue)
+            .toList();
+    }
+
+    /**
+     * The {@code set_config} function of the stand-in, which records the setting.
+     * @param name the name of the setting
+     * @param value the value
+     * @param isLocal whether the setting only lasts until the end of the transaction
+     * @return the value
+     */
+    public static String setConfig(String name, String value, boolean isLocal) {
+        SETTINGS.add(Map.entry(name, value));
+        return value;
+    }
+}
@@ -0,0 +1,227 @@
+package com.pawmodoro.core;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.json.JSONObject;
+
+import okhttp3.HttpUrl;
+
+/**
+ * One table of {@link SupabaseStandIn}, queried the way PostgREST does. Only the parts of the PostgREST
+ * query syntax this application sends are understood: {@code eq}, {@code is}, {@code gt} and {@code ilike}
+ * filters, {@code select}, {@code order}, {@code limit} and {@code offset}. Anything else is rejected, so a
+ * query the stand-in would silently answer wrong fails the test instead.
+ * Every operation runs under the table's lock, like a single SQL statement.
+ */
+final class PostgrestTable {
+    private static final List<String> RESERVED_PARAMETERS = List.of("select", "order", "limit", "offset");
+
+    private final List<JSONObject> rows = new ArrayList<>();
+    private final UnaryOperator<JSONObject> defaults;
+    private final Function<JSONObject, String> uniqueKey;
+
+    /**
+     * Creates a new table.
+     * @param defaults fills in the generated and default columns of a row that is inserted or updated
+     * @param uniqueKey the key no two rows may share, or null if any row may be inserted
+     */
+    PostgrestTable(UnaryOperator<JSONObject> defaults, Function<JSONObject, String> uniqueKey) {
+        this.defaults = defaults;
+        this.uniqueKey = uniqueKey;
+    }
+
+    /**
+     * Reads the visible rows matching the query.
+     * @throws IllegalArgumentException if the query uses syntax the stand-in does not understand
+     */
+    synchronized List<JSONObject> select(HttpUrl url, Predicate<JSONObject> visible) {
+        List<JSONObject> result = new ArrayList<>(matching(url, visible));
+        final String order = url.queryParameter("order");
+        if (order != null) {
+            result.sort(ordering(order));
+        }
+
+        final int offset = intParameter(url, "offset", 0);
+        final int limit = intParameter(url, "limit", Integer.MAX_VALUE);
+        result = result.subList(Math.min(offset, result.size()), (int) Math.min((long) offset + limit, result.size()));
+        return project(result, url.queryParameter("select"));
+    }
+
+    /**
+     * Inserts rows, all or none of them.
+     * @return the inserted rows
+     * @throws IllegalStateException if a row breaks the table's unique key
+     * @throws SecurityException if a row is not visible to the caller
+     */
+    synchronized List<JSONObject> insert(List<JSONObject> newRows, Predicate<JSONObject> visible) {
+        final List<JSONObject> inserted = new ArrayList<>();
+        for (JSONObject newRow : newRows) {
+            final JSONObject row = defaults.apply(new JSONObject(newRow.toMap()));
+            if (!visible.test(row)) {
+                throw new SecurityException("new row violates row-level security policy");
+            }
+            if (uniqueKey != null && (rows.stream().anyMatch(existing -> sameKey(existing, row))
+                || inserted.stream().anyMatch(existing -> sameKey(existing, row)))) {
+                throw new IllegalStateException("duplicate key value violates unique constraint");
+            }
+            inserted.add(row);
+        }
+        rows.addAll(inserted);
+        return copies(inserted);
+    }
+
+    /**
+     * Sets columns of the visible rows matching the query.
+     * @return the updated rows
+     */
+    synchronized List<JSONObject> update(HttpUrl url, Predicate<JSONObject> visible, JSONObject changes) {
+        return change(matching(url, visible), row -> {
+            for (String column : changes.keySet()) {
+                row.put(column, changes.get(column));
+            }
+        });
+    }
+
+    /**
+     * Changes the rows meeting a condition in place, the way an {@code UPDATE ... RETURNING *} in a database
+     * function does.
+     * @return the updated rows
+     */
+    synchronized List<JSONObject> update(Predicate<JSONObject> condition, Consumer<JSONObject> change) {
+        return change(rows.stream().filter(condition).toList(), change);
+    }
+
+    /**
+     * Deletes the visible rows matching the query.
+     * @return the deleted rows
+     */
+    synchronized List<JSONObject> delete(HttpUrl url, Predicate<JSONObject> visible) {
+        final List<JSONObject> deleted = matching(url, visible);
+        rows.removeAll(deleted);
+        return copies(deleted);
+    }
+
+    synchronized int size() {
+        return rows.size();
+    }
+
+    private List<JSONObject> change(List<JSONObject> matched, Consumer<JSONObject> change) {
+        for (JSONObject row : matched) {
+            change.accept(row);
+            defaults.apply(row);
+        }
+        return copies(matched);
+    }
+
+    private List<JSONObject> matching(HttpUrl url, Predicate<JSONObject> visible) {
+        Predicate<JSONObject> condition = visible;
+        for (String column : url.queryParameterNames()) {
+            if (!RESERVED_PARAMETERS.contains(column)) {
+                for (String filter : url.queryParameterValues(column)) {
+                    condition = condition.and(filter(column, filter));
+                }
+            }
+        }
+        return rows.stream().filter(condition).toList();
+    }
+
+    private static Predicate<JSONObject> filter(String column, String filter) {
+        final int dot = filter.indexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("Unsupported filter: " + column + "=" + filter);
+        }
+
+        final String operand = filter.substring(dot + 1);
+        return switch (filter.substring(0, dot)) {
+            case "eq" -> row -> !row.isNull(column) && compare(row.get(column), operand) == 0;
+            case "gt" -> row -> !row.isNull(column) && compare(row.get(column), operand) > 0;
+            case "is" -> row -> "null".equals(operand) ? row.isNull(column)
+                : !row.isNull(column) && String.valueOf(row.get(column)).equals(operand);
+            case "ilike" -> {
+                final Pattern pattern = Pattern.compile(Arrays.stream(operand.split("\\*", -1))
+                    .map(Pattern::quote)
+                    .collect(Collectors.joining(".*")), Pattern.CASE_INSENSITIVE);
+                yield row -> !row.isNull(column) && pattern.matcher(String.valueOf(row.get(column))).matches();
+            }
+            default -> throw new IllegalArgumentException("Unsupported filter: " + column + "=" + filter);
+        };
+    }
+
+    private static Comparator<JSONObject> ordering(String order) {
+        Comparator<JSONObject> comparator = null;
+        for (String term : order.split(",")) {
+            final String[] parts = term.split("\\.");
+            final String column = parts[0];
+            Comparator<JSONObject> byColumn = (left, right) -> compare(left.opt(column), right.opt(column));
+            if (parts.length > 1 && "desc".equals(parts[1])) {
+                byColumn = byColumn.reversed();
+            }
+            else if (parts.length > 1 && !"asc".equals(parts[1])) {
+                throw new IllegalArgumentException("Unsupported order: " + order);
+            }
+            comparator = comparator == null ? byColumn : comparator.thenComparing(byColumn);
+        }
+        return comparator;
+    }
+
+    /**
+     * Compares a column value with another value or with an operand from the URL, as numbers, as timestamps
+     * or else as text.
+     */
+    private static int compare(Object value, Object other) {
+        final String left = String.valueOf(value);
+        final String right = String.valueOf(other);
+        try {
+            return Double.compare(Double.parseDouble(left), Double.parseDouble(right));
+        }
+        catch (NumberFormatException notNumbers) {
+            try {
+                return OffsetDateTime.parse(left).toInstant().compareTo(OffsetDateTime.parse(right).toInstant());
+            }
+            catch (DateTimeParseException notTimestamps) {
+                return left.compareTo(right);
+            }
+        }
+    }
+
+    private static List<JSONObject> project(List<JSONObject> selected, String select) {
+        final List<JSONObject> result = new ArrayList<>();
+        for (JSONObject row : selected) {
+            if (select == null || "*".equals(select)) {
+                result.add(new JSONObject(row.toMap()));
+            }
+            else {
+                final JSONObject projected = new JSONObject();
+                for (String column : select.split(",")) {
+                    projected.put(column, row.has(column) ? row.get(column) : JSONObject.NULL);
+                }
+                result.add(projected);
+            }
+        }
+        return result;
+    }
+
+    private boolean sameKey(JSONObject existing, JSONObject row) {
+        return uniqueKey.apply(existing).equals(uniqueKey.apply(row));
+    }
+
+    private static List<JSONObject> copies(List<JSONObject> source) {
+        return source.stream().map(row -> new JSONObject(row.toMap())).toList();
+    }
+
+    private static int intParameter(HttpUrl url, String name, int defaultValue) {
+        final String value = url.queryParameter(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,105 @@
+package com.pawmodoro.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+/**
+ * Tests that Supabase calls are recorded under their logical operation.
+ */
+class SupabaseCallMetricsTest {
+    private static final String OPERATION = "cats.updateHunger";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        final SupabaseCallMetrics callMetrics = new SupabaseCallMetrics(registry);
+        client = new OkHttpClient.Builder()
+            .addInterceptor(callMetrics)
+            .addNetworkInterceptor(callMetrics.networkInterceptor())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void callIsRecordedUnderItsOperation() throws IOException {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("[{\"hunger_level\":40}]"));
+
+        // Act
+        execute(request(SupabaseOperation.of(OPERATION)).post(RequestBody.create("{\"delta\":10}",
+            MediaType.parse("application/json"))).build());
+
+        // Assert
+        assertEquals(1, registry.get(SupabaseCallMetrics.CALLS)
+            .tags("operation", OPERATION, "method", "POST", "status", "200", "outcome", "SUCCESS")
+            .timer().count());
+        assertEquals(12, registry.get(SupabaseCallMetrics.REQUEST_BYTES).summary().totalAmount());
+        assertEquals(21, registry.get(SupabaseCallMetrics.RESPONSE_BYTES).summary().totalAmount());
+        assertEquals(0, registry.get(SupabaseCallMetrics.RETRIES).counter().count());
+    }
+
+    @Test
+    void repeatedCallIsCountedAsRetry() throws IOException {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // Act
+        execute(request(SupabaseOperation.retryOf(OPERATION)).get().build());
+
+        // Assert
+        assertEquals(1, registry.get(SupabaseCallMetrics.CALLS)
+            .tags("operation", OPERATION, "status", "503", "outcome", "SERVER_ERROR")
+            .timer().count());
+        assertEquals(1, registry.get(SupabaseCallMetrics.RETRIES).tag("operation", OPERATION).counter().count());
+    }
+
+    @Test
+    void callWithoutResponseIsRecordedAsIoError() {
+        // Arrange
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        final Request request = new Request.Builder().url(server.url("/rest/v1/cats")).get().build();
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> execute(request));
+        assertEquals(1, registry.get(SupabaseCallMetrics.CALLS)
+            .tags("operation", "GET /rest/v1/cats", "status", "IO_ERROR")
+            .timer().count());
+    }
+
+    private Request.Builder request(SupabaseOperation operation) {
+        return new Request.Builder()
+            .url(server.url("/rest/v1/rpc/adjust_cat_stat"))
+            .tag(SupabaseOperation.class, operation);
+    }
+
+    private void execute(Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+}
@@ -0,0 +1,740 @@
+package com.pawmodoro.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.settings.entity.UserSettings;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * A Supabase project on a local {@link MockWebServer}, standing in for the auth API and the REST API in
+ * tests that exercise the HTTP data access objects end to end without a network.
+ * <p>
+ * The auth API signs users up, signs them in with a password, refreshes and revokes tokens and returns
+ * the user behind a token. Access tokens are HS256 JWTs signed with {@link #JWT_SECRET}, so the
+ * application verifies them locally when {@code supabase.jwt.secret} is set to it. Signing up creates the
+ * rows the database triggers create: a profile and default settings.
+ * <p>
+ * The REST API serves the tables and database functions of the application with the row level security
+ * of the real project: users only see their own settings, cats and sessions. See {@link PostgrestTable}
+ * for the query syntax that is understood.
+ * <p>
+ * Latency, injected errors and a rate limit can be set at any time, so performance and resilience tests
+ * can run against a slow or failing Supabase.
+ */
+public final class SupabaseStandIn {
+    public static final String ANON_KEY = "stand-in-anon-key";
+    public static final String JWT_SECRET = "stand-in-jwt-secret-of-at-least-32-bytes";
+
+    private static final String AUTH_PATH = "/auth/v1/";
+    private static final String RPC_PATH = "/rest/v1/rpc/";
+    private static final String REST_PATH = "/rest/v1/";
+    private static final String AUDIENCE = "authenticated";
+    private static final String PROFILES = "user_profiles";
+    private static final String SETTINGS = "user_settings";
+    private static final String CATS = "cats";
+    private static final String SESSIONS = "user_sessions";
+    private static final String LOGIN_LOOKUP = "login_lookup";
+    private static final int MIN_PASSWORD_LENGTH = 6;
+    private static final int MAX_LEVEL = 100;
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, PostgrestTable> tables = new HashMap<>();
+    private final Map<String, Account> accountsByEmail = new ConcurrentHashMap<>();
+    private final Map<UUID, Account> accountsById = new ConcurrentHashMap<>();
+    private final Set<String> activeSessions = ConcurrentHashMap.newKeySet();
+    private final Map<String, AuthSession> refreshTokens = new ConcurrentHashMap<>();
+    private final Set<String> usedRefreshTokens = ConcurrentHashMap.newKeySet();
+    private final Set<String> removedFunctions = ConcurrentHashMap.newKeySet();
+    private final Set<String> appliedWriteIds = ConcurrentHashMap.newKeySet();
+    private final Object rateLimitLock = new Object();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration latencyJitter = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile int requestsPerSecond;
+    private volatile Duration tokenLifetime = Duration.ofHours(1);
+    private long rateLimitWindow;
+    private int rateLimitCount;
+
+    /**
+     * Creates a new stand-in with no users.
+     */
+    public SupabaseStandIn() {
+        tables.put(PROFILES, new PostgrestTable(row -> row, row -> lower(row.getString("username"))));
+        tables.put(SETTINGS, new PostgrestTable(row -> row, row -> row.getString(Constants.JsonFields.ID_FIELD)));
+        tables.put(CATS, new PostgrestTable(SupabaseStandIn::withCatDefaults,
+            row -> lower(row.getString(Constants.JsonFields.CAT_NAME)) + "/"
+                + lower(row.getString(Constants.JsonFields.OWNER_USERNAME))));
+        tables.put(SESSIONS, new PostgrestTable(SupabaseStandIn::withSessionDefaults, null));
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+    }
+
+    /**
+     * Starts serving on a free local port.
+     * @return this stand-in
+     * @throws IOException if the server could not be started
+     */
+    public SupabaseStandIn start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Gets the URL to use as {@code supabase.url}.
+     * @return the URL, without a trailing slash
+     */
+    public String url() {
+        return server.url("").toString().replaceAll("/$", "");
+    }
+
+    public int requestCount() {
+        return server.getRequestCount();
+    }
+
+    /**
+     * Stops serving.
+     * @throws IOException if the server could not be stopped
+     */
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Delays every response.
+     * @param newLatency the delay of every response
+     * @param jitter the most that is randomly added to the delay
+     * @return this stand-in
+     */
+    public SupabaseStandIn latency(Duration newLatency, Duration jitter) {
+        this.latency = newLatency;
+        this.latencyJitter = jitter;
+        return this;
+    }
+
+    /**
+     * Answers a random share of the requests with 503 Service Unavailable.
+     * @param newErrorRate the share of the requests that fail, from 0 to 1
+     * @return this stand-in
+     */
+    public SupabaseStandIn errorRate(double newErrorRate) {
+        this.errorRate = newErrorRate;
+        return this;
+    }
+
+    /**
+     * Answers requests beyond a rate with 429 Too Many Requests, like the API gateway does.
+     * @param newRequestsPerSecond the requests allowed in each second, or 0 for no limit
+     * @return this stand-in
+     */
+    public SupabaseStandIn rateLimit(int newRequestsPerSecond) {
+        this.requestsPerSecond = newRequestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets how long new access tokens are valid.
+     * @param newTokenLifetime the lifetime of access tokens
+     * @return this stand-in
+     */
+    public SupabaseStandIn tokenLifetime(Duration newTokenLifetime) {
+        this.tokenLifetime = newTokenLifetime;
+        return this;
+    }
+
+    /**
+     * Answers calls to a database function with 404 Not Found, as if its migration was not applied.
+     * @param name the name of the function, for example {@code set_cats_happiness}
+     * @return this stand-in
+     */
+    public SupabaseStandIn withoutFunction(String name) {
+        removedFunctions.add(name);
+        return this;
+    }
+
+    /**
+     * Signs a user up without going through HTTP, for example to seed users before a test.
+     * @param username the username
+     * @param email the email
+     * @param password the password
+     * @return the session of the new user, in the form the auth API returns it
+     * @throws IllegalStateException if the email or the username is taken
+     */
+    public JSONObject signUp(String username, String email, String password) {
+        final Reply reply = handleSignup(new JSONObject()
+            .put(Constants.JsonFields.EMAIL_FIELD, email)
+            .put(Constants.JsonFields.PASSWORD_FIELD, password)
+            .put("data", new JSONObject().put("display_name", username)));
+        if (reply.status != 200) {
+            throw new IllegalStateException("Signup failed: " + reply.body);
+        }
+        return reply.body();
+    }
+
+    /**
+     * Counts the rows of a table, ignoring row level security.
+     * @param table the name of the table
+     * @return the number of rows
+     */
+    public int rowCount(String table) {
+        return tables.get(table).size();
+    }
+
+    private MockResponse handle(RecordedRequest request) {
+        Reply reply = injectedFault();
+        if (reply == null) {
+            try {
+                reply = route(request);
+            }
+            catch (Reply rejection) {
+                reply = rejection;
+            }
+            catch (JSONException | IllegalArgumentException exception) {
+                reply = restError(400, "PGRST100", exception.getMessage());
+            }
+        }
+        return delayed(reply.toResponse());
+    }
+
+    private Reply injectedFault() {
+        if (requestsPerSecond > 0) {
+            synchronized (rateLimitLock) {
+                final long window = System.nanoTime() / TimeUnit.SECONDS.toNanos(1);
+                if (window != rateLimitWindow) {
+                    rateLimitWindow = window;
+                    rateLimitCount = 0;
+                }
+                rateLimitCount++;
+                if (rateLimitCount > requestsPerSecond) {
+                    return new Reply(429, new JSONObject()
+                        .put("message", "API rate limit exceeded")
+                        .put(Constants.JsonFields.MSG_FIELD, "API rate limit exceeded")
+                        .put(Constants.JsonFields.ERROR_CODE_FIELD, "over_request_rate_limit"))
+                        .header("Retry-After", "1");
+                }
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return new Reply(503, new JSONObject()
+                .put("code", "PGRST000")
+                .put("message", "Injected failure")
+                .put(Constants.JsonFields.MSG_FIELD, "Injected failure"));
+        }
+        return null;
+    }
+
+    private MockResponse delayed(MockResponse response) {
+        long delayMillis = latency.toMillis();
+        if (!latencyJitter.isZero()) {
+            delayMillis += ThreadLocalRandom.current().nextLong(latencyJitter.toMillis() + 1);
+        }
+        if (delayMillis > 0) {
+            response.setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    private Reply route(RecordedRequest request) {
+        if (!ANON_KEY.equals(request.getHeader(Constants.Http.API_KEY_HEADER))) {
+            throw new Reply(401, new JSONObject()
+                .put("message", "Invalid API key")
+                .put(Constants.JsonFields.MSG_FIELD, "Invalid API key"));
+        }
+
+        final HttpUrl url = request.getRequestUrl();
+        final String path = url.encodedPath();
+        final Reply reply;
+        if (path.startsWith(AUTH_PATH)) {
+            reply = auth(request, url, path.substring(AUTH_PATH.length()));
+        }
+        else if (path.startsWith(RPC_PATH)) {
+            reply = rpc(request, path.substring(RPC_PATH.length()));
+        }
+        else if (path.startsWith(REST_PATH)) {
+            reply = rest(request, url, path.substring(REST_PATH.length()));
+        }
+        else {
+            reply = new Reply(404, new JSONObject().put("message", "no Route matched with those values"));
+        }
+        return reply;
+    }
+
+    // Auth API
+
+    private Reply auth(RecordedRequest request, HttpUrl url, String endpoint) {
+        final String method = request.getMethod();
+        final Reply reply;
+        if ("POST".equals(method) && "signup".equals(endpoint)) {
+            reply = handleSignup(new JSONObject(request.getBody().readUtf8()));
+        }
+        else if ("POST".equals(method) && "token".equals(endpoint)
+            && "password".equals(url.queryParameter("grant_type"))) {
+            reply = handlePasswordGrant(new JSONObject(request.getBody().readUtf8()));
+        }
+        else if ("POST".equals(method) && "token".equals(endpoint)
+            && "refresh_token".equals(url.queryParameter("grant_type"))) {
+            reply = handleRefreshGrant(new JSONObject(request.getBody().readUtf8()));
+        }
+        else if ("POST".equals(method) && "logout".equals(endpoint)) {
+            activeSessions.remove(authenticatedSession(request).getClaim("session_id").toString());
+            reply = new Reply(204, null);
+        }
+        else if ("GET".equals(method) && "user".equals(endpoint)) {
+            final JWTClaimsSet claims = authenticatedSession(request);
+            reply = new Reply(200, accountsById.get(UUID.fromString(claims.getSubject())).toJson());
+        }
+        else if ("GET".equals(method) && ".well-known/jwks.json".equals(endpoint)) {
+            // Tokens are signed with the shared secret, which is never published
+            reply = new Reply(200, new JSONObject().put("keys", new JSONArray()));
+        }
+        else {
+            reply = authError(404, "not_found", "Unsupported auth endpoint: " + endpoint);
+        }
+        return reply;
+    }
+
+    private synchronized Reply handleSignup(JSONObject body) {
+        final String email = body.getString(Constants.JsonFields.EMAIL_FIELD);
+        final String password = body.getString(Constants.JsonFields.PASSWORD_FIELD);
+        final JSONObject metadata = body.optJSONObject("data", new JSONObject());
+        final String username = metadata.optString("display_name", null);
+
+        if (accountsByEmail.containsKey(lower(email))) {
+            return authError(422, Constants.JsonFields.USER_ALREADY_EXISTS_CODE, "User already registered");
+        }
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            return authError(422, "weak_password", "Password should be at least 6 characters.");
+        }
+
+        final Account account = new Account(UUID.randomUUID(), email, password, username);
+        try {
+            // What the triggers on auth.users do, failing the signup when the username is taken
+            tables.get(PROFILES).insert(List.of(new JSONObject()
+                .put(Constants.JsonFields.ID_FIELD, account.id().toString())
+                .put(Constants.JsonFields.USERNAME_FIELD, username)
+                .put(Constants.JsonFields.EMAIL_FIELD, email)), row -> true);
+        }
+        catch (IllegalStateException | JSONException exception) {
+            return authError(500, "unexpected_failure", "Database error saving new user");
+        }
+        tables.get(SETTINGS).insert(List.of(new JSONObject()
+            .put(Constants.JsonFields.ID_FIELD, account.id().toString())
+            .put(Constants.JsonFields.FOCUS_DURATION, UserSettings.DEFAULT_FOCUS_DURATION)
+            .put(Constants.JsonFields.SHORT_BREAK_DURATION, UserSettings.DEFAULT_SHORT_BREAK_DURATION)
+            .put(Constants.JsonFields.LONG_BREAK_DURATION, UserSettings.DEFAULT_LONG_BREAK_DURATION)
+            .put(Constants.JsonFields.AUTO_START_BREAKS, false)
+            .put(Constants.JsonFields.AUTO_START_FOCUS, false)), row -> true);
+
+        accountsByEmail.put(lower(email), account);
+        accountsById.put(account.id(), account);
+        return new Reply(200, newSession(account, UUID.randomUUID().toString()));
+    }
+
+    private Reply handlePasswordGrant(JSONObject body) {
+        final Account account = accountsByEmail.get(lower(body.getString(Constants.JsonFields.EMAIL_FIELD)));
+        final Reply reply;
+        if (account == null || !account.password().equals(body.getString(Constants.JsonFields.PASSWORD_FIELD))) {
+            reply = authError(400, "invalid_credentials", "Invalid login credentials");
+        }
+        else {
+            reply = new Reply(200, newSession(account, UUID.randomUUID().toString()));
+        }
+        return reply;
+    }
+
+    private Reply handleRefreshGrant(JSONObject body) {
+        final String refreshToken = body.getString(Constants.JsonFields.REFRESH_TOKEN_FIELD);
+        // Removing the token is what makes it single use when the same token is refreshed concurrently
+        final AuthSession session = refreshTokens.remove(refreshToken);
+        final Reply reply;
+        if (session == null && usedRefreshTokens.contains(refreshToken)) {
+            reply = authError(400, "refresh_token_already_used", "Invalid Refresh Token: Already Used");
+        }
+        else if (session == null || !activeSessions.contains(session.id())) {
+            reply = authError(400, "refresh_token_not_found", "Invalid Refresh Token: Refresh Token Not Found");
+        }
+        else {
+            usedRefreshTokens.add(refreshToken);
+            reply = new Reply(200, newSession(accountsById.get(session.userId()), session.id()));
+        }
+        return reply;
+    }
+
+    /**
+     * Issues an access token and a refresh token for a session of the account.
+     */
+    private JSONObject newSession(Account account, String sessionId) {
+        final Instant issuedAt = Instant.now();
+        final Instant expiresAt = issuedAt.plus(tokenLifetime);
+        final String refreshToken = UUID.randomUUID().toString();
+        activeSessions.add(sessionId);
+        refreshTokens.put(refreshToken, new AuthSession(sessionId, account.id()));
+
+        return new JSONObject()
+            .put(Constants.JsonFields.ACCESS_TOKEN_FIELD, sign(new JWTClaimsSet.Builder()
+                .subject(account.id().toString())
+                .audience(AUDIENCE)
+                .issuer(url() + "/auth/v1")
+                .issueTime(Date.from(issuedAt))
+                .expirationTime(Date.from(expiresAt))
+                .claim("email", account.email())
+                .claim("role", AUDIENCE)
+                .claim("session_id", sessionId)
+                .build()))
+            .put("token_type", "bearer")
+            .put(Constants.JsonFields.EXPIRES_IN_FIELD, tokenLifetime.toSeconds())
+            .put(Constants.JsonFields.EXPIRES_AT_FIELD, expiresAt.getEpochSecond())
+            .put(Constants.JsonFields.REFRESH_TOKEN_FIELD, refreshToken)
+            .put(Constants.JsonFields.USER_FIELD, account.toJson());
+    }
+
+    private static String sign(JWTClaimsSet claims) {
+        final SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        try {
+            jwt.sign(new MACSigner(JWT_SECRET.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (JOSEException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return jwt.serialize();
+    }
+
+    /**
+     * Verifies the bearer token of a request to the auth API, which also requires its session to be active.
+     */
+    private JWTClaimsSet authenticatedSession(RecordedRequest request) {
+        final JWTClaimsSet claims = verifiedClaims(request.getHeader(Constants.Http.AUTH_HEADER));
+        if (claims == null) {
+            throw authError(401, "no_authorization", "This endpoint requires a Bearer token");
+        }
+        if (!activeSessions.contains(String.valueOf(claims.getClaim("session_id")))) {
+            throw authError(403, "session_not_found", "Session from session_id claim in JWT does not exist");
+        }
+        return claims;
+    }
+
+    /**
+     * Verifies a bearer token.
+     * @return the claims, or null if the request is made with the anon key only
+     */
+    private static JWTClaimsSet verifiedClaims(String authorization) {
+        if (authorization == null || authorization.equals(Constants.Http.BEARER_PREFIX + ANON_KEY)) {
+            return null;
+        }
+
+        try {
+            final SignedJWT jwt = SignedJWT.parse(authorization.replaceFirst("^Bearer ", ""));
+            if (!jwt.verify(new MACVerifier(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))) {
+                throw restError(401, "PGRST301", "JWSInvalidSignature");
+            }
+            final JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            if (claims.getExpirationTime() == null || claims.getExpirationTime().toInstant().isBefore(Instant.now())) {
+                throw restError(401, "PGRST301", "JWT expired");
+            }
+            return claims;
+        }
+        catch (ParseException | JOSEException exception) {
+            throw restError(401, "PGRST301", "JWSError JWSInvalid");
+        }
+    }
+
+    // REST API
+
+    private Reply rest(RecordedRequest request, HttpUrl url, String tableName) {
+        final Caller caller = caller(request);
+        if (LOGIN_LOOKUP.equals(tableName)) {
+            // A view of the usernames and emails, readable before signing in
+            final List<JSONObject> rows = new ArrayList<>();
+            for (JSONObject profile : tables.get(PROFILES).select(url, row -> true)) {
+                rows.add(new JSONObject()
+                    .put(Constants.JsonFields.USERNAME_FIELD, profile.get(Constants.JsonFields.USERNAME_FIELD))
+                    .put(Constants.JsonFields.EMAIL_FIELD, profile.get(Constants.JsonFields.EMAIL_FIELD)));
+            }
+            return new Reply(200, new JSONArray(rows));
+        }
+
+        final PostgrestTable table = tables.get(tableName);
+        if (table == null) {
+            throw restError(404, "42P01", "relation \"public." + tableName + "\" does not exist");
+        }
+
+        final Predicate<JSONObject> visible = visibility(tableName, caller);
+        final boolean representation = String.valueOf(request.getHeader(Constants.Http.PREFER_HEADER))
+            .contains(Constants.Http.PREFER_REPRESENTATION);
+        final Reply reply;
+        switch (request.getMethod()) {
+            case "GET" -> reply = new Reply(200, new JSONArray(table.select(url,
+                PROFILES.equals(tableName) ? row -> true : visible)));
+            case "POST" -> reply = rows(201, representation, insert(table, tableName, request, visible));
+            case "PATCH" -> reply = rows(200, representation,
+                table.update(url, visible, new JSONObject(request.getBody().readUtf8())));
+            case "DELETE" -> reply = rows(200, representation, table.delete(url, visible));
+            default -> throw restError(405, "PGRST117", "Unsupported HTTP method: " + request.getMethod());
+        }
+        return reply;
+    }
+
+    private static List<JSONObject> insert(PostgrestTable table, String tableName, RecordedRequest request,
+        Predicate<JSONObject> visible) {
+        final String body = request.getBody().readUtf8().trim();
+        final List<JSONObject> newRows = new ArrayList<>();
+        if (body.startsWith("[")) {
+            final JSONArray array = new JSONArray(body);
+            for (int i = 0; i < array.length(); i++) {
+                newRows.add(array.getJSONObject(i));
+            }
+        }
+        else {
+            newRows.add(new JSONObject(body));
+        }
+
+        try {
+            return table.insert(newRows, visible);
+        }
+        catch (SecurityException exception) {
+            throw restError(403, "42501",
+                "new row violates row-level security policy for table \"" + tableName + "\"");
+        }
+        catch (IllegalStateException exception) {
+            throw restError(409, "23505", "duplicate key value violates unique constraint \"" + tableName + "_key\"");
+        }
+    }
+
+    private static Reply rows(int status, boolean representation, List<JSONObject> rows) {
+        return representation ? new Reply(status, new JSONArray(rows)) : new Reply(status == 201 ? 201 : 204, null);
+    }
+
+    // Database functions
+
+    private Reply rpc(RecordedRequest request, String function) {
+        final Caller caller = caller(request);
+        if (removedFunctions.contains(function)) {
+            throw restError(404, "PGRST202", "Could not find the function public." + function);
+        }
+
+        final JSONObject arguments = new JSONObject(request.getBody().readUtf8());
+        final List<JSONObject> updated = switch (function) {
+            case "adjust_cat_stat" -> adjustCatStat(arguments, visibility(CATS, caller));
+            case "set_cats_happiness" -> setCatsHappiness(arguments, visibility(CATS, caller));
+            case "increment_session_interruptions" ->
+                incrementSessionInterruptions(arguments, visibility(SESSIONS, caller));
+            default -> throw restError(404, "PGRST202", "Could not find the function public." + function);
+        };
+        return new Reply(200, new JSONArray(updated));
+    }
+
+    private List<JSONObject> adjustCatStat(JSONObject arguments, Predicate<JSONObject> visible) {
+        final String stat = arguments.getString(Constants.JsonFields.STAT_PARAM);
+        if (!Constants.JsonFields.HUNGER_LEVEL.equals(stat) && !Constants.JsonFields.HAPPINESS_LEVEL.equals(stat)) {
+            throw restError(400, "22023", "Unknown cat stat: " + stat);
+        }
+
+        final String catName = arguments.getString(Constants.JsonFields.CAT_NAME_PARAM);
+        final String ownerUsername = arguments.getString(Constants.JsonFields.OWNER_USERNAME_PARAM);
+        return tables.get(CATS).update(
+            visible.and(row -> row.getString(Constants.JsonFields.CAT_NAME).equalsIgnoreCase(catName)
+                && row.getString(Constants.JsonFields.OWNER_USERNAME).equalsIgnoreCase(ownerUsername)),
+            row -> row.put(stat, clamp((long) row.getInt(stat) + arguments.getInt(Constants.JsonFields.DELTA_PARAM))));
+    }
+
+    private List<JSONObject> incrementSessionInterruptions(JSONObject arguments, Predicate<JSONObject> visible) {
+        final String writeId = arguments.optString(Constants.JsonFields.WRITE_ID_PARAM, null);
+        return tables.get(SESSIONS).update(
+            visible.and(row -> row.getString(Constants.JsonFields.ID_FIELD)
+                .equals(arguments.getString(Constants.JsonFields.SESSION_ID_PARAM))),
+            row -> {
+                // A write ID is only applied once, a retry gets the row back unchanged
+                if (writeId == null || appliedWriteIds.add(writeId)) {
+                    row.put(Constants.JsonFields.INTERRUPTION_COUNT, row.getInt(Constants.JsonFields.INTERRUPTION_COUNT)
+                        + arguments.optInt(Constants.JsonFields.DELTA_PARAM, 1));
+                }
+            });
+    }
+
+    private List<JSONObject> setCatsHappiness(JSONObject arguments, Predicate<JSONObject> visible) {
+        final Map<String, Integer> levels = new HashMap<>();
+        final JSONArray updates = arguments.getJSONArray(Constants.JsonFields.UPDATES_PARAM);
+        for (int i = 0; i < updates.length(); i++) {
+            final JSONObject update = updates.getJSONObject(i);
+            levels.put(catKey(update), update.getInt(Constants.JsonFields.HAPPINESS_LEVEL));
+        }
+        return tables.get(CATS).update(visible.and(row -> levels.containsKey(catKey(row))),
+            row -> row.put(Constants.JsonFields.HAPPINESS_LEVEL, clamp(levels.get(catKey(row)))));
+    }
+
+    // Row level security
+
+    /**
+     * Resolves the user a REST request is made for.
+     * @return the user, or null if the request is made with the anon key only
+     */
+    private Caller caller(RecordedRequest request) {
+        final JWTClaimsSet claims = verifiedClaims(request.getHeader(Constants.Http.AUTH_HEADER));
+        if (claims == null) {
+            return null;
+        }
+        final Account account = accountsById.get(UUID.fromString(claims.getSubject()));
+        if (account == null) {
+            throw restError(401, "PGRST301", "JWT subject does not exist");
+        }
+        return new Caller(account.id().toString(), lower(account.username()));
+    }
+
+    /**
+     * The row level security policy of a table: which rows the caller may see, change and insert.
+     */
+    private static Predicate<JSONObject> visibility(String tableName, Caller caller) {
+        final Predicate<JSONObject> visible;
+        if (caller == null) {
+            visible = row -> false;
+        }
+        else {
+            visible = switch (tableName) {
+                case SETTINGS -> row -> caller.userId().equals(row.optString(Constants.JsonFields.ID_FIELD));
+                case CATS -> row -> caller.username().equals(row.optString(Constants.JsonFields.OWNER_USERNAME_LOWER));
+                case SESSIONS -> row -> caller.userId().equals(row.optString(Constants.JsonFields.USER_ID));
+                default -> row -> false;
+            };
+        }
+        return visible;
+    }
+
+    private static JSONObject withCatDefaults(JSONObject row) {
+        return row
+            .put(Constants.JsonFields.CAT_NAME_LOWER, lower(row.getString(Constants.JsonFields.CAT_NAME)))
+            .put(Constants.JsonFields.OWNER_USERNAME_LOWER, lower(row.getString(Constants.JsonFields.OWNER_USERNAME)));
+    }
+
+    private static JSONObject withSessionDefaults(JSONObject row) {
+        if (!row.has(Constants.JsonFields.ID_FIELD)) {
+            row.put(Constants.JsonFields.ID_FIELD, UUID.randomUUID().toString());
+        }
+        if (!row.has(Constants.JsonFields.WAS_COMPLETED)) {
+            row.put(Constants.JsonFields.WAS_COMPLETED, false);
+        }
+        if (!row.has(Constants.JsonFields.INTERRUPTION_COUNT)) {
+            row.put(Constants.JsonFields.INTERRUPTION_COUNT, 0);
+        }
+        if (!row.has("created_at")) {
+            row.put("created_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
+        }
+        return row;
+    }
+
+    private static String catKey(JSONObject cat) {
+        return lower(cat.getString(Constants.JsonFields.CAT_NAME)) + "/"
+            + lower(cat.getString(Constants.JsonFields.OWNER_USERNAME));
+    }
+
+    private static int clamp(long level) {
+        return (int) Math.min(Math.max(level, 0), MAX_LEVEL);
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Reply authError(int status, String errorCode, String message) {
+        return new Reply(status, new JSONObject()
+            .put("code", status)
+            .put(Constants.JsonFields.ERROR_CODE_FIELD, errorCode)
+            .put(Constants.JsonFields.MSG_FIELD, message));
+    }
+
+    private static Reply restError(int status, String code, String message) {
+        return new Reply(status, new JSONObject()
+            .put("code", code)
+            .put("message", message)
+            .put("details", JSONObject.NULL)
+            .put("hint", JSONObject.NULL));
+    }
+
+    private record Account(UUID id, String email, String password, String username) {
+        JSONObject toJson() {
+            return new JSONObject()
+                .put(Constants.JsonFields.ID_FIELD, id.toString())
+                .put("aud", AUDIENCE)
+                .put("role", AUDIENCE)
+                .put(Constants.JsonFields.EMAIL_FIELD, email)
+                .put("user_metadata", new JSONObject().put("display_name", username));
+        }
+    }
+
+    private record AuthSession(String id, UUID userId) {
+    }
+
+    private record Caller(String userId, String username) {
+    }
+
+    /**
+     * A response, thrown to end the handling of a request early.
+     */
+    private static final class Reply extends RuntimeException {
+        private final int status;
+        private final Object body;
+        private final Map<String, String> headers = new HashMap<>();
+
+        Reply(int status, Object body) {
+            super(null, null, false, false);
+            this.status = status;
+            this.body = body;
+        }
+
+        Reply header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        JSONObject body() {
+            return (JSONObject) body;
+        }
+
+        MockResponse toResponse() {
+            final MockResponse response = new MockResponse().setResponseCode(status);
+            headers.forEach(response::setHeader);
+            if (body != null) {
+                response.setHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
+                    .setBody(body.toString());
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.pawmodoro.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.SupabaseTokenVerifier.VerificationMode;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Tests the Supabase stand-in against the requests the data access objects send.
+ */
+class SupabaseStandInTest {
+    private static final MediaType JSON = MediaType.parse(Constants.Http.CONTENT_TYPE_JSON);
+
+    private final OkHttpClient client = new OkHttpClient();
+    private SupabaseStandIn standIn;
+    private String ownerToken;
+    private String otherToken;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standIn = new SupabaseStandIn().start();
+        ownerToken = standIn.signUp("testuser", "test@example.com", "password123")
+            .getString(Constants.JsonFields.ACCESS_TOKEN_FIELD);
+        otherToken = standIn.signUp("otheruser", "other@example.com", "password123")
+            .getString(Constants.JsonFields.ACCESS_TOKEN_FIELD);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        standIn.shutdown();
+    }
+
+    @Test
+    void accessTokensAreVerifiedLocallyWithTheSharedSecret() throws Exception {
+        // Arrange
+        final SupabaseTokenVerifier verifier = new SupabaseTokenVerifier(client, standIn.url(),
+            SupabaseStandIn.ANON_KEY, VerificationMode.LOCAL, SupabaseStandIn.JWT_SECRET, "", "authenticated");
+        final JSONArray profiles = new JSONArray(call(get("/rest/v1/user_profiles?username=eq.testuser", null),
+            200));
+
+        // Act
+        final UUID userId = verifier.getUserId(Constants.Http.BEARER_PREFIX + ownerToken);
+
+        // Assert
+        assertEquals(profiles.getJSONObject(0).getString(Constants.JsonFields.ID_FIELD), userId.toString());
+    }
+
+    @Test
+    void signupWithTakenUsernameFailsLikeTheProfileTrigger() throws IOException {
+        // Act
+        final String body = call(post("/auth/v1/signup", null, new JSONObject()
+            .put(Constants.JsonFields.EMAIL_FIELD, "new@example.com")
+            .put(Constants.JsonFields.PASSWORD_FIELD, "password123")
+            .put("data", new JSONObject().put("display_name", "TestUser"))), 500);
+
+        // Assert
+        assertEquals("unexpected_failure", new JSONObject(body).getString(Constants.JsonFields.ERROR_CODE_FIELD));
+        assertEquals(2, standIn.rowCount("user_profiles"));
+    }
+
+    @Test
+    void refreshTokenCanOnlyBeUsedOnce() throws IOException {
+        // Arrange
+        final JSONObject session = new JSONObject(call(post("/auth/v1/token?grant_type=password", null,
+            new JSONObject().put(Constants.JsonFields.EMAIL_FIELD, "Test@Example.com")
+                .put(Constants.JsonFields.PASSWORD_FIELD, "password123")), 200));
+        final JSONObject refresh = new JSONObject()
+            .put(Constants.JsonFields.REFRESH_TOKEN_FIELD, session.getString(Constants.JsonFields.REFRESH_TOKEN_FIELD));
+
+        // Act
+        call(post("/auth/v1/token?grant_type=refresh_token", null, refresh), 200);
+        final String reused = call(post("/auth/v1/token?grant_type=refresh_token", null, refresh), 400);
+
+        // Assert
+        assertEquals("refresh_token_already_used",
+            new JSONObject(reused).getString(Constants.JsonFields.ERROR_CODE_FIELD));
+    }
+
+    @Test
+    void logoutEndsTheSessionForTheAuthApi() throws IOException {
+        // Act
+        call(post("/auth/v1/logout", ownerToken, new JSONObject()), 204);
+
+        // Assert
+        call(get("/auth/v1/user", ownerToken), 403);
+    }
+
+    @Test
+    void catsFollowRowLevelSecurityAndTheUniqueName() throws IOException {
+        // Arrange
+        final JSONObject cat = new JSONObject()
+            .put(Constants.JsonFields.CAT_NAME, "Whiskers")
+            .put(Constants.JsonFields.OWNER_USERNAME, "testuser")
+            .put(Constants.JsonFields.HAPPINESS_LEVEL, 50)
+            .put(Constants.JsonFields.HUNGER_LEVEL, 50)
+            .put(Constants.JsonFields.IMAGE_FILE_NAME, "cat-1.png");
+
+        // Act
+        call(post("/rest/v1/cats", ownerToken, cat), 201);
+
+        // Assert
+        call(post("/rest/v1/cats", ownerToken, cat.put(Constants.JsonFields.CAT_NAME, "WHISKERS")), 409);
+        call(post("/rest/v1/cats", otherToken, cat.put(Constants.JsonFields.CAT_NAME, "Tom")), 403);
+        assertEquals("[]", call(get("/rest/v1/cats?owner_username=eq.testuser", otherToken), 200));
+        assertEquals(1, new JSONArray(call(get("/rest/v1/cats?owner_username=eq.testuser", ownerToken), 200))
+            .length());
+    }
+
+    @Test
+    void adjustCatStatClampsTheLevel() throws IOException {
+        // Arrange
+        call(post("/rest/v1/cats", ownerToken, new JSONObject()
+            .put(Constants.JsonFields.CAT_NAME, "Whiskers")
+            .put(Constants.JsonFields.OWNER_USERNAME, "testuser")
+            .put(Constants.JsonFields.HAPPINESS_LEVEL, 50)
+            .put(Constants.JsonFields.HUNGER_LEVEL, 90)
+            .put(Constants.JsonFields.IMAGE_FILE_NAME, "cat-1.png")), 201);
+
+        // Act
+        final String body = call(post(Constants.Endpoints.ADJUST_CAT_STAT_RPC, ownerToken, new JSONObject()
+            .put(Constants.JsonFields.CAT_NAME_PARAM, "Whiskers")
+            .put(Constants.JsonFields.OWNER_USERNAME_PARAM, "testuser")
+            .put(Constants.JsonFields.STAT_PARAM, Constants.JsonFields.HUNGER_LEVEL)
+            .put(Constants.JsonFields.DELTA_PARAM, 20)), 200);
+
+        // Assert
+        assertEquals(100, new JSONArray(body).getJSONObject(0).getInt(Constants.JsonFields.HUNGER_LEVEL));
+    }
+
+    @Test
+    void openSessionQueryReturnsTheLatestUnfinishedSession() throws IOException {
+        // Arrange
+        final String userId = new JSONArray(call(get("/rest/v1/user_profiles?username=eq.testuser", null), 200))
+            .getJSONObject(0).getString(Constants.JsonFields.ID_FIELD);
+        final Instant now = Instant.now();
+        addSession(userId, now.minusSeconds(600), now.plusSeconds(900));
+        final String latest = addSession(userId, now.minusSeconds(60), now.plusSeconds(1440));
+        addSession(userId, now.minusSeconds(3600), now.minusSeconds(2100));
+
+        // Act
+        final String body = call(get("/rest/v1/user_sessions?user_id=eq." + userId + "&was_completed=is.false"
+            + "&session_end_time=gt." + now + "&order=session_start_time.desc&limit=1", ownerToken), 200);
+
+        // Assert
+        final JSONArray sessions = new JSONArray(body);
+        assertEquals(1, sessions.length());
+        assertEquals(latest, sessions.getJSONObject(0).getString(Constants.JsonFields.ID_FIELD));
+    }
+
+    @Test
+    void unsupportedFilterIsRejected() throws IOException {
+        call(get("/rest/v1/cats?owner_username=like.test*", ownerToken), 400);
+    }
+
+    @Test
+    void removedFunctionIsNotFound() throws IOException {
+        // Arrange
+        standIn.withoutFunction("set_cats_happiness");
+
+        // Act & Assert
+        call(post(Constants.Endpoints.SET_CATS_HAPPINESS_RPC, ownerToken,
+            new JSONObject().put(Constants.JsonFields.UPDATES_PARAM, new JSONArray())), 404);
+    }
+
+    @Test
+    void errorRateAndRateLimitAnswerBeforeTheRequestIsHandled() throws IOException {
+        // Arrange
+        standIn.errorRate(1);
+
+        // Act & Assert
+        call(get("/rest/v1/cats", ownerToken), 503);
+
+        // Three requests span at most two one-second windows, so one of them exceeds the limit
+        standIn.errorRate(0).rateLimit(1);
+        int throttled = 0;
+        for (int i = 0; i < 3; i++) {
+            if (status(get("/rest/v1/cats", ownerToken)) == 429) {
+                throttled++;
+            }
+        }
+        assertTrue(throttled > 0);
+    }
+
+    @Test
+    void latencyDelaysTheResponse() throws IOException {
+        // Arrange
+        standIn.latency(Duration.ofMillis(200), Duration.ZERO);
+        final long start = System.nanoTime();
+
+        // Act
+        call(get("/rest/v1/cats", ownerToken), 200);
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 200);
+    }
+
+    @Test
+    void requestWithoutApiKeyIsRejected() throws IOException {
+        call(new Request.Builder().url(standIn.url() + "/rest/v1/cats").get().build(), 401);
+    }
+
+    private String addSession(String userId, Instant start, Instant end) throws IOException {
+        final String body = call(post(Constants.Endpoints.USER_SESSIONS_ENDPOINT, ownerToken, new JSONObject()
+            .put(Constants.JsonFields.USER_ID, userId)
+            .put(Constants.JsonFields.SESSION_TYPE, "focus")
+            .put(Constants.JsonFields.DURATION_MINUTES, 25)
+            .put(Constants.JsonFields.SESSION_START_TIME, start.toString())
+            .put(Constants.JsonFields.SESSION_END_TIME, end.toString())), 201);
+        return new JSONArray(body).getJSONObject(0).getString(Constants.JsonFields.ID_FIELD);
+    }
+
+    private Request get(String path, String token) {
+        return authorized(new Request.Builder().url(standIn.url() + path).get(), token).build();
+    }
+
+    private Request post(String path, String token, JSONObject body) {
+        return authorized(new Request.Builder()
+            .url(standIn.url() + path)
+            .post(RequestBody.create(body.toString(), JSON))
+            .addHeader(Constants.Http.PREFER_HEADER, Constants.Http.PREFER_REPRESENTATION), token)
+            .build();
+    }
+
+    private static Request.Builder authorized(Request.Builder builder, String token) {
+        builder.addHeader(Constants.Http.API_KEY_HEADER, SupabaseStandIn.ANON_KEY);
+        if (token != null) {
+            builder.addHeader(Constants.Http.AUTH_HEADER, Constants.Http.BEARER_PREFIX + token);
+        }
+        return builder;
+    }
+
+    private String call(Request request, int expectedStatus) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            final String body = response.body().string();
+            assertEquals(expectedStatus, response.code(), body);
+            return body;
+        }
+    }
+
+    private int status(Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.code();
+        }
+    }
+}
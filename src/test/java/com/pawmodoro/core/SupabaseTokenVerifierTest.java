@@ -0,0 +1,262 @@
+package com.pawmodoro.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.SignedJWT;
+import com.pawmodoro.constants.Constants;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Tests that access tokens are only accepted when they are signed by the project, unexpired and issued for the
+ * expected audience, in both verification modes.
+ */
+class SupabaseTokenVerifierTest {
+    private static final String SECRET = "test-jwt-secret-of-at-least-32-bytes";
+    private static final String AUDIENCE = "authenticated";
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private MockWebServer server;
+    private String apiUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        apiUrl = server.url("").toString().replaceAll("/$", "");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void acceptsTokenSignedWithProjectSecret() throws Exception {
+        // Arrange
+        final Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        final String token = sign(claims().expirationTime(Date.from(expiresAt)).build(), SECRET);
+
+        // Act
+        final VerifiedToken verified = localVerifier(SECRET).verify(Constants.Http.BEARER_PREFIX + token);
+
+        // Assert
+        assertEquals(USER_ID, verified.userId());
+        assertEquals(expiresAt.getEpochSecond(), verified.expiresAt().getEpochSecond());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        // Arrange
+        final String token = sign(claims()
+            .expirationTime(Date.from(Instant.now().minus(Duration.ofHours(1))))
+            .build(), SECRET);
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier(SECRET).verify(token));
+    }
+
+    @Test
+    void rejectsTokenForAnotherAudience() {
+        // Arrange
+        final String token = sign(claims().audience("anon").build(), SECRET);
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier(SECRET).verify(token));
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherSecret() {
+        // Arrange
+        final String token = sign(claims().build(), "another-jwt-secret-of-at-least-32-bytes");
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier(SECRET).verify(token));
+    }
+
+    @Test
+    void rejectsTokenWithoutSubject() {
+        // Arrange
+        final String token = sign(claims().subject(null).build(), SECRET);
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier(SECRET).verify(token));
+    }
+
+    @Test
+    void rejectsTokenWithNonUuidSubject() {
+        // Arrange
+        final String token = sign(claims().subject("not-a-uuid").build(), SECRET);
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier(SECRET).verify(token));
+    }
+
+    @Test
+    void rejectsUnsignedToken() {
+        // Arrange
+        final String token = new PlainJWT(claims().build()).serialize();
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier(SECRET).verify(token));
+    }
+
+    @Test
+    void rejectsMissingToken() {
+        // Act
+        final AuthenticationException exception =
+            assertThrows(AuthenticationException.class, () -> localVerifier(SECRET).verify(" "));
+
+        // Assert
+        assertEquals(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED, exception.getMessage());
+    }
+
+    @Test
+    void verifiesAsymmetricTokenWithPublishedKeysWhenNoSecretIsSet() throws Exception {
+        // Arrange
+        final RSAKey key = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        server.enqueue(new MockResponse().setBody(new JWKSet(key.toPublicJWK()).toString()));
+        final SignedJWT jwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims().build());
+        jwt.sign(new RSASSASigner(key));
+
+        // Act
+        final VerifiedToken verified = localVerifier("").verify(jwt.serialize());
+
+        // Assert
+        assertEquals(USER_ID, verified.userId());
+        assertEquals("/auth/v1/.well-known/jwks.json", server.takeRequest().getPath());
+    }
+
+    @Test
+    void rejectsSymmetricTokenWhenOnlyPublishedKeysAreTrusted() {
+        // Arrange
+        final String token = sign(claims().build(), SECRET);
+
+        // Act & Assert
+        assertInvalid(() -> localVerifier("").verify(token));
+    }
+
+    @Test
+    void reportsUnreachableKeySetAsAccessFailure() {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(503));
+        final SignedJWT jwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("test-key").build(), claims().build());
+        final String token = jwt.getHeader().toBase64URL() + "." + jwt.getPayload().toBase64URL() + ".c2ln";
+
+        // Act
+        final DatabaseAccessException exception =
+            assertThrows(DatabaseAccessException.class, () -> localVerifier("").verify(token));
+
+        // Assert
+        assertFalse(exception instanceof AuthenticationException);
+    }
+
+    @Test
+    void remoteModeAsksAuthServerAndReadsExpiryFromToken() throws Exception {
+        // Arrange
+        final Instant expiresAt = Instant.now().plus(Duration.ofMinutes(30));
+        final String token = sign(claims().expirationTime(Date.from(expiresAt)).build(), SECRET);
+        server.enqueue(new MockResponse().setBody(new JSONObject().put("id", USER_ID.toString()).toString()));
+
+        // Act
+        final VerifiedToken verified = remoteVerifier().verify(Constants.Http.BEARER_PREFIX + token);
+
+        // Assert
+        final RecordedRequest request = server.takeRequest();
+        assertEquals(Constants.Endpoints.AUTH_USERS_ENDPOINT, request.getPath());
+        assertEquals(Constants.Http.BEARER_PREFIX + token, request.getHeader(Constants.Http.AUTH_HEADER));
+        assertEquals(USER_ID, verified.userId());
+        assertEquals(expiresAt.getEpochSecond(), verified.expiresAt().getEpochSecond());
+    }
+
+    @Test
+    void remoteModeRejectsTokenTheAuthServerRejects() {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(403).setBody("{\"code\": \"session_not_found\"}"));
+
+        // Act & Assert
+        assertInvalid(() -> remoteVerifier().verify(sign(claims().build(), SECRET)));
+    }
+
+    @Test
+    void remoteModeReportsAuthServerFailureAsAccessFailure() {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("{}"));
+
+        // Act
+        final DatabaseAccessException exception = assertThrows(DatabaseAccessException.class,
+            () -> remoteVerifier().verify(sign(claims().build(), SECRET)));
+
+        // Assert
+        assertFalse(exception instanceof AuthenticationException);
+    }
+
+    private SupabaseTokenVerifier localVerifier(String secret) {
+        return verifier(SupabaseTokenVerifier.VerificationMode.LOCAL, secret);
+    }
+
+    private SupabaseTokenVerifier remoteVerifier() {
+        return verifier(SupabaseTokenVerifier.VerificationMode.REMOTE, SECRET);
+    }
+
+    private SupabaseTokenVerifier verifier(SupabaseTokenVerifier.VerificationMode mode, String secret) {
+        return new SupabaseTokenVerifier(new OkHttpClient(), apiUrl, "test-key", mode, secret,
+            apiUrl + "/auth/v1/.well-known/jwks.json", AUDIENCE);
+    }
+
+    private static JWTClaimsSet.Builder claims() {
+        return new JWTClaimsSet.Builder()
+            .subject(USER_ID.toString())
+            .audience(AUDIENCE)
+            .issueTime(new Date())
+            .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))));
+    }
+
+    private static String sign(JWTClaimsSet claims, String secret) {
+        final SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        try {
+            final JWSSigner signer = new MACSigner(secret.getBytes(StandardCharsets.UTF_8));
+            jwt.sign(signer);
+        }
+        catch (JOSEException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return jwt.serialize();
+    }
+
+    private static void assertInvalid(Executable verification) {
+        final AuthenticationException exception = assertThrows(AuthenticationException.class, verification);
+        assertEquals(Constants.ErrorMessages.AUTH_TOKEN_INVALID, exception.getMessage());
+    }
+}
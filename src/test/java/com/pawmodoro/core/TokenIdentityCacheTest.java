@@ -0,0 +1,144 @@
+package com.pawmodoro.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.pawmodoro.constants.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests that cached identities never outlive their token and are shared between the forms of a token.
+ */
+class TokenIdentityCacheTest {
+    private static final String TOKEN = "header.payload.signature";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final FakeTime time = new FakeTime();
+    private final TokenIdentityCache cache = new TokenIdentityCache(100, TTL, time, time);
+
+    @Test
+    void entryExpiresWithItsToken() {
+        // Arrange
+        cache.put(TOKEN, identityExpiringIn(Duration.ofSeconds(30)));
+
+        // Act
+        time.advance(Duration.ofSeconds(29));
+        final TokenIdentity beforeExpiry = cache.getIfPresent(TOKEN);
+        time.advance(Duration.ofSeconds(2));
+        final TokenIdentity afterExpiry = cache.getIfPresent(TOKEN);
+
+        // Assert
+        assertNotNull(beforeExpiry);
+        assertNull(afterExpiry);
+    }
+
+    @Test
+    void entryExpiresAfterTtlWhenTokenLivesLonger() {
+        // Arrange
+        cache.put(TOKEN, identityExpiringIn(Duration.ofHours(1)));
+
+        // Act
+        time.advance(TTL.plusSeconds(1));
+
+        // Assert
+        assertNull(cache.getIfPresent(TOKEN));
+    }
+
+    @Test
+    void expiredTokenIsNotCached() {
+        // Act
+        cache.put(TOKEN, identityExpiringIn(Duration.ofSeconds(-1)));
+
+        // Assert
+        assertNull(cache.getIfPresent(TOKEN));
+    }
+
+    @Test
+    void bearerPrefixAndBareTokenShareEntry() {
+        // Arrange
+        final TokenIdentity identity = identityExpiringIn(Duration.ofHours(1));
+
+        // Act
+        cache.put(Constants.Http.BEARER_PREFIX + TOKEN, identity);
+
+        // Assert
+        assertEquals(identity, cache.getIfPresent(TOKEN));
+        assertEquals(identity, cache.getIfPresent(" " + Constants.Http.BEARER_PREFIX + TOKEN + " "));
+    }
+
+    @Test
+    void evictRemovesTokenInEitherForm() {
+        // Arrange
+        cache.put(TOKEN, identityExpiringIn(Duration.ofHours(1)));
+
+        // Act
+        cache.evict(Constants.Http.BEARER_PREFIX + TOKEN);
+
+        // Assert
+        assertNull(cache.getIfPresent(TOKEN));
+    }
+
+    @Test
+    void hitsAndMissesArePublishedAsCacheMetrics() {
+        // Arrange
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put(TOKEN, identityExpiringIn(Duration.ofHours(1)));
+
+        // Act
+        cache.getIfPresent(TOKEN);
+        cache.getIfPresent("other-token");
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets")
+            .tag("cache", TokenIdentityCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets")
+            .tag("cache", TokenIdentityCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    private TokenIdentity identityExpiringIn(Duration lifetime) {
+        return new TokenIdentity(UUID.randomUUID(), "testuser", time.instant().plus(lifetime));
+    }
+
+    /**
+     * Wall clock and cache ticker that only move when told to.
+     */
+    private static final class FakeTime extends Clock implements Ticker {
+        private Instant now = Instant.parse("2026-10-18T09:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public long read() {
+            return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
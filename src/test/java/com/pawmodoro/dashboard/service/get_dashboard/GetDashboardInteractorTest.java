@@ -0,0 +1,145 @@
+package com.pawmodoro.dashboard.service.get_dashboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.pawmodoro.cats.entity.Cat;
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.FanOutExecutor;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.dashboard.service.get_dashboard.interface_adapter.DashboardSectionStatus;
+import com.pawmodoro.dashboard.service.get_dashboard.interface_adapter.GetDashboardResponseDto;
+import com.pawmodoro.settings.entity.UserSettings;
+
+/**
+ * Tests that the dashboard verifies the token once and degrades slow or failing sections.
+ */
+@ExtendWith(MockitoExtension.class)
+class GetDashboardInteractorTest {
+    private static final String TOKEN = "test-token";
+    private static final String USERNAME = "testuser";
+    private static final TokenIdentity IDENTITY =
+        new TokenIdentity(UUID.randomUUID(), USERNAME, Instant.now().plusSeconds(3600));
+
+    @Mock
+    private GetDashboardDataAccessInterface dataAccess;
+
+    @Mock
+    private Cat cat;
+
+    private GetDashboardInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        interactor = new GetDashboardInteractor(dataAccess,
+            new FanOutExecutor(4, Duration.ofSeconds(10), true, 1), Duration.ofMillis(500));
+    }
+
+    @Test
+    void executeLoadsAllSectionsConcurrently() throws Exception {
+        // Arrange
+        final CountDownLatch allStarted = new CountDownLatch(3);
+        when(dataAccess.authenticate(TOKEN)).thenReturn(IDENTITY);
+        when(dataAccess.getUserSettings(IDENTITY, TOKEN)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return new UserSettings.Builder(USERNAME).build();
+        });
+        when(dataAccess.getCats(IDENTITY, TOKEN)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return List.of(cat);
+        });
+        when(dataAccess.getOpenSession(IDENTITY, TOKEN)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return null;
+        });
+        when(cat.getName()).thenReturn("Mochi");
+
+        // Act
+        final GetDashboardResponseDto response = interactor.execute(new GetDashboardInputData(TOKEN));
+
+        // Assert
+        assertEquals(USERNAME, response.username());
+        assertEquals(DashboardSectionStatus.OK, response.settings().status());
+        assertEquals(UserSettings.DEFAULT_FOCUS_DURATION, response.settings().data().focusDuration());
+        assertEquals("Mochi", response.cats().data().get(0).name());
+        assertEquals(DashboardSectionStatus.OK, response.session().status());
+        assertNull(response.session().data());
+        verify(dataAccess).authenticate(TOKEN);
+    }
+
+    @Test
+    void executeReturnsOtherSectionsWhenOneMissesTheDeadline() throws Exception {
+        // Arrange
+        when(dataAccess.authenticate(TOKEN)).thenReturn(IDENTITY);
+        when(dataAccess.getUserSettings(IDENTITY, TOKEN)).thenReturn(new UserSettings.Builder(USERNAME).build());
+        when(dataAccess.getCats(IDENTITY, TOKEN)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of(cat);
+        });
+        when(dataAccess.getOpenSession(IDENTITY, TOKEN)).thenReturn(null);
+
+        // Act
+        final long start = System.nanoTime();
+        final GetDashboardResponseDto response = interactor.execute(new GetDashboardInputData(TOKEN));
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(DashboardSectionStatus.TIMEOUT, response.cats().status());
+        assertNull(response.cats().data());
+        assertEquals(DashboardSectionStatus.OK, response.settings().status());
+        assertEquals(DashboardSectionStatus.OK, response.session().status());
+        assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void executeReportsFailedSection() throws Exception {
+        // Arrange
+        when(dataAccess.authenticate(TOKEN)).thenReturn(IDENTITY);
+        when(dataAccess.getUserSettings(IDENTITY, TOKEN)).thenThrow(new DatabaseAccessException("unavailable"));
+        when(dataAccess.getCats(IDENTITY, TOKEN)).thenReturn(List.of());
+        when(dataAccess.getOpenSession(IDENTITY, TOKEN)).thenReturn(null);
+
+        // Act
+        final GetDashboardResponseDto response = interactor.execute(new GetDashboardInputData(TOKEN));
+
+        // Assert
+        assertEquals(DashboardSectionStatus.FAILED, response.settings().status());
+        assertEquals("unavailable", response.settings().error());
+        assertEquals(DashboardSectionStatus.OK, response.cats().status());
+    }
+
+    @Test
+    void executeWithInvalidTokenThrowsWithoutLoadingSections() throws Exception {
+        // Arrange
+        when(dataAccess.authenticate(TOKEN)).thenThrow(new AuthenticationException("invalid"));
+
+        // Act & Assert
+        assertThrows(AuthenticationException.class, () -> interactor.execute(new GetDashboardInputData(TOKEN)));
+        verify(dataAccess, never()).getCats(IDENTITY, TOKEN);
+    }
+
+    private static void awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+        allStarted.countDown();
+        // Only returns if all three sections run at the same time
+        assertTrue(allStarted.await(2, TimeUnit.SECONDS));
+    }
+}
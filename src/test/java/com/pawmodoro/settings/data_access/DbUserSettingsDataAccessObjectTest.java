@@ -0,0 +1,310 @@
+package com.pawmodoro.settings.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.settings.entity.UserSettings;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Tests that settings reads and updates go through the user ID and settings caches.
+ */
+@ExtendWith(MockitoExtension.class)
+class DbUserSettingsDataAccessObjectTest {
+    private static final String TOKEN = "test-token";
+    private static final String OTHER_TOKEN = "other-token";
+    private static final String USERNAME = "testuser";
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    private MockWebServer server;
+    private SettingsStandIn standIn;
+    private UserSettingsCache settingsCache;
+    private DbUserSettingsDataAccessObject dataAccess;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standIn = new SettingsStandIn();
+        standIn.addUser(USERNAME, USER_ID, TOKEN);
+        server = new MockWebServer();
+        server.setDispatcher(standIn);
+        server.start();
+
+        final String apiUrl = server.url("").toString().replaceAll("/$", "");
+        settingsCache = new UserSettingsCache(100, Duration.ofMinutes(1));
+        dataAccess = new DbUserSettingsDataAccessObject(new SettingsUserIdCache(100, Duration.ofMinutes(1)),
+            settingsCache, tokenVerifier, new OkHttpClient(), apiUrl, "test-key");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void getUserSettingsServesRepeatedOwnReadsFromCache() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(anyString())).thenReturn(USER_ID);
+
+        // Act
+        final UserSettings first = dataAccess.getUserSettings(USERNAME, TOKEN);
+        final UserSettings second = dataAccess.getUserSettings(USERNAME, TOKEN);
+
+        // Assert
+        assertEquals(UserSettings.DEFAULT_FOCUS_DURATION, second.getFocusDuration());
+        assertEquals(USERNAME, second.getUsername());
+        assertEquals(first.getLongBreakDuration(), second.getLongBreakDuration());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void updateUserSettingsRefreshesCacheWithoutProfileLookup() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(anyString())).thenReturn(USER_ID);
+        dataAccess.getUserSettings(USERNAME, TOKEN);
+
+        // Act
+        dataAccess.updateUserSettings(USERNAME, TOKEN, new UserSettings(USERNAME, 50, 10, 30, true, true));
+        final UserSettings afterUpdate = dataAccess.getUserSettings(USERNAME, TOKEN);
+
+        // Assert
+        assertEquals(50, afterUpdate.getFocusDuration());
+        assertTrue(afterUpdate.isAutoStartFocus());
+        assertEquals(3, server.getRequestCount());
+        server.takeRequest();
+        server.takeRequest();
+        assertEquals("PATCH", server.takeRequest().getMethod());
+    }
+
+    @Test
+    void getUserSettingsOfAnotherUserIsNotServedFromCache() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+        when(tokenVerifier.getUserId(OTHER_TOKEN)).thenReturn(UUID.randomUUID());
+        dataAccess.getUserSettings(USERNAME, TOKEN);
+
+        // Act & Assert
+        assertThrows(DatabaseAccessException.class, () -> dataAccess.getUserSettings(USERNAME, OTHER_TOKEN));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void failedUpdateDropsCachedSettings() throws Exception {
+        // Arrange
+        when(tokenVerifier.getUserId(anyString())).thenReturn(USER_ID);
+        dataAccess.getUserSettings(USERNAME, TOKEN);
+        standIn.setFailUpdates(true);
+
+        // Act
+        assertThrows(DatabaseAccessException.class, () -> dataAccess.updateUserSettings(USERNAME, TOKEN,
+            new UserSettings(USERNAME, 50, 10, 30, true, true)));
+        dataAccess.getUserSettings(USERNAME, TOKEN);
+
+        // Assert
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    void readThatStartedBeforeAnUpdateDoesNotReplaceIt() {
+        // Arrange
+        final long readVersion = settingsCache.currentVersion();
+        settingsCache.putWritten(USER_ID, new UserSettings(USERNAME, 50, 10, 30, true, true));
+
+        // Act
+        settingsCache.putRead(USER_ID, new UserSettings.Builder(USERNAME).build(), readVersion);
+
+        // Assert
+        assertEquals(50, settingsCache.getIfPresent(USER_ID, USERNAME).getFocusDuration());
+    }
+
+    @Test
+    void readUserIdTakesIdOfFirstRowAndSkipsOtherColumns() throws IOException {
+        // Arrange
+        final String body = "[{\"username\":\"testuser\",\"meta\":{\"tags\":[1]},\"id\":\"" + USER_ID
+            + "\"},{\"id\":\"" + UUID.randomUUID() + "\"}]";
+
+        // Act & Assert
+        assertEquals(USER_ID.toString(), DbUserSettingsDataAccessObject.readUserId(stream(body)));
+    }
+
+    @Test
+    void readUserIdReturnsNullForNoRows() throws IOException {
+        assertNull(DbUserSettingsDataAccessObject.readUserId(stream("[]")));
+    }
+
+    @Test
+    void readUserIdRejectsBodyThatIsNotAnArray() {
+        assertThrows(JsonParseException.class,
+            () -> DbUserSettingsDataAccessObject.readUserId(stream("{\"message\":\"error\"}")));
+    }
+
+    @Test
+    void readSettingsMapsFirstRowAndSkipsOtherColumns() throws IOException {
+        // Arrange
+        final String body = "[{\"id\":\"" + USER_ID + "\",\"focus_duration\":50,\"short_break_duration\":10,"
+            + "\"long_break_duration\":20,\"auto_start_breaks\":true,\"auto_start_focus\":false,"
+            + "\"extra\":[{\"nested\":null}],\"updated_at\":null}]";
+
+        // Act
+        final UserSettings settings = DbUserSettingsDataAccessObject.readSettings(stream(body), USERNAME);
+
+        // Assert
+        assertEquals(USERNAME, settings.getUsername());
+        assertEquals(50, settings.getFocusDuration());
+        assertEquals(10, settings.getShortBreakDuration());
+        assertEquals(20, settings.getLongBreakDuration());
+        assertTrue(settings.isAutoStartBreaks());
+        assertFalse(settings.isAutoStartFocus());
+    }
+
+    @Test
+    void readSettingsReturnsNullForNoRows() throws IOException {
+        assertNull(DbUserSettingsDataAccessObject.readSettings(stream("[]"), USERNAME));
+    }
+
+    @Test
+    void readSettingsRejectsRowWithMissingOrNullSetting() {
+        // Arrange
+        final String missing = "[{\"focus_duration\":25,\"short_break_duration\":5,\"long_break_duration\":15,"
+            + "\"auto_start_breaks\":false}]";
+        final String nullValue = "[{\"focus_duration\":null,\"short_break_duration\":5,"
+            + "\"long_break_duration\":15,\"auto_start_breaks\":false,\"auto_start_focus\":false}]";
+
+        // Act & Assert
+        assertThrows(JsonParseException.class,
+            () -> DbUserSettingsDataAccessObject.readSettings(stream(missing), USERNAME));
+        assertThrows(JsonParseException.class,
+            () -> DbUserSettingsDataAccessObject.readSettings(stream(nullValue), USERNAME));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Emulates the user_profiles and user_settings tables. Settings rows are only returned to, and
+     * only updated for, the user they belong to, like row level security does.
+     */
+    private static final class SettingsStandIn extends Dispatcher {
+        private final Map<String, UUID> profiles = new ConcurrentHashMap<>();
+        private final Map<String, UUID> tokens = new ConcurrentHashMap<>();
+        private final Map<UUID, JSONObject> settings = new ConcurrentHashMap<>();
+        private volatile boolean failUpdates;
+
+        void addUser(String username, UUID userId, String token) {
+            profiles.put(username, userId);
+            tokens.put(token, userId);
+            settings.put(userId, new JSONObject()
+                .put(Constants.JsonFields.ID_FIELD, userId.toString())
+                .put(Constants.JsonFields.FOCUS_DURATION, UserSettings.DEFAULT_FOCUS_DURATION)
+                .put(Constants.JsonFields.SHORT_BREAK_DURATION, UserSettings.DEFAULT_SHORT_BREAK_DURATION)
+                .put(Constants.JsonFields.LONG_BREAK_DURATION, UserSettings.DEFAULT_LONG_BREAK_DURATION)
+                .put(Constants.JsonFields.AUTO_START_BREAKS, false)
+                .put(Constants.JsonFields.AUTO_START_FOCUS, false));
+        }
+
+        void setFailUpdates(boolean failUpdates) {
+            this.failUpdates = failUpdates;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final MockResponse response;
+            if (request.getPath().startsWith(Constants.Endpoints.USER_PROFILES_ENDPOINT)) {
+                response = selectProfile(request);
+            }
+            else if (request.getPath().startsWith(Constants.Endpoints.USER_SETTINGS_ENDPOINT)
+                && "GET".equals(request.getMethod())) {
+                response = json(visibleSettings(request));
+            }
+            else if (request.getPath().startsWith(Constants.Endpoints.USER_SETTINGS_ENDPOINT)
+                && "PATCH".equals(request.getMethod())) {
+                response = updateSettings(request);
+            }
+            else {
+                response = new MockResponse().setResponseCode(404);
+            }
+            return response;
+        }
+
+        private MockResponse selectProfile(RecordedRequest request) {
+            final String username = filterValue(request, Constants.JsonFields.USERNAME_FIELD);
+            final JSONArray rows = new JSONArray();
+            if (profiles.containsKey(username)) {
+                rows.put(new JSONObject()
+                    .put(Constants.JsonFields.ID_FIELD, profiles.get(username).toString())
+                    .put(Constants.JsonFields.USERNAME_FIELD, username));
+            }
+            return json(rows);
+        }
+
+        private MockResponse updateSettings(RecordedRequest request) {
+            if (failUpdates) {
+                return new MockResponse().setResponseCode(503).setBody("unavailable");
+            }
+            final JSONObject changes = new JSONObject(request.getBody().readUtf8());
+            final JSONArray rows = visibleSettings(request);
+            if (!rows.isEmpty()) {
+                final JSONObject row = settings.get(UUID.fromString(rows.getJSONObject(0).getString(
+                    Constants.JsonFields.ID_FIELD)));
+                changes.keySet().forEach(field -> row.put(field, changes.get(field)));
+                return json(new JSONArray().put(new JSONObject(row.toString())));
+            }
+            return json(rows);
+        }
+
+        private JSONArray visibleSettings(RecordedRequest request) {
+            final UUID id = UUID.fromString(filterValue(request, Constants.JsonFields.ID_FIELD));
+            final String token = request.getHeader(Constants.Http.AUTH_HEADER)
+                .substring(Constants.Http.BEARER_PREFIX.length());
+            final JSONArray rows = new JSONArray();
+            if (settings.containsKey(id) && id.equals(tokens.get(token))) {
+                rows.put(new JSONObject(settings.get(id).toString()));
+            }
+            return rows;
+        }
+
+        private static String filterValue(RecordedRequest request, String field) {
+            return request.getRequestUrl().queryParameter(field).substring("eq.".length());
+        }
+
+        private static MockResponse json(JSONArray rows) {
+            return new MockResponse()
+                .setHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
+                .setBody(rows.toString());
+        }
+    }
+}
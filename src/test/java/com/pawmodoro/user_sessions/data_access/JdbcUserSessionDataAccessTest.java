@@ -0,0 +1,132 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.PostgresStandIn;
+import com.pawmodoro.core.RlsTransactions;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.entity.UserSession;
+
+/**
+ * Tests the JDBC session data access against an in-memory database standing in for Postgres.
+ */
+@ExtendWith(MockitoExtension.class)
+class JdbcUserSessionDataAccessTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    private PostgresStandIn database;
+    private JdbcUserSessionDataAccess dataAccess;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = PostgresStandIn.create();
+        // A blank role keeps the role of the connection and only sets the claims
+        dataAccess = new JdbcUserSessionDataAccess(new RlsTransactions(database.dataSource(), ""), tokenVerifier);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(tokenVerifier.getUserId(TOKEN)).thenReturn(USER_ID);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        RequestContextHolder.resetRequestAttributes();
+        database.shutdown();
+    }
+
+    @Test
+    void createStoresSessionForCaller() throws Exception {
+        // Act
+        final UserSession session = dataAccess.create(new UserSession(SessionType.FOCUS, 25));
+
+        // Assert
+        assertEquals(USER_ID, session.getUserId());
+        assertEquals(SessionType.FOCUS, session.getSessionType());
+        assertEquals(25, session.getDurationMinutes());
+        assertEquals(0, session.getInterruptionCount());
+        assertFalse(session.isCompleted());
+        final JSONObject claims = new JSONObject(database.settings("request.jwt.claims").get(0));
+        assertEquals(USER_ID.toString(), claims.getString("sub"));
+        assertTrue(database.settings("role").isEmpty());
+    }
+
+    @Test
+    void incrementInterruptionCountAddsToStoredCount() throws Exception {
+        // Arrange
+        final UUID sessionId = dataAccess.create(new UserSession(SessionType.FOCUS, 25)).getId();
+        dataAccess.incrementInterruptionCount(sessionId, 2);
+
+        // Act
+        final UserSession session = dataAccess.incrementInterruptionCount(sessionId, 1);
+
+        // Assert
+        assertEquals(3, session.getInterruptionCount());
+    }
+
+    @Test
+    void incrementInterruptionCountWhenSessionMissingThrowsNoSessionFoundException() {
+        assertThrows(NoSessionFoundException.class,
+            () -> dataAccess.incrementInterruptionCount(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    void completeSessionTwiceThrowsSessionAlreadyCompletedException() throws Exception {
+        // Arrange
+        final UUID sessionId = dataAccess.create(new UserSession(SessionType.FOCUS, 25)).getId();
+        final ZonedDateTime endTime = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        // Act
+        final UserSession session = dataAccess.completeSession(sessionId, endTime, TOKEN);
+
+        // Assert
+        assertTrue(session.isCompleted());
+        assertEquals(endTime.toInstant(), session.getSessionEndTime().toInstant());
+        assertThrows(SessionAlreadyCompletedException.class,
+            () -> dataAccess.completeSession(sessionId, endTime, TOKEN));
+    }
+
+    @Test
+    void getOpenSessionSkipsEndedSessions() throws Exception {
+        // Arrange
+        final UUID sessionId = dataAccess.create(new UserSession(SessionType.FOCUS, 25)).getId();
+        database.execute("update user_sessions set session_end_time = dateadd(minute, 25, current_timestamp)"
+            + " where id = '" + sessionId + "'");
+
+        // Act
+        final UserSession open = dataAccess.getOpenSession(USER_ID);
+        dataAccess.cancelSession(sessionId, ZonedDateTime.now(), TOKEN);
+
+        // Assert
+        assertEquals(sessionId, open.getId());
+        assertNull(dataAccess.getOpenSession(USER_ID));
+    }
+}
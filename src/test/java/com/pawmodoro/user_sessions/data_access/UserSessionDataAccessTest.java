@@ -0,0 +1,376 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.user_sessions.entity.NoSessionFoundException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Tests session writes against a local stand-in for PostgREST and the session database functions.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSessionDataAccessTest {
+    private static final String TOKEN = "Bearer test-token";
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    private MockWebServer server;
+    private SessionStandIn standIn;
+    private String apiUrl;
+    private UserSessionDataAccess dataAccess;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standIn = new SessionStandIn();
+        server = new MockWebServer();
+        server.setDispatcher(standIn);
+        server.start();
+
+        apiUrl = server.url("").toString().replaceAll("/$", "");
+        dataAccess = new UserSessionDataAccess(tokenVerifier, new OkHttpClient(), apiUrl, "test-key");
+        bindAuthorizationHeader();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        server.shutdown();
+    }
+
+    @Test
+    void incrementInterruptionCountUsesSingleRpcCall() throws Exception {
+        // Arrange
+        final UUID sessionId = standIn.addSession(2);
+
+        // Act
+        final UserSession session = dataAccess.incrementInterruptionCount(sessionId, 1);
+
+        // Assert
+        assertEquals(3, session.getInterruptionCount());
+        assertEquals(1, server.getRequestCount());
+        final RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals(Constants.Endpoints.INCREMENT_SESSION_INTERRUPTIONS_RPC, request.getPath());
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws InterruptedException {
+        // Arrange
+        final UUID sessionId = standIn.addSession(0);
+
+        // Act
+        final List<Throwable> failures = incrementConcurrently(sessionId, 50);
+
+        // Assert
+        assertEquals(List.of(), failures);
+        assertEquals(50, standIn.getInterruptionCount(sessionId));
+    }
+
+    @Test
+    void concurrentIncrementsWithoutFunctionAreNotLost() throws InterruptedException {
+        // Arrange
+        final UUID sessionId = standIn.addSession(0);
+        standIn.setFunctionDeployed(false);
+
+        // Act
+        final List<Throwable> failures = incrementConcurrently(sessionId, 10);
+
+        // Assert
+        assertEquals(List.of(), failures);
+        assertEquals(10, standIn.getInterruptionCount(sessionId));
+    }
+
+    @Test
+    void writeRetriedAfterTimeoutOfAppliedWriteIsNotAppliedAgain() throws Exception {
+        // Arrange
+        final UUID sessionId = standIn.addSession(2);
+        final UUID writeId = UUID.randomUUID();
+        final UserSessionDataAccess impatientDataAccess = new UserSessionDataAccess(tokenVerifier,
+            new OkHttpClient.Builder().readTimeout(Duration.ofMillis(100)).build(), apiUrl, "test-key");
+        standIn.setResponseDelayMillis(1000);
+        assertThrows(DatabaseAccessException.class,
+            () -> impatientDataAccess.incrementInterruptionCount(sessionId, 3, TOKEN, writeId));
+        assertEquals(5, standIn.getInterruptionCount(sessionId));
+        standIn.setResponseDelayMillis(0);
+
+        // Act
+        final UserSession session = dataAccess.incrementInterruptionCount(sessionId, 3, TOKEN, writeId);
+
+        // Assert
+        assertEquals(5, session.getInterruptionCount());
+        assertEquals(5, standIn.getInterruptionCount(sessionId));
+    }
+
+    @Test
+    void incrementInterruptionCountOfUnknownSessionThrows() {
+        assertThrows(NoSessionFoundException.class,
+            () -> dataAccess.incrementInterruptionCount(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    void completeSessionUsesSingleFilteredPatch() throws Exception {
+        // Arrange
+        final UUID sessionId = standIn.addSession(0);
+
+        // Act
+        final UserSession session = dataAccess.completeSession(sessionId, ZonedDateTime.now(), TOKEN);
+
+        // Assert
+        assertTrue(session.isCompleted());
+        assertEquals(1, server.getRequestCount());
+        final RecordedRequest request = server.takeRequest();
+        assertEquals("PATCH", request.getMethod());
+        assertEquals("is.false", request.getRequestUrl().queryParameter(Constants.JsonFields.WAS_COMPLETED));
+    }
+
+    @Test
+    void completeSessionTwiceThrowsAlreadyCompleted() throws Exception {
+        // Arrange
+        final UUID sessionId = standIn.addSession(0);
+        dataAccess.completeSession(sessionId, ZonedDateTime.now(), TOKEN);
+
+        // Act & Assert
+        assertThrows(SessionAlreadyCompletedException.class,
+            () -> dataAccess.cancelSession(sessionId, ZonedDateTime.now(), TOKEN));
+    }
+
+    @Test
+    void completeSessionOfUnknownSessionThrows() {
+        assertThrows(NoSessionFoundException.class,
+            () -> dataAccess.completeSession(UUID.randomUUID(), ZonedDateTime.now(), TOKEN));
+    }
+
+    @Test
+    void readSessionsMapsSnakeCaseRows() throws IOException {
+        // Arrange
+        final UUID sessionId = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        final String body = new JSONArray().put(new JSONObject()
+            .put(Constants.JsonFields.ID_FIELD, sessionId.toString())
+            .put(Constants.JsonFields.USER_ID, userId.toString())
+            .put(Constants.JsonFields.SESSION_TYPE, "short_break")
+            .put(Constants.JsonFields.DURATION_MINUTES, 5)
+            .put(Constants.JsonFields.SESSION_START_TIME, "2026-10-18T09:00:00.123456+00:00")
+            .put(Constants.JsonFields.SESSION_END_TIME, "2026-10-18T09:05:00+00:00")
+            .put(Constants.JsonFields.WAS_COMPLETED, true)
+            .put(Constants.JsonFields.INTERRUPTION_COUNT, 2)
+            .put("created_at", "2026-10-18T09:00:00+00:00")).toString();
+
+        // Act
+        final UserSession[] sessions = dataAccess.readSessions(stream(body));
+
+        // Assert
+        assertEquals(1, sessions.length);
+        final UserSession session = sessions[0];
+        assertEquals(sessionId, session.getId());
+        assertEquals(userId, session.getUserId());
+        assertEquals(SessionType.SHORT_BREAK, session.getSessionType());
+        assertEquals(5, session.getDurationMinutes());
+        assertEquals(123_456_000, session.getSessionStartTime().getNano());
+        assertEquals(ZonedDateTime.parse("2026-10-18T09:05:00Z").toInstant(),
+            session.getSessionEndTime().toInstant());
+        assertTrue(session.isCompleted());
+        assertEquals(2, session.getInterruptionCount());
+    }
+
+    @Test
+    void readSessionsReturnsEmptyArrayForNoRows() throws IOException {
+        assertEquals(0, dataAccess.readSessions(stream("[]")).length);
+    }
+
+    @Test
+    void readSessionsRejectsBodyThatIsNotAnArray() {
+        assertThrows(IOException.class, () -> dataAccess.readSessions(stream("{\"message\":\"error\"}")));
+    }
+
+    private List<Throwable> incrementConcurrently(UUID sessionId, int taps) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> clients = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < taps; i++) {
+            clients.add(Thread.ofVirtual().start(() -> {
+                bindAuthorizationHeader();
+                try {
+                    start.await();
+                    dataAccess.incrementInterruptionCount(sessionId, 1);
+                }
+                catch (Exception exception) {
+                    synchronized (failures) {
+                        failures.add(exception);
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread client : clients) {
+            client.join();
+        }
+        return failures;
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void bindAuthorizationHeader() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Emulates the user_sessions table and the increment_session_interruptions function.
+     * Each row is updated atomically, and PATCH requests only update rows matching every
+     * {@code eq.} and {@code is.} filter, like PostgREST does. Responses can be delayed after the
+     * change was applied, to lose them to a client timeout.
+     */
+    private static final class SessionStandIn extends Dispatcher {
+        private final Map<UUID, JSONObject> sessions = new ConcurrentHashMap<>();
+        private final Set<String> appliedWriteIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean functionDeployed = true;
+        private volatile long responseDelayMillis;
+
+        void setFunctionDeployed(boolean functionDeployed) {
+            this.functionDeployed = functionDeployed;
+        }
+
+        void setResponseDelayMillis(long responseDelayMillis) {
+            this.responseDelayMillis = responseDelayMillis;
+        }
+
+        UUID addSession(int interruptionCount) {
+            final UUID id = UUID.randomUUID();
+            sessions.put(id, new JSONObject()
+                .put(Constants.JsonFields.ID_FIELD, id.toString())
+                .put(Constants.JsonFields.USER_ID, UUID.randomUUID().toString())
+                .put(Constants.JsonFields.SESSION_TYPE, "focus")
+                .put(Constants.JsonFields.SESSION_START_TIME, "2024-01-01T10:00:00Z")
+                .put(Constants.JsonFields.SESSION_END_TIME, "2024-01-01T10:00:00Z")
+                .put(Constants.JsonFields.DURATION_MINUTES, 25)
+                .put(Constants.JsonFields.WAS_COMPLETED, false)
+                .put(Constants.JsonFields.INTERRUPTION_COUNT, interruptionCount));
+            return id;
+        }
+
+        int getInterruptionCount(UUID id) {
+            return sessions.get(id).getInt(Constants.JsonFields.INTERRUPTION_COUNT);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final MockResponse response;
+            if (Constants.Endpoints.INCREMENT_SESSION_INTERRUPTIONS_RPC.equals(request.getPath())
+                && functionDeployed) {
+                response = incrementInterruptions(request);
+            }
+            else if (request.getPath().startsWith(Constants.Endpoints.USER_SESSIONS_ENDPOINT)
+                && "GET".equals(request.getMethod())) {
+                response = selectSession(request);
+            }
+            else if (request.getPath().startsWith(Constants.Endpoints.USER_SESSIONS_ENDPOINT)
+                && "PATCH".equals(request.getMethod())) {
+                response = patchSession(request);
+            }
+            else {
+                response = new MockResponse().setResponseCode(404);
+            }
+            return response.setHeadersDelay(responseDelayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private MockResponse incrementInterruptions(RecordedRequest request) {
+            final JSONObject params = new JSONObject(request.getBody().readUtf8());
+            final UUID id = UUID.fromString(params.getString(Constants.JsonFields.SESSION_ID_PARAM));
+            final int delta = params.getInt(Constants.JsonFields.DELTA_PARAM);
+            final String writeId = params.optString(Constants.JsonFields.WRITE_ID_PARAM, null);
+            final JSONArray rows = new JSONArray();
+            sessions.computeIfPresent(id, (key, session) -> {
+                // A write ID is only applied once, later attempts just return the row
+                if (writeId == null || appliedWriteIds.add(writeId)) {
+                    session.put(Constants.JsonFields.INTERRUPTION_COUNT,
+                        session.getInt(Constants.JsonFields.INTERRUPTION_COUNT) + delta);
+                }
+                rows.put(new JSONObject(session.toString()));
+                return session;
+            });
+            return json(rows);
+        }
+
+        private MockResponse selectSession(RecordedRequest request) {
+            final JSONArray rows = new JSONArray();
+            sessions.computeIfPresent(filteredId(request), (key, session) -> {
+                rows.put(new JSONObject(session.toString()));
+                return session;
+            });
+            return json(rows);
+        }
+
+        private MockResponse patchSession(RecordedRequest request) {
+            final JSONObject changes = new JSONObject(request.getBody().readUtf8());
+            final String countFilter = request.getRequestUrl().queryParameter(Constants.JsonFields.INTERRUPTION_COUNT);
+            final String completedFilter = request.getRequestUrl().queryParameter(Constants.JsonFields.WAS_COMPLETED);
+            final JSONArray rows = new JSONArray();
+            sessions.computeIfPresent(filteredId(request), (key, session) -> {
+                final String currentCount = "eq." + session.getInt(Constants.JsonFields.INTERRUPTION_COUNT);
+                final String currentCompleted = "is." + session.getBoolean(Constants.JsonFields.WAS_COMPLETED);
+                if ((countFilter == null || countFilter.equals(currentCount))
+                    && (completedFilter == null || completedFilter.equals(currentCompleted))) {
+                    changes.keySet().forEach(field -> session.put(field, changes.get(field)));
+                    rows.put(new JSONObject(session.toString()));
+                }
+                return session;
+            });
+            return json(rows);
+        }
+
+        private static UUID filteredId(RecordedRequest request) {
+            final String filter = request.getRequestUrl().queryParameter(Constants.JsonFields.ID_FIELD);
+            return UUID.fromString(filter.substring("eq.".length()));
+        }
+
+        private static MockResponse json(JSONArray rows) {
+            return new MockResponse()
+                .setHeader(Constants.Http.CONTENT_TYPE_HEADER, Constants.Http.CONTENT_TYPE_JSON)
+                .setBody(rows.toString());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.pawmodoro.user_sessions.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.SupabaseTokenVerifier;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import okhttp3.OkHttpClient;
+
+/**
+ * Tests that interruption taps are buffered per session and written in batches.
+ */
+@ExtendWith(MockitoExtension.class)
+class WriteBehindSessionDataAccessTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private UserSessionDataAccess sessionDataAccess;
+
+    @Mock
+    private SupabaseTokenVerifier tokenVerifier;
+
+    private WriteBehindSessionDataAccess dataAccess;
+
+    @BeforeEach
+    void setUp() throws DatabaseAccessException {
+        // The periodic flush is not reached during a test, flushes are triggered explicitly
+        dataAccess = new WriteBehindSessionDataAccess(sessionDataAccess, tokenVerifier,
+            4, Duration.ofHours(1), Duration.ofMinutes(5),
+            new OkHttpClient(), "http://localhost", "test-key");
+        when(tokenVerifier.getUserId(anyString())).thenReturn(USER_ID);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(Constants.Http.AUTH_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void laterTapsReturnLocalCountWithoutWriting() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(4));
+
+        // Act
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        final UserSession third = dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+
+        // Assert
+        assertEquals(6, third.getInterruptionCount());
+        verify(sessionDataAccess, times(1)).incrementInterruptionCount(any(), anyInt(), anyString());
+    }
+
+    @Test
+    void flushAllWritesPendingTapsAsOneIncrement() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        when(sessionDataAccess.incrementInterruptionCount(eq(SESSION_ID), eq(3), eq(TOKEN), any(UUID.class)))
+            .thenReturn(session(4));
+        for (int i = 0; i < 4; i++) {
+            dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        }
+
+        // Act
+        dataAccess.flushAll();
+        dataAccess.flushAll();
+
+        // Assert
+        verify(sessionDataAccess).incrementInterruptionCount(eq(SESSION_ID), eq(3), eq(TOKEN), any(UUID.class));
+        verify(sessionDataAccess, times(1)).incrementInterruptionCount(any(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void failedWriteIsRetriedUnchangedBeforeNewerTaps() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        // The first attempt times out after Supabase applied it
+        when(sessionDataAccess.incrementInterruptionCount(eq(SESSION_ID), eq(2), eq(TOKEN), any(UUID.class)))
+            .thenThrow(new DatabaseAccessException("timeout"))
+            .thenReturn(session(3));
+        when(sessionDataAccess.incrementInterruptionCount(eq(SESSION_ID), eq(1), eq(TOKEN), any(UUID.class)))
+            .thenReturn(session(4));
+        for (int i = 0; i < 3; i++) {
+            dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        }
+
+        // Act
+        dataAccess.flushAll();
+        final UserSession local = dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        dataAccess.flushAll();
+
+        // Assert
+        assertEquals(4, local.getInterruptionCount());
+        final ArgumentCaptor<UUID> writeIds = ArgumentCaptor.forClass(UUID.class);
+        final InOrder order = inOrder(sessionDataAccess);
+        order.verify(sessionDataAccess, times(2))
+            .incrementInterruptionCount(eq(SESSION_ID), eq(2), eq(TOKEN), writeIds.capture());
+        order.verify(sessionDataAccess)
+            .incrementInterruptionCount(eq(SESSION_ID), eq(1), eq(TOKEN), writeIds.capture());
+        assertEquals(writeIds.getAllValues().get(0), writeIds.getAllValues().get(1));
+        assertNotEquals(writeIds.getAllValues().get(0), writeIds.getAllValues().get(2));
+    }
+
+    @Test
+    void openSessionIncludesPendingTaps() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        when(sessionDataAccess.getOpenSession(USER_ID, TOKEN)).thenReturn(session(1));
+        for (int i = 0; i < 3; i++) {
+            dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        }
+
+        // Act
+        final UserSession open = dataAccess.getOpenSession(USER_ID, TOKEN);
+
+        // Assert
+        assertEquals(3, open.getInterruptionCount());
+    }
+
+    @Test
+    void openSessionAddsPendingTapsToCountWrittenElsewhere() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        when(sessionDataAccess.getOpenSession(USER_ID, TOKEN)).thenReturn(session(5));
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        dataAccess.incrementInterruptionCount(SESSION_ID, 2);
+
+        // Act
+        final UserSession open = dataAccess.getOpenSession(USER_ID, TOKEN);
+
+        // Assert
+        assertEquals(7, open.getInterruptionCount());
+    }
+
+    @Test
+    void completionWritesPendingTapsFirst() throws DatabaseAccessException {
+        // Arrange
+        final UserSession session = session(2);
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        when(sessionDataAccess.incrementInterruptionCount(eq(SESSION_ID), eq(1), eq(TOKEN), any(UUID.class)))
+            .thenReturn(session);
+        final ZonedDateTime endTime = ZonedDateTime.now();
+        when(sessionDataAccess.completeSession(SESSION_ID, endTime, TOKEN)).thenReturn(session);
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+
+        // Act
+        dataAccess.completeSession(SESSION_ID, endTime, TOKEN);
+        dataAccess.flushAll();
+
+        // Assert
+        final InOrder order = inOrder(sessionDataAccess);
+        order.verify(sessionDataAccess).incrementInterruptionCount(SESSION_ID, 1, TOKEN);
+        order.verify(sessionDataAccess).incrementInterruptionCount(eq(SESSION_ID), eq(1), eq(TOKEN), any(UUID.class));
+        order.verify(sessionDataAccess).completeSession(SESSION_ID, endTime, TOKEN);
+        order.verify(sessionDataAccess, never()).incrementInterruptionCount(any(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void tapOfAnotherUserIsWrittenThrough() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        when(tokenVerifier.getUserId(anyString())).thenReturn(UUID.randomUUID());
+
+        // Act
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+
+        // Assert
+        verify(sessionDataAccess, times(2)).incrementInterruptionCount(eq(SESSION_ID), eq(1), anyString());
+    }
+
+    @Test
+    void shutdownWritesPendingTaps() throws DatabaseAccessException {
+        // Arrange
+        when(sessionDataAccess.incrementInterruptionCount(SESSION_ID, 1, TOKEN)).thenReturn(session(1));
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+        dataAccess.incrementInterruptionCount(SESSION_ID, 1);
+
+        // Act
+        dataAccess.shutdown();
+
+        // Assert
+        verify(sessionDataAccess).incrementInterruptionCount(SESSION_ID, 1, TOKEN);
+        verify(sessionDataAccess).incrementInterruptionCount(eq(SESSION_ID), eq(1), eq(TOKEN), any(UUID.class));
+    }
+
+    private static UserSession session(int interruptionCount) {
+        final UserSession session = new UserSession(SessionType.FOCUS, 25);
+        setPrivateField(session, "id", SESSION_ID);
+        setPrivateField(session, "userId", USER_ID);
+        return session.withInterruptionCount(interruptionCount);
+    }
+
+    private static void setPrivateField(Object object, String fieldName, Object value) {
+        try {
+            final var field = object.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(object, value);
+        }
+        catch (NoSuchFieldException | IllegalAccessException exception) {
+            throw new RuntimeException("Failed to set field " + fieldName, exception);
+        }
+    }
+}
@@ -51,7 +51,7 @@ class CancelSessionInteractorTest {
         // Arrange
         final UUID sessionId = UUID.randomUUID();
         final UUID userId = UUID.randomUUID();
-        final ZonedDateTime startTime = ZonedDateTime.now();
+        final ZonedDateTime startTime = ZonedDateTime.now().minusMinutes(5);
         final CancelSessionInputData input = new CancelSessionInputData(sessionId, TEST_TOKEN);
 
         // Create initial session
@@ -62,10 +62,11 @@ class CancelSessionInteractorTest {
         setPrivateField(initialSession, "sessionEndTime", startTime);
 
         // Mock data access calls
-        when(dataAccess.getSession(sessionId, TEST_TOKEN)).thenReturn(initialSession);
-        when(dataAccess.updateCancellation(any(UserSession.class), eq(TEST_TOKEN))).thenAnswer(invocation -> {
-            return invocation.getArgument(0);
-        });
+        when(dataAccess.cancelSession(eq(sessionId), any(ZonedDateTime.class), eq(TEST_TOKEN)))
+            .thenAnswer(invocation -> {
+                setPrivateField(initialSession, "sessionEndTime", invocation.getArgument(1));
+                return initialSession;
+            });
 
         final CancelSessionResponseDto expectedResponse = CancelSessionResponseDto.builder()
             .id(sessionId)
@@ -84,8 +85,7 @@ class CancelSessionInteractorTest {
         interactor.execute(input);
 
         // Verify interactions and output data
-        verify(dataAccess).getSession(sessionId, TEST_TOKEN);
-        verify(dataAccess).updateCancellation(any(UserSession.class), eq(TEST_TOKEN));
+        verify(dataAccess).cancelSession(eq(sessionId), any(ZonedDateTime.class), eq(TEST_TOKEN));
         verifyOutputData(sessionId, userId, SessionType.FOCUS, startTime, 25, 0);
     }
 
@@ -94,7 +94,7 @@ class CancelSessionInteractorTest {
         // Arrange
         final UUID sessionId = UUID.randomUUID();
         final CancelSessionInputData input = new CancelSessionInputData(sessionId, TEST_TOKEN);
-        when(dataAccess.getSession(sessionId, TEST_TOKEN))
+        when(dataAccess.cancelSession(eq(sessionId), any(ZonedDateTime.class), eq(TEST_TOKEN)))
             .thenThrow(new DatabaseAccessException("Database error"));
 
         // Act & Assert
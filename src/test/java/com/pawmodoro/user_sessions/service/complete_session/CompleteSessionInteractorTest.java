@@ -0,0 +1,132 @@
+package com.pawmodoro.user_sessions.service.complete_session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.entity.UserSession;
+import com.pawmodoro.user_sessions.service.complete_session.interface_adapter.CompleteSessionOutputBoundary;
+import com.pawmodoro.user_sessions.service.complete_session.interface_adapter.CompleteSessionResponseDto;
+
+/**
+ * Unit tests for CompleteSessionInteractor.
+ */
+@ExtendWith(MockitoExtension.class)
+class CompleteSessionInteractorTest {
+    private static final String TEST_TOKEN = "Bearer test-token";
+
+    @Mock
+    private CompleteSessionDataAccessInterface dataAccess;
+
+    @Mock
+    private CompleteSessionOutputBoundary presenter;
+
+    private CompleteSessionInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        interactor = new CompleteSessionInteractor(dataAccess, presenter);
+    }
+
+    @Test
+    void testExecuteWithValidInput() throws DatabaseAccessException {
+        // Arrange
+        final UUID sessionId = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        final ZonedDateTime startTime = ZonedDateTime.now().minusMinutes(25);
+        final CompleteSessionInputData input = new CompleteSessionInputData(sessionId, TEST_TOKEN);
+        when(dataAccess.completeSession(eq(sessionId), any(ZonedDateTime.class), eq(TEST_TOKEN)))
+            .thenAnswer(invocation -> UserSession.restore()
+                .id(sessionId)
+                .userId(userId)
+                .sessionType(SessionType.FOCUS)
+                .sessionStartTime(startTime)
+                .sessionEndTime(invocation.getArgument(1))
+                .durationMinutes(25)
+                .completed(true)
+                .interruptionCount(2)
+                .build());
+        final CompleteSessionResponseDto expectedResponse = CompleteSessionResponseDto.builder().build();
+        when(presenter.prepareResponse(any(CompleteSessionOutputData.class))).thenReturn(expectedResponse);
+
+        // Act
+        final CompleteSessionResponseDto response = interactor.execute(input);
+
+        // Assert
+        assertSame(expectedResponse, response);
+        final ArgumentCaptor<CompleteSessionOutputData> outputDataCaptor = forClass(CompleteSessionOutputData.class);
+        verify(presenter).prepareResponse(outputDataCaptor.capture());
+        final CompleteSessionOutputData outputData = outputDataCaptor.getValue();
+        assertEquals(sessionId, outputData.getId());
+        assertEquals(userId, outputData.getUserId());
+        assertEquals(SessionType.FOCUS, outputData.getSessionType());
+        assertEquals(startTime, outputData.getSessionStartTime());
+        assertTrue(outputData.getSessionEndTime().isAfter(startTime),
+            "Session end time should be after start time");
+        assertEquals(25, outputData.getDurationMinutes());
+        assertTrue(outputData.isCompleted());
+        assertEquals(2, outputData.getInterruptionCount());
+    }
+
+    @Test
+    void testExecuteWithCompletedSession() throws DatabaseAccessException {
+        // Arrange
+        final UUID sessionId = UUID.randomUUID();
+        final CompleteSessionInputData input = new CompleteSessionInputData(sessionId, TEST_TOKEN);
+        when(dataAccess.completeSession(eq(sessionId), any(ZonedDateTime.class), eq(TEST_TOKEN)))
+            .thenThrow(new SessionAlreadyCompletedException(sessionId.toString()));
+
+        // Act & Assert
+        assertThrows(SessionAlreadyCompletedException.class, () -> interactor.execute(input));
+        verifyNoInteractions(presenter);
+    }
+
+    @Test
+    void testExecuteWithDatabaseError() throws DatabaseAccessException {
+        // Arrange
+        final UUID sessionId = UUID.randomUUID();
+        final CompleteSessionInputData input = new CompleteSessionInputData(sessionId, TEST_TOKEN);
+        when(dataAccess.completeSession(eq(sessionId), any(ZonedDateTime.class), eq(TEST_TOKEN)))
+            .thenThrow(new DatabaseAccessException("Database error"));
+
+        // Act & Assert
+        assertThrows(DatabaseAccessException.class, () -> interactor.execute(input));
+    }
+
+    @Test
+    void testExecuteWithNullToken() {
+        // Arrange
+        final CompleteSessionInputData input = new CompleteSessionInputData(UUID.randomUUID(), null);
+
+        // Act
+        final AuthenticationException exception = assertThrows(
+            AuthenticationException.class,
+            () -> interactor.execute(input));
+
+        // Assert
+        assertEquals(Constants.ErrorMessages.AUTH_TOKEN_REQUIRED, exception.getMessage());
+        verifyNoInteractions(dataAccess, presenter);
+    }
+}
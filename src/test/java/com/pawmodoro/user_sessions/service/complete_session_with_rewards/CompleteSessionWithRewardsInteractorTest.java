@@ -0,0 +1,147 @@
+package com.pawmodoro.user_sessions.service.complete_session_with_rewards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.pawmodoro.cats.interface_adapter.CatDto;
+import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyInputBoundary;
+import com.pawmodoro.cats.service.update_cats_after_study.UpdateCatsAfterStudyInputData;
+import com.pawmodoro.cats.service.update_cats_after_study.interface_adapter.UpdateCatsAfterStudyResponseDto;
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.user_sessions.entity.SessionAlreadyCompletedException;
+import com.pawmodoro.user_sessions.entity.SessionType;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionInputBoundary;
+import com.pawmodoro.user_sessions.service.complete_session.CompleteSessionInputData;
+import com.pawmodoro.user_sessions.service.complete_session.interface_adapter.CompleteSessionResponseDto;
+import com.pawmodoro.user_sessions.service.complete_session_with_rewards.interface_adapter.CompleteSessionWithRewardsResponseDto;
+
+/**
+ * Unit tests for CompleteSessionWithRewardsInteractor.
+ */
+@ExtendWith(MockitoExtension.class)
+class CompleteSessionWithRewardsInteractorTest {
+    private static final String TOKEN = "test-token";
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private static final CompleteSessionInputData COMPLETE_INPUT =
+        new CompleteSessionInputData(SESSION_ID, Constants.Http.BEARER_PREFIX + TOKEN);
+
+    @Mock
+    private CompleteSessionInputBoundary completeSessionInteractor;
+
+    @Mock
+    private UpdateCatsAfterStudyInputBoundary updateCatsInteractor;
+
+    @Captor
+    private ArgumentCaptor<CompletionStage<Boolean>> rewardCaptor;
+
+    private CompletableFuture<UpdateCatsAfterStudyResponseDto> catUpdate;
+    private CompleteSessionWithRewardsInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        interactor = new CompleteSessionWithRewardsInteractor(completeSessionInteractor, updateCatsInteractor);
+        catUpdate = new CompletableFuture<>();
+        when(updateCatsInteractor.executeAsync(any(UpdateCatsAfterStudyInputData.class), rewardCaptor.capture()))
+            .thenReturn(catUpdate);
+    }
+
+    @Test
+    void executeRewardsCatsAfterFocusSession() throws Exception {
+        // Arrange
+        final CompleteSessionResponseDto session = session(SessionType.FOCUS);
+        when(completeSessionInteractor.execute(COMPLETE_INPUT)).thenAnswer(invocation -> {
+            // The cats are already being read while the session is completed
+            assertFalse(rewardCaptor.getValue().toCompletableFuture().isDone());
+            return session;
+        });
+        final UpdateCatsAfterStudyResponseDto cats = new UpdateCatsAfterStudyResponseDto(
+            List.of(new CatDto("Mochi", "testuser", 90, 100, "cat-1.png")), List.of());
+
+        // Act
+        final CompletableFuture<CompleteSessionWithRewardsResponseDto> result =
+            interactor.execute(new CompleteSessionWithRewardsInputData(SESSION_ID, TOKEN));
+        catUpdate.complete(cats);
+
+        // Assert
+        assertTrue(rewardCaptor.getValue().toCompletableFuture().get());
+        assertSame(session, result.get().session());
+        assertSame(cats, result.get().cats());
+    }
+
+    @Test
+    void executeDoesNotRewardCatsAfterBreak() throws Exception {
+        // Arrange
+        when(completeSessionInteractor.execute(eq(COMPLETE_INPUT)))
+            .thenReturn(session(SessionType.SHORT_BREAK));
+
+        // Act
+        interactor.execute(new CompleteSessionWithRewardsInputData(SESSION_ID, TOKEN));
+
+        // Assert
+        assertFalse(rewardCaptor.getValue().toCompletableFuture().get());
+    }
+
+    @Test
+    void executeDoesNotRewardCatsWhenCompletionFails() throws Exception {
+        // Arrange
+        when(completeSessionInteractor.execute(COMPLETE_INPUT))
+            .thenThrow(new SessionAlreadyCompletedException(SESSION_ID.toString()));
+
+        // Act & Assert
+        assertThrows(SessionAlreadyCompletedException.class,
+            () -> interactor.execute(new CompleteSessionWithRewardsInputData(SESSION_ID, TOKEN)));
+        assertFalse(rewardCaptor.getValue().toCompletableFuture().get());
+    }
+
+    @Test
+    void executeReportsFailedRewardWithCompletedSession() throws Exception {
+        // Arrange
+        final CompleteSessionResponseDto session = session(SessionType.FOCUS);
+        when(completeSessionInteractor.execute(COMPLETE_INPUT)).thenReturn(session);
+
+        // Act
+        final CompletableFuture<CompleteSessionWithRewardsResponseDto> result =
+            interactor.execute(new CompleteSessionWithRewardsInputData(SESSION_ID, TOKEN));
+        catUpdate.completeExceptionally(new DatabaseAccessException("unavailable"));
+
+        // Assert
+        assertSame(session, result.get().session());
+        assertEquals(List.of(), result.get().cats().updatedCats());
+        assertEquals(List.of("unavailable"), result.get().cats().failures());
+    }
+
+    private static CompleteSessionResponseDto session(SessionType sessionType) {
+        final ZonedDateTime now = ZonedDateTime.now();
+        return CompleteSessionResponseDto.builder()
+            .id(SESSION_ID)
+            .userId(UUID.randomUUID())
+            .sessionType(sessionType.getValue())
+            .sessionStartTime(now.minusMinutes(25))
+            .sessionEndTime(now)
+            .durationMinutes(25)
+            .completed(true)
+            .interruptionCount(0)
+            .build();
+    }
+}
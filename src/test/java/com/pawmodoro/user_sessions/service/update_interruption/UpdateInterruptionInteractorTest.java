@@ -49,24 +49,16 @@ class UpdateInterruptionInteractorTest {
         final ZonedDateTime now = ZonedDateTime.now();
         final UpdateInterruptionInputData input = new UpdateInterruptionInputData(sessionId);
 
-        // Create initial session with 0 interruptions
-        final UserSession initialSession = new UserSession(SessionType.FOCUS, 25);
-        setPrivateField(initialSession, "id", sessionId);
-        setPrivateField(initialSession, "userId", userId);
-        setPrivateField(initialSession, "sessionStartTime", now);
-        setPrivateField(initialSession, "sessionEndTime", now);
-
         // Create expected updated session with 1 interruption
         final UserSession updatedSession = new UserSession(SessionType.FOCUS, 25);
         setPrivateField(updatedSession, "id", sessionId);
         setPrivateField(updatedSession, "userId", userId);
         setPrivateField(updatedSession, "sessionStartTime", now);
         setPrivateField(updatedSession, "sessionEndTime", now);
-        updatedSession.recordInterruption();
+        setPrivateField(updatedSession, "interruptionCount", 1);
 
-        // Mock data access calls
-        when(dataAccess.getSession(sessionId)).thenReturn(initialSession);
-        when(dataAccess.updateInterruptionCount(any(UserSession.class))).thenReturn(updatedSession);
+        // Mock data access call
+        when(dataAccess.incrementInterruptionCount(sessionId, 1)).thenReturn(updatedSession);
 
         final UpdateInterruptionResponseDto expectedResponse = UpdateInterruptionResponseDto.builder()
             .id(sessionId)
@@ -88,8 +80,7 @@ class UpdateInterruptionInteractorTest {
         assertResponseMatches(response, sessionId, userId, SessionType.FOCUS, now, 25, 1);
 
         // Verify interactions and output data
-        verify(dataAccess).getSession(sessionId);
-        verify(dataAccess).updateInterruptionCount(any(UserSession.class));
+        verify(dataAccess).incrementInterruptionCount(sessionId, 1);
         verifyOutputData(sessionId, userId, SessionType.FOCUS, now, 25, 1);
     }
 
@@ -98,7 +89,7 @@ class UpdateInterruptionInteractorTest {
         // Arrange
         final UUID sessionId = UUID.randomUUID();
         final UpdateInterruptionInputData input = new UpdateInterruptionInputData(sessionId);
-        when(dataAccess.getSession(sessionId))
+        when(dataAccess.incrementInterruptionCount(sessionId, 1))
             .thenThrow(new DatabaseAccessException("Database error"));
 
         // Act & Assert
@@ -0,0 +1,48 @@
+package com.pawmodoro.users.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the Bloom filter never misses an added string and stays near its false positive rate.
+ */
+class BloomFilterTest {
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    void mightContainFindsEveryAddedString() {
+        // Arrange
+        final BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+
+        // Act
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("user" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("user" + i), "Missed user" + i);
+        }
+    }
+
+    @Test
+    void mightContainKeepsFalsePositiveRateWhenFull() {
+        // Arrange
+        final BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("user" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("free" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < INSERTIONS * 0.02, falsePositives + " false positives");
+    }
+}
@@ -0,0 +1,312 @@
+package com.pawmodoro.users.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pawmodoro.constants.Constants;
+import com.pawmodoro.core.TokenIdentity;
+import com.pawmodoro.core.TokenIdentityCache;
+import com.pawmodoro.users.entity.AuthenticatedUser;
+import com.pawmodoro.users.entity.CommonUserFactory;
+import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
+import com.pawmodoro.users.entity.InvalidLoginException;
+import com.pawmodoro.users.entity.InvalidSignupException;
+import com.pawmodoro.users.entity.UserNotFoundException;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Tests the login and signup calls against a local stand-in for the user tables and the Supabase auth server.
+ */
+class DbUserDataAccessObjectTest {
+    private static final String USERNAME = "testuser";
+    private static final String PASSWORD = "password123";
+
+    private MockWebServer server;
+    private AuthStandIn standIn;
+    private LoginEmailCache emailCache;
+    private TokenIdentityCache identityCache;
+    private SignupAvailabilityFilter availabilityFilter;
+    private DbUserDataAccessObject dataAccess;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standIn = new AuthStandIn();
+        standIn.addUser(USERNAME, "test@example.com", PASSWORD);
+        server = new MockWebServer();
+        server.setDispatcher(standIn);
+        server.start();
+
+        final String apiUrl = server.url("").toString().replaceAll("/$", "");
+        final OkHttpClient client = new OkHttpClient();
+        emailCache = new LoginEmailCache(100, Duration.ofMinutes(10));
+        // Rebuilt explicitly by the tests that need it, until then every name may be taken
+        availabilityFilter = new SignupAvailabilityFilter(false, Duration.ofHours(1), 100, 0.01, 2,
+            client, apiUrl, "test-key");
+        identityCache = new TokenIdentityCache(100, Duration.ofMinutes(5));
+        dataAccess = new DbUserDataAccessObject(new CommonUserFactory(), identityCache, emailCache,
+            availabilityFilter, client, apiUrl, "test-key");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void logoutForgetsCachedIdentityOfToken() {
+        // Arrange
+        identityCache.put("access-token",
+            new TokenIdentity(UUID.randomUUID(), USERNAME, Instant.now().plusSeconds(3600)));
+
+        // Act
+        final boolean loggedOut = dataAccess.logout("access-token");
+
+        // Assert
+        assertTrue(loggedOut);
+        assertNull(identityCache.getIfPresent("access-token"));
+    }
+
+    @Test
+    void authenticateLooksUpEmailAndSignsInWithoutReadingProfile() throws Exception {
+        // Act
+        final AuthenticatedUser user = dataAccess.authenticate(USERNAME, PASSWORD);
+
+        // Assert
+        assertEquals(USERNAME, user.user().getName());
+        assertEquals("test@example.com", user.user().getEmail());
+        assertEquals(2, server.getRequestCount());
+        assertTrue(server.takeRequest().getPath().startsWith(Constants.Endpoints.LOGIN_LOOKUP_ENDPOINT));
+        assertEquals(Constants.Endpoints.AUTH_SIGNIN_ENDPOINT, server.takeRequest().getPath());
+    }
+
+    @Test
+    void authenticateWithCachedEmailSignsInOnly() throws Exception {
+        // Arrange
+        dataAccess.authenticate(USERNAME, PASSWORD);
+
+        // Act
+        dataAccess.authenticate(USERNAME, PASSWORD);
+
+        // Assert
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void authenticateWithWrongPasswordSignsInOnceAndDropsCachedEmail() throws Exception {
+        // Arrange
+        dataAccess.authenticate(USERNAME, PASSWORD);
+
+        // Act & Assert
+        assertThrows(InvalidLoginException.class, () -> dataAccess.authenticate(USERNAME, "wrongpassword"));
+        assertEquals(3, server.getRequestCount());
+        assertNull(emailCache.getIfPresent(USERNAME));
+    }
+
+    @Test
+    void loginAfterEmailChangeLooksUpEmailAgain() throws Exception {
+        // Arrange
+        dataAccess.authenticate(USERNAME, PASSWORD);
+        standIn.addUser(USERNAME, "changed@example.com", PASSWORD);
+        assertThrows(InvalidLoginException.class, () -> dataAccess.authenticate(USERNAME, PASSWORD));
+
+        // Act
+        final AuthenticatedUser user = dataAccess.authenticate(USERNAME, PASSWORD);
+
+        // Assert
+        assertEquals("changed@example.com", user.user().getEmail());
+        assertEquals("changed@example.com", emailCache.getIfPresent(USERNAME));
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    void authenticateUnknownUserThrows() {
+        assertThrows(UserNotFoundException.class, () -> dataAccess.authenticate("nobody", PASSWORD));
+        assertNull(emailCache.getIfPresent("nobody"));
+    }
+
+    @Test
+    void existsByNameSkipsSupabaseForNamesTheFilterRulesOut() throws Exception {
+        // Arrange
+        standIn.addUser("second", "second@example.com", PASSWORD);
+        standIn.addUser("third", "third@example.com", PASSWORD);
+        availabilityFilter.rebuild();
+        final int rebuildRequests = server.getRequestCount();
+
+        // Act
+        final boolean freeNameTaken = dataAccess.existsByName("newuser");
+        final boolean takenName = dataAccess.existsByName("third");
+        final boolean takenEmail = dataAccess.existsByEmail("Second@Example.com");
+
+        // Assert
+        assertEquals(false, freeNameTaken);
+        assertTrue(takenName);
+        assertTrue(takenEmail);
+        assertEquals(2, rebuildRequests);
+        assertEquals(rebuildRequests + 2, server.getRequestCount());
+    }
+
+    @Test
+    void savedUserIsTakenWithoutRebuild() throws Exception {
+        // Arrange
+        availabilityFilter.rebuild();
+
+        // Act
+        dataAccess.save(new CommonUserFactory().create("newuser", "new@example.com"), PASSWORD);
+
+        // Assert
+        assertTrue(availabilityFilter.mightBeTakenUsername("newuser"));
+        assertTrue(availabilityFilter.mightBeTakenEmail("new@example.com"));
+    }
+
+    @Test
+    void saveReportsUsernameTakenSinceLastRebuild() throws Exception {
+        // Arrange
+        availabilityFilter.rebuild();
+        standIn.addUser("latecomer", "late@example.com", PASSWORD);
+        assertEquals(false, dataAccess.existsByName("latecomer"));
+
+        // Act & Assert
+        final InvalidSignupException exception = assertThrows(InvalidSignupException.class,
+            () -> dataAccess.save(new CommonUserFactory().create("latecomer", "other@example.com"), PASSWORD));
+        assertEquals(Constants.ErrorMessages.SIGNUP_USERNAME_TAKEN, exception.getMessage());
+    }
+
+    @Test
+    void saveReportsEmailRegisteredSinceLastRebuild() throws Exception {
+        // Arrange
+        availabilityFilter.rebuild();
+        standIn.addUser("latecomer", "late@example.com", PASSWORD);
+
+        // Act & Assert
+        assertThrows(EmailAlreadyRegisteredException.class,
+            () -> dataAccess.save(new CommonUserFactory().create("someone", "late@example.com"), PASSWORD));
+    }
+
+    /**
+     * Emulates login_lookup, user_profiles and the signup and password grant of the Supabase auth server.
+     */
+    private static final class AuthStandIn extends Dispatcher {
+        private final Map<String, String> emails = new ConcurrentHashMap<>();
+        private final Map<String, String> passwords = new ConcurrentHashMap<>();
+
+        void addUser(String username, String email, String password) {
+            emails.put(username, email);
+            passwords.put(email, password);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final MockResponse response;
+            if (request.getPath().startsWith(Constants.Endpoints.LOGIN_LOOKUP_ENDPOINT)) {
+                response = lookup(request);
+            }
+            else if (Constants.Endpoints.AUTH_SIGNIN_ENDPOINT.equals(request.getPath())) {
+                response = signIn(request);
+            }
+            else if (request.getPath().startsWith(Constants.Endpoints.USER_PROFILES_ENDPOINT)) {
+                response = selectProfiles(request);
+            }
+            else if (Constants.Endpoints.AUTH_SIGNUP_ENDPOINT.equals(request.getPath())) {
+                response = signUp(request);
+            }
+            else if (Constants.Endpoints.AUTH_SIGNOUT_ENDPOINT.equals(request.getPath())) {
+                response = new MockResponse().setResponseCode(204);
+            }
+            else {
+                response = new MockResponse().setResponseCode(404);
+            }
+            return response;
+        }
+
+        private MockResponse lookup(RecordedRequest request) {
+            final String filter = request.getRequestUrl().queryParameter(Constants.JsonFields.USERNAME_FIELD);
+            final JSONArray rows = new JSONArray();
+            final String email = emails.get(filter.substring("eq.".length()));
+            if (email != null) {
+                rows.put(new JSONObject().put(Constants.JsonFields.EMAIL_FIELD, email));
+            }
+            return new MockResponse().setBody(rows.toString());
+        }
+
+        private MockResponse selectProfiles(RecordedRequest request) {
+            final HttpUrl url = request.getRequestUrl();
+            final String usernameFilter = url.queryParameter(Constants.JsonFields.USERNAME_FIELD);
+            final String emailFilter = url.queryParameter(Constants.JsonFields.EMAIL_FIELD);
+            final List<JSONObject> profiles = emails.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new JSONObject()
+                    .put(Constants.JsonFields.USERNAME_FIELD, entry.getKey())
+                    .put(Constants.JsonFields.EMAIL_FIELD, entry.getValue()))
+                .filter(profile -> usernameFilter == null
+                    || usernameFilter.equals("eq." + profile.getString(Constants.JsonFields.USERNAME_FIELD)))
+                .filter(profile -> emailFilter == null
+                    || emailFilter.equalsIgnoreCase("eq." + profile.getString(Constants.JsonFields.EMAIL_FIELD)))
+                .skip(Long.parseLong(Objects.requireNonNullElse(url.queryParameter("offset"), "0")))
+                .limit(Long.parseLong(Objects.requireNonNullElse(url.queryParameter("limit"), "1000")))
+                .toList();
+            return new MockResponse().setBody(new JSONArray(profiles).toString());
+        }
+
+        private MockResponse signUp(RecordedRequest request) {
+            final JSONObject signup = new JSONObject(request.getBody().readUtf8());
+            final String email = signup.getString(Constants.JsonFields.EMAIL_FIELD);
+            final String username = signup.getJSONObject("data").getString("display_name");
+            if (emails.containsValue(email)) {
+                return new MockResponse().setResponseCode(422).setBody(new JSONObject()
+                    .put(Constants.JsonFields.ERROR_CODE_FIELD, Constants.JsonFields.USER_ALREADY_EXISTS_CODE)
+                    .put(Constants.JsonFields.MSG_FIELD, "User already registered").toString());
+            }
+            if (emails.containsKey(username)) {
+                // The profile trigger fails on the taken username
+                return new MockResponse().setResponseCode(500).setBody(new JSONObject()
+                    .put(Constants.JsonFields.MSG_FIELD, "Database error saving new user").toString());
+            }
+            addUser(username, email, signup.getString(Constants.JsonFields.PASSWORD_FIELD));
+            return new MockResponse().setBody(tokens(email).toString());
+        }
+
+        private MockResponse signIn(RecordedRequest request) {
+            final JSONObject credentials = new JSONObject(request.getBody().readUtf8());
+            final String email = credentials.getString(Constants.JsonFields.EMAIL_FIELD);
+            final boolean current = emails.containsValue(email);
+            if (!current || !credentials.getString(Constants.JsonFields.PASSWORD_FIELD).equals(passwords.get(email))) {
+                return new MockResponse().setResponseCode(400).setBody(
+                    new JSONObject().put(Constants.JsonFields.MSG_FIELD, "Invalid login credentials").toString());
+            }
+            return new MockResponse().setBody(tokens(email).toString());
+        }
+
+        private static JSONObject tokens(String email) {
+            return new JSONObject()
+                .put(Constants.JsonFields.ACCESS_TOKEN_FIELD, "access-token")
+                .put(Constants.JsonFields.REFRESH_TOKEN_FIELD, "refresh-token")
+                .put(Constants.JsonFields.EXPIRES_IN_FIELD, 3600)
+                .put(Constants.JsonFields.EXPIRES_AT_FIELD, 1_000_000L)
+                .put(Constants.JsonFields.USER_FIELD, new JSONObject()
+                    .put(Constants.JsonFields.ID_FIELD, "user-id")
+                    .put(Constants.JsonFields.EMAIL_FIELD, email));
+        }
+    }
+}
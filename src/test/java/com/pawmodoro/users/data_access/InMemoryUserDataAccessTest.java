@@ -0,0 +1,99 @@
+package com.pawmodoro.users.data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pawmodoro.core.AuthenticationException;
+import com.pawmodoro.core.SimulatedLatency;
+import com.pawmodoro.users.entity.AuthenticatedUser;
+import com.pawmodoro.users.entity.AuthenticationToken;
+import com.pawmodoro.users.entity.CommonUserFactory;
+import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
+import com.pawmodoro.users.entity.InvalidLoginException;
+import com.pawmodoro.users.entity.InvalidSignupException;
+import com.pawmodoro.users.entity.UserFactory;
+
+/**
+ * Tests the in-memory accounts and tokens.
+ */
+class InMemoryUserDataAccessTest {
+    private static final String USERNAME = "testuser";
+    private static final String EMAIL = "test@example.com";
+    private static final String PASSWORD = "password123";
+
+    private final UserFactory userFactory = new CommonUserFactory();
+    private InMemoryUserDataAccess dataAccess;
+
+    @BeforeEach
+    void setUp() {
+        dataAccess = new InMemoryUserDataAccess(userFactory, new SimulatedLatency(Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    void saveIssuesTokenThatResolvesToTheUser() throws Exception {
+        // Act
+        final AuthenticationToken tokens = dataAccess.save(userFactory.create(USERNAME, EMAIL), PASSWORD);
+
+        // Assert
+        assertEquals(USERNAME, dataAccess.getIdentityFromToken("Bearer " + tokens.accessToken()).username());
+        assertTrue(dataAccess.existsByName(USERNAME));
+        assertTrue(dataAccess.existsByEmail("Test@Example.com"));
+    }
+
+    @Test
+    void saveWithTakenEmailOrUsernameIsRejected() {
+        // Arrange
+        dataAccess.save(userFactory.create(USERNAME, EMAIL), PASSWORD);
+
+        // Act & Assert
+        assertThrows(EmailAlreadyRegisteredException.class,
+            () -> dataAccess.save(userFactory.create("otheruser", EMAIL), PASSWORD));
+        assertThrows(InvalidSignupException.class,
+            () -> dataAccess.save(userFactory.create(USERNAME, "other@example.com"), PASSWORD));
+        assertFalse(dataAccess.existsByName("otheruser"));
+        assertFalse(dataAccess.existsByEmail("other@example.com"));
+    }
+
+    @Test
+    void authenticateWithWrongPasswordThrowsInvalidLoginException() {
+        // Arrange
+        dataAccess.save(userFactory.create(USERNAME, EMAIL), PASSWORD);
+
+        // Act & Assert
+        assertThrows(InvalidLoginException.class, () -> dataAccess.authenticate(USERNAME, "wrong-password"));
+    }
+
+    @Test
+    void refreshTokenCanOnlyBeUsedOnce() throws Exception {
+        // Arrange
+        dataAccess.save(userFactory.create(USERNAME, EMAIL), PASSWORD);
+        final AuthenticatedUser user = dataAccess.authenticate(USERNAME, PASSWORD);
+
+        // Act
+        final AuthenticationToken refreshed = dataAccess.refreshTokens(user.tokens().refreshToken());
+
+        // Assert
+        assertEquals(USERNAME, dataAccess.getIdentityFromToken(refreshed.accessToken()).username());
+        assertThrows(AuthenticationException.class, () -> dataAccess.refreshTokens(user.tokens().refreshToken()));
+    }
+
+    @Test
+    void logoutRevokesAccessToken() {
+        // Arrange
+        final String accessToken = dataAccess.save(userFactory.create(USERNAME, EMAIL), PASSWORD).accessToken();
+
+        // Act
+        final boolean loggedOut = dataAccess.logout(accessToken);
+
+        // Assert
+        assertTrue(loggedOut);
+        assertThrows(AuthenticationException.class, () -> dataAccess.getIdentityFromToken(accessToken));
+    }
+}
@@ -50,8 +50,7 @@ class LoginInteractorTest {
         final AuthenticatedUser authenticatedUser = new AuthenticatedUser(user, tokens);
         final LoginResponseDto expectedResponse = LoginResponseDto.from("testuser", tokens);
 
-        when(mockUserDataAccess.get("testuser")).thenReturn(user);
-        when(mockUserDataAccess.authenticate("test@example.com", "password123"))
+        when(mockUserDataAccess.authenticate("testuser", "password123"))
             .thenReturn(authenticatedUser);
         when(mockLoginPresenter.prepareResponse(any(LoginOutputData.class)))
             .thenReturn(expectedResponse);
@@ -61,7 +60,7 @@ class LoginInteractorTest {
 
         // Assert
         assertEquals(expectedResponse, response);
-        verify(mockUserDataAccess).authenticate("test@example.com", "password123");
+        verify(mockUserDataAccess).authenticate("testuser", "password123");
         verify(mockLoginPresenter).prepareResponse(any(LoginOutputData.class));
     }
 
@@ -70,7 +69,7 @@ class LoginInteractorTest {
         // Arrange
         final LoginInputData inputData = new LoginInputData("nonexistent", "password123");
 
-        when(mockUserDataAccess.get("nonexistent"))
+        when(mockUserDataAccess.authenticate("nonexistent", "password123"))
             .thenThrow(new UserNotFoundException("User not found"));
 
         // Act & Assert
@@ -83,11 +82,9 @@ class LoginInteractorTest {
     void executeWithIncorrectPasswordThrowsException() throws DatabaseAccessException, UserNotFoundException {
         // Arrange
         final LoginInputData inputData = new LoginInputData("testuser", "wrongpassword");
-        final User user = userFactory.create("testuser", "test@example.com");
 
-        when(mockUserDataAccess.get("testuser")).thenReturn(user);
-        when(mockUserDataAccess.authenticate("test@example.com", "wrongpassword"))
-            .thenThrow(new UserNotFoundException("Wrong password"));
+        when(mockUserDataAccess.authenticate("testuser", "wrongpassword"))
+            .thenThrow(new InvalidLoginException("Wrong password"));
 
         // Act & Assert
         final InvalidLoginException exception = assertThrows(InvalidLoginException.class,
@@ -100,7 +97,7 @@ class LoginInteractorTest {
         // Arrange
         final LoginInputData inputData = new LoginInputData("testuser", "password123");
 
-        when(mockUserDataAccess.get("testuser"))
+        when(mockUserDataAccess.authenticate("testuser", "password123"))
             .thenThrow(new DatabaseAccessException("Database error"));
 
         // Act & Assert
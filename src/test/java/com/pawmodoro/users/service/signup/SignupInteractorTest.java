@@ -2,12 +2,17 @@ package com.pawmodoro.users.service.signup;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +20,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.pawmodoro.core.DatabaseAccessException;
+import com.pawmodoro.core.FanOutExecutor;
 import com.pawmodoro.users.entity.AuthenticationToken;
 import com.pawmodoro.users.entity.CommonUserFactory;
 import com.pawmodoro.users.entity.EmailAlreadyRegisteredException;
@@ -38,7 +44,8 @@ class SignupInteractorTest {
     @BeforeEach
     void setUp() {
         userFactory = new CommonUserFactory();
-        signupInteractor = new SignupInteractor(userDataAccess, signupPresenter, userFactory);
+        signupInteractor = new SignupInteractor(userDataAccess, signupPresenter, userFactory,
+            new FanOutExecutor(4, Duration.ofSeconds(5), true, 1));
     }
 
     @Test
@@ -102,6 +109,26 @@ class SignupInteractorTest {
         assertEquals("Email is already registered", exception.getMessage());
     }
 
+    @Test
+    void executeChecksUsernameAndEmailConcurrently() throws DatabaseAccessException {
+        // Arrange
+        final SignupInputData inputData = new SignupInputData(
+            "testuser",
+            "test@example.com",
+            "password123",
+            "password123");
+        final CountDownLatch bothChecksStarted = new CountDownLatch(2);
+        when(userDataAccess.existsByName("testuser")).thenAnswer(invocation -> awaitOther(bothChecksStarted));
+        when(userDataAccess.existsByEmail("test@example.com")).thenAnswer(invocation -> awaitOther(bothChecksStarted));
+
+        // Act
+        signupInteractor.execute(inputData);
+
+        // Assert
+        assertEquals(0, bothChecksStarted.getCount());
+        verify(userDataAccess).save(any(User.class), eq("password123"));
+    }
+
     @Test
     void executeWithDatabaseErrorThrowsDatabaseAccessException() throws DatabaseAccessException {
         // Arrange
@@ -120,4 +147,13 @@ class SignupInteractorTest {
             () -> signupInteractor.execute(inputData));
         assertEquals("Database connection failed", exception.getMessage());
     }
+
+    /**
+     * Returns false once the other check started too, so a test only passes if both run at the same time.
+     */
+    private static boolean awaitOther(CountDownLatch bothChecksStarted) throws InterruptedException {
+        bothChecksStarted.countDown();
+        assertTrue(bothChecksStarted.await(2, TimeUnit.SECONDS), "The checks ran one after the other");
+        return false;
+    }
 }
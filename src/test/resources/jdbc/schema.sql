@@ -0,0 +1,42 @@
+-- The tables the JDBC data access objects use, in a form H2 accepts.
+-- set_config records the settings each transaction makes instead of applying them. The database does not
+-- run in PostgreSQL mode, whose own set_config could not be replaced.
+create alias set_config for 'com.pawmodoro.core.PostgresStandIn.setConfig';
+
+create table user_profiles (
+    id uuid primary key,
+    username varchar(255) not null unique
+);
+
+create table user_settings (
+    id uuid primary key references user_profiles (id),
+    focus_duration integer not null,
+    short_break_duration integer not null,
+    long_break_duration integer not null,
+    auto_start_breaks boolean not null,
+    auto_start_focus boolean not null
+);
+
+create table cats (
+    cat_name varchar(255) not null,
+    owner_username varchar(255) not null,
+    happiness_level integer not null,
+    hunger_level integer not null,
+    image_file_name varchar(255),
+    cat_name_lower varchar(255) generated always as (lower(cat_name)),
+    owner_username_lower varchar(255) generated always as (lower(owner_username)),
+    primary key (cat_name, owner_username),
+    unique (cat_name_lower, owner_username_lower)
+);
+
+create table user_sessions (
+    id uuid primary key,
+    user_id uuid not null,
+    session_type varchar(32) not null,
+    session_start_time timestamp with time zone not null,
+    session_end_time timestamp with time zone,
+    duration_minutes integer not null,
+    was_completed boolean not null default false,
+    interruption_count integer not null default 0,
+    created_at timestamp with time zone default current_timestamp
+);
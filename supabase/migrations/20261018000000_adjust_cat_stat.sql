@@ -0,0 +1,36 @@
+-- Atomically adds a delta to a cat's hunger or happiness level.
+-- The new value is clamped to 0..100 inside the UPDATE, so concurrent feeds cannot overwrite
+-- each other, and the updated row is returned in the same round trip.
+-- Runs with the caller's privileges so the row level security policies on cats still apply.
+create or replace function public.adjust_cat_stat(
+    p_cat_name text,
+    p_owner_username text,
+    p_stat text,
+    p_delta integer)
+returns setof public.cats
+language plpgsql
+security invoker
+set search_path = public
+as $$
+begin
+    if p_stat = 'hunger_level' then
+        return query
+            update public.cats
+               set hunger_level = least(greatest(hunger_level::bigint + p_delta, 0), 100)
+             where cat_name = p_cat_name
+               and owner_username = p_owner_username
+            returning *;
+    elsif p_stat = 'happiness_level' then
+        return query
+            update public.cats
+               set happiness_level = least(greatest(happiness_level::bigint + p_delta, 0), 100)
+             where cat_name = p_cat_name
+               and owner_username = p_owner_username
+            returning *;
+    else
+        raise exception 'Unknown cat stat: %', p_stat using errcode = '22023';
+    end if;
+end;
+$$;
+
+grant execute on function public.adjust_cat_stat(text, text, text, integer) to authenticated;
@@ -0,0 +1,20 @@
+-- Sets the happiness level of several cats in one statement.
+-- p_updates is a JSON array of {"cat_name", "owner_username", "happiness_level"} objects; names are
+-- matched case-insensitively and levels are clamped to 0..100. Only the rows that were actually
+-- updated are returned, so callers can report the cats that were not found.
+-- Runs with the caller's privileges so the row level security policies on cats still apply.
+create or replace function public.set_cats_happiness(p_updates jsonb)
+returns setof public.cats
+language sql
+security invoker
+set search_path = public
+as $$
+    update public.cats c
+       set happiness_level = least(greatest(u.happiness_level, 0), 100)
+      from jsonb_to_recordset(p_updates) as u(cat_name text, owner_username text, happiness_level integer)
+     where c.cat_name_lower = lower(u.cat_name)
+       and c.owner_username_lower = lower(u.owner_username)
+    returning c.*;
+$$;
+
+grant execute on function public.set_cats_happiness(jsonb) to authenticated;
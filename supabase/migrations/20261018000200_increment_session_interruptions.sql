@@ -0,0 +1,18 @@
+-- Atomically adds to a session's interruption count and returns the updated row.
+-- The increment happens inside the UPDATE, so concurrent taps cannot overwrite each other.
+-- Runs with the caller's privileges so the row level security policies on user_sessions still apply.
+create or replace function public.increment_session_interruptions(
+    p_session_id uuid,
+    p_delta integer default 1)
+returns setof public.user_sessions
+language sql
+security invoker
+set search_path = public
+as $$
+    update public.user_sessions
+       set interruption_count = interruption_count + p_delta
+     where id = p_session_id
+    returning *;
+$$;
+
+grant execute on function public.increment_session_interruptions(uuid, integer) to authenticated;
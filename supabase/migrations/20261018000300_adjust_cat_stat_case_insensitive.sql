@@ -0,0 +1,32 @@
+-- Matches cats in adjust_cat_stat by their lower-cased name and owner, like set_cats_happiness and the
+-- unique index on cats, so feeding "mochi" and rewarding "Mochi" change the same row.
+create or replace function public.adjust_cat_stat(
+    p_cat_name text,
+    p_owner_username text,
+    p_stat text,
+    p_delta integer)
+returns setof public.cats
+language plpgsql
+security invoker
+set search_path = public
+as $$
+begin
+    if p_stat = 'hunger_level' then
+        return query
+            update public.cats
+               set hunger_level = least(greatest(hunger_level::bigint + p_delta, 0), 100)
+             where cat_name_lower = lower(p_cat_name)
+               and owner_username_lower = lower(p_owner_username)
+            returning *;
+    elsif p_stat = 'happiness_level' then
+        return query
+            update public.cats
+               set happiness_level = least(greatest(happiness_level::bigint + p_delta, 0), 100)
+             where cat_name_lower = lower(p_cat_name)
+               and owner_username_lower = lower(p_owner_username)
+            returning *;
+    else
+        raise exception 'Unknown cat stat: %', p_stat using errcode = '22023';
+    end if;
+end;
+$$;
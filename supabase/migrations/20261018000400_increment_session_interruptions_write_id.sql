@@ -0,0 +1,63 @@
+-- Lets a caller retry an interruption increment without applying it twice.
+-- A caller that passes p_write_id and retries with the same ID after a lost response gets the current row
+-- back instead of a second increment. The IDs of applied writes are kept until their session is deleted.
+create table if not exists public.session_interruption_writes (
+    write_id uuid primary key,
+    session_id uuid not null references public.user_sessions (id) on delete cascade,
+    created_at timestamptz not null default now()
+);
+
+alter table public.session_interruption_writes enable row level security;
+
+create policy "Users can record writes to their own sessions"
+    on public.session_interruption_writes
+    for insert
+    to authenticated
+    with check (exists (
+        select 1 from public.user_sessions s where s.id = session_id and s.user_id = auth.uid()));
+
+create policy "Users can read writes to their own sessions"
+    on public.session_interruption_writes
+    for select
+    to authenticated
+    using (exists (
+        select 1 from public.user_sessions s where s.id = session_id and s.user_id = auth.uid()));
+
+drop function if exists public.increment_session_interruptions(uuid, integer);
+
+create or replace function public.increment_session_interruptions(
+    p_session_id uuid,
+    p_delta integer default 1,
+    p_write_id uuid default null)
+returns setof public.user_sessions
+language plpgsql
+security invoker
+set search_path = public
+as $$
+begin
+    -- Sessions the caller cannot see return no row, like the update below would
+    if not exists (select 1 from public.user_sessions where id = p_session_id) then
+        return;
+    end if;
+
+    if p_write_id is not null then
+        insert into public.session_interruption_writes (write_id, session_id)
+        values (p_write_id, p_session_id)
+        on conflict (write_id) do nothing;
+
+        if not found then
+            -- An earlier attempt of this write was already applied
+            return query select * from public.user_sessions where id = p_session_id;
+            return;
+        end if;
+    end if;
+
+    return query
+        update public.user_sessions
+           set interruption_count = interruption_count + p_delta
+         where id = p_session_id
+        returning *;
+end;
+$$;
+
+grant execute on function public.increment_session_interruptions(uuid, integer, uuid) to authenticated;